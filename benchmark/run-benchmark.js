@@ -0,0 +1,171 @@
+/*
+ * 	Autor: Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ *	Runs benchmark host pages (war/CodeMirrorBenchmark.html and
+ *	war/CodeMirrorBenchmarkInline.html) one after the other in a
+ *	headless Chrome and exits with 1 when a page reports regressions
+ *	against its baseline or failures (steps that did not finish, leaks),
+ *	so that a CI build can fail on them. Needs Node and Chrome, nothing
+ *	else: the browser is driven through the DevTools protocol over
+ *	--remote-debugging-pipe.
+ *
+ *	  node benchmark/run-benchmark.js [options] <url of a host page>...
+ *
+ *	  --chrome <path>     the browser, default $CHROME or google-chrome
+ *	  --out <dir>         write the result of each page to MODULE.json
+ *	  --record <dir>      write it to MODULE-baseline.json, the baseline
+ *	  --timeout <seconds> give up after this long (exit code 2), default 1800
+ *
+ *	With more than one page the results are also printed side by side,
+ *	for example the startup times and requests of both modules.
+ *
+ *	The page has to be served with the compiled module, for example by
+ *	the GWT development server or any web server on the war directory.
+ *	Query parameters of the url go to the page (baseline, tolerance,
+ *	maxSize, only, see CodeMirrorBenchmark). With only=leak the page
+ *	runs the leak regression test alone, which needs no baseline: its
+ *	limits are fixed. Otherwise the page compares with
+ *	MODULE-baseline.json next to it. There are no stored numbers in
+ *	the repository, they depend on the machine: record the baselines
+ *	once on the CI machine with --record war, later runs are compared
+ *	against them.
+ */
+
+var spawn = require("child_process").spawn;
+var fs = require("fs");
+var os = require("os");
+var path = require("path");
+
+var options = {chrome: process.env.CHROME || "google-chrome", out: null, record: null, timeout: 1800, urls: []};
+var args = process.argv.slice(2);
+for (var i = 0; i < args.length; i++) {
+  if (args[i] == "--chrome") options.chrome = args[++i];
+  else if (args[i] == "--out") options.out = args[++i];
+  else if (args[i] == "--record") options.record = args[++i];
+  else if (args[i] == "--timeout") options.timeout = Number(args[++i]);
+  else options.urls.push(args[i]);
+}
+if (!options.urls.length) {
+  console.error("usage: node run-benchmark.js [--chrome path] [--out dir] [--record dir] [--timeout seconds] url...");
+  process.exit(2);
+}
+
+var profile = fs.mkdtempSync(path.join(os.tmpdir(), "codemirror-benchmark-"));
+var chrome = spawn(options.chrome, [
+  "--headless=new", "--remote-debugging-pipe", "--user-data-dir=" + profile,
+  "--no-first-run", "--no-default-browser-check",
+  // the leak benchmark collects the garbage before it reads performance.memory
+  "--enable-precise-memory-info", "--js-flags=--expose-gc",
+  // the page is never visible, its timers must not be slowed down
+  "--disable-background-timer-throttling", "--disable-renderer-backgrounding",
+  "about:blank"
+], {stdio: ["ignore", "ignore", "inherit", "pipe", "pipe"]});
+
+// The protocol: JSON messages separated by NUL, commands go to fd 3,
+// answers and events come from fd 4.
+var toChrome = chrome.stdio[3], fromChrome = chrome.stdio[4];
+var nextId = 1, callbacks = {}, buffer = "";
+fromChrome.setEncoding("utf8");
+fromChrome.on("data", function(chunk) {
+  buffer += chunk;
+  for (var end = buffer.indexOf("\0"); end > -1; end = buffer.indexOf("\0")) {
+    var message = JSON.parse(buffer.slice(0, end));
+    buffer = buffer.slice(end + 1);
+    var callback = message.id && callbacks[message.id];
+    if (!callback) continue;
+    delete callbacks[message.id];
+    if (message.error) finish(2, "DevTools error: " + message.error.message);
+    else callback(message.result);
+  }
+});
+chrome.on("error", function(error) {finish(2, "could not start " + options.chrome + ": " + error.message);});
+chrome.on("exit", function(code) {finish(2, "the browser exited with " + code);});
+
+function send(method, params, sessionId, callback) {
+  var message = {id: nextId++, method: method, params: params};
+  if (sessionId) message.sessionId = sessionId;
+  callbacks[message.id] = callback;
+  toChrome.write(JSON.stringify(message) + "\0");
+}
+
+var finished = false;
+function finish(code, text) {
+  if (finished) return;
+  finished = true;
+  if (text) (code ? console.error : console.log)(text);
+  chrome.removeAllListeners("exit");
+  chrome.kill();
+  try {fs.rmSync(profile, {recursive: true, force: true});} catch (e) {}
+  process.exit(code);
+}
+
+setTimeout(function() {finish(2, "no result after " + options.timeout + " seconds");}, options.timeout * 1000);
+
+var reports = [], failed = false;
+runPage(0);
+
+// the pages run one at a time, so that they do not slow each other down
+function runPage(n) {
+  if (n == options.urls.length) {
+    if (reports.length > 1) compare();
+    finish(failed ? 1 : 0);
+    return;
+  }
+  send("Target.createTarget", {url: options.urls[n]}, null, function(target) {
+    send("Target.attachToTarget", {targetId: target.targetId, flatten: true}, null, function(attached) {
+      poll(attached.sessionId, function(report) {
+        send("Target.closeTarget", {targetId: target.targetId}, null, function() {
+          runPage(n + 1);
+        });
+      });
+    });
+  });
+}
+
+// the page sets window.codeMirrorBenchmark when all steps are done
+function poll(sessionId, done) {
+  var expression = "window.codeMirrorBenchmark ? JSON.stringify(window.codeMirrorBenchmark) : null";
+  send("Runtime.evaluate", {expression: expression, returnByValue: true}, sessionId, function(result) {
+    var value = result.result && result.result.value;
+    if (!value) {
+      setTimeout(function() {poll(sessionId, done);}, 2000);
+      return;
+    }
+    var report = JSON.parse(value), results = JSON.parse(report.json);
+    if (options.out) fs.writeFileSync(path.join(options.out, results.module + ".json"), report.json + "\n");
+    if (options.record) fs.writeFileSync(path.join(options.record, results.module + "-baseline.json"), report.json + "\n");
+    console.log(report.json);
+    if (report.regressions || report.failures) failed = true;
+    reports.push(results);
+    done(report);
+  });
+}
+
+// prints the results of all pages in columns, one line per result
+function compare() {
+  var names = [], seen = {};
+  reports.forEach(function(report) {
+    for (var name in report.results) {
+      if (!seen[name]) names.push(name);
+      seen[name] = true;
+    }
+  });
+  var rows = [["result"].concat(reports.map(function(report) {return report.module;}))];
+  names.forEach(function(name) {
+    rows.push([name].concat(reports.map(function(report) {
+      var value = report.results[name];
+      return value == null ? "-" : String(Math.round(value * 10) / 10);
+    })));
+  });
+  var widths = rows[0].map(function(cell, column) {
+    return Math.max.apply(null, rows.map(function(row) {return row[column].length;}));
+  });
+  rows.forEach(function(row) {
+    console.log(row.map(function(cell, column) {
+      return column ? new Array(widths[column] - cell.length + 1).join(" ") + cell
+                    : cell + new Array(widths[column] - cell.length + 1).join(" ");
+    }).join("  "));
+  });
+}
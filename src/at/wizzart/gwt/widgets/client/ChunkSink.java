@@ -0,0 +1,28 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+/**
+ * 	ChunkSink
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Takes the content of an editor piece by piece, see
+ *	{@link CodeMirror#exportContent(ChunkSink)}. Joined together the
+ *	chunks are the content, line breaks included.
+ */
+
+public interface ChunkSink {
+
+	void onChunk(String text);
+
+	/**
+	 * All chunks were written
+	 */
+	void onEnd();
+}
@@ -7,12 +7,38 @@
 
 package at.wizzart.gwt.widgets.client;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import at.wizzart.gwt.widgets.client.event.logical.ContentDeltaEvent;
+import at.wizzart.gwt.widgets.client.event.logical.ContentDeltaHandler;
+import at.wizzart.gwt.widgets.client.event.logical.HasContentDeltaHandlers;
+import at.wizzart.gwt.widgets.client.event.logical.HasLoadProgressHandlers;
+import at.wizzart.gwt.widgets.client.event.logical.HasPerformanceHandlers;
 import at.wizzart.gwt.widgets.client.event.logical.HasSaveHandlers;
+import at.wizzart.gwt.widgets.client.event.logical.HasSymbolIndexChangeHandlers;
+import at.wizzart.gwt.widgets.client.event.logical.LoadProgressEvent;
+import at.wizzart.gwt.widgets.client.event.logical.LoadProgressHandler;
+import at.wizzart.gwt.widgets.client.event.logical.PerformanceEvent;
+import at.wizzart.gwt.widgets.client.event.logical.PerformanceHandler;
 import at.wizzart.gwt.widgets.client.event.logical.SaveEvent;
 import at.wizzart.gwt.widgets.client.event.logical.SaveHandler;
+import at.wizzart.gwt.widgets.client.event.logical.SymbolIndexChangeEvent;
+import at.wizzart.gwt.widgets.client.event.logical.SymbolIndexChangeHandler;
+import at.wizzart.gwt.widgets.shared.ContentPatch;
+import at.wizzart.gwt.widgets.shared.SyntaxHighlighter;
 
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.RepeatingCommand;
+import com.google.gwt.core.client.Scheduler.ScheduledCommand;
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.StyleInjector;
 import com.google.gwt.event.dom.client.ChangeEvent;
 import com.google.gwt.event.dom.client.ChangeHandler;
 import com.google.gwt.event.dom.client.HasChangeHandlers;
@@ -24,6 +50,8 @@ import com.google.gwt.event.logical.shared.ValueChangeHandler;
 import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.user.client.DOM;
 import com.google.gwt.user.client.Element;
+import com.google.gwt.user.client.Event;
+import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.ui.HasValue;
 import com.google.gwt.user.client.ui.Widget;
 
@@ -44,10 +72,16 @@ import com.google.gwt.user.client.ui.Widget;
  *	complete functionality of code mirror, this will be added
  *	in future releases.
  *
+ *	The methods can be called before the editor is ready, while its
+ *	frame loads or a deferred widget shows its preview: the ones that
+ *	read the content read the content the editor is going to get, the
+ *	ones that change the editor run in order once it is ready.
+ *
  */
 
 public class CodeMirror extends Widget 
-implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHandlers {
+implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHandlers,
+HasContentDeltaHandlers, HasPerformanceHandlers, HasLoadProgressHandlers, HasSymbolIndexChangeHandlers {
 	
 	public final static String PARSER_CSS = "CSSParser";
 	public final static String PARSER_JAVASCRPIPT = "JSParser";
@@ -59,14 +93,115 @@ implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHa
 	
 	public final static String STYLESHEET_STANDARD_URL = GWT.getModuleBaseURL() + "css/" + "all-min.css";
 	
+	private final static int EXPORT_LINES = 2000; // the lines per chunk of exportContent
+	
 	private Element hostElement; // the host element that holds our editor instance
 	private static int nextId = 0; // a static counter for editor instances
 	private String id; // the id of this instance
 	private JavaScriptObject editor; // a native object reference to the editor
 	private CodeMirrorConfiguration config; // the used configuration for this instance
-	private String jsDir = GWT.getModuleBaseURL() + "js/"; // the path to js files in this module
+	private static String jsDir = GWT.getModuleBaseURL() + "js/"; // the path to js files in this module
+	private static JavaScriptObject frameFiles = CodeMirrorResourceLoader.get().getFrameFiles(); // files written into the frames, see CodeMirrorResourceLoader
+	private static Set<String> hostStylesheets = new HashSet<String>(); // the stylesheets added to the host page
 	private String cssDir = GWT.getModuleBaseURL() + "css/"; // the path to css files in this module
 	private boolean valueChangeHandlerInitialized; // 
+	private PendingChanges pendingChanges = new PendingChanges(); // deltas held back by the change debounce
+	private boolean changePending; // true if there are changes that were not dispatched yet
+	private boolean maxWaitScheduled; // true while the max wait timer is running
+	private boolean resetOnInit; // true if a pooled editor has to be reset when it finished loading
+	private CodeMirrorMetrics metrics = new CodeMirrorMetrics(); // the timings of this instance
+	private boolean started; // true once the editor was created, deferred widgets show a preview before
+	private Element preview; // the static preview of a deferred widget
+	private int previewLine; // the first line visible in the preview, the editor scrolls there
+	private boolean destroyed; // true once destroy() was called, the widget stays empty
+	private boolean focusOnInit; // true if the editor has to take the focus when it is ready
+	private String pendingContent; // content for an editor that is not ready yet, null for the configured one
+	private List<ScheduledCommand> pendingCalls = new ArrayList<ScheduledCommand>(); // calls waiting for the editor to be ready
+	private boolean applyPendingContent; // true if the pending content has to be set when the editor is ready
+	private PendingChanges unsaved = new PendingChanges(); // changes since the last save patch was created
+	private List<SaveSegment> unacknowledged = new ArrayList<SaveSegment>(); // changes of the patches not acknowledged yet
+	private int savedRevision = -1; // the revision the content builds on, -1 if unknown
+	private int patchSequence = 0; // the sequence number of the last save patch
+	private int acknowledgedSequence = 0; // the sequence number of the last acknowledged patch
+	private CodeMirrorSaver saver; // the saver of the editor, if any
+	private int replacedAt = 0; // the last patch created before the content was replaced
+	private ContentLoader loader; // the running load, see loadContent
+	private CodeMirrorDocument document; // the mirror of the content, null if it has to be read from the editor
+	private CompletionProvider completionProvider; // finds the words for the completion list, null for none
+	private String keptContent; // the content kept on detach, the kept history and save state belong to it
+	private String keptHistory; // the undo history kept on detach, null if there is none
+	
+	// the changes made before a save patch was created, and after the one before
+	private static class SaveSegment {
+		int sequence;
+		PendingChanges changes;
+		
+		SaveSegment(int sequence, PendingChanges changes) {
+			this.sequence = sequence;
+			this.changes = changes;
+		}
+	}
+	
+	// hands the chunks of a source to the editor, see loadContent
+	private class ContentLoader implements ContentSource.Receiver {
+		ContentSource source;
+		StringBuilder buffer; // the chunks while the editor is not ready, null if they go to the editor
+		int total = -1; // the length the source announced
+		Throwable error; // the reason the source stopped early
+		
+		ContentLoader(ContentSource source) {
+			this.source = source;
+		}
+		
+		public void onTotal(int length) {
+			total = length;
+		}
+		
+		public void onChunk(String text) {
+			if (loader != this) {
+				return;
+			}
+			if (buffer != null) {
+				buffer.append(text);
+				LoadProgressEvent.fire(CodeMirror.this, buffer.length(), total, false, null);
+			} else {
+				loadChunk(text);
+			}
+		}
+		
+		public void onEnd() {
+			if (loader != this) {
+				return;
+			}
+			if (buffer != null) {
+				loader = null;
+				setContent(buffer.toString());
+				LoadProgressEvent.fire(CodeMirror.this, buffer.length(), total, true, error);
+			} else {
+				endLoad();
+			}
+		}
+		
+		public void onError(Throwable caught) {
+			error = caught;
+			onEnd();
+		}
+	}
+	
+	// dispatches held back changes when no edit came in for the debounce time
+	private Timer debounceTimer = new Timer() {
+		public void run() {
+			flushPendingChanges();
+		}
+	};
+	
+	// dispatches held back changes when the user keeps typing for too long
+	private Timer maxWaitTimer = new Timer() {
+		public void run() {
+			maxWaitScheduled = false;
+			flushPendingChanges();
+		}
+	};
 	
 	/**
 	 * Sole constructor
@@ -96,26 +231,356 @@ implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHa
 		this.config = config;
 	}
 	
+	/**
+	 * Makes a custom parser known to the editor, so that it can be
+	 * used like the built-in ones in {@link CodeMirrorConfiguration#setParser(String)}
+	 * and {@link #setParser(String)}.
+	 * @param name - the name of the parser object the files define
+	 * @param files - the files of the parser, relative to the module's js directory
+	 * @param requires - the names of parsers that have to be loaded first
+	 */
+	public static void registerParser(String name, String[] files, String[] requires) {
+		JsArrayString fileArray = JavaScriptObject.createArray().cast();
+		for (String file : files) fileArray.push(file);
+		JsArrayString requireArray = JavaScriptObject.createArray().cast();
+		for (String require : requires) requireArray.push(require);
+		registerParser(name, fileArray, requireArray);
+	}
+	
+	private static native void registerParser(String name, JsArrayString files, JsArrayString requires) /*-{
+		$wnd.CodeMirror.registerParser(name, files, requires);
+	}-*/;
+	
 	/**
 	 * overrides widget's onLoad function and gets called
 	 * when the widget is added to the DOM. This is the
 	 * time the code mirror editor gets initialized and
 	 * can be used. You can register an initialization handler
 	 * which gets informed when the editor is scriptable.
+	 * If the configuration has a {@link CodeMirrorPool} the
+	 * editor is taken from the pool instead. With deferred
+	 * initialization a static preview of the content is shown
+	 * until the widget is scrolled into view or focused, see
+	 * {@link CodeMirrorConfiguration#setDeferredInit(boolean)}.
+	 * A static view never creates an editor, it is initialized
+	 * as soon as it shows the highlighted content. A destroyed
+	 * widget stays empty.
 	 */
 	public void onLoad() {
 		super.onLoad();
-		editor = initEditor (id, config);
+		if (destroyed) {
+			return;
+		} else if (isStaticView()) {
+			showPreview();
+			Scheduler.get().scheduleDeferred(new ScheduledCommand() {
+				public void execute() {
+					if (isAttached()) {
+						InitializeEvent.fire(CodeMirror.this);
+					}
+				}
+			});
+		} else if (config.isDeferredInit() && !started) {
+			showPreview();
+			DeferredInitialization.watch(this);
+		} else {
+			createEditor();
+		}
+	}
+	
+	/**
+	 * Creates the editor of a widget with deferred initialization
+	 * right away instead of waiting until it becomes visible. Does
+	 * nothing if the editor was already created or the widget is
+	 * not attached.
+	 */
+	public void initialize() {
+		if (started || destroyed || !isAttached() || isStaticView()) {
+			return;
+		}
+		DeferredInitialization.unwatch(this);
+		if (preview != null) {
+			previewLine = firstVisiblePreviewLine();
+			DOM.setEventListener(preview, null);
+			DOM.removeChild(hostElement, preview);
+			preview = null;
+		}
+		createEditor();
+	}
+	
+	// creates the editor frame or takes one from the pool
+	private void createEditor() {
+		started = true;
+		if (config.getPool() != null) {
+			config.getPool().attach(this);
+		} else {
+			editor = initEditor(hostElement, config, getInitialContent());
+			setOwner(editor, this);
+		}
+	}
+	
+	// a read only pre element with the content, cheap compared to a frame
+	private void showPreview() {
+		if (preview == null) {
+			preview = DOM.createElement("pre");
+			DOM.setStyleAttribute(preview, "margin", "0px");
+			DOM.setStyleAttribute(preview, "width", "100%");
+			DOM.setStyleAttribute(preview, "height", "100%");
+			DOM.setStyleAttribute(preview, "overflow", "auto");
+			if (isStaticView()) {
+				// the editor's stylesheet styles highlighted text in pre.code 
+				DOM.setElementProperty(preview, "className", "code gwt-CodeMirror-static");
+				String styleSheetURL = config.getStyleSheetURL();
+				addHostStylesheet(styleSheetURL.equals("") ? STYLESHEET_STANDARD_URL : styleSheetURL);
+			} else {
+				DOM.setElementProperty(preview, "className", "gwt-CodeMirror-preview");
+				DOM.setElementPropertyInt(preview, "tabIndex", 0);
+				DOM.sinkEvents(preview, Event.ONFOCUS | Event.ONMOUSEDOWN);
+				DOM.setEventListener(preview, this);
+			}
+			DOM.appendChild(hostElement, preview);
+		}
+		updatePreview();
+	}
+	
+	private void updatePreview() {
+		if (!isStaticView()) {
+			DOM.setInnerText(preview, getInitialContent());
+			return;
+		}
+		// markup from the server only fits the configured content
+		String markup = pendingContent == null ? config.getRenderedContent() : null;
+		if (markup == null) {
+			markup = SyntaxHighlighter.highlight(config.getParser(), getInitialContent());
+		}
+		DOM.setInnerHTML(preview, markup);
+	}
+	
+	private static void addHostStylesheet(String url) {
+		if (!hostStylesheets.add(url)) {
+			return;
+		}
+		String text = CodeMirrorResourceLoader.get().getStylesheet(url);
+		if (text != null) {
+			StyleInjector.inject(text, true);
+			return;
+		}
+		Element link = DOM.createElement("link");
+		DOM.setElementProperty(link, "rel", "stylesheet");
+		DOM.setElementProperty(link, "type", "text/css");
+		DOM.setElementProperty(link, "href", url);
+		Document.get().getElementsByTagName("head").getItem(0).appendChild(link);
+	}
+	
+	private boolean isStaticView() {
+		return config.isStaticView() && config.isReadOnly();
+	}
+	
+	// the preview has no line elements to look at, the lines 
+	// are assumed to be of equal height
+	private int firstVisiblePreviewLine() {
+		int scrollTop = DOM.getElementPropertyInt(preview, "scrollTop");
+		int scrollHeight = DOM.getElementPropertyInt(preview, "scrollHeight");
+		if (scrollTop <= 0 || scrollHeight <= 0) {
+			return 0;
+		}
+		String content = getInitialContent();
+		int lines = 1;
+		for (int i = content.indexOf('\n'); i >= 0; i = content.indexOf('\n', i + 1)) {
+			lines++;
+		}
+		return (int) ((double) scrollTop * lines / scrollHeight);
+	}
+	
+	/**
+	 * Creates the editor when the preview of a deferred widget
+	 * is clicked or focused, the editor takes the focus once it
+	 * is ready.
+	 */
+	public void onBrowserEvent(Event event) {
+		int type = DOM.eventGetType(event);
+		if (!started && !isStaticView() && (type == Event.ONFOCUS || type == Event.ONMOUSEDOWN)) {
+			focusOnInit = true;
+			initialize();
+			return;
+		}
+		super.onBrowserEvent(event);
+	}
+	
+	// the content a new editor starts with
+	private String getInitialContent() {
+		return pendingContent != null ? pendingContent : config.getContent();
+	}
+	
+	private boolean isReady() {
+		return editor != null && isEditorReady(editor);
+	}
+	
+	// runs a call of the API now, or in order once the editor is ready
+	private void whenReady(ScheduledCommand call) {
+		if (isReady()) {
+			call.execute();
+		} else {
+			pendingCalls.add(call);
+		}
+	}
+	
+	/**
+	 * overrides widget's onUnload function. The held back changes
+	 * are dispatched, then a pooled editor is handed back to the pool
+	 * and any other editor is destroyed, its frame and timers do not 
+	 * outlive the widget. The widget starts a new editor when it is 
+	 * attached again, with the content it had, or with the configured
+	 * content if {@link CodeMirrorConfiguration#setKeepStateOnDetach(boolean)}
+	 * was turned off. With the kept content the new editor also gets 
+	 * the undo history back, and the next save still sends a patch 
+	 * against the saved revision, unless the content was replaced 
+	 * while the widget was detached.
+	 */
+	public void onUnload() {
+		DeferredInitialization.unwatch(this);
+		if (editor != null) {
+			if (config.isKeepStateOnDetach()) {
+				if (isReady()) {
+					pendingContent = getEditorContent();
+					previewLine = firstVisibleEditorLine();
+					keptContent = pendingContent;
+					keptHistory = loader == null ? getEditorHistory() : null;
+				}
+			} else {
+				pendingContent = null;
+				previewLine = 0;
+				keptContent = null;
+				keptHistory = null;
+			}
+			tearDown();
+		}
+		super.onUnload();
+	}
+	
+	/**
+	 * Stops the editor for good: a running load is canceled, held back
+	 * changes are dispatched, the editor frame is taken out of the page 
+	 * (a pooled one goes back to the pool) and its timers are stopped. The
+	 * widget shows nothing afterwards, also when it is attached again.
+	 * Called by the application for a widget it does not need anymore,
+	 * detaching cleans up on its own.
+	 */
+	public void destroy() {
+		destroyed = true;
+		DeferredInitialization.unwatch(this);
+		if (editor != null) {
+			tearDown();
+		} else {
+			cancelLoad();
+		}
+		if (preview != null) {
+			DOM.setEventListener(preview, null);
+			DOM.removeChild(hostElement, preview);
+			preview = null;
+		}
+		pendingContent = null;
+		keptContent = null;
+		keptHistory = null;
+		pendingCalls.clear();
 	}
 	
 	/**
-	 * initializes the code mirror instance with given 
-	 * configuration and plugs it into our host element. 
-	 * @param id - the unique instance id
+	 * @return true once {@link #destroy()} was called
+	 */
+	public boolean isDestroyed() {
+		return destroyed;
+	}
+	
+	// lets go of the editor: back to the pool or destroyed
+	private void tearDown() {
+		cancelLoad();
+		flushPendingChanges();
+		if (config.getPool() != null) {
+			if (isReady()) {
+				closeCompletions();
+			}
+			config.getPool().detach(this);
+		} else {
+			destroyEditor(editor);
+		}
+		editor = null;
+		document = null;
+		resetOnInit = false;
+		applyPendingContent = false;
+		started = false;
+	}
+	
+	// like firstVisiblePreviewLine, for the frame of the editor
+	private native int firstVisibleEditorLine() /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor, doc = editor.win.document;
+		var scrollTop = doc.body.scrollTop || doc.documentElement.scrollTop || 0;
+		var scrollHeight = Math.max(doc.body.scrollHeight, doc.documentElement.scrollHeight);
+		if (scrollTop <= 0 || scrollHeight <= 0) return 0;
+		var lines = this.@at.wizzart.gwt.widgets.client.CodeMirror::getLineCount()();
+		return Math.floor(scrollTop * lines / scrollHeight);
+	}-*/;
+	
+	/**
+	 * Takes over an editor of the pool.
+	 * @param pooled - the code mirror instance
+	 * @param reused - true if the instance was used before and has to be reset
+	 */
+	void adoptEditor(JavaScriptObject pooled, boolean reused) {
+		editor = pooled;
+		setOwner(editor, this);
+		if (!reused) {
+			// the new frame got the configured content
+			applyPendingContent = pendingContent != null;
+			return;
+		}
+		if (!isEditorReady(editor)) {
+			// reset as soon as the frame has finished loading
+			resetOnInit = true;
+			return;
+		}
+		resetEditor(config);
+		pendingContent = null;
+		Scheduler.get().scheduleDeferred(new ScheduledCommand() {
+			public void execute() {
+				if (editor != null) {
+					editorReady();
+				}
+			}
+		});
+	}
+	
+	CodeMirrorConfiguration getConfiguration() {
+		return config;
+	}
+	
+	/**
+	 * A pooled frame follows the new size of the widget
+	 */
+	public void setWidth(String width) {
+		super.setWidth(width);
+		LayoutWatcher.changed();
+	}
+	
+	/**
+	 * A pooled frame follows the new size of the widget
+	 */
+	public void setHeight(String height) {
+		super.setHeight(height);
+		LayoutWatcher.changed();
+	}
+	
+	/**
+	 * initializes a code mirror instance with given 
+	 * configuration and plugs it into the given element. 
+	 * The callbacks of the instance are routed to the widget
+	 * that is set with setOwner(), so a pooled instance can
+	 * serve several widgets one after the other.
+	 * @param place - the element the editor is appended to
 	 * @param conf - the code mirror configuration
+	 * @param content - the content the editor starts with
 	 * @return JavaScriptObject editor - the created code mirror instance
 	 */
-	private native JavaScriptObject initEditor (String id, CodeMirrorConfiguration conf) /*-{
+	static native JavaScriptObject initEditor (Element place, CodeMirrorConfiguration conf, String content) /*-{
 		
 		var passDelay = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getPassDelay()();
 		var passTime = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getPassTime()();
@@ -126,6 +591,7 @@ implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHa
 		var lineNumberTime = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getLineNumberTime()();
 		var undoDepth = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getUndoDepth()();
 		var undoDelay = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getUndoDelay()();
+		var undoMemoryLimit = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getUndoMemoryLimit()();
 		var disableSpellcheck = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::isDisableSpellcheck()();
 		var textWrapping = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::isTextWrapping()();
 		var readOnly = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::isReadOnly()();
@@ -134,29 +600,66 @@ implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHa
 		var reindentOnLoad = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::isReindentOnLoad()();
 		var indentUnit = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getIndentUnit()();
 		var styleSheetURL = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getStyleSheetURL()();
+		var parser = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getParser()();
+		var largeDocumentThreshold = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getLargeDocumentThreshold()();
+		var viewportMargin = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getViewportMargin()();
+		var highlightWorker = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::isHighlightInWorker()();
+		var collectMetrics = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::isCollectMetrics()();
+		var adaptiveHighlight = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::isAdaptiveHighlighting()();
+		var sharedScheduler = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::isSharedScheduler()();
+		var checkpointInterval = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getCheckpointInterval()();
+		var highlightCache = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getHighlightCacheSize()();
+		var highlightStorage = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getHighlightStorageSize()();
+		var symbolIndex = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::isSymbolIndex()();
+		var completionAutoPrefix = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getCompletionAutoPrefix()();
 		if(styleSheetURL == "") {
 			styleSheetURL = @at.wizzart.gwt.widgets.client.CodeMirror::STYLESHEET_STANDARD_URL;
 		}
-		var self = this;
 		
 		//init a new editor with standard properties
-		editor = new $wnd.CodeMirror($doc.getElementById(id), {
+		var editor = new $wnd.CodeMirror(place, {
 		 	basefiles: ["basefiles-min.js"],
-		 	parserfile: ["parsers-min.js"],
+		 	parser: parser,
+		 	content: content,
 		 	width: "100%",
 		 	height: "100%",
-		 	path: this.@at.wizzart.gwt.widgets.client.CodeMirror::jsDir,
+		 	path: @at.wizzart.gwt.widgets.client.CodeMirror::jsDir,
+		 	inlineFiles: @at.wizzart.gwt.widgets.client.CodeMirror::frameFiles,
 		 	stylesheet: styleSheetURL,
 		 	passDelay: passDelay,
 		 	passTime: passTime,
 		 	continuousScanning: continuousScanning,
 		 	lineNumbers: lineNumbers,
 		 	lineNumberDelay: lineNumberDelay,
+		 	lineNumberTime: lineNumberTime,
 		 	iframeClass: null,
-		    saveFunction: function() { self.@at.wizzart.gwt.widgets.client.CodeMirror::onSave()(); },
-		    onChange: function() { self.@at.wizzart.gwt.widgets.client.CodeMirror::onChange()(); },
+		    saveFunction: function() { 
+		    	var owner = editor.gwtOwner;
+		    	if (owner) owner.@at.wizzart.gwt.widgets.client.CodeMirror::onSave()(); 
+		    },
+		    onChange: function(changes) { 
+		    	var owner = editor.gwtOwner;
+		    	if (owner) owner.@at.wizzart.gwt.widgets.client.CodeMirror::onChange(Lcom/google/gwt/core/client/JsArray;)(changes); 
+		    },
+		    onBlur: function() { 
+		    	var owner = editor.gwtOwner;
+		    	if (owner) owner.@at.wizzart.gwt.widgets.client.CodeMirror::onBlur()(); 
+		    },
+		    onComplete: function(id, prefix, word, line, column) { 
+		    	var owner = editor.gwtOwner;
+		    	if (owner) owner.@at.wizzart.gwt.widgets.client.CodeMirror::onComplete(ILjava/lang/String;Ljava/lang/String;II)(id, prefix, word, line, column); 
+		    },
+		    onSymbolChange: function(added, removed) { 
+		    	var owner = editor.gwtOwner;
+		    	if (owner) owner.@at.wizzart.gwt.widgets.client.CodeMirror::onSymbolChange(Lcom/google/gwt/core/client/JavaScriptObject;Lcom/google/gwt/core/client/JavaScriptObject;)(added, removed); 
+		    },
+		    onMetric: function(kind, millis, lines, tokens, overBudget) { 
+		    	var owner = editor.gwtOwner;
+		    	if (owner) owner.@at.wizzart.gwt.widgets.client.CodeMirror::onMetric(Ljava/lang/String;DIIZ)(kind, millis, lines, tokens, overBudget); 
+		    },
 		    undoDepth: undoDepth,
 		    undoDelay: undoDelay,
+		    undoMemoryLimit: undoMemoryLimit,
 		    disableSpellcheck: disableSpellcheck,
 		    textWrapping: textWrapping,
 		    readOnly: readOnly,
@@ -164,45 +667,495 @@ implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHa
 		    tabMode: tabMode,
 		    reindentOnLoad: reindentOnLoad,
 		    indentUnit: indentUnit,
-		    initCallback: function() { self.@at.wizzart.gwt.widgets.client.CodeMirror::editorLoaded()(); }
+		    largeDocumentThreshold: largeDocumentThreshold,
+		    viewportMargin: viewportMargin,
+		    highlightWorker: highlightWorker,
+		    collectMetrics: collectMetrics,
+		    adaptiveHighlight: adaptiveHighlight,
+		    sharedScheduler: sharedScheduler,
+		    checkpointInterval: checkpointInterval,
+		    highlightCache: highlightCache,
+		    highlightStorage: highlightStorage,
+		    symbolIndex: symbolIndex,
+		    completionAutoPrefix: completionAutoPrefix,
+		    initCallback: function() { 
+		    	editor.gwtReady = true;
+		    	var owner = editor.gwtOwner;
+		    	if (owner) owner.@at.wizzart.gwt.widgets.client.CodeMirror::editorLoaded()(); 
+		    }
 		 });
 
 		return editor;
 	 
 	}-*/;
 	
+	private static native void setOwner(JavaScriptObject editor, CodeMirror owner) /*-{
+		editor.gwtOwner = owner;
+	}-*/;
+	
+	static native boolean isEditorReady(JavaScriptObject editor) /*-{
+		return !!editor.gwtReady;
+	}-*/;
+	
 	/**
-	 * Get the complete content of this code mirror instance
+	 * Detaches a pooled instance from its widget, callbacks of an 
+	 * idle instance are dropped.
+	 */
+	static native void releaseEditor(JavaScriptObject editor) /*-{
+		editor.gwtOwner = null;
+	}-*/;
+	
+	/**
+	 * Stops an instance and takes its frame out of the page, 
+	 * see {@link #destroy()}.
+	 */
+	static native void destroyEditor(JavaScriptObject editor) /*-{
+		editor.gwtOwner = null;
+		editor.destroy();
+	}-*/;
+	
+	/**
+	 * @return the number of editor instances in the page that were
+	 * created and not destroyed yet, pooled ones included
+	 */
+	public static native int getLiveEditorCount() /*-{
+		return $wnd.CodeMirror.liveCount;
+	}-*/;
+	
+	/**
+	 * Brings a pooled instance to the state a new instance with
+	 * the given configuration would have. No change events are
+	 * fired for the new content and the undo history is cleared.
+	 * @param conf - the configuration of this widget
+	 */
+	private native void resetEditor(CodeMirrorConfiguration conf) /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		var options = editor.options;
+		var styleSheetURL = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getStyleSheetURL()();
+		if(styleSheetURL == "") {
+			styleSheetURL = @at.wizzart.gwt.widgets.client.CodeMirror::STYLESHEET_STANDARD_URL;
+		}
+		options.passDelay = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getPassDelay()();
+		options.passTime = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getPassTime()();
+		options.lineNumberDelay = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getLineNumberDelay()();
+		options.lineNumberTime = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getLineNumberTime()();
+		options.undoDelay = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getUndoDelay()();
+		options.viewportMargin = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getViewportMargin()();
+		options.largeDocumentThreshold = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getLargeDocumentThreshold()();
+		options.collectMetrics = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::isCollectMetrics()();
+		options.adaptiveHighlight = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::isAdaptiveHighlighting()();
+		options.sharedScheduler = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::isSharedScheduler()();
+		options.checkpointInterval = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getCheckpointInterval()();
+		options.highlightCache = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getHighlightCacheSize()();
+		options.highlightStorage = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getHighlightStorageSize()();
+		options.symbolIndex = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::isSymbolIndex()();
+		options.completionAutoPrefix = conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getCompletionAutoPrefix()();
+		
+		editor.gwtOwner = null;
+		editor.setParser(conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getParser()());
+		editor.setTextWrapping(conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::isTextWrapping()());
+		editor.setCode(this.@at.wizzart.gwt.widgets.client.CodeMirror::getInitialContent()());
+		editor.clearHistory();
+		editor.resetSymbols();
+		editor.resetWords();
+		editor.setStylesheet(styleSheetURL);
+		editor.setLineNumbers(conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::isLineNumbers()());
+		editor.setIndentUnit(conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getIndentUnit()());
+		editor.setUndoDepth(conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getUndoDepth()());
+		editor.setUndoMemoryLimit(conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getUndoMemoryLimit()());
+		editor.setTabMode(conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::getTabMode()());
+		editor.setSpellcheck(!conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::isDisableSpellcheck()());
+		editor.gwtOwner = this;
+		if (conf.@at.wizzart.gwt.widgets.client.CodeMirrorConfiguration::isReindentOnLoad()()) {
+			editor.reindent();
+		}
+	}-*/;
+	
+	/**
+	 * Get the complete content of this code mirror instance,
+	 * before the editor is ready this is the content it will
+	 * start with.
 	 * @return content
 	 */
-	public native String getContent() /*-{
+	public String getContent() {
+		return isReady() ? getEditorContent() : getInitialContent();
+	}
+	
+	private native String getEditorContent() /*-{
 		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
 		return editor.getCode();
 	}-*/;
 	
 	/**
-	 * Replace the complete content of this editor instance
+	 * Get the content as an immutable {@link CodeMirrorDocument}. The 
+	 * widget keeps a mirror of the content up to date with the changes 
+	 * the editor reports, so only the first call and the first one after
+	 * a load read the content from the editor frame. Edits the editor 
+	 * has not reported yet are reported first, without closing the undo
+	 * step they belong to. The returned document 
+	 * does not change with later edits, it can be kept for work that 
+	 * runs later.
+	 * @return the current content
+	 */
+	public CodeMirrorDocument getDocument() {
+		if (!isReady()) {
+			return new CodeMirrorDocument(getInitialContent());
+		}
+		flushEdits();
+		if (loader != null) {
+			// chunks are appended without change reports
+			return new CodeMirrorDocument(getEditorContent());
+		}
+		if (document == null) {
+			document = new CodeMirrorDocument(getEditorContent());
+		}
+		return document;
+	}
+	
+	private native void flushEdits() /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		editor.flushChanges();
+	}-*/;
+	
+	/**
+	 * Replace the complete content of this editor instance,
+	 * content set before the editor is ready replaces the
+	 * configured content (and the preview of a deferred widget).
+	 * A static view highlights the new content.
 	 * @param content 
 	 */
-	public native void setContent(String content) /*-{
+	public void setContent(String content) {
+		if (isReady()) {
+			setEditorContent(content);
+			contentReplaced();
+			return;
+		}
+		pendingContent = content;
+		applyPendingContent = editor != null;
+		keptContent = null;
+		keptHistory = null;
+		if (preview != null) {
+			updatePreview();
+		}
+	}
+	
+	private native void setEditorContent(String content) /*-{
 		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
 		editor.setCode(content);
 	}-*/;
 	
 	/**
-	 * Set the used parser - use one of the static class values here
+	 * Replace the content with the text of a source that delivers it
+	 * in chunks, for files too big to be set at once. Every chunk is
+	 * shown as soon as the editor gets to it and highlighted like 
+	 * typed text, the page stays usable meanwhile. A 
+	 * {@link LoadProgressEvent} is fired after every step and once
+	 * more when the load is over, a new load stops the running one.
+	 * The appended text is not reported as a change, the load as a
+	 * whole replaces the content like {@link #setContent(String)},
+	 * edits made meanwhile are reported and can not be undone before
+	 * the load is over.
+	 * Before the editor is ready the chunks are collected and set
+	 * as one content when the source is done.
+	 * @param source
+	 */
+	public void loadContent(ContentSource source) {
+		cancelLoad();
+		loader = new ContentLoader(source);
+		if (isReady()) {
+			beginLoad(loader);
+		} else {
+			loader.buffer = new StringBuilder();
+			keptContent = null;
+			keptHistory = null;
+		}
+		source.start(loader);
+	}
+	
+	/**
+	 * Stop a running load, the text that arrived stays in the editor
+	 */
+	public void cancelLoad() {
+		if (loader == null) {
+			return;
+		}
+		ContentLoader canceled = loader;
+		loader = null;
+		canceled.source.cancel();
+		if (canceled.buffer == null && editor != null) {
+			cancelEditorLoad();
+			contentReplaced();
+		}
+	}
+	
+	/**
+	 * @return true while a load started with {@link #loadContent(ContentSource)} runs
+	 */
+	public boolean isLoading() {
+		return loader != null;
+	}
+	
+	private native void beginLoad(ContentLoader from) /*-{
+		var self = this, editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		editor.beginLoad(function(loaded, done) {
+			self.@at.wizzart.gwt.widgets.client.CodeMirror::onLoadProgress(Lat/wizzart/gwt/widgets/client/CodeMirror$ContentLoader;IZ)(from, loaded, done);
+		});
+	}-*/;
+	
+	private native void loadChunk(String text) /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		editor.loadChunk(text);
+	}-*/;
+	
+	private native void endLoad() /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		editor.endLoad();
+	}-*/;
+	
+	private native void cancelEditorLoad() /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		editor.cancelLoad();
+	}-*/;
+	
+	private void onLoadProgress(ContentLoader from, int loaded, boolean done) {
+		if (loader != from) {
+			return;
+		}
+		if (done) {
+			loader = null;
+			contentReplaced();
+		}
+		LoadProgressEvent.fire(this, loaded, from.total, done, from.error);
+	}
+	
+	/**
+	 * Write the content to a sink in chunks of lines, one chunk per
+	 * incremental command, so that the content is never built as one
+	 * string. Edits made meanwhile show up in the lines that were not
+	 * written yet.
+	 * @param sink
+	 */
+	public void exportContent(final ChunkSink sink) {
+		if (!isReady()) {
+			sink.onChunk(getContent());
+			sink.onEnd();
+			return;
+		}
+		Scheduler.get().scheduleIncremental(new RepeatingCommand() {
+			private int next = 0;
+			
+			public boolean execute() {
+				int count = getLineCount();
+				if (next < count && editor != null) {
+					int to = Math.min(count, next + EXPORT_LINES);
+					sink.onChunk(getRange(next, to) + (to < count ? "\n" : ""));
+					next = to;
+					return true;
+				}
+				sink.onEnd();
+				return false;
+			}
+		});
+	}
+	
+	/**
+	 * Get the text of a range of lines as one string
+	 * @param fromLine - the first line, line numbers start at 0
+	 * @param toLine - the line after the last one
+	 * @return the lines, separated by line breaks
+	 */
+	public String getRange(int fromLine, int toLine) {
+		if (!isReady()) {
+			return joinLines(getLines(fromLine, toLine));
+		}
+		return getEditorRange(fromLine, toLine);
+	}
+	
+	private native String getEditorRange(int fromLine, int toLine) /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		return editor.rangeText(fromLine, toLine);
+	}-*/;
+	
+	/**
+	 * Get the tokens of a line as the parser classified them. Lines 
+	 * that are not highlighted yet are highlighted first.
+	 * @param line - line numbers start at 0
+	 * @return the tokens in the order of the line, an empty list if 
+	 * the editor is not ready, the line does not exist or is not in
+	 * the editor frame (see 
+	 * {@link CodeMirrorConfiguration#setLargeDocumentThreshold(int)})
+	 */
+	public List<CodeMirrorToken> getLineTokens(int line) {
+		List<CodeMirrorToken> tokens = new ArrayList<CodeMirrorToken>();
+		if (isReady()) {
+			addLineTokens(tokens, line);
+		}
+		return tokens;
+	}
+	
+	private native void addLineTokens(List<CodeMirrorToken> list, int line) /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		var tokens = editor.lineTokens(line), column = 0;
+		for (var i = 0; tokens && i < tokens.length; i += 2) {
+			list.@java.util.List::add(Ljava/lang/Object;)(
+				@at.wizzart.gwt.widgets.client.CodeMirrorToken::new(Ljava/lang/String;Ljava/lang/String;I)(tokens[i], tokens[i + 1], column));
+			column += tokens[i + 1].length;
+		}
+	}-*/;
+	
+	/**
+	 * Get the symbol index, see 
+	 * {@link CodeMirrorConfiguration#setSymbolIndex(boolean)}. Pending
+	 * lines are highlighted first, the lines of the symbols are counted 
+	 * again.
+	 * @return the symbols in document order, an empty list if the 
+	 * index is off or the editor is not ready
+	 */
+	public List<CodeMirrorSymbol> getSymbols() {
+		List<CodeMirrorSymbol> symbols = new ArrayList<CodeMirrorSymbol>();
+		if (isReady() && config.isSymbolIndex()) {
+			addSymbols(symbols, getEditorSymbols());
+		}
+		return symbols;
+	}
+	
+	private native JavaScriptObject getEditorSymbols() /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		return editor.symbols();
+	}-*/;
+	
+	// copies the symbol objects of the editor frame, their lines change with later passes
+	private static native void addSymbols(List<CodeMirrorSymbol> list, JavaScriptObject symbols) /*-{
+		for (var i = 0; i < symbols.length; i++) {
+			var symbol = symbols[i];
+			list.@java.util.List::add(Ljava/lang/Object;)(
+				@at.wizzart.gwt.widgets.client.CodeMirrorSymbol::new(ILjava/lang/String;Ljava/lang/String;I)(symbol.id, symbol.name, symbol.kind, symbol.line || 0));
+		}
+	}-*/;
+	
+	/**
+	 * Set the provider of the completion list, which is opened with
+	 * Control-Space or while typing, see 
+	 * {@link CodeMirrorConfiguration#setCompletionAutoPrefix(int)}.
+	 * @param provider - null turns completion off
+	 */
+	public void setCompletionProvider(CompletionProvider provider) {
+		completionProvider = provider;
+		if (provider == null && isReady()) {
+			closeCompletions();
+		}
+	}
+	
+	public CompletionProvider getCompletionProvider() {
+		return completionProvider;
+	}
+	
+	/**
+	 * Get the changes of the editor's word index since the last call,
+	 * see {@link DocumentCompletionProvider}. The index holds the 
+	 * identifiers the parser found in the highlighted lines, pending
+	 * lines are highlighted first. A word is listed once for every 
+	 * occurrence.
+	 * @param all - true to get all words
+	 * @param added - takes the words that were added
+	 * @param removed - takes the words that were removed
+	 * @return true if the index started over (because all words were
+	 * asked for, or the editor is a new one), the added words are all
+	 * words then
+	 */
+	boolean takeWords(boolean all, List<String> added, List<String> removed) {
+		if (!isReady()) {
+			return false;
+		}
+		return takeEditorWords(all, added, removed);
+	}
+	
+	private native boolean takeEditorWords(boolean all, List<String> added, List<String> removed) /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		var changes = editor.takeWords(all);
+		for (var i = 0; i < changes.added.length; i++)
+			added.@java.util.List::add(Ljava/lang/Object;)(changes.added[i]);
+		for (var i = 0; i < changes.removed.length; i++)
+			removed.@java.util.List::add(Ljava/lang/Object;)(changes.removed[i]);
+		return changes.all;
+	}-*/;
+	
+	/**
+	 * Callback function for the code mirror instance
+	 * that gets called when the completion list needs words.
+	 */
+	private void onComplete(final int id, String prefix, String word, int line, int column) {
+		if (completionProvider == null) {
+			return;
+		}
+		completionProvider.complete(this, prefix, word, line, column, new CompletionProvider.Receiver() {
+			public void onCompletions(List<String> completions) {
+				if (!isReady()) {
+					return;
+				}
+				JsArrayString words = JavaScriptObject.createArray().cast();
+				for (String word : completions) {
+					words.push(word);
+				}
+				showCompletions(id, words);
+			}
+		});
+	}
+	
+	private native void showCompletions(int id, JsArrayString words) /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		editor.showCompletions(id, words);
+	}-*/;
+	
+	private native void closeCompletions() /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		editor.closeCompletions();
+	}-*/;
+	
+	/**
+	 * Set the used parser - use one of the static class values here.
+	 * If the parser is not loaded yet it is fetched first and
+	 * activated as soon as it arrives.
 	 * @param parser
 	 */
-	public native void setParser(String parser) /*-{
+	public void setParser(final String parser) {
+		whenReady(new ScheduledCommand() {
+			public void execute() {
+				setEditorParser(parser);
+			}
+		});
+	}
+	
+	private native void setEditorParser(String parser) /*-{
 		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
 		editor.setParser(parser);
 	}-*/;
 	
+	/**
+	 * @return the parser the editor uses, one of the static class values
+	 */
+	public String getParser() {
+		return isReady() ? getEditorParser() : config.getParser();
+	}
+	
+	private native String getEditorParser() /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		return editor.getParser();
+	}-*/;
+	
 	/**
 	 * Enable (true) or disable (false) line numbers in the editor
 	 * @param flag
 	 */
-	public native void setLineNumbers(boolean flag) /*-{
+	public void setLineNumbers(final boolean flag) {
+		whenReady(new ScheduledCommand() {
+			public void execute() {
+				setEditorLineNumbers(flag);
+			}
+		});
+	}
+	
+	private native void setEditorLineNumbers(boolean flag) /*-{
 		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
 		editor.setLineNumbers(flag);
 	}-*/;
@@ -212,7 +1165,15 @@ implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHa
 	 * editor will be wrapped if there are too many characters in one line.
 	 * @param flag
 	 */
-	public native void setTextWrapping(boolean flag) /*-{
+	public void setTextWrapping(final boolean flag) {
+		whenReady(new ScheduledCommand() {
+			public void execute() {
+				setEditorTextWrapping(flag);
+			}
+		});
+	}
+	
+	private native void setEditorTextWrapping(boolean flag) /*-{
 		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
 		editor.setTextWrapping(flag);
 	}-*/;
@@ -221,7 +1182,15 @@ implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHa
 	 * Specify the amount of [spaces] used as indention
 	 * @param indention
 	 */
-	public native void setIndentUnit(int indention) /*-{
+	public void setIndentUnit(final int indention) {
+		whenReady(new ScheduledCommand() {
+			public void execute() {
+				setEditorIndentUnit(indention);
+			}
+		});
+	}
+	
+	private native void setEditorIndentUnit(int indention) /*-{
 		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
 		editor.setIndentUnit(indention);
 	}-*/;
@@ -231,15 +1200,33 @@ implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHa
 	 * syntax highlighting features for the various languages.
 	 * @param url
 	 */
-	public native void setStylesheetURL(String url) /*-{
+	public void setStylesheetURL(final String url) {
+		whenReady(new ScheduledCommand() {
+			public void execute() {
+				setEditorStylesheet(url);
+			}
+		});
+	}
+	
+	private native void setEditorStylesheet(String url) /*-{
 		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
 		editor.setStylesheet(url);
 	}-*/;
 	
 	/**
-	 * Give focus to the editor
+	 * Give focus to the editor, an editor that is not ready takes 
+	 * it once it is (a deferred widget creates it right away)
 	 */
-	public native void setFocus() /*-{
+	public void setFocus() {
+		if (!isReady()) {
+			focusOnInit = true;
+			initialize();
+			return;
+		}
+		focusEditor();
+	}
+	
+	private native void focusEditor() /*-{
 		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
 		editor.focus();
 	}-*/;
@@ -248,7 +1235,14 @@ implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHa
 	 * Get the text that the user currently selected
 	 * @return selected text
 	 */
-	public native String getSelection() /*-{
+	public String getSelection() {
+		if (!isReady()) {
+			return "";
+		}
+		return getEditorSelection();
+	}
+	
+	private native String getEditorSelection() /*-{
 		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
 		return editor.selection();
 	}-*/;
@@ -257,7 +1251,15 @@ implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHa
 	 * Replace the current selection with any text
 	 * @param text
 	 */
-	public native void setSelection(String text) /*-{
+	public void setSelection(final String text) {
+		whenReady(new ScheduledCommand() {
+			public void execute() {
+				replaceEditorSelection(text);
+			}
+		});
+	}
+	
+	private native void replaceEditorSelection(String text) /*-{
 		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
 		editor.replaceSelection(text);
 	}-*/;
@@ -265,7 +1267,15 @@ implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHa
 	/**
 	 * Reindent the whole content in the editor
 	 */
-	public native void reindent() /*-{
+	public void reindent() {
+		whenReady(new ScheduledCommand() {
+			public void execute() {
+				reindentEditor();
+			}
+		});
+	}
+	
+	private native void reindentEditor() /*-{
 		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
 		editor.reindent();
 	}-*/;
@@ -273,7 +1283,15 @@ implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHa
 	/**
 	 * Reindent only the selected text
 	 */
-	public native void reindentSelection() /*-{
+	public void reindentSelection() {
+		whenReady(new ScheduledCommand() {
+			public void execute() {
+				reindentEditorSelection();
+			}
+		});
+	}
+	
+	private native void reindentEditorSelection() /*-{
 		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
 		editor.reindentSelection();
 	}-*/;
@@ -281,7 +1299,15 @@ implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHa
 	/**
 	 * Undo the last action by the user
 	 */
-	public native void undo() /*-{
+	public void undo() {
+		whenReady(new ScheduledCommand() {
+			public void execute() {
+				undoEditor();
+			}
+		});
+	}
+	
+	private native void undoEditor() /*-{
 		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
 		editor.undo();
 	}-*/;
@@ -289,14 +1315,379 @@ implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHa
 	/**
 	 * Redo the last undone action by the user
 	 */
-	public native void redo() /*-{
+	public void redo() {
+		whenReady(new ScheduledCommand() {
+			public void execute() {
+				redoEditor();
+			}
+		});
+	}
+	
+	private native void redoEditor() /*-{
 		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
 		editor.redo();
 	}-*/;
 	
-	// TODO: implement getSearchCursor - document searching
-	// TODO: implement undo history manipulation
-	// TODO: implement line handling
+	/**
+	 * Check whether the highlighter caught up with the content
+	 * @return true if no highlighting work is pending
+	 */
+	public boolean isHighlightComplete() {
+		if (!isReady()) {
+			return false;
+		}
+		return isEditorHighlightComplete();
+	}
+	
+	private native boolean isEditorHighlightComplete() /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		return editor.highlightComplete();
+	}-*/;
+	
+	/**
+	 * Get the time the next highlight pass may take. It is the pass
+	 * time of the configuration, unless adaptive highlighting is on.
+	 * @return budget in milliseconds
+	 */
+	public int getHighlightBudget() {
+		if (!isReady()) {
+			return config.getPassTime();
+		}
+		return getEditorHighlightBudget();
+	}
+	
+	private native int getEditorHighlightBudget() /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		return editor.highlightBudget();
+	}-*/;
+	
+	/**
+	 * Get the number of lines in the editor
+	 * @return line count
+	 */
+	public int getLineCount() {
+		if (!isReady()) {
+			return getDocument().getLineCount();
+		}
+		return getEditorLineCount();
+	}
+	
+	private native int getEditorLineCount() /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		return editor.lineCount();
+	}-*/;
+	
+	/**
+	 * Get the text of one line, line numbers start at 0.
+	 * @param line
+	 * @return the line without its line break, null if there is no such line
+	 */
+	public String getLine(int line) {
+		if (!isReady()) {
+			return getDocument().getLine(line);
+		}
+		return getEditorLine(line);
+	}
+	
+	private native String getEditorLine(int line) /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		return editor.lineText(line);
+	}-*/;
+	
+	/**
+	 * Get the text of a range of lines
+	 * @param from - the first line
+	 * @param to - the line after the last one
+	 * @return the lines without line breaks
+	 */
+	public List<String> getLines(int from, int to) {
+		from = Math.max(0, from);
+		to = Math.min(to, getLineCount());
+		List<String> result = new ArrayList<String>(Math.max(0, to - from));
+		if (!isReady()) {
+			CodeMirrorDocument document = getDocument();
+			for (int i = from; i < to; i++) {
+				result.add(document.getLine(i));
+			}
+			return result;
+		}
+		JsArrayString lines = getLineArray(from, to);
+		for (int i = 0; i < lines.length(); i++) {
+			result.add(lines.get(i));
+		}
+		return result;
+	}
+	
+	private static String joinLines(List<String> lines) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < lines.size(); i++) {
+			if (i > 0) {
+				text.append('\n');
+			}
+			text.append(lines.get(i));
+		}
+		return text.toString();
+	}
+	
+	private native JsArrayString getLineArray(int from, int to) /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		return editor.lineTexts(from, to);
+	}-*/;
+	
+	/**
+	 * Replace a range of lines with the lines of a text. If from 
+	 * and to are equal the text is inserted in front of line from,
+	 * a text of null removes the lines. Before the editor is ready the
+	 * lines of the content it will get are replaced.
+	 * @param from - the first line to replace
+	 * @param to - the line after the last one to replace
+	 * @param text - the new lines, separated by line breaks
+	 */
+	public void replaceLines(int from, int to, String text) {
+		if (isReady()) {
+			replaceEditorLines(from, to, text);
+			return;
+		}
+		int count = getLineCount();
+		from = Math.max(0, Math.min(from, count));
+		to = Math.max(from, Math.min(to, count));
+		List<String> lines = getLines(0, from);
+		if (text != null) {
+			lines.add(text);
+		}
+		lines.addAll(getLines(to, count));
+		setContent(joinLines(lines));
+	}
+	
+	private native void replaceEditorLines(int from, int to, String text) /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		editor.replaceLines(from, to, text);
+	}-*/;
+	
+	/**
+	 * Apply the operations of a batch as one change: the document is
+	 * updated and highlighted once, one undo step takes the batch back
+	 * and one ValueChangeEvent is fired (ContentDeltaEvents are still
+	 * fired per changed range of lines).
+	 * @param batch
+	 * @throws IllegalArgumentException if two operations overlap
+	 */
+	public void runBatch(EditBatch batch) {
+		List<EditBatch.Edit> edits = batch.getSortedEdits();
+		if (edits.isEmpty()) {
+			return;
+		}
+		if (!isReady()) {
+			setContent(batch.applyTo(getContent()));
+			return;
+		}
+		JsArray<JavaScriptObject> array = JavaScriptObject.createArray().cast();
+		for (EditBatch.Edit edit : edits) {
+			array.push(createEdit(edit.fromLine, edit.fromColumn, edit.toLine, edit.toColumn, edit.text));
+		}
+		applyEdits(array);
+	}
+
+	private static native JavaScriptObject createEdit(int fromLine, int fromColumn,
+			int toLine, int toColumn, String text) /*-{
+		return {from: {line: fromLine, ch: fromColumn}, to: {line: toLine, ch: toColumn}, text: text};
+	}-*/;
+
+	private native void applyEdits(JsArray<JavaScriptObject> edits) /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		editor.applyEdits(edits);
+	}-*/;
+
+	/**
+	 * Get the line that holds the character at the given offset
+	 * in the content.
+	 * @param offset
+	 * @return line
+	 */
+	public int lineOf(int offset) {
+		if (!isReady()) {
+			return getDocument().lineOf(offset);
+		}
+		return editorLineOf(offset);
+	}
+	
+	private native int editorLineOf(int offset) /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		return editor.lineOfOffset(offset);
+	}-*/;
+	
+	/**
+	 * Get the offset of the first character of a line in the content.
+	 * @param line
+	 * @return offset
+	 */
+	public int offsetOf(int line) {
+		if (!isReady()) {
+			return getDocument().offsetOf(line);
+		}
+		return editorOffsetOf(line);
+	}
+	
+	private native int editorOffsetOf(int line) /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		return editor.offsetOfLine(line);
+	}-*/;
+	
+	/**
+	 * Get a cursor for searching the document, see {@link CodeMirrorSearchCursor}.
+	 * @param query - the text to search for, or a regular expression
+	 * @param fromCursor - start at the cursor instead of the start of the document
+	 * @param caseFold - ignore the case of letters
+	 * @param regex - treat the query as regular expression
+	 * @return the cursor, positioned before the first match, null if 
+	 * the editor is not ready
+	 */
+	public CodeMirrorSearchCursor getSearchCursor(String query, boolean fromCursor, 
+			boolean caseFold, boolean regex) {
+		return isReady() ? getEditorSearchCursor(query, fromCursor, caseFold, regex) : null;
+	}
+	
+	private native CodeMirrorSearchCursor getEditorSearchCursor(String query, boolean fromCursor, 
+			boolean caseFold, boolean regex) /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		return editor.getSearchCursor(query, fromCursor, caseFold, regex);
+	}-*/;
+	
+	public CodeMirrorSearchCursor getSearchCursor(String query) {
+		return getSearchCursor(query, false, false, false);
+	}
+	
+	/**
+	 * Find all matches of a query in one pass, for example to
+	 * highlight them. Searching again for the same query after
+	 * the document changed only searches the changed lines.
+	 * @param query - the text to search for, or a regular expression
+	 * @param caseFold - ignore the case of letters
+	 * @param regex - treat the query as regular expression
+	 * @return the matches in document order, none if the editor is 
+	 * not ready
+	 */
+	public List<SearchMatch> findAll(String query, boolean caseFold, boolean regex) {
+		if (!isReady()) {
+			return new ArrayList<SearchMatch>();
+		}
+		JsArray<SearchMatch> matches = findAllMatches(query, caseFold, regex);
+		List<SearchMatch> result = new ArrayList<SearchMatch>(matches.length());
+		for (int i = 0; i < matches.length(); i++) {
+			result.add(matches.get(i));
+		}
+		return result;
+	}
+	
+	private native JsArray<SearchMatch> findAllMatches(String query, boolean caseFold, boolean regex) /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		return editor.findAll(query, caseFold, regex);
+	}-*/;
+	
+	/**
+	 * Get the number of changes that can be undone
+	 * @return undo levels
+	 */
+	public int historySize() {
+		if (!isReady()) {
+			return 0;
+		}
+		return getEditorHistorySize();
+	}
+	
+	private native int getEditorHistorySize() /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		return editor.historySize().undo;
+	}-*/;
+	
+	/**
+	 * Get the number of undone changes that can be redone
+	 * @return redo levels
+	 */
+	public int redoSize() {
+		if (!isReady()) {
+			return 0;
+		}
+		return getEditorRedoSize();
+	}
+	
+	private native int getEditorRedoSize() /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		return editor.historySize().redo;
+	}-*/;
+	
+	/**
+	 * Clear the undo and redo history
+	 */
+	public void clearHistory() {
+		whenReady(new ScheduledCommand() {
+			public void execute() {
+				clearEditorHistory();
+			}
+		});
+	}
+	
+	private native void clearEditorHistory() /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		editor.clearHistory();
+	}-*/;
+	
+	/**
+	 * Get the undo and redo history as JSON text, to be 
+	 * stored along with the content and restored with 
+	 * {@link #setHistory(String)}.
+	 * @return the history, null if the editor is not ready
+	 */
+	public String getHistory() {
+		if (!isReady()) {
+			return null;
+		}
+		return getEditorHistory();
+	}
+	
+	private native String getEditorHistory() /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		return editor.getHistory();
+	}-*/;
+	
+	/**
+	 * Restore the undo and redo history from {@link #getHistory()}. 
+	 * The editor has to hold the content the history was taken 
+	 * from, otherwise the history is left as it is. An editor that is
+	 * not ready has no history to restore into.
+	 * @param history - the history as JSON text
+	 * @return true if the history was restored
+	 */
+	public boolean setHistory(String history) {
+		if (!isReady()) {
+			return false;
+		}
+		return setEditorHistory(history);
+	}
+	
+	private native boolean setEditorHistory(String history) /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		return editor.setHistory(history);
+	}-*/;
+	
+	/**
+	 * Set the rough amount of bytes the undo history of this 
+	 * editor may take, see {@link CodeMirrorConfiguration#setUndoMemoryLimit(int)}.
+	 * @param limit - the limit in bytes, 0 for no limit
+	 */
+	public void setUndoMemoryLimit(final int limit) {
+		whenReady(new ScheduledCommand() {
+			public void execute() {
+				setEditorUndoMemoryLimit(limit);
+			}
+		});
+	}
+	
+	private native void setEditorUndoMemoryLimit(int limit) /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		editor.setUndoMemoryLimit(limit);
+	}-*/;
+	
 	
 	/**
 	 * Callback function for the code mirror instance
@@ -305,25 +1696,296 @@ implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHa
 	 * can be used.
 	 */
 	private void editorLoaded() {
+		if (resetOnInit) {
+			resetOnInit = false;
+			resetEditor(config);
+		} else if (applyPendingContent) {
+			setEditorContent(pendingContent);
+		}
+		applyPendingContent = false;
+		pendingContent = null;
+		editorReady();
+	}
+	
+	// carries over the scroll position and focus of the preview 
+	// and tells the handlers that the editor can be used
+	private void editorReady() {
+		if (keptContent != null && keptContent.equals(getEditorContent())) {
+			// the editor holds the content of the detached one, the 
+			// changes not saved yet still lead to it
+			if (keptHistory != null) {
+				setEditorHistory(keptHistory);
+			}
+		} else {
+			contentReplaced();
+		}
+		keptContent = null;
+		keptHistory = null;
+		if (previewLine > 0) {
+			scrollToLine(previewLine);
+			previewLine = 0;
+		}
+		List<ScheduledCommand> calls = pendingCalls;
+		pendingCalls = new ArrayList<ScheduledCommand>();
+		for (ScheduledCommand call : calls) {
+			call.execute();
+		}
 		InitializeEvent.fire(this);
+		if (focusOnInit) {
+			focusOnInit = false;
+			setFocus();
+		}
 	}
 	
+	private native void scrollToLine(int line) /*-{
+		var editor = this.@at.wizzart.gwt.widgets.client.CodeMirror::editor;
+		editor.scrollToLine(line + 1);
+	}-*/;
+	
 	/**
 	 * Callback function for the code mirror instance
-	 * that gets called when the user edits the content
-	 * Fires an ValueChangeEvent with the new content
+	 * that gets called when the user edits the content.
+	 * The changes are applied to the document mirror, so the content
+	 * is never read from the editor frame here. Fires a 
+	 * ContentDeltaEvent for every changed range of lines, the 
+	 * ValueChangeEvent is only fired when someone listens for it, 
+	 * its value is the text of the mirror (see {@link #getValue()}),
+	 * which still has to be joined from all lines.
+	 * If a change debounce is configured the changes are merged
+	 * and held back until flushPendingChanges() is called.
+	 * @param changes - the changed line ranges, see {@link ContentChange}
 	 */
-	private void onChange() {
-		ValueChangeEvent.fire(this, getContent());
+	private void onChange(JsArray<ContentChange> changes) {
+		for (int i = 0; i < changes.length(); i++) {
+			ContentChange change = changes.get(i);
+			List<String> lines = change.getLines();
+			unsaved.add(change.getFrom(), change.getRemoved(), lines);
+			if (document != null) {
+				try {
+					document = document.replaceLines(change.getFrom(), change.getRemoved(), lines);
+				} catch (IllegalArgumentException e) {
+					// out of step with the editor, read it again when it is needed
+					document = null;
+				}
+			}
+		}
+		boolean deltas = getHandlerCount(ContentDeltaEvent.getType()) > 0;
+		if (config.getChangeDebounce() <= 0) {
+			if (deltas) {
+				for (int i = 0; i < changes.length(); i++) {
+					ContentChange change = changes.get(i);
+					ContentDeltaEvent.fire(this, change.getFrom(), change.getRemoved(), 
+							change.getAdded(), change.getText());
+				}
+			}
+			if (getHandlerCount(ValueChangeEvent.getType()) > 0) {
+				ValueChangeEvent.fire(this, getValue());
+			}
+			return;
+		}
+		
+		if (deltas) {
+			for (int i = 0; i < changes.length(); i++) {
+				ContentChange change = changes.get(i);
+				pendingChanges.add(change.getFrom(), change.getRemoved(), change.getLines());
+			}
+		}
+		changePending = true;
+		debounceTimer.schedule(config.getChangeDebounce());
+		if (config.getChangeMaxWait() > 0 && !maxWaitScheduled) {
+			maxWaitScheduled = true;
+			maxWaitTimer.schedule(config.getChangeMaxWait());
+		}
+	}
+	
+	/**
+	 * Dispatches the changes that are held back by the change
+	 * debounce (see {@link CodeMirrorConfiguration#setChangeDebounce(int)}) 
+	 * right away: the merged ContentDeltaEvents in ascending line order 
+	 * followed by one ValueChangeEvent.
+	 */
+	public void flushPendingChanges() {
+		debounceTimer.cancel();
+		if (maxWaitScheduled) {
+			maxWaitScheduled = false;
+			maxWaitTimer.cancel();
+		}
+		if (!changePending) {
+			return;
+		}
+		changePending = false;
+		List<PendingChanges.Entry> entries = pendingChanges.getEntries();
+		pendingChanges.clear();
+		for (PendingChanges.Entry entry : entries) {
+			ContentDeltaEvent.fire(this, entry.from, entry.removed, 
+					entry.lines.size(), entry.getText());
+		}
+		if (getHandlerCount(ValueChangeEvent.getType()) > 0) {
+			ValueChangeEvent.fire(this, getValue());
+		}
+	}
+	
+	/**
+	 * Callback function for the code mirror instance
+	 * that gets called with every measurement when metrics
+	 * are collected. Adds it to the metrics of this widget
+	 * and to the aggregate, and fires a PerformanceEvent.
+	 */
+	private void onMetric(String kind, double millis, int lines, int tokens, boolean overBudget) {
+		metrics.record(kind, millis, lines, tokens, overBudget);
+		CodeMirrorMetrics.getAggregate().record(kind, millis, lines, tokens, overBudget);
+		PerformanceEvent.fire(this, kind, millis, lines, tokens, overBudget);
+	}
+	
+	/**
+	 * Callback function for the code mirror instance
+	 * that gets called when a highlight pass changed the
+	 * symbol index. Fires a SymbolIndexChangeEvent.
+	 */
+	private void onSymbolChange(JavaScriptObject added, JavaScriptObject removed) {
+		List<CodeMirrorSymbol> addedSymbols = new ArrayList<CodeMirrorSymbol>();
+		List<CodeMirrorSymbol> removedSymbols = new ArrayList<CodeMirrorSymbol>();
+		addSymbols(addedSymbols, added);
+		addSymbols(removedSymbols, removed);
+		SymbolIndexChangeEvent.fire(this, addedSymbols, removedSymbols);
+	}
+	
+	/**
+	 * Get the timings of this editor, they are only collected if
+	 * {@link CodeMirrorConfiguration#setCollectMetrics(boolean)} is on.
+	 * @return the metrics of this instance
+	 */
+	public CodeMirrorMetrics getMetrics() {
+		return metrics;
+	}
+	
+	/**
+	 * Callback function for the code mirror instance
+	 * that gets called when the editor loses the focus
+	 */
+	private void onBlur() {
+		if (config.isFlushChangesOnBlur()) {
+			flushPendingChanges();
+		}
 	}
 	
 	/**
 	 * Callback function for the code mirror instance
 	 * that gets called when the user presses CMD/STRG + s
-	 * Fires an SaveEvent that can be handled by the app
+	 * Fires an SaveEvent with a patch that can be handled by the app
 	 */
 	private void onSave() {
-		SaveEvent.fire(this);
+		if (config.isFlushChangesOnSave()) {
+			flushPendingChanges();
+		}
+		if (saver != null && saver.isSaving()) {
+			// the saver sends the changes when its save is back, a patch
+			// created now would be dropped but still count as sent
+			SaveEvent.fire(this, null);
+		} else if (getHandlerCount(SaveEvent.getType()) > 0) {
+			SaveEvent.fire(this, createSavePatch());
+		}
+	}
+	
+	// called by the saver of the editor
+	void setSaver(CodeMirrorSaver saver) {
+		this.saver = saver;
+	}
+	
+	/**
+	 * Creates a patch with the changes since the last save that was
+	 * acknowledged with {@link #acknowledgeSave(ContentPatch, int)}. 
+	 * Until there is such a save for the current content (or the 
+	 * revision is set with {@link #setSavedRevision(int)}) the patch is
+	 * a full upload. Save events carry a patch created this way.
+	 * @return the patch
+	 */
+	public ContentPatch createSavePatch() {
+		if (savedRevision < 0) {
+			return createFullSavePatch();
+		}
+		unacknowledged.add(new SaveSegment(++patchSequence, unsaved));
+		unsaved = new PendingChanges();
+		PendingChanges changes = new PendingChanges();
+		for (SaveSegment segment : unacknowledged) {
+			changes.addAll(segment.changes);
+		}
+		List<PendingChanges.Entry> entries = changes.getEntries();
+		ContentPatch.Edit[] edits = new ContentPatch.Edit[entries.size()];
+		for (int i = 0; i < edits.length; i++) {
+			PendingChanges.Entry entry = entries.get(i);
+			edits[i] = new ContentPatch.Edit(entry.from, entry.removed, 
+					entry.lines.toArray(new String[entry.lines.size()]));
+		}
+		return new ContentPatch(savedRevision, patchSequence, edits);
+	}
+	
+	/**
+	 * Creates a patch that uploads the whole content, for servers 
+	 * that did not accept a patch from {@link #createSavePatch()}.
+	 * Acknowledging a patch created before this one has no effect.
+	 * @return the patch
+	 */
+	public ContentPatch createFullSavePatch() {
+		// a full upload covers everything before it, so the segments
+		// are merged and the older patches no longer matter
+		PendingChanges changes = new PendingChanges();
+		for (SaveSegment segment : unacknowledged) {
+			changes.addAll(segment.changes);
+		}
+		changes.addAll(unsaved);
+		unacknowledged.clear();
+		unacknowledged.add(new SaveSegment(++patchSequence, changes));
+		unsaved = new PendingChanges();
+		acknowledgedSequence = patchSequence - 1;
+		return new ContentPatch(savedRevision, patchSequence, getContent());
+	}
+	
+	/**
+	 * Tells the editor that the server saved a patch, the next patch
+	 * only holds the changes made after the acknowledged one was 
+	 * created.
+	 * @param patch - a patch created by this editor
+	 * @param revision - the revision the server created from it
+	 */
+	public void acknowledgeSave(ContentPatch patch, int revision) {
+		if (patch.getSequence() <= acknowledgedSequence) {
+			return;
+		}
+		acknowledgedSequence = patch.getSequence();
+		while (!unacknowledged.isEmpty() && unacknowledged.get(0).sequence <= patch.getSequence()) {
+			unacknowledged.remove(0);
+		}
+		// a patch from before setContent() does not describe the content
+		savedRevision = patch.getSequence() > replacedAt ? revision : -1;
+	}
+	
+	/**
+	 * Declares the current content to be the given revision of the 
+	 * server copy, for example when it was loaded from the server. 
+	 * The next save then sends a patch against it.
+	 * @param revision - the revision, -1 if the content does not build on one
+	 */
+	public void setSavedRevision(int revision) {
+		contentReplaced();
+		acknowledgedSequence = patchSequence;
+		savedRevision = revision;
+	}
+	
+	/**
+	 * @return the revision the content builds on, -1 if it is unknown
+	 */
+	public int getSavedRevision() {
+		return savedRevision;
+	}
+	
+	// the changes collected so far no longer lead to the content
+	private void contentReplaced() {
+		document = null;
+		unacknowledged.clear();
+		unsaved = new PendingChanges();
+		replacedAt = patchSequence;
+		savedRevision = -1;
 	}
 	
 	public HandlerRegistration addChangeHandler(ChangeHandler handler) {
@@ -344,8 +2006,11 @@ implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHa
 		    return addHandler(handler, ValueChangeEvent.getType());
 		  }
 
+	/**
+	 * The content from the document mirror, see {@link #getDocument()}
+	 */
 	public String getValue() {
-		return getContent();
+		return getDocument().getText();
 	}
 
 	public void setValue(String value) {
@@ -353,7 +2018,7 @@ implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHa
 	}
 
 	public void setValue(String value, boolean fireEvents) {
-		String oldValue = getContent();
+		String oldValue = getValue();
 	    setContent(value);
 	    if (fireEvents) {
 	      ValueChangeEvent.fireIfNotEqual(this, oldValue, value);
@@ -367,5 +2032,21 @@ implements HasChangeHandlers, HasValue<String>, HasInitializeHandlers, HasSaveHa
 	public HandlerRegistration addSaveHandler(SaveHandler handler) {
 		return addHandler(handler, SaveEvent.getType());
 	}
+
+	public HandlerRegistration addContentDeltaHandler(ContentDeltaHandler handler) {
+		return addHandler(handler, ContentDeltaEvent.getType());
+	}
+
+	public HandlerRegistration addPerformanceHandler(PerformanceHandler handler) {
+		return addHandler(handler, PerformanceEvent.getType());
+	}
+
+	public HandlerRegistration addLoadProgressHandler(LoadProgressHandler handler) {
+		return addHandler(handler, LoadProgressEvent.getType());
+	}
+
+	public HandlerRegistration addSymbolIndexChangeHandler(SymbolIndexChangeHandler handler) {
+		return addHandler(handler, SymbolIndexChangeEvent.getType());
+	}
 	
 }
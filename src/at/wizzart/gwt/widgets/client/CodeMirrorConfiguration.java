@@ -53,7 +53,8 @@ public class CodeMirrorConfiguration {
 	private boolean lineNumbers = false;
 	
 	/**
-	 *  the delay for refreshing line numbers
+	 *  the delay between a change and the refresh of the line numbers,
+	 *  only the numbers of the visible lines are refreshed
 	 */
 	private int lineNumberDelay = 500;
 	
@@ -71,6 +72,14 @@ public class CodeMirrorConfiguration {
 	
 	private int undoDelay = 800;
 	
+	/**
+	 * The rough amount of bytes the undo history may take, the oldest
+	 * changes are dropped when it gets bigger. The last change can 
+	 * always be undone. 0 (the default) only limits the history by 
+	 * the undo depth.
+	 */
+	private int undoMemoryLimit = 0;
+	
 	private boolean disableSpellcheck = true;
 	
 	private boolean textWrapping = true;
@@ -86,6 +95,179 @@ public class CodeMirrorConfiguration {
 	private int indentUnit = 2;
 	
 	private String styleSheetURL = "";
+	
+	/**
+	 * The parser used for highlighting, use one of the PARSER_*
+	 * constants of {@link CodeMirror}. Only this parser (and the 
+	 * parsers it depends on) is loaded into the editor frame, other
+	 * parsers are fetched when CodeMirror.setParser() switches to them.
+	 * The default stays the PHP/HTML mixed parser the editor always
+	 * used, it needs the files of the XML, CSS, JavaScript and PHP
+	 * parsers as well; pick the parser of the content to load less.
+	 */
+	private String parser = CodeMirror.PARSER_PHP_HTML_MIXED;
+	
+	/**
+	 * The time in milliseconds without edits after which change
+	 * events are dispatched. All edits in between are merged into
+	 * one ValueChangeEvent and as few ContentDeltaEvents as possible.
+	 * Defaults to 0, which dispatches every change immediately.
+	 */
+	private int changeDebounce = 0;
+	
+	/**
+	 * The maximum time in milliseconds a change may be held back
+	 * while edits keep coming in. 0 means no limit.
+	 */
+	private int changeMaxWait = 0;
+	
+	/**
+	 * dispatch held back changes when the editor loses focus
+	 */
+	private boolean flushChangesOnBlur = true;
+	
+	/**
+	 * dispatch held back changes before a save event is fired
+	 */
+	private boolean flushChangesOnSave = true;
+	
+	/**
+	 * Documents with more lines than this are opened in large document
+	 * mode: only the lines around the visible part of the editor are
+	 * kept in the DOM and text wrapping is switched off. Moving to
+	 * another part of the document clears the undo history and the
+	 * highlighting of the newly shown lines starts without the parser
+	 * state of the lines above them. 0 (the default) disables the mode.
+	 */
+	private int largeDocumentThreshold = 0;
+	
+	/**
+	 * the number of lines above and below the visible ones that are
+	 * kept in the DOM in large document mode
+	 */
+	private int viewportMargin = 100;
+	
+	/**
+	 * Run the parser in a Web Worker instead of the editor frame, the
+	 * frame then only applies the tokens the worker sends back. Browsers
+	 * without workers, or pages that can not start one from the module's
+	 * js directory, keep highlighting in the frame. While the worker has
+	 * not caught up with an edit, new lines are indented like the line
+	 * before them.
+	 */
+	private boolean highlightInWorker = false;
+	
+	/**
+	 * Let the editor choose when highlighting runs and how long a pass
+	 * takes, instead of the fixed passDelay and passTime: passes wait
+	 * while the user types, run in idle periods or between animation
+	 * frames otherwise, and their length follows the measured frame
+	 * times, up to passTime. Off by default.
+	 */
+	private boolean adaptiveHighlighting = false;
+	
+	/**
+	 * Hand the highlighting, line numbering and continuous scanning work
+	 * to the page-wide {@link CodeMirrorScheduler} instead of running
+	 * own timers. Worth it with many editors on a page: the focused
+	 * editor goes first, hidden ones wait until they are shown, and all
+	 * of them together stay within the budget of the scheduler. Takes
+	 * precedence over adaptive highlighting. Off by default.
+	 */
+	private boolean sharedScheduler = false;
+	
+	/**
+	 * Measure highlight passes, keystroke latency, line number updates
+	 * and content access, see {@link CodeMirrorMetrics}. Off by default,
+	 * as it adds a callback to the widget for every measurement.
+	 */
+	private boolean collectMetrics = false;
+	
+	/**
+	 * Keep the parser state only on every n-th line. Edits are parsed
+	 * again from the closest of these checkpoints before them, so larger
+	 * values save memory on big documents for a little more work per
+	 * edit. 1 (the default) keeps the state on every line.
+	 */
+	private int checkpointInterval = 1;
+	
+	/**
+	 * The number of highlighted documents whose tokens are kept for all
+	 * editors on the page, keyed by parser and content. Loading one of
+	 * them again shows it coloured at once, while the parser catches up
+	 * in the background. 0 (the default) disables the cache.
+	 */
+	private int highlightCacheSize = 0;
+	
+	/**
+	 * The number of characters the highlight cache may take up in the
+	 * localStorage of the browser, where it survives reloads of the page.
+	 * 0 (the default) keeps it in memory only.
+	 */
+	private int highlightStorageSize = 0;
+	
+	/**
+	 * Keep an index of the symbols in the content: CSS selectors,
+	 * JavaScript functions and variables, XML elements and SQL tables,
+	 * see {@link CodeMirror#getSymbols()}. After every highlight pass
+	 * only the lines the pass changed are looked at again, and a
+	 * SymbolIndexChangeEvent reports the symbols that were added and
+	 * removed. A definition is only found if it is on one line, and
+	 * in large document mode only the lines in the editor frame are 
+	 * indexed. Off by default.
+	 */
+	private boolean symbolIndex = false;
+	
+	/**
+	 * Open the completion list without Control-Space as soon as the
+	 * word before the cursor has this many characters. 0 (the default)
+	 * opens it with Control-Space only. The words come from the
+	 * provider of the widget, see 
+	 * {@link CodeMirror#setCompletionProvider(CompletionProvider)}.
+	 */
+	private int completionAutoPrefix = 0;
+	
+	/**
+	 * Create the editor frame only when the widget is scrolled into
+	 * view or its preview gets the focus. Until then the content is
+	 * shown in a plain, read only pre element with the style name
+	 * gwt-CodeMirror-preview. The InitializeEvent is fired when the 
+	 * editor is ready, as without deferring. Off by default.
+	 */
+	private boolean deferredInit = false;
+	
+	/**
+	 * Show a read only editor as highlighted text in a pre element,
+	 * without an editor frame and without loading the parser. The CSS,
+	 * JavaScript, XML and SQL parsers are highlighted by the tokenizers
+	 * of {@link at.wizzart.gwt.widgets.shared.SyntaxHighlighter}, other 
+	 * parsers show plain text. Has no effect without readOnly. Off by 
+	 * default.
+	 */
+	private boolean staticView = false;
+	
+	/**
+	 * Markup of the content rendered on the server (see 
+	 * at.wizzart.gwt.widgets.server.HighlightRenderer) for the static
+	 * view, null highlights the content in the browser.
+	 */
+	private String renderedContent = null;
+	
+	/**
+	 * the pool the editor frames are taken from, null creates
+	 * a new frame for every widget
+	 */
+	private CodeMirrorPool pool = null;
+	
+	/**
+	 * Keep the content of the editor when the widget is detached, a
+	 * widget that is attached again starts with it (scrolled to where
+	 * it was left, with its undo history and the revision it was saved
+	 * as). The editor frame is destroyed on detach
+	 * either way. Without it a widget that is attached again starts
+	 * with the configured content, like a new one. On by default.
+	 */
+	private boolean keepStateOnDetach = true;
 		
 
 	public void setPassDelay(int passDelay) {
@@ -167,6 +349,18 @@ public class CodeMirrorConfiguration {
 		return undoDelay;
 	}
 
+	/**
+	 * Set the rough amount of bytes the undo history may take,
+	 * 0 (the default) for no limit besides the undo depth.
+	 */
+	public void setUndoMemoryLimit(int undoMemoryLimit) {
+		this.undoMemoryLimit = undoMemoryLimit;
+	}
+
+	public int getUndoMemoryLimit() {
+		return undoMemoryLimit;
+	}
+
 	public void setDisableSpellcheck(boolean disableSpellcheck) {
 		this.disableSpellcheck = disableSpellcheck;
 	}
@@ -230,4 +424,202 @@ public class CodeMirrorConfiguration {
 	public String getStyleSheetURL() {
 		return styleSheetURL;
 	}
+
+	/**
+	 * Set the parser that is loaded with the editor, use one of 
+	 * the PARSER_* constants of {@link CodeMirror}.
+	 */
+	public void setParser(String parser) {
+		this.parser = parser;
+	}
+
+	public String getParser() {
+		return parser;
+	}
+
+	/**
+	 * Set the time without edits after which change events are
+	 * dispatched. Edits in between are merged into one event.
+	 * 0 (the default) dispatches every change immediately.
+	 */
+	public void setChangeDebounce(int changeDebounce) {
+		this.changeDebounce = changeDebounce;
+	}
+
+	public int getChangeDebounce() {
+		return changeDebounce;
+	}
+
+	/**
+	 * Set the maximum time a change may be held back while the
+	 * user keeps typing, 0 means no limit.
+	 */
+	public void setChangeMaxWait(int changeMaxWait) {
+		this.changeMaxWait = changeMaxWait;
+	}
+
+	public int getChangeMaxWait() {
+		return changeMaxWait;
+	}
+
+	public void setFlushChangesOnBlur(boolean flushChangesOnBlur) {
+		this.flushChangesOnBlur = flushChangesOnBlur;
+	}
+
+	public boolean isFlushChangesOnBlur() {
+		return flushChangesOnBlur;
+	}
+
+	public void setFlushChangesOnSave(boolean flushChangesOnSave) {
+		this.flushChangesOnSave = flushChangesOnSave;
+	}
+
+	public boolean isFlushChangesOnSave() {
+		return flushChangesOnSave;
+	}
+
+	/**
+	 * Share editor frames between the widgets that use this
+	 * configuration, see {@link CodeMirrorPool}.
+	 */
+	public void setPool(CodeMirrorPool pool) {
+		this.pool = pool;
+	}
+
+	public CodeMirrorPool getPool() {
+		return pool;
+	}
+
+	public void setKeepStateOnDetach(boolean keepStateOnDetach) {
+		this.keepStateOnDetach = keepStateOnDetach;
+	}
+
+	public boolean isKeepStateOnDetach() {
+		return keepStateOnDetach;
+	}
+
+	/**
+	 * Set the number of lines above which a document is opened in
+	 * large document mode, 0 disables the mode.
+	 */
+	public void setLargeDocumentThreshold(int largeDocumentThreshold) {
+		this.largeDocumentThreshold = largeDocumentThreshold;
+	}
+
+	public int getLargeDocumentThreshold() {
+		return largeDocumentThreshold;
+	}
+
+	public void setViewportMargin(int viewportMargin) {
+		this.viewportMargin = viewportMargin;
+	}
+
+	public int getViewportMargin() {
+		return viewportMargin;
+	}
+
+	public void setHighlightInWorker(boolean highlightInWorker) {
+		this.highlightInWorker = highlightInWorker;
+	}
+
+	public boolean isHighlightInWorker() {
+		return highlightInWorker;
+	}
+
+	public void setAdaptiveHighlighting(boolean adaptiveHighlighting) {
+		this.adaptiveHighlighting = adaptiveHighlighting;
+	}
+
+	public boolean isAdaptiveHighlighting() {
+		return adaptiveHighlighting;
+	}
+
+	public void setSharedScheduler(boolean sharedScheduler) {
+		this.sharedScheduler = sharedScheduler;
+	}
+
+	public boolean isSharedScheduler() {
+		return sharedScheduler;
+	}
+
+	public void setCollectMetrics(boolean collectMetrics) {
+		this.collectMetrics = collectMetrics;
+	}
+
+	public boolean isCollectMetrics() {
+		return collectMetrics;
+	}
+
+	/**
+	 * Set the number of lines between two stored parser states,
+	 * values below 1 count as 1.
+	 */
+	public void setCheckpointInterval(int checkpointInterval) {
+		this.checkpointInterval = Math.max(1, checkpointInterval);
+	}
+
+	public int getCheckpointInterval() {
+		return checkpointInterval;
+	}
+
+	public void setHighlightCacheSize(int highlightCacheSize) {
+		this.highlightCacheSize = highlightCacheSize;
+	}
+
+	public int getHighlightCacheSize() {
+		return highlightCacheSize;
+	}
+
+	public void setHighlightStorageSize(int highlightStorageSize) {
+		this.highlightStorageSize = highlightStorageSize;
+	}
+
+	public int getHighlightStorageSize() {
+		return highlightStorageSize;
+	}
+
+	public void setSymbolIndex(boolean symbolIndex) {
+		this.symbolIndex = symbolIndex;
+	}
+
+	public boolean isSymbolIndex() {
+		return symbolIndex;
+	}
+
+	public void setCompletionAutoPrefix(int completionAutoPrefix) {
+		this.completionAutoPrefix = completionAutoPrefix;
+	}
+
+	public int getCompletionAutoPrefix() {
+		return completionAutoPrefix;
+	}
+
+	public void setDeferredInit(boolean deferredInit) {
+		this.deferredInit = deferredInit;
+	}
+
+	public boolean isDeferredInit() {
+		return deferredInit;
+	}
+
+	public void setStaticView(boolean staticView) {
+		this.staticView = staticView;
+	}
+
+	public boolean isStaticView() {
+		return staticView;
+	}
+
+	/**
+	 * Set the markup of the content rendered on the server, it is
+	 * shown by the static view instead of highlighting the content
+	 * in the browser.
+	 */
+	public void setRenderedContent(String renderedContent) {
+		this.renderedContent = renderedContent;
+	}
+
+	public String getRenderedContent() {
+		return renderedContent;
+	}
 }
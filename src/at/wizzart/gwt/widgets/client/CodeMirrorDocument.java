@@ -0,0 +1,292 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 	CodeMirrorDocument
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	An immutable copy of the text of an editor, see
+ *	{@link CodeMirror#getDocument()}. The widget keeps it up to date
+ *	with the line deltas of the editor, so reading it does not go
+ *	through the DOM of the editor frame. Since it never changes, a
+ *	document can be handed to background work as it is, the widget
+ *	moves on to a new one with every change.
+ *
+ *	<p>The lines are held in chunks of up to 64 lines. A change
+ *	copies the chunks it touches and the array of chunk references,
+ *	the other chunks are shared with the document before. Lines are
+ *	found by a binary search over the first line of every chunk,
+ *	offsets by one over the first offset of every chunk.</p>
+ *
+ *	<p>Line numbers and offsets start at 0, lines are separated by
+ *	a single line break.</p>
+ */
+
+public final class CodeMirrorDocument {
+
+	private final static int CHUNK = 64; // the lines of a chunk when chunks are cut
+
+	// a part of the lines, with their length and line breaks
+	private static final class Chunk {
+		final String[] lines;
+		final int length;
+		
+		Chunk(String[] lines) {
+			int length = 0;
+			for (int i = 0; i < lines.length; i++) {
+				length += lines[i].length() + 1;
+			}
+			this.lines = lines;
+			this.length = length;
+		}
+	}
+
+	private final Chunk[] chunks;
+	private final int[] firstLines; // the first line of every chunk, and the line count at the end
+	private final int[] firstOffsets; // the first offset of every chunk, and the length + 1 at the end
+	private String text; // the whole text, built when it is asked for
+
+	/**
+	 * @param content - the text, line breaks may be \n, \r\n or \r
+	 */
+	public CodeMirrorDocument(String content) {
+		this(cut(split(content == null ? "" : content), new ArrayList<Chunk>()));
+		text = content != null && content.indexOf('\r') < 0 ? content : null;
+	}
+
+	private CodeMirrorDocument(List<Chunk> chunks) {
+		this.chunks = chunks.toArray(new Chunk[chunks.size()]);
+		firstLines = new int[this.chunks.length + 1];
+		firstOffsets = new int[this.chunks.length + 1];
+		for (int i = 0; i < this.chunks.length; i++) {
+			firstLines[i + 1] = firstLines[i] + this.chunks[i].lines.length;
+			firstOffsets[i + 1] = firstOffsets[i] + this.chunks[i].length;
+		}
+	}
+
+	private static List<String> split(String content) {
+		List<String> lines = new ArrayList<String>();
+		int start = 0;
+		for (int i = 0; i < content.length(); i++) {
+			char c = content.charAt(i);
+			if (c == '\n' || c == '\r') {
+				lines.add(content.substring(start, i));
+				if (c == '\r' && i + 1 < content.length() && content.charAt(i + 1) == '\n') {
+					i++;
+				}
+				start = i + 1;
+			}
+		}
+		lines.add(content.substring(start));
+		return lines;
+	}
+
+	// appends the lines as chunks of CHUNK lines to the list
+	private static List<Chunk> cut(List<String> lines, List<Chunk> chunks) {
+		for (int i = 0; i < lines.size(); i += CHUNK) {
+			List<String> part = lines.subList(i, Math.min(lines.size(), i + CHUNK));
+			chunks.add(new Chunk(part.toArray(new String[part.size()])));
+		}
+		return chunks;
+	}
+
+	/**
+	 * @return the number of lines, at least 1
+	 */
+	public int getLineCount() {
+		return firstLines[chunks.length];
+	}
+
+	/**
+	 * @return the number of characters, line breaks included
+	 */
+	public int getLength() {
+		return firstOffsets[chunks.length] - 1;
+	}
+
+	/**
+	 * @param line
+	 * @return the text of the line without its line break, null if
+	 * there is no such line
+	 */
+	public String getLine(int line) {
+		if (line < 0 || line >= getLineCount()) {
+			return null;
+		}
+		int chunk = find(firstLines, line);
+		return chunks[chunk].lines[line - firstLines[chunk]];
+	}
+
+	/**
+	 * @param line
+	 * @return the offset of the first character of the line
+	 * @throws IndexOutOfBoundsException if there is no such line
+	 */
+	public int offsetOf(int line) {
+		if (line < 0 || line >= getLineCount()) {
+			throw new IndexOutOfBoundsException("line " + line);
+		}
+		int chunk = find(firstLines, line), offset = firstOffsets[chunk];
+		for (int i = firstLines[chunk]; i < line; i++) {
+			offset += chunks[chunk].lines[i - firstLines[chunk]].length() + 1;
+		}
+		return offset;
+	}
+
+	/**
+	 * @param offset
+	 * @return the line that holds the character at the offset, the
+	 * line break at the end of a line belongs to it
+	 * @throws IndexOutOfBoundsException if the offset is not in the text,
+	 * the length itself is allowed and gives the last line
+	 */
+	public int lineOf(int offset) {
+		if (offset < 0 || offset > getLength()) {
+			throw new IndexOutOfBoundsException("offset " + offset);
+		}
+		int chunk = find(firstOffsets, offset), start = firstOffsets[chunk];
+		String[] lines = chunks[chunk].lines;
+		int i = 0;
+		while (i < lines.length - 1 && start + lines[i].length() < offset) {
+			start += lines[i++].length() + 1;
+		}
+		return firstLines[chunk] + i;
+	}
+
+	/**
+	 * @param offset
+	 * @return the character at the offset, '\n' for a line break
+	 * @throws IndexOutOfBoundsException if the offset is not in the text
+	 */
+	public char charAt(int offset) {
+		if (offset < 0 || offset >= getLength()) {
+			throw new IndexOutOfBoundsException("offset " + offset);
+		}
+		int line = lineOf(offset);
+		String text = getLine(line);
+		int column = offset - offsetOf(line);
+		return column < text.length() ? text.charAt(column) : '\n';
+	}
+
+	/**
+	 * @param start - the offset of the first character
+	 * @param end - the offset after the last character
+	 * @return the text between the offsets
+	 * @throws IndexOutOfBoundsException like {@link String#substring(int, int)}
+	 */
+	public String substring(int start, int end) {
+		if (start < 0 || end > getLength() || start > end) {
+			throw new IndexOutOfBoundsException("range " + start + " - " + end);
+		}
+		if (text != null) {
+			return text.substring(start, end);
+		}
+		StringBuilder result = new StringBuilder(end - start);
+		int line = lineOf(start), offset = offsetOf(line);
+		while (offset < end) {
+			String lineText = getLine(line++);
+			int from = Math.max(0, start - offset), to = Math.min(lineText.length(), end - offset);
+			if (from < to) {
+				result.append(lineText.substring(from, to));
+			}
+			offset += lineText.length() + 1;
+			if (offset - 1 >= start && offset - 1 < end) {
+				result.append('\n');
+			}
+		}
+		return result.toString();
+	}
+
+	/**
+	 * @return the whole text, the string is built once per document
+	 */
+	public String getText() {
+		if (text == null) {
+			StringBuilder result = new StringBuilder(Math.max(0, getLength()));
+			for (int i = 0; i < chunks.length; i++) {
+				String[] lines = chunks[i].lines;
+				for (int j = 0; j < lines.length; j++) {
+					if (i > 0 || j > 0) {
+						result.append('\n');
+					}
+					result.append(lines[j]);
+				}
+			}
+			text = result.toString();
+		}
+		return text;
+	}
+
+	public String toString() {
+		return getText();
+	}
+
+	/**
+	 * Replace a range of lines, this document stays as it is.
+	 * @param from - the first line to replace
+	 * @param removed - the number of lines to replace, 0 inserts in front of line from
+	 * @param lines - the new lines
+	 * @return the document with the change
+	 * @throws IllegalArgumentException if the range is not in this document
+	 */
+	public CodeMirrorDocument replaceLines(int from, int removed, List<String> lines) {
+		int count = getLineCount();
+		if (from < 0 || removed < 0 || from + removed > count) {
+			throw new IllegalArgumentException("lines " + from + " - " + (from + removed) + " of " + count);
+		}
+		// the chunks that hold the replaced lines, and the line in front of them
+		int first = find(firstLines, from == count ? from - 1 : from);
+		int last = removed == 0 ? first : find(firstLines, from + removed - 1);
+		// small results are merged with the next chunk, so that edits do not
+		// leave lots of tiny chunks behind
+		if (last + 1 < chunks.length &&
+				chunks[last].lines.length + lines.size() - removed < CHUNK / 2) {
+			last++;
+		}
+		List<String> middle = new ArrayList<String>();
+		for (int i = firstLines[first]; i < from; i++) {
+			middle.add(chunks[first].lines[i - firstLines[first]]);
+		}
+		middle.addAll(lines);
+		for (int i = from + removed; i < firstLines[last + 1]; i++) {
+			middle.add(getLine(i));
+		}
+		if (middle.isEmpty() && first == 0 && last == chunks.length - 1) {
+			// the document keeps its one empty line
+			middle.add("");
+		}
+		List<Chunk> result = new ArrayList<Chunk>(chunks.length + middle.size() / CHUNK + 1);
+		for (int i = 0; i < first; i++) {
+			result.add(chunks[i]);
+		}
+		cut(middle, result);
+		for (int i = last + 1; i < chunks.length; i++) {
+			result.add(chunks[i]);
+		}
+		return new CodeMirrorDocument(result);
+	}
+
+	// the last index with starts[index] <= value, among the chunks
+	private int find(int[] starts, int value) {
+		int low = 0, high = chunks.length - 1;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (starts[middle] <= value) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return low;
+	}
+}
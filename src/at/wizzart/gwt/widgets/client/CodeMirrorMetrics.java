@@ -0,0 +1,259 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 	CodeMirrorMetrics
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Timings of an editor, collected when 
+ *	{@link CodeMirrorConfiguration#setCollectMetrics(boolean)} is on.
+ *	Every kind of measurement is kept in a {@link Histogram} over the 
+ *	last samples, get them with {@link #getHistogram(String)} and one 
+ *	of the kind constants. Each widget has its own metrics 
+ *	({@link CodeMirror#getMetrics()}), {@link #getAggregate()} holds 
+ *	the samples of all widgets together.
+ */
+
+public class CodeMirrorMetrics {
+	
+	/**
+	 * the duration of a highlight pass
+	 */
+	public final static String HIGHLIGHT = "highlight";
+	
+	/**
+	 * the lines a highlight pass went through
+	 */
+	public final static String HIGHLIGHTED_LINES = "highlightedLines";
+	
+	/**
+	 * the tokens a highlight pass went through
+	 */
+	public final static String HIGHLIGHTED_TOKENS = "highlightedTokens";
+	
+	/**
+	 * the time from a key that changes the content to the end 
+	 * of the highlight pass that updated the line
+	 */
+	public final static String KEY_LATENCY = "keyLatency";
+	
+	/**
+	 * the duration of a line number update
+	 */
+	public final static String LINE_NUMBERS = "lineNumbers";
+	
+	/**
+	 * the number elements a line number update wrote, only the 
+	 * visible lines and a margin around them have one
+	 */
+	public final static String LINE_NUMBERS_WRITTEN = "lineNumbersWritten";
+	
+	/**
+	 * the duration of reading the content
+	 */
+	public final static String GET_CONTENT = "getContent";
+	
+	/**
+	 * the duration of replacing the content
+	 */
+	public final static String SET_CONTENT = "setContent";
+	
+	/**
+	 * the duration of a step of a streaming load, it counts 
+	 * the lines it appended
+	 */
+	public final static String LOAD = "load";
+	
+	private static CodeMirrorMetrics aggregate = new CodeMirrorMetrics();
+	
+	/**
+	 * 	Histogram
+	 *	
+	 *	Keeps the last samples of one kind of measurement and 
+	 *	answers percentiles over them.
+	 */
+	public static class Histogram {
+		
+		private double[] samples;
+		private int size; // the number of samples in the window
+		private int next; // the position for the next sample
+		private int count; // the number of samples ever added
+		private double sum; // the sum of the samples in the window
+		
+		public Histogram(int window) {
+			samples = new double[window];
+		}
+		
+		public void add(double value) {
+			if (size == samples.length) {
+				sum -= samples[next];
+			} else {
+				size++;
+			}
+			samples[next] = value;
+			sum += value;
+			next = (next + 1) % samples.length;
+			count++;
+		}
+		
+		/**
+		 * @return the number of samples added since the last reset
+		 */
+		public int getCount() {
+			return count;
+		}
+		
+		/**
+		 * Get a percentile of the samples in the window
+		 * @param percent - between 0 and 100
+		 * @return the smallest sample that is not below the given 
+		 * percentage of the samples, 0 without samples
+		 */
+		public double getPercentile(double percent) {
+			if (size == 0) return 0;
+			double[] sorted = new double[size];
+			System.arraycopy(samples, 0, sorted, 0, size);
+			Arrays.sort(sorted);
+			int rank = (int) Math.ceil(percent / 100 * size);
+			return sorted[Math.max(0, Math.min(size - 1, rank - 1))];
+		}
+		
+		public double getP50() {
+			return getPercentile(50);
+		}
+		
+		public double getP95() {
+			return getPercentile(95);
+		}
+		
+		public double getP99() {
+			return getPercentile(99);
+		}
+		
+		public double getMax() {
+			return getPercentile(100);
+		}
+		
+		public double getMean() {
+			return size == 0 ? 0 : sum / size;
+		}
+		
+		void reset() {
+			size = 0;
+			next = 0;
+			count = 0;
+			sum = 0;
+		}
+		
+		public String toString() {
+			return "n=" + count + " p50=" + getP50() + " p95=" + getP95() + " p99=" + getP99() + " max=" + getMax();
+		}
+	}
+	
+	private Map<String, Histogram> histograms = new HashMap<String, Histogram>();
+	private int window;
+	private int highlightPasses;
+	private int passesOverBudget;
+	
+	/**
+	 * Creates metrics that keep the last 256 samples of each kind
+	 */
+	public CodeMirrorMetrics() {
+		this(256);
+	}
+	
+	/**
+	 * @param window - the number of samples kept per kind
+	 */
+	public CodeMirrorMetrics(int window) {
+		this.window = window;
+	}
+	
+	/**
+	 * @return the metrics of all editors together
+	 */
+	public static CodeMirrorMetrics getAggregate() {
+		return aggregate;
+	}
+	
+	/**
+	 * Add a measurement
+	 * @param kind - one of the kind constants
+	 * @param millis - the duration
+	 * @param lines - the lines processed, if the kind counts them
+	 * @param tokens - the tokens processed, if the kind counts them
+	 * @param overBudget - true if the work had to stop because it used up its time
+	 */
+	void record(String kind, double millis, int lines, int tokens, boolean overBudget) {
+		getHistogram(kind).add(millis);
+		if (HIGHLIGHT.equals(kind)) {
+			highlightPasses++;
+			if (overBudget) passesOverBudget++;
+			getHistogram(HIGHLIGHTED_LINES).add(lines);
+			getHistogram(HIGHLIGHTED_TOKENS).add(tokens);
+		} else if (LINE_NUMBERS.equals(kind)) {
+			getHistogram(LINE_NUMBERS_WRITTEN).add(lines);
+		}
+	}
+	
+	/**
+	 * Get the samples of one kind of measurement
+	 * @param kind - one of the kind constants
+	 * @return the histogram, empty if nothing was measured yet
+	 */
+	public Histogram getHistogram(String kind) {
+		Histogram histogram = histograms.get(kind);
+		if (histogram == null) {
+			histogram = new Histogram(window);
+			histograms.put(kind, histogram);
+		}
+		return histogram;
+	}
+	
+	/**
+	 * @return the number of highlight passes
+	 */
+	public int getHighlightPasses() {
+		return highlightPasses;
+	}
+	
+	/**
+	 * @return the number of highlight passes that used up the 
+	 * passTime and left work for the next pass
+	 */
+	public int getPassesOverBudget() {
+		return passesOverBudget;
+	}
+	
+	/**
+	 * Drop all samples and counts
+	 */
+	public void reset() {
+		for (Histogram histogram : histograms.values()) {
+			histogram.reset();
+		}
+		highlightPasses = 0;
+		passesOverBudget = 0;
+	}
+	
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		result.append("passes=").append(highlightPasses)
+			.append(" overBudget=").append(passesOverBudget);
+		for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+			result.append("\n").append(entry.getKey()).append(": ").append(entry.getValue());
+		}
+		return result.toString();
+	}
+}
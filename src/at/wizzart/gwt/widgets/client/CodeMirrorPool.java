@@ -0,0 +1,433 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.user.client.DOM;
+import com.google.gwt.user.client.Element;
+import com.google.gwt.user.client.Timer;
+import com.google.gwt.user.client.ui.RootPanel;
+
+/**
+ * 	CodeMirrorPool
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Keeps initialized editor frames around when their widgets are
+ *	detached and hands them to the next widget that is attached, so
+ *	the frame does not have to load the base files, parsers and the
+ *	stylesheet again. Use it by setting the pool on the configuration
+ *	of the widgets that should share it, see
+ *	{@link CodeMirrorConfiguration#setPool(CodeMirrorPool)}.
+ *
+ *	<p>The frame content is written by script, so a frame that is moved
+ *	to another place in the DOM is reloaded by the browser. Pooled
+ *	frames therefore never leave the pool's own layer at the end of the
+ *	document body: the frame is positioned over the element of the widget
+ *	that uses it and follows it when the layout of the page changes, see
+ *	{@link LayoutWatcher}. Layout changes made by code without any user
+ *	event need a call to {@link #reposition()}. Inside scrolled containers
+ *	(or others that clip their overflow) the frame is clipped to the
+ *	part of the widget they show, and moved out of sight when nothing
+ *	of it is shown. The widget itself stays empty, so it has to get its
+ *	size from the stylesheet or setSize().</p>
+ *
+ *	<p>The frames are not part of the widget's place in the page, so
+ *	pooling is only meant for plain layouts: the frames come after all
+ *	other elements in the tab order and are stacked by the z-index of
+ *	the pool's layer (see {@link #setZIndex(int)}), not by the one of
+ *	the widget. Popups or menus above a widget have to have a higher
+ *	z-index, clipping by CSS transforms, clip paths or fixed elements
+ *	is not followed. Widgets in such layouts should not use a pool.</p>
+ *
+ *	<p>Only frames that were created with the same read only, continuous
+ *	scanning, paren matching, large document and worker highlighting
+ *	settings are reused, these options can not be changed once the
+ *	editor is running. Everything else is reset from the configuration
+ *	of the new widget.</p>
+ */
+
+public class CodeMirrorPool {
+
+	// one frame of the pool, either idle or used by a widget
+	private static class Slot {
+		Element element; // the positioned container of the editor frame
+		JavaScriptObject editor; // the code mirror instance in the frame
+		String signature; // the options the frame was created with
+		CodeMirror widget; // the widget using the frame, null while idle
+		double idleSince; // the time the frame was released
+	}
+
+	private List<Slot> slots = new ArrayList<Slot>();
+	private Element layer; // the element holding all frames of this pool
+	private int maxIdle = 4;
+	private int idleTimeout = 5 * 60 * 1000;
+	private int zIndex = 0;
+	private int hits;
+	private int misses;
+	private int evictions;
+	private boolean tracking; // true while the pool listens to layout changes
+
+	// moves the frames along with their widgets
+	private LayoutWatcher.Listener layoutListener = new LayoutWatcher.Listener() {
+		public void onLayoutChange() {
+			positionAll();
+		}
+	};
+
+	// removes frames that were not used for longer than the idle timeout
+	private Timer evictionTimer = new Timer() {
+		public void run() {
+			evictIdle();
+		}
+	};
+
+	/**
+	 * Creates a pool that keeps up to four idle frames
+	 * for five minutes.
+	 */
+	public CodeMirrorPool() {
+	}
+
+	/**
+	 * Creates a pool with the given limits.
+	 * @param maxIdle - the maximum number of idle frames kept
+	 * @param idleTimeout - the milliseconds an idle frame is kept, 0 keeps it forever
+	 */
+	public CodeMirrorPool(int maxIdle, int idleTimeout) {
+		this.maxIdle = maxIdle;
+		this.idleTimeout = idleTimeout;
+	}
+
+	/**
+	 * Creates idle frames up front, so that the first widgets
+	 * attached with a matching configuration are served from the pool.
+	 * @param count - the number of frames to create
+	 * @param config - the configuration the frames are created with
+	 */
+	public void prewarm(int count, CodeMirrorConfiguration config) {
+		for (int i = 0; i < count && getIdleCount() < maxIdle; i++) {
+			Slot slot = createSlot(config);
+			release(slot);
+		}
+	}
+
+	/**
+	 * Hands a frame to the widget, the widget's editor is set to the
+	 * pooled instance or to a new one if no idle frame fits.
+	 * @param widget - the widget that was attached
+	 */
+	void attach(CodeMirror widget) {
+		CodeMirrorConfiguration config = widget.getConfiguration();
+		String signature = signatureOf(config);
+		Slot slot = null;
+		for (Slot candidate : slots) {
+			if (candidate.widget == null && candidate.signature.equals(signature)) {
+				slot = candidate;
+				// prefer frames that finished loading
+				if (CodeMirror.isEditorReady(candidate.editor)) break;
+			}
+		}
+		if (slot == null) {
+			misses++;
+			slot = createSlot(config);
+			slot.widget = widget;
+			position(slot);
+			widget.adoptEditor(slot.editor, false);
+		} else {
+			hits++;
+			slot.widget = widget;
+			position(slot);
+			widget.adoptEditor(slot.editor, true);
+		}
+		startTracking();
+		// the widgets attached together are laid out after onLoad()
+		LayoutWatcher.changed();
+	}
+
+	/**
+	 * Takes the frame back from a widget that was detached. If the pool
+	 * already holds the maximum number of idle frames the frame is removed.
+	 * @param widget - the widget that was detached
+	 */
+	void detach(CodeMirror widget) {
+		for (Slot slot : slots) {
+			if (slot.widget == widget) {
+				CodeMirror.releaseEditor(slot.editor);
+				if (getIdleCount() >= maxIdle) {
+					remove(slot);
+					evictions++;
+				} else {
+					release(slot);
+				}
+				break;
+			}
+		}
+		if (getLeasedCount() == 0 && tracking) {
+			LayoutWatcher.remove(layoutListener);
+			tracking = false;
+		}
+	}
+
+	/**
+	 * Moves the frames over their widgets again. The pool follows
+	 * resizing, scrolling and clicks by itself, this is only needed
+	 * after layout changes made by code, like a timed animation.
+	 */
+	public void reposition() {
+		positionAll();
+	}
+
+	/**
+	 * Removes all idle frames of the pool
+	 */
+	public void clear() {
+		for (Slot slot : new ArrayList<Slot>(slots)) {
+			if (slot.widget == null) remove(slot);
+		}
+	}
+
+	/**
+	 * Set the maximum number of idle frames the pool keeps
+	 * @param maxIdle
+	 */
+	public void setMaxIdle(int maxIdle) {
+		this.maxIdle = maxIdle;
+		while (getIdleCount() > maxIdle) {
+			remove(oldestIdle());
+			evictions++;
+		}
+	}
+
+	public int getMaxIdle() {
+		return maxIdle;
+	}
+
+	/**
+	 * Set the milliseconds an idle frame is kept before it is
+	 * removed, 0 keeps idle frames until the pool is cleared.
+	 * @param idleTimeout
+	 */
+	public void setIdleTimeout(int idleTimeout) {
+		this.idleTimeout = idleTimeout;
+		scheduleEviction();
+	}
+
+	public int getIdleTimeout() {
+		return idleTimeout;
+	}
+
+	/**
+	 * Set the z-index of the layer that holds the frames
+	 * @param zIndex
+	 */
+	public void setZIndex(int zIndex) {
+		this.zIndex = zIndex;
+		if (layer != null) {
+			DOM.setStyleAttribute(layer, "zIndex", String.valueOf(zIndex));
+		}
+	}
+
+	public int getZIndex() {
+		return zIndex;
+	}
+
+	/**
+	 * @return the number of widgets that got an idle frame
+	 */
+	public int getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return the number of widgets that had to create a new frame
+	 */
+	public int getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return the number of idle frames removed because of the limits
+	 */
+	public int getEvictions() {
+		return evictions;
+	}
+
+	public int getIdleCount() {
+		int count = 0;
+		for (Slot slot : slots) {
+			if (slot.widget == null) count++;
+		}
+		return count;
+	}
+
+	public int getLeasedCount() {
+		return slots.size() - getIdleCount();
+	}
+
+	/**
+	 * Resets the hit, miss and eviction counters
+	 */
+	public void resetCounters() {
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	private Slot createSlot(CodeMirrorConfiguration config) {
+		if (layer == null) {
+			layer = DOM.createDiv();
+			DOM.setStyleAttribute(layer, "position", "absolute");
+			DOM.setStyleAttribute(layer, "left", "0px");
+			DOM.setStyleAttribute(layer, "top", "0px");
+			DOM.setStyleAttribute(layer, "width", "0px");
+			DOM.setStyleAttribute(layer, "height", "0px");
+			DOM.setStyleAttribute(layer, "overflow", "visible");
+			DOM.setStyleAttribute(layer, "zIndex", String.valueOf(zIndex));
+			DOM.appendChild(RootPanel.getBodyElement(), layer);
+		}
+		Slot slot = new Slot();
+		slot.element = DOM.createDiv();
+		slot.signature = signatureOf(config);
+		DOM.setStyleAttribute(slot.element, "position", "absolute");
+		DOM.setStyleAttribute(slot.element, "width", "400px");
+		DOM.setStyleAttribute(slot.element, "height", "300px");
+		hide(slot);
+		DOM.appendChild(layer, slot.element);
+		slot.editor = CodeMirror.initEditor(slot.element, config, config.getContent());
+		slots.add(slot);
+		return slot;
+	}
+
+	private void release(Slot slot) {
+		slot.widget = null;
+		slot.idleSince = System.currentTimeMillis();
+		hide(slot);
+		scheduleEviction();
+	}
+
+	private void remove(Slot slot) {
+		slots.remove(slot);
+		CodeMirror.destroyEditor(slot.editor);
+		DOM.removeChild(layer, slot.element);
+	}
+
+	private Slot oldestIdle() {
+		Slot oldest = null;
+		for (Slot slot : slots) {
+			if (slot.widget == null && (oldest == null || slot.idleSince < oldest.idleSince)) {
+				oldest = slot;
+			}
+		}
+		return oldest;
+	}
+
+	private void evictIdle() {
+		if (idleTimeout <= 0) return;
+		double now = System.currentTimeMillis();
+		for (Slot slot : new ArrayList<Slot>(slots)) {
+			if (slot.widget == null && now - slot.idleSince >= idleTimeout) {
+				remove(slot);
+				evictions++;
+			}
+		}
+		scheduleEviction();
+	}
+
+	private void scheduleEviction() {
+		evictionTimer.cancel();
+		Slot oldest = oldestIdle();
+		if (idleTimeout > 0 && oldest != null) {
+			double due = oldest.idleSince + idleTimeout - System.currentTimeMillis();
+			evictionTimer.schedule(Math.max(1, (int) due));
+		}
+	}
+
+	private void startTracking() {
+		if (!tracking) {
+			LayoutWatcher.add(layoutListener);
+			tracking = true;
+		}
+	}
+
+	private void positionAll() {
+		for (Slot slot : slots) {
+			if (slot.widget != null) position(slot);
+		}
+	}
+
+	// puts the frame over the element of its widget, clipped to the
+	// part its ancestors show. Frames of hidden widgets are moved out
+	// of sight but stay rendered, Firefox does not make invisible 
+	// frames editable
+	private void position(Slot slot) {
+		Element host = slot.widget.getElement();
+		int width = DOM.getElementPropertyInt(host, "offsetWidth");
+		int height = DOM.getElementPropertyInt(host, "offsetHeight");
+		if (!slot.widget.isAttached() || width == 0 || height == 0) {
+			hide(slot);
+			return;
+		}
+		int left = DOM.getAbsoluteLeft(host);
+		int top = DOM.getAbsoluteTop(host);
+		// the visible part as left, top, right, bottom in page coordinates
+		int[] visible = {left, top, left + width, top + height};
+		Element body = RootPanel.getBodyElement();
+		for (Element parent = DOM.getParent(host); parent != null && parent != body; parent = DOM.getParent(parent)) {
+			int clips = clippedAxes(parent);
+			if (clips == 0) continue;
+			// the padding box, where the overflow is cut off
+			int x = DOM.getAbsoluteLeft(parent) + DOM.getElementPropertyInt(parent, "clientLeft");
+			int y = DOM.getAbsoluteTop(parent) + DOM.getElementPropertyInt(parent, "clientTop");
+			if ((clips & 1) != 0) {
+				visible[0] = Math.max(visible[0], x);
+				visible[2] = Math.min(visible[2], x + DOM.getElementPropertyInt(parent, "clientWidth"));
+			}
+			if ((clips & 2) != 0) {
+				visible[1] = Math.max(visible[1], y);
+				visible[3] = Math.min(visible[3], y + DOM.getElementPropertyInt(parent, "clientHeight"));
+			}
+		}
+		if (visible[0] >= visible[2] || visible[1] >= visible[3]) {
+			hide(slot);
+			return;
+		}
+		DOM.setStyleAttribute(slot.element, "left", left + "px");
+		DOM.setStyleAttribute(slot.element, "top", top + "px");
+		DOM.setStyleAttribute(slot.element, "width", width + "px");
+		DOM.setStyleAttribute(slot.element, "height", height + "px");
+		if (visible[0] > left || visible[1] > top || visible[2] < left + width || visible[3] < top + height) {
+			DOM.setStyleAttribute(slot.element, "clip", "rect(" + (visible[1] - top) + "px, " 
+					+ (visible[2] - left) + "px, " + (visible[3] - top) + "px, " + (visible[0] - left) + "px)");
+		} else {
+			DOM.setStyleAttribute(slot.element, "clip", "auto");
+		}
+	}
+	
+	// 1 if the element cuts off its content horizontally, 2 vertically, 3 both
+	private static native int clippedAxes(Element element) /*-{
+		var style = $wnd.getComputedStyle ? $wnd.getComputedStyle(element, null) : element.currentStyle;
+		if (!style) return 0;
+		var x = style.overflowX || style.overflow, y = style.overflowY || style.overflow;
+		return (x && x != "visible" ? 1 : 0) | (y && y != "visible" ? 2 : 0);
+	}-*/;
+
+	private void hide(Slot slot) {
+		DOM.setStyleAttribute(slot.element, "left", "-10000px");
+		DOM.setStyleAttribute(slot.element, "top", "0px");
+	}
+
+	// the options a running editor can not change
+	private static String signatureOf(CodeMirrorConfiguration config) {
+		return config.isReadOnly() + "/" + config.getContinuousScanning()
+			+ "/" + config.isAutoMatchParens() + "/" + (config.getLargeDocumentThreshold() > 0) + "/" + config.isHighlightInWorker();
+	}
+}
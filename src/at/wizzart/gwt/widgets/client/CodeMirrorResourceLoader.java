@@ -0,0 +1,63 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.JavaScriptObject;
+
+/**
+ * 	CodeMirrorResourceLoader
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Decides where the scripts and stylesheets of the editor come from.
+ *	This one leaves them to the module: the CodeMirror module adds
+ *	codemirror.js and editor.css to the host page, the editor frames
+ *	fetch their files from the module directory. The CodeMirrorInline
+ *	module replaces it with {@link InlineCodeMirrorResourceLoader}.
+ */
+
+class CodeMirrorResourceLoader {
+
+	private static CodeMirrorResourceLoader instance;
+
+	/**
+	 * @return the loader of the module, the host page has codemirror.js
+	 * once it was called
+	 */
+	static CodeMirrorResourceLoader get() {
+		if (instance == null) {
+			instance = GWT.create(CodeMirrorResourceLoader.class);
+			instance.injectPageResources();
+		}
+		return instance;
+	}
+
+	/**
+	 * Adds codemirror.js and editor.css to the host page
+	 */
+	void injectPageResources() {
+	}
+
+	/**
+	 * @return the text of the files the editor frames do not have to
+	 * fetch, by their address (see the inlineFiles option of
+	 * codemirror.js), null if they fetch all of them
+	 */
+	JavaScriptObject getFrameFiles() {
+		return null;
+	}
+
+	/**
+	 * @param url
+	 * @return the text of the stylesheet, null if it has to be fetched
+	 */
+	String getStylesheet(String url) {
+		return null;
+	}
+}
@@ -0,0 +1,64 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import com.google.gwt.resources.client.ClientBundle;
+import com.google.gwt.resources.client.TextResource;
+
+/**
+ * 	CodeMirrorResources
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	The scripts and stylesheets of the editor compiled into the
+ *	module, see {@link InlineCodeMirrorResourceLoader}. The text ends
+ *	up in the permutation files of the compiled module, which are
+ *	named by their content and can be cached forever.
+ */
+
+interface CodeMirrorResources extends ClientBundle {
+
+	@Source("at/wizzart/gwt/widgets/public/js/codemirror-min.js")
+	TextResource codemirror();
+
+	@Source("at/wizzart/gwt/widgets/public/css/editor-min.css")
+	TextResource editorStyle();
+
+	@Source("at/wizzart/gwt/widgets/public/js/basefiles-min.js")
+	TextResource basefiles();
+
+	@Source("at/wizzart/gwt/widgets/public/css/all-min.css")
+	TextResource frameStyle();
+
+	@Source("at/wizzart/gwt/widgets/public/js/parsecss-min.js")
+	TextResource parseCss();
+
+	@Source("at/wizzart/gwt/widgets/public/js/tokenizejavascript-min.js")
+	TextResource tokenizeJavascript();
+
+	@Source("at/wizzart/gwt/widgets/public/js/parsejavascript-min.js")
+	TextResource parseJavascript();
+
+	@Source("at/wizzart/gwt/widgets/public/js/tokenizephp-min.js")
+	TextResource tokenizePhp();
+
+	@Source("at/wizzart/gwt/widgets/public/js/parsephp-min.js")
+	TextResource parsePhp();
+
+	@Source("at/wizzart/gwt/widgets/public/js/parsexml-min.js")
+	TextResource parseXml();
+
+	@Source("at/wizzart/gwt/widgets/public/js/parsesql-min.js")
+	TextResource parseSql();
+
+	@Source("at/wizzart/gwt/widgets/public/js/parsehtmlmixed-min.js")
+	TextResource parseHtmlMixed();
+
+	@Source("at/wizzart/gwt/widgets/public/js/parsephphtmlmixed-min.js")
+	TextResource parsePhpHtmlMixed();
+}
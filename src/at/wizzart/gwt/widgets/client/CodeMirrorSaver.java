@@ -0,0 +1,155 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import at.wizzart.gwt.widgets.client.event.logical.SaveEvent;
+import at.wizzart.gwt.widgets.client.event.logical.SaveHandler;
+import at.wizzart.gwt.widgets.shared.ContentPatch;
+import at.wizzart.gwt.widgets.shared.PatchService;
+import at.wizzart.gwt.widgets.shared.PatchServiceAsync;
+import at.wizzart.gwt.widgets.shared.SaveResult;
+
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.user.client.rpc.AsyncCallback;
+
+/**
+ * 	CodeMirrorSaver
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Saves the content of an editor with the {@link PatchService} when
+ *	the user presses CMD/STRG + s. Only the changes since the last
+ *	acknowledged save are sent, the whole content is uploaded for the
+ *	first save and when the server rejects a patch. One save is on the
+ *	way at a time, saves requested meanwhile are sent together as one
+ *	patch when it returns.
+ *
+ *	<p>The server rejects a full upload too if its copy was saved
+ *	since the revision the editor knows. The callback learns about
+ *	that; to overwrite the copy anyway, declare its revision with 
+ *	{@link CodeMirror#setSavedRevision(int)} and save again.</p>
+ *
+ *	<p>If the content was loaded from the server copy, tell the editor
+ *	its revision with {@link CodeMirror#setSavedRevision(int)}, then
+ *	already the first save is a patch.</p>
+ */
+
+public class CodeMirrorSaver implements SaveHandler {
+
+	private CodeMirror editor;
+	private String documentId;
+	private PatchServiceAsync service;
+	private AsyncCallback<SaveResult> callback;
+	private HandlerRegistration registration;
+	private boolean saving; // true while a patch is on the way
+	private boolean queued; // true if another save was requested meanwhile
+
+	/**
+	 * Saves an editor with the service at codemirror/patch
+	 * @param editor
+	 * @param documentId - the id of the server copy
+	 */
+	public CodeMirrorSaver(CodeMirror editor, String documentId) {
+		this(editor, documentId, GWT.<PatchServiceAsync>create(PatchService.class));
+	}
+
+	/**
+	 * Saves an editor with the given service
+	 * @param editor
+	 * @param documentId - the id of the server copy
+	 * @param service
+	 */
+	public CodeMirrorSaver(CodeMirror editor, String documentId, PatchServiceAsync service) {
+		this.editor = editor;
+		this.documentId = documentId;
+		this.service = service;
+		registration = editor.addSaveHandler(this);
+		editor.setSaver(this);
+	}
+
+	public void onSave(SaveEvent event) {
+		if (saving) {
+			queued = true;
+		} else {
+			send(event.getPatch());
+		}
+	}
+
+	/**
+	 * Saves the changes like CMD/STRG + s does
+	 */
+	public void save() {
+		if (saving) {
+			queued = true;
+		} else {
+			send(editor.createSavePatch());
+		}
+	}
+
+	/**
+	 * Set a callback that learns about every save that finished,
+	 * rejected line patches are not reported, they are followed by
+	 * a full upload. A rejected full upload is reported.
+	 * @param callback
+	 */
+	public void setCallback(AsyncCallback<SaveResult> callback) {
+		this.callback = callback;
+	}
+
+	/**
+	 * @return true while a save is on the way
+	 */
+	public boolean isSaving() {
+		return saving;
+	}
+
+	/**
+	 * Stops saving the editor on CMD/STRG + s
+	 */
+	public void removeHandler() {
+		registration.removeHandler();
+		editor.setSaver(null);
+	}
+
+	private void send(final ContentPatch patch) {
+		saving = true;
+		service.save(documentId, patch, new AsyncCallback<SaveResult>() {
+			public void onSuccess(SaveResult result) {
+				saving = false;
+				if (!result.isAccepted() && !patch.isFull()) {
+					// the server copy is not the one the patch was made for
+					send(editor.createFullSavePatch());
+					return;
+				}
+				if (result.isAccepted()) {
+					editor.acknowledgeSave(patch, result.getRevision());
+				} else {
+					// saving again would only be rejected again
+					queued = false;
+				}
+				if (callback != null) {
+					callback.onSuccess(result);
+				}
+				if (queued) {
+					queued = false;
+					send(editor.createSavePatch());
+				}
+			}
+
+			public void onFailure(Throwable caught) {
+				// the changes stay in the editor and go with the next save
+				saving = false;
+				queued = false;
+				if (callback != null) {
+					callback.onFailure(caught);
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,77 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+/**
+ * 	CodeMirrorScheduler
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Access to the page-wide scheduler that runs the highlighting, line
+ *	numbering and continuous scanning of all editors with
+ *	{@link CodeMirrorConfiguration#setSharedScheduler(boolean)}.
+ *
+ *	<p>The work is done in ticks. A tick runs the due work until the
+ *	frame budget is used up, ticks with work are at least the frame
+ *	period apart, which limits the time all editors together take.
+ *	The work of the focused editor runs first, then that of editors in
+ *	the visible part of the page. Editors that are hidden or scrolled
+ *	out of view wait until they are shown again, the work of editors
+ *	removed from the page is dropped.</p>
+ */
+
+public final class CodeMirrorScheduler {
+
+	static {
+		CodeMirrorResourceLoader.get();
+	}
+
+	private CodeMirrorScheduler() {
+	}
+
+	/**
+	 * Set the milliseconds one tick may take, 20 by default
+	 * @param millis
+	 */
+	public static native void setFrameBudget(int millis) /*-{
+		$wnd.CodeMirror.scheduler.frameBudget = millis;
+	}-*/;
+
+	public static native int getFrameBudget() /*-{
+		return $wnd.CodeMirror.scheduler.frameBudget;
+	}-*/;
+
+	/**
+	 * Set the minimal milliseconds between the starts of two ticks
+	 * that do work, 50 by default
+	 * @param millis
+	 */
+	public static native void setFramePeriod(int millis) /*-{
+		$wnd.CodeMirror.scheduler.framePeriod = millis;
+	}-*/;
+
+	public static native int getFramePeriod() /*-{
+		return $wnd.CodeMirror.scheduler.framePeriod;
+	}-*/;
+
+	/**
+	 * Set how often the scheduler checks whether hidden editors with
+	 * pending work were shown, 500 milliseconds by default
+	 * @param millis
+	 */
+	public static native void setHiddenCheck(int millis) /*-{
+		$wnd.CodeMirror.scheduler.hiddenCheck = millis;
+	}-*/;
+
+	/**
+	 * @return the number of pending tasks of all editors
+	 */
+	public static native int getPendingTasks() /*-{
+		return $wnd.CodeMirror.scheduler.tasks.length;
+	}-*/;
+}
@@ -0,0 +1,109 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import com.google.gwt.core.client.JavaScriptObject;
+
+/**
+ * 	CodeMirrorSearchCursor
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Overlay type for the search cursors of the editor, get one 
+ *	with {@link CodeMirror#getSearchCursor(String, boolean, boolean, boolean)}.
+ *	Call findNext() or findPrevious() to move to a match, the position 
+ *	of the current match is available through the getters until the 
+ *	cursor moves on or the match is replaced.
+ *
+ *	<p>The editor keeps the matches of the last few queries per line 
+ *	and only searches the lines again that changed, so running the 
+ *	same query after an edit is cheap. Line numbers start at 0, 
+ *	regular expressions are matched within single lines.</p>
+ */
+
+public final class CodeMirrorSearchCursor extends JavaScriptObject {
+	
+	protected CodeMirrorSearchCursor() {
+	}
+	
+	/**
+	 * Move to the next match
+	 * @return true if there was one
+	 */
+	public native boolean findNext() /*-{
+		return this.findNext();
+	}-*/;
+	
+	/**
+	 * Move to the previous match
+	 * @return true if there was one
+	 */
+	public native boolean findPrevious() /*-{
+		return this.findPrevious();
+	}-*/;
+	
+	/**
+	 * Select the current match and scroll it into view
+	 */
+	public native void select() /*-{
+		this.select();
+	}-*/;
+	
+	/**
+	 * Replace the current match, for regular expressions 
+	 * $1, $2 ... stand for the groups of the match.
+	 * @param text
+	 */
+	public native void replace(String text) /*-{
+		this.replace(text);
+	}-*/;
+	
+	/**
+	 * Replace all matches in the document as one undo step
+	 * @param text
+	 * @return the number of replaced matches
+	 */
+	public native int replaceAll(String text) /*-{
+		return this.replaceAll(text);
+	}-*/;
+	
+	/**
+	 * @return true if the cursor is at a match
+	 */
+	public native boolean hasMatch() /*-{
+		return !!this.atOccurrence;
+	}-*/;
+	
+	/**
+	 * @return the line the current match starts in, -1 if there is none
+	 */
+	public native int getFromLine() /*-{
+		return this.atOccurrence ? this.atOccurrence.from.line : -1;
+	}-*/;
+	
+	/**
+	 * @return the column the current match starts at, -1 if there is none
+	 */
+	public native int getFromColumn() /*-{
+		return this.atOccurrence ? this.atOccurrence.from.ch : -1;
+	}-*/;
+	
+	/**
+	 * @return the line the current match ends in, -1 if there is none
+	 */
+	public native int getToLine() /*-{
+		return this.atOccurrence ? this.atOccurrence.to.line : -1;
+	}-*/;
+	
+	/**
+	 * @return the column after the current match, -1 if there is none
+	 */
+	public native int getToColumn() /*-{
+		return this.atOccurrence ? this.atOccurrence.to.ch : -1;
+	}-*/;
+}
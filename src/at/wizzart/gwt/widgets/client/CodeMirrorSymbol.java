@@ -0,0 +1,79 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+/**
+ * 	CodeMirrorSymbol
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	An entry of the symbol index of an editor, see
+ *	{@link CodeMirrorConfiguration#setSymbolIndex(boolean)}: a
+ *	definition the parser found in the content. The editor gives
+ *	every symbol an id, a symbol that changes is removed and added
+ *	again with a new id.
+ *
+ *	<p>The line is the one the symbol was on when it was reported,
+ *	{@link CodeMirror#getSymbols()} returns the symbols with their
+ *	current lines. Line numbers start at 0.</p>
+ */
+
+public final class CodeMirrorSymbol {
+
+	/** A CSS rule, the name holds its selectors */
+	public final static String KIND_SELECTOR = "selector";
+	/** A JavaScript function, declared or assigned to a name or property */
+	public final static String KIND_FUNCTION = "function";
+	/** A JavaScript variable declared with var */
+	public final static String KIND_VARIABLE = "variable";
+	/** An opening XML tag */
+	public final static String KIND_ELEMENT = "element";
+	/** A table an SQL statement reads or writes */
+	public final static String KIND_TABLE = "table";
+
+	private final int id;
+	private final String name;
+	private final String kind;
+	private final int line;
+
+	CodeMirrorSymbol(int id, String name, String kind, int line) {
+		this.id = id;
+		this.name = name;
+		this.kind = kind;
+		this.line = line;
+	}
+
+	/**
+	 * @return the id, unique among the symbols of the editor
+	 */
+	public int getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return one of the KIND_ constants
+	 */
+	public String getKind() {
+		return kind;
+	}
+
+	/**
+	 * @return the line of the definition (zero-based)
+	 */
+	public int getLine() {
+		return line;
+	}
+
+	public String toString() {
+		return kind + " " + name + " (line " + line + ")";
+	}
+}
@@ -0,0 +1,52 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+/**
+ * 	CodeMirrorToken
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	A token of a line as the parser classified it, see
+ *	{@link CodeMirror#getLineTokens(int)}. The style holds the
+ *	css classes of the token, like "css-selector", "js-variabledef"
+ *	or "xml-tagname", whitespace between tokens has the style
+ *	"whitespace".
+ */
+
+public final class CodeMirrorToken {
+
+	private final String style;
+	private final String text;
+	private final int column;
+
+	CodeMirrorToken(String style, String text, int column) {
+		this.style = style;
+		this.text = text;
+		this.column = column;
+	}
+
+	public String getStyle() {
+		return style;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * @return the column of the first character (zero-based)
+	 */
+	public int getColumn() {
+		return column;
+	}
+
+	public String toString() {
+		return style + " \"" + text + "\"";
+	}
+}
@@ -0,0 +1,54 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import java.util.List;
+
+/**
+ * 	CompletionProvider
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Finds the words for the completion list of an editor, see
+ *	{@link CodeMirror#setCompletionProvider(CompletionProvider)}.
+ *	The list is opened with Control-Space, or while typing, see
+ *	{@link CodeMirrorConfiguration#setCompletionAutoPrefix(int)}, and
+ *	a request is made for every change of the word before the cursor.
+ *	See {@link DocumentCompletionProvider} for the default provider.
+ */
+
+public interface CompletionProvider {
+
+	/**
+	 * Takes the words for a request
+	 */
+	interface Receiver {
+		
+		/**
+		 * @param completions - the words in the order of the list, 
+		 * an empty list closes it. Answers to requests that were 
+		 * overtaken by a later one are dropped.
+		 */
+		void onCompletions(List<String> completions);
+	}
+
+	/**
+	 * Find the words that complete a prefix, the answer may come 
+	 * later, for example from a server
+	 * @param editor - the editor that asks
+	 * @param prefix - the word before the cursor, empty if there is
+	 * none and the list was opened with Control-Space
+	 * @param word - the whole word at the cursor, the prefix and the
+	 * characters of the word after the cursor
+	 * @param line - the line of the cursor (zero-based)
+	 * @param column - the column where the prefix starts, the chosen
+	 * word replaces the prefix
+	 * @param receiver
+	 */
+	void complete(CodeMirror editor, String prefix, String word, int line, int column, Receiver receiver);
+}
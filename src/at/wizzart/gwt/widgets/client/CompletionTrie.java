@@ -0,0 +1,275 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 	CompletionTrie
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	A prefix tree of words for completion, see
+ *	{@link DocumentCompletionProvider}. Words are counted, so that
+ *	a word added for every place it occurs at stays until the last
+ *	of them is removed again.
+ *
+ *	<p>The tree is path compressed: a node that would have a single
+ *	child and no word of its own is merged with that child, so the
+ *	number of nodes is at most twice the number of distinct words.
+ *	The children of a node are kept in an array sorted by their first
+ *	character. A lookup walks down the prefix and then collects the
+ *	words below it in alphabetical order, until it has enough of them,
+ *	its time does not depend on the number of words in the tree.</p>
+ */
+
+public final class CompletionTrie {
+
+	private final static Node[] NO_CHILDREN = new Node[0];
+
+	private static final class Node {
+		String label; // the characters on the way from the parent
+		int count; // how often the word that ends here was added
+		Node[] children = NO_CHILDREN; // sorted by the first character of their labels
+		int childCount;
+
+		Node(String label) {
+			this.label = label;
+		}
+
+		// the index of the child that starts with c, or -(insertion point) - 1
+		int find(char c) {
+			int low = 0, high = childCount - 1;
+			while (low <= high) {
+				int middle = (low + high) >>> 1;
+				char first = children[middle].label.charAt(0);
+				if (first < c) {
+					low = middle + 1;
+				} else if (first > c) {
+					high = middle - 1;
+				} else {
+					return middle;
+				}
+			}
+			return -low - 1;
+		}
+
+		void insert(int index, Node child) {
+			if (childCount == children.length) {
+				Node[] grown = new Node[Math.max(2, childCount * 2)];
+				System.arraycopy(children, 0, grown, 0, childCount);
+				children = grown;
+			}
+			System.arraycopy(children, index, children, index + 1, childCount - index);
+			children[index] = child;
+			childCount++;
+		}
+
+		void remove(int index) {
+			System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+			children[--childCount] = null;
+			if (childCount == 0) {
+				children = NO_CHILDREN;
+			}
+		}
+	}
+
+	private final Node root = new Node("");
+	private int size; // the number of distinct words
+
+	public CompletionTrie() {
+	}
+
+	/**
+	 * @param words - the words to add once each
+	 */
+	public CompletionTrie(Collection<String> words) {
+		for (String word : words) {
+			add(word);
+		}
+	}
+
+	/**
+	 * @return the number of distinct words
+	 */
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Add an occurrence of a word, the empty word is ignored
+	 * @param word
+	 */
+	public void add(String word) {
+		if (word == null || word.length() == 0) {
+			return;
+		}
+		Node node = root;
+		int i = 0;
+		while (i < word.length()) {
+			int index = node.find(word.charAt(i));
+			if (index < 0) {
+				Node leaf = new Node(word.substring(i));
+				leaf.count = 1;
+				node.insert(-index - 1, leaf);
+				size++;
+				return;
+			}
+			Node child = node.children[index];
+			int common = commonLength(child.label, word, i);
+			if (common < child.label.length()) {
+				// split the label, the new node takes the common part
+				Node middle = new Node(child.label.substring(0, common));
+				child.label = child.label.substring(common);
+				middle.insert(0, child);
+				node.children[index] = middle;
+				child = middle;
+			}
+			node = child;
+			i += common;
+		}
+		if (node.count++ == 0) {
+			size++;
+		}
+	}
+
+	/**
+	 * Remove an occurrence of a word
+	 * @param word
+	 * @return false if the word was not in the tree
+	 */
+	public boolean remove(String word) {
+		if (word == null || word.length() == 0) {
+			return false;
+		}
+		// the nodes on the way, and the index of each in its parent
+		List<Node> path = new ArrayList<Node>();
+		List<Integer> indexes = new ArrayList<Integer>();
+		Node node = root;
+		int i = 0;
+		while (i < word.length()) {
+			int index = node.find(word.charAt(i));
+			if (index < 0) {
+				return false;
+			}
+			Node child = node.children[index];
+			if (!word.startsWith(child.label, i)) {
+				return false;
+			}
+			path.add(node);
+			indexes.add(index);
+			node = child;
+			i += child.label.length();
+		}
+		if (node.count == 0) {
+			return false;
+		}
+		if (--node.count > 0) {
+			return true;
+		}
+		size--;
+		Node parent = path.get(path.size() - 1);
+		if (node.childCount == 0) {
+			parent.remove(indexes.get(indexes.size() - 1));
+			// the parent may be left with a single child and no word
+			if (parent != root && parent.count == 0 && parent.childCount == 1) {
+				Node grandparent = path.get(path.size() - 2);
+				merge(grandparent, indexes.get(indexes.size() - 2));
+			}
+		} else if (node.childCount == 1) {
+			merge(parent, indexes.get(indexes.size() - 1));
+		}
+		return true;
+	}
+
+	// replaces the child at the index by its only child
+	private static void merge(Node parent, int index) {
+		Node node = parent.children[index], child = node.children[0];
+		child.label = node.label + child.label;
+		parent.children[index] = child;
+	}
+
+	/**
+	 * @param word
+	 * @return how often the word was added and not removed again
+	 */
+	public int count(String word) {
+		Node node = root;
+		int i = 0;
+		while (word != null && i < word.length()) {
+			int index = node.find(word.charAt(i));
+			if (index < 0 || !word.startsWith(node.children[index].label, i)) {
+				return 0;
+			}
+			node = node.children[index];
+			i += node.label.length();
+		}
+		return node == root ? 0 : node.count;
+	}
+
+	/**
+	 * Find the words that start with a prefix
+	 * @param prefix - the empty prefix gives the first words of the tree
+	 * @param limit - the most words to return
+	 * @return the words in alphabetical order, the prefix itself
+	 * included if it was added
+	 */
+	public List<String> complete(String prefix, int limit) {
+		List<String> result = new ArrayList<String>();
+		Node node = root;
+		int i = 0;
+		StringBuilder word = new StringBuilder(prefix);
+		while (i < prefix.length()) {
+			int index = node.find(prefix.charAt(i));
+			if (index < 0) {
+				return result;
+			}
+			node = node.children[index];
+			int common = commonLength(node.label, prefix, i);
+			if (common < node.label.length()) {
+				if (i + common < prefix.length()) {
+					return result; // the label goes another way
+				}
+				// the prefix ends inside the label
+				word.append(node.label.substring(common));
+			}
+			i += common;
+		}
+		collect(node, word, result, limit);
+		return result;
+	}
+
+	// the words below a node, the word builder holds the one of the node
+	private static void collect(Node node, StringBuilder word, List<String> result, int limit) {
+		if (node.count > 0 && result.size() < limit) {
+			result.add(word.toString());
+		}
+		for (int i = 0; i < node.childCount && result.size() < limit; i++) {
+			Node child = node.children[i];
+			int length = word.length();
+			word.append(child.label);
+			collect(child, word, result, limit);
+			word.setLength(length);
+		}
+	}
+
+	// the length of the common start of label and word.substring(from)
+	private static int commonLength(String label, String word, int from) {
+		int max = Math.min(label.length(), word.length() - from), i = 0;
+		while (i < max && label.charAt(i) == word.charAt(from + i)) {
+			i++;
+		}
+		return i;
+	}
+}
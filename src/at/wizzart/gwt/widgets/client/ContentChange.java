@@ -0,0 +1,81 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.core.client.JavaScriptObject;
+
+/**
+ * 	ContentChange
+ * 	@author dominikguzei
+ *	@version 1.0
+ *
+ *	Overlay type for the change objects the code mirror
+ *	history hands to the onChange callback. Each change
+ *	replaces a range of lines with the lines it holds.
+ */
+
+final class ContentChange extends JavaScriptObject {
+	
+	protected ContentChange() {
+	}
+	
+	/**
+	 * @return the first changed line (zero-based)
+	 */
+	native int getFrom() /*-{
+		return this.from;
+	}-*/;
+	
+	/**
+	 * @return the number of lines that were replaced
+	 */
+	native int getRemoved() /*-{
+		return this.removed;
+	}-*/;
+	
+	/**
+	 * @return the number of lines that took their place
+	 */
+	native int getAdded() /*-{
+		return this.lines.length;
+	}-*/;
+	
+	/**
+	 * @param index - the index of the new line
+	 * @return the text of the given new line
+	 */
+	native String getLine(int index) /*-{
+		return this.lines[index].text;
+	}-*/;
+	
+	/**
+	 * @return the new lines as list
+	 */
+	List<String> getLines() {
+		List<String> lines = new ArrayList<String>();
+		for (int i = 0; i < getAdded(); i++) {
+			lines.add(getLine(i));
+		}
+		return lines;
+	}
+	
+	/**
+	 * Joins the new lines, this is only done on request
+	 * because the change may span the whole document.
+	 * @return the new lines, separated by \n
+	 */
+	native String getText() /*-{
+		var text = [];
+		for (var i = 0; i < this.lines.length; i++)
+			text.push(this.lines[i].text);
+		return text.join("\n");
+	}-*/;
+}
@@ -0,0 +1,62 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+/**
+ * 	ContentSource
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Delivers the content for {@link CodeMirror#loadContent(ContentSource)}
+ *	in chunks, so that the editor can show and highlight the first
+ *	part while the rest is still on the way. See {@link UrlContentSource}
+ *	and {@link IteratorContentSource}.
+ *
+ *	<p>Chunks may end anywhere, also in the middle of a line.</p>
+ */
+
+public interface ContentSource {
+
+	/**
+	 * Takes the chunks of a source
+	 */
+	interface Receiver {
+		
+		/**
+		 * @param length - the length of the content if the source
+		 * knows it in advance
+		 */
+		void onTotal(int length);
+		
+		void onChunk(String text);
+		
+		/**
+		 * The source delivered everything
+		 */
+		void onEnd();
+		
+		/**
+		 * The source stopped early, the chunks that arrived stay
+		 * in the editor
+		 * @param caught
+		 */
+		void onError(Throwable caught);
+	}
+
+	/**
+	 * Start delivering the chunks to the receiver
+	 * @param receiver
+	 */
+	void start(Receiver receiver);
+
+	/**
+	 * Stop delivering, the receiver does not hear from the
+	 * source again
+	 */
+	void cancel();
+}
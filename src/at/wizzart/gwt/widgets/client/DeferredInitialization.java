@@ -0,0 +1,89 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.user.client.DOM;
+import com.google.gwt.user.client.Element;
+import com.google.gwt.user.client.Window;
+
+/**
+ * 	DeferredInitialization
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Watches the attached widgets with deferred initialization and
+ *	creates their editors as soon as they come close to the visible
+ *	part of the page. The positions are checked when the layout may
+ *	have changed (see {@link LayoutWatcher}), widgets can also become
+ *	visible by opened tabs or scrolled containers. Widgets shown by
+ *	code without any user event can be started with
+ *	{@link CodeMirror#initialize()}. Widgets without a size are treated
+ *	as hidden.
+ */
+
+class DeferredInitialization {
+
+	// widgets this far outside of the window are started already, so
+	// that the frame is usually loaded when they scroll in
+	private final static int MARGIN = 200;
+
+	private static List<CodeMirror> waiting = new ArrayList<CodeMirror>();
+
+	private static LayoutWatcher.Listener layoutListener = new LayoutWatcher.Listener() {
+		public void onLayoutChange() {
+			check();
+		}
+	};
+
+	/**
+	 * Starts watching a widget that shows its preview.
+	 * @param widget - the attached widget
+	 */
+	static void watch(CodeMirror widget) {
+		if (!waiting.contains(widget)) {
+			waiting.add(widget);
+		}
+		LayoutWatcher.add(layoutListener);
+		// the widgets attached together are laid out after onLoad()
+		LayoutWatcher.changed();
+	}
+
+	/**
+	 * Stops watching a widget that was started or detached.
+	 * @param widget
+	 */
+	static void unwatch(CodeMirror widget) {
+		waiting.remove(widget);
+		if (waiting.isEmpty()) {
+			LayoutWatcher.remove(layoutListener);
+		}
+	}
+
+	private static void check() {
+		int top = Window.getScrollTop() - MARGIN;
+		int bottom = Window.getScrollTop() + Window.getClientHeight() + MARGIN;
+		int left = Window.getScrollLeft() - MARGIN;
+		int right = Window.getScrollLeft() + Window.getClientWidth() + MARGIN;
+		for (CodeMirror widget : new ArrayList<CodeMirror>(waiting)) {
+			Element element = widget.getElement();
+			int width = DOM.getElementPropertyInt(element, "offsetWidth");
+			int height = DOM.getElementPropertyInt(element, "offsetHeight");
+			if (width == 0 && height == 0) {
+				continue;
+			}
+			int x = DOM.getAbsoluteLeft(element);
+			int y = DOM.getAbsoluteTop(element);
+			if (y < bottom && y + height > top && x < right && x + width > left) {
+				widget.initialize();
+			}
+		}
+	}
+}
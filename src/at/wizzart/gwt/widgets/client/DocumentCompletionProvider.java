@@ -0,0 +1,127 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 	DocumentCompletionProvider
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	The default {@link CompletionProvider}: completes the identifiers
+ *	of the current content, and the words of a static vocabulary for
+ *	the parser of the editor, like the property names of CSS or the
+ *	keywords of SQL.
+ *
+ *	<p>The identifiers are kept in a {@link CompletionTrie}, fed by
+ *	the word index of the editor: the names the parser found in the
+ *	tokens of the lines (selectors, properties and values of CSS, 
+ *	variables and properties of JavaScript and PHP, tag and attribute
+ *	names of XML, names of SQL), words in comments, strings or 
+ *	keywords are left out. The editor keeps the words of every line 
+ *	and looks at the lines again that a highlight pass changed, a 
+ *	request only takes the words added and removed since the last 
+ *	one. So after the first request the work follows the size of the
+ *	edits, not the size of the content. Lines that were not 
+ *	highlighted yet are highlighted first, in large document mode only
+ *	the lines in the editor frame are indexed.</p>
+ *
+ *	<p>An identifier has at least two characters and does not start
+ *	with a digit. An instance keeps the words of one editor, use one
+ *	provider per editor.</p>
+ */
+
+public class DocumentCompletionProvider implements CompletionProvider {
+
+	private int limit = 50; // the most words in the list
+	private Map<String, CompletionTrie> vocabularies = new HashMap<String, CompletionTrie>();
+	private CompletionTrie words = new CompletionTrie(); // the identifiers of the content
+	private CodeMirror editor; // the editor the words are from
+
+	/**
+	 * Add words that are offered for all content of a language
+	 * @param parser - one of the PARSER_ constants of {@link CodeMirror}
+	 * @param vocabulary
+	 */
+	public void addVocabulary(String parser, Collection<String> vocabulary) {
+		CompletionTrie trie = vocabularies.get(parser);
+		if (trie == null) {
+			trie = new CompletionTrie();
+			vocabularies.put(parser, trie);
+		}
+		for (String word : vocabulary) {
+			if (trie.count(word) == 0) {
+				trie.add(word);
+			}
+		}
+	}
+
+	/**
+	 * @param limit - the most words in the list, 50 by default
+	 */
+	public void setLimit(int limit) {
+		this.limit = limit;
+	}
+
+	public int getLimit() {
+		return limit;
+	}
+
+	public void complete(CodeMirror editor, String prefix, String word, int line, int column, Receiver receiver) {
+		update(editor);
+		// the word at the cursor is not offered if this is its only occurrence
+		List<String> found = words.complete(prefix, limit + 2);
+		if (words.count(word) == 1) {
+			found.remove(word);
+		}
+		CompletionTrie vocabulary = vocabularies.get(editor.getParser());
+		if (vocabulary != null) {
+			found = merge(found, vocabulary.complete(prefix, limit + 1));
+		}
+		found.remove(prefix);
+		receiver.onCompletions(found.size() > limit ? found.subList(0, limit) : found);
+	}
+
+	// two sorted lists as one, without doubles
+	private static List<String> merge(List<String> a, List<String> b) {
+		List<String> result = new ArrayList<String>(a.size() + b.size());
+		int i = 0, j = 0;
+		while (i < a.size() || j < b.size()) {
+			int order = i == a.size() ? 1 : j == b.size() ? -1 : a.get(i).compareTo(b.get(j));
+			result.add(order <= 0 ? a.get(i) : b.get(j));
+			if (order <= 0) {
+				i++;
+			}
+			if (order >= 0) {
+				j++;
+			}
+		}
+		return result;
+	}
+
+	// brings the words up to date with the word index of the editor
+	private void update(CodeMirror editor) {
+		List<String> added = new ArrayList<String>();
+		List<String> removed = new ArrayList<String>();
+		if (editor.takeWords(editor != this.editor, added, removed)) {
+			words = new CompletionTrie();
+		}
+		this.editor = editor;
+		for (String word : removed) {
+			words.remove(word);
+		}
+		for (String word : added) {
+			words.add(word);
+		}
+	}
+}
@@ -0,0 +1,184 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 	EditBatch
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Collects insert, replace and delete operations that are applied
+ *	together by {@link CodeMirror#runBatch(EditBatch)}: the document is
+ *	updated once, one undo step takes them all back and the change
+ *	events are fired once for the whole batch.
+ *
+ *	<p>Line numbers and columns start at 0 and refer to the content
+ *	before the batch, so edits can be added in any order. Columns
+ *	behind the end of a line point to its end. The replaced ranges
+ *	must not overlap, insertions at the same position keep the order
+ *	in which they were added and go in front of a range starting
+ *	there.</p>
+ */
+
+public class EditBatch {
+
+	/**
+	 * One operation, the text between from and to
+	 * is replaced by text.
+	 */
+	static class Edit {
+		final int fromLine;
+		final int fromColumn;
+		final int toLine;
+		final int toColumn;
+		final String text;
+
+		Edit(int fromLine, int fromColumn, int toLine, int toColumn, String text) {
+			this.fromLine = fromLine;
+			this.fromColumn = fromColumn;
+			this.toLine = toLine;
+			this.toColumn = toColumn;
+			this.text = text;
+		}
+
+		boolean isInsertion() {
+			return fromLine == toLine && fromColumn == toColumn;
+		}
+
+		boolean startsBefore(int line, int column) {
+			return fromLine < line || (fromLine == line && fromColumn < column);
+		}
+	}
+
+	private static final Comparator<Edit> ORDER = new Comparator<Edit>() {
+		public int compare(Edit a, Edit b) {
+			if (a.fromLine != b.fromLine) {
+				return a.fromLine < b.fromLine ? -1 : 1;
+			}
+			if (a.fromColumn != b.fromColumn) {
+				return a.fromColumn < b.fromColumn ? -1 : 1;
+			}
+			// insertions go in front of a range that starts at the same position
+			return a.isInsertion() == b.isInsertion() ? 0 : a.isInsertion() ? -1 : 1;
+		}
+	};
+
+	private List<Edit> edits = new ArrayList<Edit>();
+
+	/**
+	 * Insert text in front of a column of a line
+	 * @param line
+	 * @param column
+	 * @param text - may contain line breaks
+	 */
+	public void insert(int line, int column, String text) {
+		replace(line, column, line, column, text);
+	}
+
+	/**
+	 * Replace the text between two positions
+	 * @param fromLine
+	 * @param fromColumn
+	 * @param toLine
+	 * @param toColumn - the column after the last replaced character
+	 * @param text - the new text, may contain line breaks
+	 */
+	public void replace(int fromLine, int fromColumn, int toLine, int toColumn, String text) {
+		if (fromLine < 0 || fromColumn < 0 || toColumn < 0) {
+			throw new IllegalArgumentException("negative position");
+		}
+		if (toLine < fromLine || (toLine == fromLine && toColumn < fromColumn)) {
+			throw new IllegalArgumentException("range ends before it starts");
+		}
+		edits.add(new Edit(fromLine, fromColumn, toLine, toColumn, text == null ? "" : text));
+	}
+
+	/**
+	 * Remove the text between two positions
+	 * @param fromLine
+	 * @param fromColumn
+	 * @param toLine
+	 * @param toColumn - the column after the last removed character
+	 */
+	public void delete(int fromLine, int fromColumn, int toLine, int toColumn) {
+		replace(fromLine, fromColumn, toLine, toColumn, "");
+	}
+
+	/**
+	 * @return the number of operations in the batch
+	 */
+	public int size() {
+		return edits.size();
+	}
+
+	public boolean isEmpty() {
+		return edits.isEmpty();
+	}
+
+	/**
+	 * Removes all operations, so that the batch can be filled again
+	 */
+	public void clear() {
+		edits.clear();
+	}
+
+	/**
+	 * The operations in document order
+	 * @throws IllegalArgumentException if two ranges overlap
+	 */
+	List<Edit> getSortedEdits() {
+		List<Edit> sorted = new ArrayList<Edit>(edits);
+		// the sort is stable, insertions at the same position keep their order
+		Collections.sort(sorted, ORDER);
+		for (int i = 1; i < sorted.size(); i++) {
+			Edit before = sorted.get(i - 1);
+			if (sorted.get(i).startsBefore(before.toLine, before.toColumn)) {
+				throw new IllegalArgumentException("overlapping edits at line " + before.toLine);
+			}
+		}
+		return sorted;
+	}
+
+	/**
+	 * Applies the batch to a text, used while the editor is not
+	 * created yet (see deferred initialization).
+	 * @param content
+	 * @return the content with all operations applied
+	 */
+	String applyTo(String content) {
+		List<Integer> starts = new ArrayList<Integer>();
+		starts.add(0);
+		for (int i = content.indexOf('\n'); i >= 0; i = content.indexOf('\n', i + 1)) {
+			starts.add(i + 1);
+		}
+		List<Edit> sorted = getSortedEdits();
+		StringBuilder text = new StringBuilder(content);
+		// from the back, so that the offsets of the edits before stay valid
+		for (int i = sorted.size() - 1; i >= 0; i--) {
+			Edit edit = sorted.get(i);
+			int from = offset(content, starts, edit.fromLine, edit.fromColumn);
+			int to = Math.max(from, offset(content, starts, edit.toLine, edit.toColumn));
+			text.replace(from, to, edit.text);
+		}
+		return text.toString();
+	}
+
+	private static int offset(String content, List<Integer> starts, int line, int column) {
+		if (line >= starts.size()) {
+			return content.length();
+		}
+		int start = starts.get(line);
+		int end = line + 1 < starts.size() ? starts.get(line + 1) - 1 : content.length();
+		return Math.min(start + column, end);
+	}
+}
@@ -0,0 +1,82 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.dom.client.StyleInjector;
+
+/**
+ * 	InlineCodeMirrorResourceLoader
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	The loader of the CodeMirrorInline module: the scripts and
+ *	stylesheets of the editor come from {@link CodeMirrorResources},
+ *	compiled into the module. codemirror.js and editor.css are added
+ *	to the host page when the first editor class is used, the editor
+ *	frames get their files written into them. So the editor needs no
+ *	request of its own, only the highlight worker
+ *	({@link CodeMirrorConfiguration#setHighlightInWorker(boolean)}) and
+ *	custom parsers are still fetched from the module directory.
+ */
+
+class InlineCodeMirrorResourceLoader extends CodeMirrorResourceLoader {
+
+	private final static String JS_DIR = GWT.getModuleBaseURL() + "js/";
+	private final static String FRAME_STYLESHEET_URL = GWT.getModuleBaseURL() + "css/all-min.css";
+
+	private final CodeMirrorResources resources = GWT.create(CodeMirrorResources.class);
+	private JavaScriptObject frameFiles;
+
+	void injectPageResources() {
+		if (!hasCodeMirror()) {
+			injectScript(resources.codemirror().getText());
+			StyleInjector.inject(resources.editorStyle().getText(), true);
+		}
+	}
+
+	JavaScriptObject getFrameFiles() {
+		if (frameFiles == null) {
+			frameFiles = JavaScriptObject.createObject();
+			put(frameFiles, FRAME_STYLESHEET_URL, resources.frameStyle().getText());
+			put(frameFiles, JS_DIR + "basefiles-min.js", resources.basefiles().getText());
+			put(frameFiles, JS_DIR + "parsecss-min.js", resources.parseCss().getText());
+			put(frameFiles, JS_DIR + "tokenizejavascript-min.js", resources.tokenizeJavascript().getText());
+			put(frameFiles, JS_DIR + "parsejavascript-min.js", resources.parseJavascript().getText());
+			put(frameFiles, JS_DIR + "tokenizephp-min.js", resources.tokenizePhp().getText());
+			put(frameFiles, JS_DIR + "parsephp-min.js", resources.parsePhp().getText());
+			put(frameFiles, JS_DIR + "parsexml-min.js", resources.parseXml().getText());
+			put(frameFiles, JS_DIR + "parsesql-min.js", resources.parseSql().getText());
+			put(frameFiles, JS_DIR + "parsehtmlmixed-min.js", resources.parseHtmlMixed().getText());
+			put(frameFiles, JS_DIR + "parsephphtmlmixed-min.js", resources.parsePhpHtmlMixed().getText());
+		}
+		return frameFiles;
+	}
+
+	String getStylesheet(String url) {
+		return FRAME_STYLESHEET_URL.equals(url) ? resources.frameStyle().getText() : null;
+	}
+
+	// true if the host page already got codemirror.js from somewhere else
+	private static native boolean hasCodeMirror() /*-{
+		return !!$wnd.CodeMirror;
+	}-*/;
+
+	// an inline script runs as soon as it is added
+	private static native void injectScript(String text) /*-{
+		var script = $doc.createElement("script");
+		script.type = "text/javascript";
+		script.text = text;
+		$doc.getElementsByTagName("head")[0].appendChild(script);
+	}-*/;
+
+	private static native void put(JavaScriptObject files, String url, String text) /*-{
+		files[url] = text;
+	}-*/;
+}
@@ -0,0 +1,63 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import java.util.Iterator;
+
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.RepeatingCommand;
+
+/**
+ * 	IteratorContentSource
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	A {@link ContentSource} for chunks that are produced on the
+ *	client, for example text that is generated or unpacked. One
+ *	chunk is taken from the iterator per incremental command, so
+ *	the browser gets to handle events between them.
+ */
+
+public class IteratorContentSource implements ContentSource {
+
+	private Iterator<String> chunks;
+	private boolean canceled;
+
+	/**
+	 * @param chunks - the parts of the content, in order
+	 */
+	public IteratorContentSource(Iterator<String> chunks) {
+		this.chunks = chunks;
+	}
+
+	public void start(final Receiver receiver) {
+		canceled = false;
+		Scheduler.get().scheduleIncremental(new RepeatingCommand() {
+			public boolean execute() {
+				if (canceled) {
+					return false;
+				}
+				try {
+					if (chunks.hasNext()) {
+						receiver.onChunk(chunks.next());
+						return true;
+					}
+				} catch (RuntimeException e) {
+					receiver.onError(e);
+					return false;
+				}
+				receiver.onEnd();
+				return false;
+			}
+		});
+	}
+
+	public void cancel() {
+		canceled = true;
+	}
+}
@@ -0,0 +1,123 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.ScheduledCommand;
+import com.google.gwt.event.logical.shared.ResizeEvent;
+import com.google.gwt.event.logical.shared.ResizeHandler;
+import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.user.client.Window;
+
+/**
+ * 	LayoutWatcher
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Tells its listeners when the elements of the page may have moved:
+ *	the window was resized or scrolled, some element was scrolled, the
+ *	user clicked (which is how tabs and collapsed panels are opened) or
+ *	a widget was given a new size. Scroll events do not bubble, they
+ *	are caught on their way down to the element. The listeners are
+ *	called once after all the events of one turn, so nobody has to poll
+ *	the positions. Layout changes made by code without any of these
+ *	events can be announced with {@link #changed()}.
+ */
+
+class LayoutWatcher {
+
+	interface Listener {
+		void onLayoutChange();
+	}
+
+	private static List<Listener> listeners = new ArrayList<Listener>();
+	private static boolean scheduled;
+	private static HandlerRegistration scrollRegistration;
+	private static HandlerRegistration resizeRegistration;
+	private static JavaScriptObject documentHandler; // the scroll and click listener on the document
+
+	/**
+	 * @param listener - called after every change of the layout, until removed
+	 */
+	static void add(Listener listener) {
+		if (listeners.contains(listener)) {
+			return;
+		}
+		listeners.add(listener);
+		if (listeners.size() == 1) {
+			scrollRegistration = Window.addWindowScrollHandler(new Window.ScrollHandler() {
+				public void onWindowScroll(Window.ScrollEvent event) {
+					changed();
+				}
+			});
+			resizeRegistration = Window.addResizeHandler(new ResizeHandler() {
+				public void onResize(ResizeEvent event) {
+					changed();
+				}
+			});
+			documentHandler = listen();
+		}
+	}
+
+	static void remove(Listener listener) {
+		if (listeners.remove(listener) && listeners.isEmpty()) {
+			scrollRegistration.removeHandler();
+			resizeRegistration.removeHandler();
+			unlisten(documentHandler);
+			scrollRegistration = null;
+			resizeRegistration = null;
+			documentHandler = null;
+		}
+	}
+
+	/**
+	 * Calls the listeners once the events of this turn are handled
+	 */
+	static void changed() {
+		if (scheduled || listeners.isEmpty()) {
+			return;
+		}
+		scheduled = true;
+		Scheduler.get().scheduleDeferred(new ScheduledCommand() {
+			public void execute() {
+				scheduled = false;
+				for (Listener listener : new ArrayList<Listener>(listeners)) {
+					listener.onLayoutChange();
+				}
+			}
+		});
+	}
+
+	// scroll events of elements only reach the document while they
+	// are captured, IE (no capturing) only reports the clicks
+	private static native JavaScriptObject listen() /*-{
+		var handler = $entry(function() {
+			@at.wizzart.gwt.widgets.client.LayoutWatcher::changed()();
+		});
+		if ($doc.addEventListener) {
+			$doc.addEventListener("scroll", handler, true);
+			$doc.addEventListener("click", handler, true);
+		} else {
+			$doc.attachEvent("onclick", handler);
+		}
+		return handler;
+	}-*/;
+
+	private static native void unlisten(JavaScriptObject handler) /*-{
+		if ($doc.removeEventListener) {
+			$doc.removeEventListener("scroll", handler, true);
+			$doc.removeEventListener("click", handler, true);
+		} else {
+			$doc.detachEvent("onclick", handler);
+		}
+	}-*/;
+}
@@ -0,0 +1,127 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 	PendingChanges
+ * 	@author dominikguzei
+ *	@version 1.0
+ *
+ *	Collects the line deltas of a burst of edits so they can be
+ *	dispatched later as a few merged deltas. Entries are kept sorted,
+ *	disjoint and in the coordinates of the current content, so that 
+ *	applying them in order to the content they started from gives the
+ *	current content. Overlapping or touching deltas are merged into
+ *	one entry, everything else only shifts the entries behind it.
+ */
+
+class PendingChanges {
+	
+	/**
+	 * A merged delta, lines [from, from + lines.size()) of
+	 * the current content replaced removed lines of the old one.
+	 */
+	static class Entry {
+		int from;
+		int removed;
+		List<String> lines;
+		
+		Entry(int from, int removed, List<String> lines) {
+			this.from = from;
+			this.removed = removed;
+			this.lines = lines;
+		}
+		
+		int end() {
+			return from + lines.size();
+		}
+		
+		String getText() {
+			StringBuilder text = new StringBuilder();
+			for (int i = 0; i < lines.size(); i++) {
+				if (i > 0) text.append('\n');
+				text.append(lines.get(i));
+			}
+			return text.toString();
+		}
+	}
+	
+	private List<Entry> entries = new ArrayList<Entry>();
+	
+	/**
+	 * Add a delta that replaced the lines [from, from + removed) 
+	 * of the current content by the given lines.
+	 * @param from - the first changed line
+	 * @param removed - the number of replaced lines
+	 * @param lines - the new lines
+	 */
+	void add(int from, int removed, List<String> lines) {
+		int end = from + removed, shift = lines.size() - removed;
+		// find the entries this delta overlaps or touches
+		int first = 0;
+		while (first < entries.size() && entries.get(first).end() < from) first++;
+		int last = first;
+		while (last < entries.size() && entries.get(last).from <= end) last++;
+		
+		Entry entry;
+		if (first == last) {
+			entry = new Entry(from, removed, lines);
+			entries.add(first, entry);
+		}
+		else {
+			Entry head = entries.get(first), tail = entries.get(last - 1);
+			int start = Math.min(from, head.from);
+			int stop = Math.max(end, tail.end());
+			// lines that were replaced by the merged entries
+			int original = stop - start;
+			List<String> merged = new ArrayList<String>();
+			for (int i = 0; i < from - head.from; i++) merged.add(head.lines.get(i));
+			merged.addAll(lines);
+			for (int i = end - tail.from; i < tail.lines.size(); i++) merged.add(tail.lines.get(i));
+			for (int i = first; i < last; i++) {
+				Entry covered = entries.get(first);
+				original -= covered.lines.size() - covered.removed;
+				entries.remove(first);
+			}
+			entry = new Entry(start, original, merged);
+			entries.add(first, entry);
+		}
+		for (int i = first + 1; i < entries.size(); i++) {
+			entries.get(i).from += shift;
+		}
+	}
+	
+	/**
+	 * Add the deltas of other pending changes that were made
+	 * after the ones collected here.
+	 * @param changes
+	 */
+	void addAll(PendingChanges changes) {
+		for (Entry entry : changes.entries) {
+			add(entry.from, entry.removed, new ArrayList<String>(entry.lines));
+		}
+	}
+	
+	/**
+	 * @return the merged deltas in ascending line order
+	 */
+	List<Entry> getEntries() {
+		return entries;
+	}
+	
+	boolean isEmpty() {
+		return entries.isEmpty();
+	}
+	
+	void clear() {
+		entries = new ArrayList<Entry>();
+	}
+}
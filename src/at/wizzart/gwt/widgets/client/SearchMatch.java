@@ -0,0 +1,43 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import com.google.gwt.core.client.JavaScriptObject;
+
+/**
+ * 	SearchMatch
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Overlay type for the matches returned by 
+ *	{@link CodeMirror#findAll(String, boolean, boolean)}.
+ *	Line numbers and columns start at 0, the end 
+ *	column points after the last matched character.
+ */
+
+public final class SearchMatch extends JavaScriptObject {
+	
+	protected SearchMatch() {
+	}
+	
+	public native int getFromLine() /*-{
+		return this.from.line;
+	}-*/;
+	
+	public native int getFromColumn() /*-{
+		return this.from.ch;
+	}-*/;
+	
+	public native int getToLine() /*-{
+		return this.to.line;
+	}-*/;
+	
+	public native int getToColumn() /*-{
+		return this.to.ch;
+	}-*/;
+}
@@ -0,0 +1,116 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import com.google.gwt.core.client.JavaScriptObject;
+
+/**
+ * 	UrlContentSource
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	A {@link ContentSource} that fetches a text file with a GET
+ *	request. Every time the browser reports progress the text that
+ *	arrived since the last time is handed on, browsers that only
+ *	hand out the response when it is complete deliver it as one
+ *	chunk. The length comes from the Content-Length header, in bytes.
+ */
+
+public class UrlContentSource implements ContentSource {
+
+	private String url;
+	private JavaScriptObject request; // the running XMLHttpRequest
+	private Receiver receiver;
+	private int delivered; // the characters of the response handed on so far
+
+	/**
+	 * @param url - the file to load, the same origin rules as
+	 * for any XMLHttpRequest apply
+	 */
+	public UrlContentSource(String url) {
+		this.url = url;
+	}
+
+	public void start(Receiver receiver) {
+		cancel();
+		this.receiver = receiver;
+		delivered = 0;
+		request = open(url);
+	}
+
+	public void cancel() {
+		if (request != null) {
+			abort(request);
+			request = null;
+		}
+	}
+
+	private native JavaScriptObject open(String url) /*-{
+		var self = this;
+		var xhr = $wnd.XMLHttpRequest ? new $wnd.XMLHttpRequest() : new $wnd.ActiveXObject("Microsoft.XMLHTTP");
+		xhr.onreadystatechange = $entry(function() {
+			if (xhr.readyState >= 2) {
+				self.@at.wizzart.gwt.widgets.client.UrlContentSource::onProgress(Lcom/google/gwt/core/client/JavaScriptObject;)(xhr);
+			}
+		});
+		xhr.open("GET", url, true);
+		xhr.send(null);
+		return xhr;
+	}-*/;
+
+	private static native void abort(JavaScriptObject xhr) /*-{
+		xhr.onreadystatechange = function() {};
+		xhr.abort();
+	}-*/;
+
+	private static native int getReadyState(JavaScriptObject xhr) /*-{
+		return xhr.readyState;
+	}-*/;
+
+	private static native int getStatus(JavaScriptObject xhr) /*-{
+		return xhr.status;
+	}-*/;
+
+	private static native String getLengthHeader(JavaScriptObject xhr) /*-{
+		return xhr.getResponseHeader("Content-Length");
+	}-*/;
+
+	// IE throws while the response is not complete
+	private static native String getResponseText(JavaScriptObject xhr) /*-{
+		try { return xhr.responseText || ""; } catch (e) { return ""; }
+	}-*/;
+
+	private void onProgress(JavaScriptObject xhr) {
+		if (xhr != request) {
+			return;
+		}
+		int state = getReadyState(xhr);
+		if (state == 2) {
+			String length = getLengthHeader(xhr);
+			if (length != null && length.matches("\\d+")) {
+				receiver.onTotal(Integer.parseInt(length));
+			}
+			return;
+		}
+		int status = getStatus(xhr);
+		if (state == 4 && status != 200 && status != 0) {
+			request = null;
+			receiver.onError(new RuntimeException("GET " + url + " failed with status " + status));
+			return;
+		}
+		String text = getResponseText(xhr);
+		if (text.length() > delivered) {
+			receiver.onChunk(text.substring(delivered));
+			delivered = text.length();
+		}
+		if (state == 4) {
+			request = null;
+			receiver.onEnd();
+		}
+	}
+}
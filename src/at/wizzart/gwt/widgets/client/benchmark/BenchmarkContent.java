@@ -0,0 +1,123 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client.benchmark;
+
+import at.wizzart.gwt.widgets.client.CodeMirror;
+
+/**
+ * 	BenchmarkContent
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Generates the documents the benchmarks work on. The content only
+ *	depends on the arguments, so runs on different days or machines
+ *	can be compared.
+ */
+
+class BenchmarkContent {
+	
+	/**
+	 * Build a document of the given language
+	 * @param parser - one of the PARSER_* constants of {@link CodeMirror}
+	 * @param lines - the number of lines
+	 * @param indented - false leaves every line at column 0, for reindent()
+	 * @return the document
+	 */
+	static String sample(String parser, int lines, boolean indented) {
+		StringBuilder text = new StringBuilder();
+		String indent = indented ? "  " : "";
+		int i = 0;
+		while (i < lines) {
+			String[] block = block(parser, i, indent);
+			for (int j = 0; j < block.length && i < lines; j++, i++) {
+				if (i > 0) text.append('\n');
+				text.append(block[j]);
+			}
+		}
+		return text.toString();
+	}
+	
+	/**
+	 * Build a CSS document of roughly the given size
+	 * @param bytes - the size in characters
+	 * @return the document
+	 */
+	static String ofSize(int bytes) {
+		StringBuilder text = new StringBuilder(bytes + 64);
+		int i = 0;
+		while (text.length() < bytes) {
+			text.append(".rule-").append(i++).append(" { color: #336699; margin: 0px 4px; }\n");
+		}
+		text.setLength(bytes);
+		return text.toString();
+	}
+	
+	// a few lines of the language, n makes the names differ
+	private static String[] block(String parser, int n, String indent) {
+		if (CodeMirror.PARSER_CSS.equals(parser)) {
+			return new String[] {
+				"#box-" + n + " .item, a:hover {",
+				indent + "color: #336699;",
+				indent + "margin: 0px " + n + "px;",
+				indent + "background: url(\"img/" + n + ".png\") no-repeat;",
+				"}"
+			};
+		} else if (CodeMirror.PARSER_JAVASCRPIPT.equals(parser)) {
+			return new String[] {
+				"function item" + n + "(list, value) {",
+				indent + "var result = [], i;",
+				indent + "for (i = 0; i < list.length; i++) {",
+				indent + indent + "if (list[i] > value) result.push(\"v\" + list[i] * " + n + ");",
+				indent + "}",
+				indent + "return result; // done",
+				"}"
+			};
+		} else if (CodeMirror.PARSER_PHP.equals(parser)) {
+			return new String[] {
+				"function item" + n + "($list, $value) {",
+				indent + "$result = array();",
+				indent + "foreach ($list as $key => $entry) {",
+				indent + indent + "if ($entry > $value) $result[] = \"v\" . $entry * " + n + ";",
+				indent + "}",
+				indent + "return $result; // done",
+				"}"
+			};
+		} else if (CodeMirror.PARSER_XML.equals(parser)) {
+			return new String[] {
+				"<item id=\"" + n + "\">",
+				indent + "<name>Item " + n + "</name>",
+				indent + "<!-- value of the item -->",
+				indent + "<value unit=\"px\">" + n * 4 + "</value>",
+				"</item>"
+			};
+		} else if (CodeMirror.PARSER_SQL.equals(parser)) {
+			return new String[] {
+				"SELECT id, name, value",
+				indent + "FROM items",
+				indent + "WHERE value > " + n + " AND name LIKE 'item%'",
+				indent + "ORDER BY name;"
+			};
+		} else if (CodeMirror.PARSER_HTML_MIXED.equals(parser)) {
+			return new String[] {
+				"<div class=\"item\" id=\"item-" + n + "\">",
+				indent + "<style>#item-" + n + " { color: red; }</style>",
+				indent + "<p>Item <b>" + n + "</b></p>",
+				indent + "<script>var item" + n + " = {value: " + n + "};</script>",
+				"</div>"
+			};
+		} else {
+			return new String[] {
+				"<div class=\"item\" id=\"item-" + n + "\">",
+				indent + "<?php echo $items[" + n + "]; ?>",
+				indent + "<p>Item <b>" + n + "</b></p>",
+				indent + "<?php if ($value > " + n + ") { echo \"big\"; } ?>",
+				"</div>"
+			};
+		}
+	}
+}
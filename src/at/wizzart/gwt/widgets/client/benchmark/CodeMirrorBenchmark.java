@@ -0,0 +1,594 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import at.wizzart.gwt.widgets.client.CodeMirror;
+import at.wizzart.gwt.widgets.client.CodeMirrorConfiguration;
+import at.wizzart.gwt.widgets.client.CodeMirrorMetrics;
+import at.wizzart.gwt.widgets.client.EditBatch;
+
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.core.client.EntryPoint;
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsonUtils;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.ScheduledCommand;
+import com.google.gwt.event.logical.shared.InitializeEvent;
+import com.google.gwt.event.logical.shared.InitializeHandler;
+import com.google.gwt.http.client.Request;
+import com.google.gwt.http.client.RequestBuilder;
+import com.google.gwt.http.client.RequestCallback;
+import com.google.gwt.http.client.RequestException;
+import com.google.gwt.http.client.Response;
+import com.google.gwt.user.client.Command;
+import com.google.gwt.user.client.DOM;
+import com.google.gwt.user.client.Element;
+import com.google.gwt.user.client.Timer;
+import com.google.gwt.user.client.Window;
+import com.google.gwt.user.client.ui.FlowPanel;
+import com.google.gwt.user.client.ui.RootPanel;
+
+/**
+ * 	CodeMirrorBenchmark
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Entry point of the benchmark module. Runs the benchmarks one after
+ *	the other and writes the results as JSON into the element with the
+ *	id benchmark-results and into window.codeMirrorBenchmark, where a 
+ *	headless browser can pick them up once done is true:
+ *
+ *	<pre>
+ *	{"module": "codemirrorbenchmark", "userAgent": "...", "baseline": true, "tolerance": 0.2,
+ *	 "results": {"startup.1": 105.0, ...},
+ *	 "regressions": ["highlight.JSParser", ...], "failures": [...]}
+ *	</pre>
+ *
+ *	<p>All times are milliseconds. A result counts as regression if 
+ *	it is more than tolerance slower than the result of the same name 
+ *	in the baseline, a former output of this page stored as 
+ *	MODULE-baseline.json next to the host page, named by the module 
+ *	(or at the url in the baseline parameter). Benchmarks that did not finish within 
+ *	two minutes are listed as failures. benchmark/run-benchmark.js 
+ *	runs the page in a headless Chrome, fails when there are 
+ *	regressions or failures, and records the baseline.</p>
+ *
+ *	<p>startup.requests.N is no time but the number of requests the
+ *	page and the editor frames made while N editors started (where
+ *	the browser tells it, the resource timing buffer of the page is
+ *	emptied before each run). The CodeMirrorBenchmarkInline module runs
+ *	the same benchmarks with the editor files compiled in, see
+ *	CodeMirrorInline.gwt.xml, its host page is 
+ *	CodeMirrorBenchmarkInline.html.</p>
+ *
+ *	<p>The leak results are no times: the editors, pending timers and 
+ *	kilobytes of heap that opening and closing editors left behind.
+ *	The heap is only measured where the page can collect the garbage
+ *	before reading it (Chrome started with --js-flags=--expose-gc, as 
+ *	run-benchmark.js does), otherwise it would mostly count garbage. 
+ *	Editors or timers left behind, or a heap that grew by more than 
+ *	100 KB per editor, are listed as failures, so the runner fails on
+ *	them without a baseline. The only parameter picks
+ *	the groups to run (startup, content, highlight, keystroke, 
+ *	reindent, batch, leak), only=leak is the leak regression test on 
+ *	its own.</p>
+ */
+
+public class CodeMirrorBenchmark implements EntryPoint {
+	
+	private final static String[] PARSERS = {
+		CodeMirror.PARSER_CSS, CodeMirror.PARSER_JAVASCRPIPT, CodeMirror.PARSER_PHP,
+		CodeMirror.PARSER_XML, CodeMirror.PARSER_SQL, CodeMirror.PARSER_HTML_MIXED,
+		CodeMirror.PARSER_PHP_HTML_MIXED
+	};
+	private final static int[] INSTANCES = {1, 10, 50};
+	private final static int[] SIZES = {10 * 1024, 100 * 1024, 1024 * 1024, 10 * 1024 * 1024};
+	private final static int HIGHLIGHT_LINES = 2000;
+	private final static int KEYSTROKES = 30;
+	private final static int[] REINDENT_LINES = {2000, 10000};
+	private final static int BATCH_EDITS = 500;
+	private final static int LEAK_EDITORS = 200;
+	private final static int LEAK_BATCH = 10; // the editors open at the same time
+	private final static int LEAK_HEAP_KB = 100; // heap growth per editor that counts as leak
+	private final static int TIMEOUT = 120000;
+	private final static int RESOURCE_TIMINGS = 10000; // the resource timing entries the page keeps
+	private final static double NOISE = 5; // differences below this many ms are no regression
+	
+	// one benchmark, calls done when it finished
+	private interface Step {
+		void run(Command done);
+	}
+	
+	// work on an initialized editor, calls done when it finished
+	private interface EditorTask {
+		void run(CodeMirror editor, Command done);
+	}
+	
+	private List<Step> steps = new ArrayList<Step>();
+	private int current = 0;
+	private Map<String, Double> results = new LinkedHashMap<String, Double>();
+	private List<String> failures = new ArrayList<String>();
+	private FlowPanel panel = new FlowPanel();
+	private double tolerance = 0.2;
+	private String only; // the groups to run, separated by commas, null for all
+	
+	public void onModuleLoad() {
+		String toleranceParameter = Window.Location.getParameter("tolerance");
+		if (toleranceParameter != null) {
+			tolerance = Double.parseDouble(toleranceParameter);
+		}
+		String maxSizeParameter = Window.Location.getParameter("maxSize");
+		int maxSize = maxSizeParameter == null ? Integer.MAX_VALUE : Integer.parseInt(maxSizeParameter);
+		only = Window.Location.getParameter("only");
+		
+		RootPanel.get().add(panel);
+		for (int i = 0; i < INSTANCES.length && runs("startup"); i++) {
+			addStartup(INSTANCES[i]);
+		}
+		for (int i = 0; i < SIZES.length && runs("content"); i++) {
+			if (SIZES[i] <= maxSize) addContent(SIZES[i]);
+		}
+		for (int i = 0; i < PARSERS.length && runs("highlight"); i++) {
+			addHighlight(PARSERS[i]);
+		}
+		if (runs("keystroke")) addKeystrokes();
+		for (int i = 0; i < REINDENT_LINES.length && runs("reindent"); i++) {
+			addReindent(REINDENT_LINES[i]);
+		}
+		if (runs("batch")) addBatch();
+		if (runs("leak")) addLeak();
+		runNext();
+	}
+	
+	// true if the benchmarks of the group are to be run, see the only parameter
+	private boolean runs(String group) {
+		return only == null || ("," + only + ",").indexOf("," + group + ",") >= 0;
+	}
+	
+	// time from adding the widgets (onLoad) to the last InitializeEvent
+	private void addStartup(final int count) {
+		steps.add(new Step() {
+			public void run(final Command done) {
+				final List<CodeMirror> editors = new ArrayList<CodeMirror>();
+				final int[] pending = {count};
+				resetResourceTimings();
+				final int requests = resourceRequests();
+				final double start = Duration.currentTimeMillis();
+				for (int i = 0; i < count; i++) {
+					CodeMirror editor = createEditor(configuration(CodeMirror.PARSER_CSS));
+					editor.addInitializeHandler(new InitializeHandler() {
+						public void onInitialize(InitializeEvent event) {
+							if (--pending[0] == 0) {
+								record("startup." + count, Duration.currentTimeMillis() - start);
+								if (requests >= 0) {
+									record("startup.requests." + count, resourceRequests() - requests);
+								}
+								for (CodeMirror editor : editors) {
+									panel.remove(editor);
+								}
+								done.execute();
+							}
+						}
+					});
+					editors.add(editor);
+					panel.add(editor);
+				}
+			}
+		});
+	}
+	
+	private void addContent(final int size) {
+		addEditorStep(CodeMirror.PARSER_CSS, new EditorTask() {
+			public void run(CodeMirror editor, Command done) {
+				String content = BenchmarkContent.ofSize(size);
+				String label = size >= 1024 * 1024 ? (size / (1024 * 1024)) + "MB" : (size / 1024) + "KB";
+				double start = Duration.currentTimeMillis();
+				editor.setContent(content);
+				record("setContent." + label, Duration.currentTimeMillis() - start);
+				start = Duration.currentTimeMillis();
+				editor.getContent();
+				record("getContent." + label, Duration.currentTimeMillis() - start);
+				done.execute();
+			}
+		});
+	}
+	
+	// time from setting the content until no highlighting work is left
+	private void addHighlight(final String parser) {
+		addEditorStep(parser, new EditorTask() {
+			public void run(CodeMirror editor, final Command done) {
+				final double start = Duration.currentTimeMillis();
+				editor.setContent(BenchmarkContent.sample(parser, HIGHLIGHT_LINES, true));
+				whenHighlighted(editor, new Command() {
+					public void execute() {
+						record("highlight." + parser, Duration.currentTimeMillis() - start);
+						done.execute();
+					}
+				});
+			}
+		});
+	}
+	
+	// a character typed into a line: the synchronous work until the
+	// edit is in the document and committed to the history. The
+	// highlighting that follows runs on a timer (after the passDelay
+	// of the configuration) and is waited for before the next one,
+	// but not timed.
+	private void addKeystrokes() {
+		addEditorStep(CodeMirror.PARSER_JAVASCRPIPT, new EditorTask() {
+			public void run(final CodeMirror editor, final Command done) {
+				editor.setContent(BenchmarkContent.sample(CodeMirror.PARSER_JAVASCRPIPT, HIGHLIGHT_LINES, true));
+				final CodeMirrorMetrics.Histogram latency = new CodeMirrorMetrics.Histogram(KEYSTROKES);
+				whenHighlighted(editor, new Command() {
+					public void execute() {
+						if (latency.getCount() == KEYSTROKES) {
+							record("keystroke.p50", latency.getP50());
+							record("keystroke.p95", latency.getP95());
+							record("keystroke.p99", latency.getP99());
+							done.execute();
+							return;
+						}
+						int line = 100 + latency.getCount() * 10;
+						String text = editor.getLine(line) + "x";
+						double start = preciseTime();
+						editor.replaceLines(line, line + 1, text);
+						latency.add(preciseTime() - start);
+						whenHighlighted(editor, this);
+					}
+				});
+			}
+		});
+	}
+	
+	private void addReindent(final int lines) {
+		addEditorStep(CodeMirror.PARSER_JAVASCRPIPT, new EditorTask() {
+			public void run(final CodeMirror editor, final Command done) {
+				editor.setContent(BenchmarkContent.sample(CodeMirror.PARSER_JAVASCRPIPT, lines, false));
+				whenHighlighted(editor, new Command() {
+					public void execute() {
+						double start = Duration.currentTimeMillis();
+						editor.reindent();
+						record("reindent." + lines, Duration.currentTimeMillis() - start);
+						done.execute();
+					}
+				});
+			}
+		});
+	}
+	
+	// one replacement on every fourth line of the highlight sample
+	private void addBatch() {
+		addEditorStep(CodeMirror.PARSER_JAVASCRPIPT, new EditorTask() {
+			public void run(final CodeMirror editor, final Command done) {
+				editor.setContent(BenchmarkContent.sample(CodeMirror.PARSER_JAVASCRPIPT, HIGHLIGHT_LINES, false));
+				whenHighlighted(editor, new Command() {
+					public void execute() {
+						EditBatch batch = new EditBatch();
+						for (int i = 0; i < BATCH_EDITS; i++) {
+							batch.replace(i * 4, 0, i * 4, 1, "x");
+						}
+						double start = Duration.currentTimeMillis();
+						editor.runBatch(batch);
+						record("batch." + BATCH_EDITS, Duration.currentTimeMillis() - start);
+						done.execute();
+					}
+				});
+			}
+		});
+	}
+	
+	// opens and closes LEAK_EDITORS editors, LEAK_BATCH at a time. What
+	// is left after the first batch is the base the rest is measured
+	// against, so that things created once per page do not count.
+	private void addLeak() {
+		steps.add(new Step() {
+			public void run(Command done) {
+				countTimers();
+				openAndClose(0, null, done);
+			}
+		});
+	}
+	
+	// one batch of the leak benchmark, measured a second after the 
+	// editors were removed when the last timeouts of their work ran
+	private void openAndClose(final int round, final double[] base, final Command done) {
+		final List<CodeMirror> editors = new ArrayList<CodeMirror>();
+		final int[] pending = {LEAK_BATCH};
+		for (int i = 0; i < LEAK_BATCH; i++) {
+			CodeMirrorConfiguration config = configuration(CodeMirror.PARSER_JAVASCRPIPT);
+			config.setContent(BenchmarkContent.sample(CodeMirror.PARSER_JAVASCRPIPT, 500, true));
+			config.setLineNumbers(true);
+			config.setContinuousScanning(500);
+			config.setSharedScheduler(round % 2 == 1);
+			CodeMirror editor = createEditor(config);
+			editor.addInitializeHandler(new InitializeHandler() {
+				public void onInitialize(InitializeEvent event) {
+					if (--pending[0] > 0) return;
+					for (CodeMirror editor : editors) {
+						panel.remove(editor);
+					}
+					new Timer() {
+						public void run() {
+							double[] left = {CodeMirror.getLiveEditorCount(), pendingTimers(), usedHeap()};
+							if (round + 1 < LEAK_EDITORS / LEAK_BATCH) {
+								openAndClose(round + 1, base == null ? left : base, done);
+								return;
+							}
+							recordLeak("leak.editors", left[0] - base[0], 0);
+							recordLeak("leak.timers", left[1] - base[1], 0);
+							if (base[2] >= 0) {
+								// the base was taken after the first batch
+								recordLeak("leak.heapKB", left[2] - base[2], LEAK_HEAP_KB * (LEAK_EDITORS - LEAK_BATCH));
+							}
+							done.execute();
+						}
+					}.schedule(1000);
+				}
+			});
+			editors.add(editor);
+			panel.add(editor);
+		}
+	}
+	
+	private void recordLeak(String name, double left, double limit) {
+		record(name, left);
+		if (left > limit) {
+			failures.add(name + " " + left);
+		}
+	}
+	
+	// counts the timeouts and intervals of the page that did not run
+	// or were not cleared yet, the frames set theirs in the page too
+	private static native void countTimers() /*-{
+		if ($wnd.benchmarkTimers) return;
+		var pending = $wnd.benchmarkTimers = {count: 0};
+		var setTimeout = $wnd.setTimeout, clearTimeout = $wnd.clearTimeout;
+		var setInterval = $wnd.setInterval, clearInterval = $wnd.clearInterval;
+		function add(id) {
+			if (!pending["t" + id]) pending.count++;
+			pending["t" + id] = true;
+			return id;
+		}
+		function remove(id) {
+			if (pending["t" + id]) pending.count--;
+			delete pending["t" + id];
+		}
+		$wnd.setTimeout = function(work, delay) {
+			var id = setTimeout.call($wnd, function() {
+				remove(id);
+				work();
+			}, delay);
+			return add(id);
+		};
+		$wnd.clearTimeout = function(id) {
+			remove(id);
+			clearTimeout.call($wnd, id);
+		};
+		$wnd.setInterval = function(work, delay) {
+			return add(setInterval.call($wnd, work, delay));
+		};
+		$wnd.clearInterval = function(id) {
+			remove(id);
+			clearInterval.call($wnd, id);
+		};
+	}-*/;
+	
+	private static native int pendingTimers() /*-{
+		return $wnd.benchmarkTimers.count;
+	}-*/;
+	
+	// empties the resource timing buffer of the page, which holds only
+	// 150 entries by default and drops the ones after
+	private static native void resetResourceTimings() /*-{
+		var performance = $wnd.performance;
+		if (!performance) return;
+		if (performance.setResourceTimingBufferSize) {
+			performance.setResourceTimingBufferSize(@at.wizzart.gwt.widgets.client.benchmark.CodeMirrorBenchmark::RESOURCE_TIMINGS);
+		}
+		if (performance.clearResourceTimings) {
+			performance.clearResourceTimings();
+		}
+	}-*/;
+	
+	// the requests the page and its frames made so far, -1 if the
+	// browser does not tell them
+	private static native int resourceRequests() /*-{
+		var performance = $wnd.performance;
+		if (!performance || !performance.getEntriesByType) return -1;
+		var count = performance.getEntriesByType("resource").length;
+		var frames = $doc.getElementsByTagName("iframe");
+		for (var i = 0; i < frames.length; i++) {
+			try {
+				count += frames[i].contentWindow.performance.getEntriesByType("resource").length;
+			} catch (e) {
+				// a frame of another domain
+			}
+		}
+		return count;
+	}-*/;
+	
+	// milliseconds with fractions where the browser has them, an edit
+	// takes less than one
+	private static native double preciseTime() /*-{
+		var performance = $wnd.performance;
+		return performance && performance.now ? performance.now() : new Date().getTime();
+	}-*/;
+	
+	// the used heap in kilobytes after a garbage collection, -1 if the
+	// browser does not tell it or the page can not collect the garbage
+	private static native double usedHeap() /*-{
+		var memory = $wnd.performance && $wnd.performance.memory;
+		if (!memory || typeof $wnd.gc != "function") return -1;
+		$wnd.gc();
+		return memory.usedJSHeapSize / 1024;
+	}-*/;
+	
+	// runs the task on a new editor and removes the editor afterwards
+	private void addEditorStep(final String parser, final EditorTask task) {
+		steps.add(new Step() {
+			public void run(final Command done) {
+				final CodeMirror editor = createEditor(configuration(parser));
+				editor.addInitializeHandler(new InitializeHandler() {
+					public void onInitialize(InitializeEvent event) {
+						task.run(editor, new Command() {
+							public void execute() {
+								panel.remove(editor);
+								done.execute();
+							}
+						});
+					}
+				});
+				panel.add(editor);
+			}
+		});
+	}
+	
+	private CodeMirrorConfiguration configuration(String parser) {
+		CodeMirrorConfiguration config = new CodeMirrorConfiguration();
+		config.setParser(parser);
+		return config;
+	}
+	
+	private CodeMirror createEditor(CodeMirrorConfiguration config) {
+		CodeMirror editor = new CodeMirror(config);
+		editor.setSize("600px", "300px");
+		return editor;
+	}
+	
+	private void whenHighlighted(final CodeMirror editor, final Command command) {
+		new Timer() {
+			public void run() {
+				if (editor.isHighlightComplete()) {
+					command.execute();
+				} else {
+					schedule(10);
+				}
+			}
+		}.schedule(10);
+	}
+	
+	private void record(String name, double millis) {
+		results.put(name, millis);
+	}
+	
+	// runs the next step with a fresh call stack, a step that does
+	// not finish in time is recorded as failure and left behind
+	private void runNext() {
+		if (current == steps.size()) {
+			compareWithBaseline();
+			return;
+		}
+		final Step step = steps.get(current++);
+		final boolean[] finished = {false};
+		final Timer timeout = new Timer() {
+			public void run() {
+				finished[0] = true;
+				failures.add("step " + steps.indexOf(step));
+				panel.clear();
+				runNext();
+			}
+		};
+		timeout.schedule(TIMEOUT);
+		Scheduler.get().scheduleDeferred(new ScheduledCommand() {
+			public void execute() {
+				step.run(new Command() {
+					public void execute() {
+						if (finished[0]) return;
+						finished[0] = true;
+						timeout.cancel();
+						Scheduler.get().scheduleDeferred(new ScheduledCommand() {
+							public void execute() {
+								runNext();
+							}
+						});
+					}
+				});
+			}
+		});
+	}
+	
+	private void compareWithBaseline() {
+		String url = Window.Location.getParameter("baseline");
+		if (url == null) {
+			url = GWT.getHostPageBaseURL() + GWT.getModuleName() + "-baseline.json";
+		}
+		RequestBuilder request = new RequestBuilder(RequestBuilder.GET, url);
+		try {
+			request.sendRequest(null, new RequestCallback() {
+				public void onResponseReceived(Request request, Response response) {
+					if (response.getStatusCode() == 200) {
+						report(JsonUtils.<JavaScriptObject>unsafeEval(response.getText()));
+					} else {
+						report(null);
+					}
+				}
+				
+				public void onError(Request request, Throwable exception) {
+					report(null);
+				}
+			});
+		} catch (RequestException e) {
+			report(null);
+		}
+	}
+	
+	private void report(JavaScriptObject baseline) {
+		List<String> regressions = new ArrayList<String>();
+		StringBuilder json = new StringBuilder();
+		json.append("{\"module\": ").append(JsonUtils.escapeValue(GWT.getModuleName()));
+		json.append(",\n \"userAgent\": ").append(JsonUtils.escapeValue(Window.Navigator.getUserAgent()));
+		json.append(",\n \"baseline\": ").append(baseline != null);
+		json.append(",\n \"tolerance\": ").append(tolerance);
+		json.append(",\n \"results\": {");
+		boolean first = true;
+		for (Map.Entry<String, Double> result : results.entrySet()) {
+			double value = result.getValue();
+			if (baseline != null) {
+				double old = baselineValue(baseline, result.getKey());
+				if (old >= 0 && value - old > NOISE && value > old * (1 + tolerance)) {
+					regressions.add(result.getKey());
+				}
+			}
+			json.append(first ? "\n  " : ",\n  ");
+			json.append(JsonUtils.escapeValue(result.getKey())).append(": ").append(value);
+			first = false;
+		}
+		json.append("},\n \"regressions\": ").append(list(regressions));
+		json.append(",\n \"failures\": ").append(list(failures)).append("}");
+		
+		Element output = DOM.getElementById("benchmark-results");
+		if (output != null) {
+			DOM.setInnerText(output, json.toString());
+		}
+		publish(json.toString(), regressions.size(), failures.size());
+	}
+	
+	private String list(List<String> values) {
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; i < values.size(); i++) {
+			if (i > 0) json.append(", ");
+			json.append(JsonUtils.escapeValue(values.get(i)));
+		}
+		return json.append("]").toString();
+	}
+	
+	private static native double baselineValue(JavaScriptObject baseline, String name) /*-{
+		var results = baseline.results;
+		return results && typeof results[name] == "number" ? results[name] : -1;
+	}-*/;
+	
+	private static native void publish(String json, int regressions, int failures) /*-{
+		$wnd.codeMirrorBenchmark = {done: true, json: json, regressions: regressions, failures: failures};
+	}-*/;
+}
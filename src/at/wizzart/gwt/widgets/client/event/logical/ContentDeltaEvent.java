@@ -0,0 +1,120 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client.event.logical;
+
+import com.google.gwt.event.shared.GwtEvent;
+import com.google.gwt.event.shared.HasHandlers;
+
+/**
+ * An event that describes a single changed range of lines.
+ * The lines [fromLine, fromLine + removedLineCount) of the
+ * previous content were replaced by the lines in text.
+ * 
+ * <p>Line numbers are zero-based and refer to the content after
+ * the change. When several deltas are fired for one edit they are
+ * fired in ascending line order, so applying them one after the 
+ * other to a copy of the old content gives the new content.</p>
+ * 
+ * @author dominikguzei
+ * @version 1.0
+ */
+
+public class ContentDeltaEvent extends GwtEvent<ContentDeltaHandler> {
+	/**
+	   * The event type.
+	   */
+	  private static Type<ContentDeltaHandler> TYPE;
+
+	  /**
+	   * Fires a content delta event on all registered handlers in the handler source.
+	   * 
+	   * @param <S> The handler source
+	   * @param source the source of the handlers
+	   * @param fromLine the first changed line
+	   * @param removedLineCount the number of lines that were replaced
+	   * @param addedLineCount the number of lines in text
+	   * @param text the replacement lines, separated by \n
+	   */
+	  public static <S extends HasContentDeltaHandlers & HasHandlers> void fire(
+	      S source, int fromLine, int removedLineCount, int addedLineCount, String text) {
+	    if (TYPE != null) {
+	      ContentDeltaEvent event = new ContentDeltaEvent(fromLine, removedLineCount,
+	    		  addedLineCount, text);
+	      source.fireEvent(event);
+	    }
+	  }
+
+	  /**
+	   * Ensures the existence of the handler hook and then returns it.
+	   * 
+	   * @return returns a handler hook
+	   */
+	  public static Type<ContentDeltaHandler> getType() {
+	    if (TYPE == null) {
+	      TYPE = new Type<ContentDeltaHandler>();
+	    }
+	    return TYPE;
+	  }
+
+	  private final int fromLine;
+	  private final int removedLineCount;
+	  private final int addedLineCount;
+	  private final String text;
+
+	  /**
+	   * Construct a new {@link ContentDeltaEvent}.
+	   * 
+	   * @param fromLine the first changed line
+	   * @param removedLineCount the number of lines that were replaced
+	   * @param addedLineCount the number of lines in text
+	   * @param text the replacement lines, separated by \n
+	   */
+	  protected ContentDeltaEvent(int fromLine, int removedLineCount, 
+			  int addedLineCount, String text) {
+		  this.fromLine = fromLine;
+		  this.removedLineCount = removedLineCount;
+		  this.addedLineCount = addedLineCount;
+		  this.text = text;
+	  }
+
+	  /**
+	   * @return the first changed line (zero-based)
+	   */
+	  public int getFromLine() {
+		  return fromLine;
+	  }
+
+	  /**
+	   * @return the number of lines of the old content that were replaced
+	   */
+	  public int getRemovedLineCount() {
+		  return removedLineCount;
+	  }
+
+	  /**
+	   * @return the number of lines that took their place
+	   */
+	  public int getAddedLineCount() {
+		  return addedLineCount;
+	  }
+
+	  /**
+	   * @return the replacement lines, separated by \n
+	   */
+	  public String getText() {
+		  return text;
+	  }
+
+	  public final Type<ContentDeltaHandler> getAssociatedType() {
+	    return TYPE;
+	  }
+
+	  protected void dispatch(ContentDeltaHandler handler) {
+	    handler.onContentDelta(this);
+	  }
+}
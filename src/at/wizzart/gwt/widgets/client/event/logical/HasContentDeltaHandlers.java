@@ -0,0 +1,24 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client.event.logical;
+
+import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.event.shared.HasHandlers;
+
+/**
+ * A simple interface to indicate that implementers fire 
+ * content delta events whenever a range of lines changes
+ * 
+ * @author dominikguzei
+ * @version 1.0
+ */
+
+public interface HasContentDeltaHandlers extends HasHandlers {
+
+	HandlerRegistration addContentDeltaHandler(ContentDeltaHandler handler);
+}
@@ -0,0 +1,24 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client.event.logical;
+
+import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.event.shared.HasHandlers;
+
+/**
+ * A simple interface to indicate that implementers fire 
+ * performance events for the work they measured
+ * 
+ * @author dominikguzei
+ * @version 1.0
+ */
+
+public interface HasPerformanceHandlers extends HasHandlers {
+
+	HandlerRegistration addPerformanceHandler(PerformanceHandler handler);
+}
@@ -0,0 +1,24 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client.event.logical;
+
+import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.event.shared.HasHandlers;
+
+/**
+ * A simple interface to indicate that implementers keep
+ * a symbol index and fire events when it changes
+ * 
+ * @author dominikguzei
+ * @version 1.0
+ */
+
+public interface HasSymbolIndexChangeHandlers extends HasHandlers {
+
+	HandlerRegistration addSymbolIndexChangeHandler(SymbolIndexChangeHandler handler);
+}
@@ -0,0 +1,115 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client.event.logical;
+
+import com.google.gwt.event.shared.GwtEvent;
+import com.google.gwt.event.shared.HasHandlers;
+
+/**
+ * An event that reports how far a content load got, it is
+ * fired after every step that put text into the editor and
+ * once more when the load is complete.
+ * 
+ * @author dominikguzei
+ * @version 1.0
+ */
+
+public class LoadProgressEvent extends GwtEvent<LoadProgressHandler> {
+	/**
+	   * The event type.
+	   */
+	  private static Type<LoadProgressHandler> TYPE;
+
+	  /**
+	   * Fires a load progress event on all registered handlers in the handler source.
+	   * 
+	   * @param <S> The handler source
+	   * @param source the source of the handlers
+	   * @param loaded the characters put into the editor so far
+	   * @param total the length the content source announced, -1 if unknown
+	   * @param complete true if the load is over
+	   * @param error the reason the source stopped early, null if it did not
+	   */
+	  public static <S extends HasLoadProgressHandlers & HasHandlers> void fire(
+	      S source, int loaded, int total, boolean complete, Throwable error) {
+	    if (TYPE != null) {
+	      LoadProgressEvent event = new LoadProgressEvent(loaded, total, complete, error);
+	      source.fireEvent(event);
+	    }
+	  }
+
+	  /**
+	   * Ensures the existence of the handler hook and then returns it.
+	   * 
+	   * @return returns a handler hook
+	   */
+	  public static Type<LoadProgressHandler> getType() {
+	    if (TYPE == null) {
+	      TYPE = new Type<LoadProgressHandler>();
+	    }
+	    return TYPE;
+	  }
+	  
+	  private final int loaded;
+	  private final int total;
+	  private final boolean complete;
+	  private final Throwable error;
+
+	  /**
+	   * Construct a new {@link LoadProgressEvent}.
+	   * 
+	   * @param loaded the characters put into the editor so far
+	   * @param total the announced length, -1 if unknown
+	   * @param complete true if the load is over
+	   * @param error the reason the source stopped early, or null
+	   */
+	  protected LoadProgressEvent(int loaded, int total, boolean complete, Throwable error) {
+		  this.loaded = loaded;
+		  this.total = total;
+		  this.complete = complete;
+		  this.error = error;
+	  }
+	  
+	  /**
+	   * @return the characters put into the editor so far
+	   */
+	  public int getLoaded() {
+		  return loaded;
+	  }
+	  
+	  /**
+	   * @return the length the content source announced, -1 if unknown
+	   */
+	  public int getTotal() {
+		  return total;
+	  }
+	  
+	  /**
+	   * @return true if the load is over, the editor holds all 
+	   * the text that arrived
+	   */
+	  public boolean isComplete() {
+		  return complete;
+	  }
+	  
+	  /**
+	   * @return the reason the source stopped early, null if it 
+	   * delivered everything
+	   */
+	  public Throwable getError() {
+		  return error;
+	  }
+
+	  public final Type<LoadProgressHandler> getAssociatedType() {
+	    return TYPE;
+	  }
+
+	  protected void dispatch(LoadProgressHandler handler) {
+	    handler.onLoadProgress(this);
+	  }
+}
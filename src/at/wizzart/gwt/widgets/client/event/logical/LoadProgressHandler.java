@@ -0,0 +1,23 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client.event.logical;
+
+import com.google.gwt.event.shared.EventHandler;
+
+/**
+ * A simple interface to indicate that implementers handle
+ * load progress events.
+ * 
+ * @author dominikguzei
+ * @version 1.0
+ */
+
+public interface LoadProgressHandler extends EventHandler {
+
+	void onLoadProgress(LoadProgressEvent event);
+}
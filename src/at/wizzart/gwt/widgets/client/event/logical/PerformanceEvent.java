@@ -0,0 +1,124 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client.event.logical;
+
+import com.google.gwt.event.shared.GwtEvent;
+import com.google.gwt.event.shared.HasHandlers;
+
+/**
+ * An event that reports one measurement of the editor,
+ * for example the duration of a highlight pass. The kinds
+ * are the constants of CodeMirrorMetrics.
+ * 
+ * @author dominikguzei
+ * @version 1.0
+ */
+
+public class PerformanceEvent extends GwtEvent<PerformanceHandler> {
+	/**
+	   * The event type.
+	   */
+	  private static Type<PerformanceHandler> TYPE;
+
+	  /**
+	   * Fires a performance event on all registered handlers in the handler source.
+	   * 
+	   * @param <S> The handler source
+	   * @param source the source of the handlers
+	   * @param kind the kind of measurement
+	   * @param millis the measured duration
+	   * @param lines the number of lines processed, 0 if not counted
+	   * @param tokens the number of tokens processed, 0 if not counted
+	   * @param overBudget true if the work stopped because it ran out of time
+	   */
+	  public static <S extends HasPerformanceHandlers & HasHandlers> void fire(
+	      S source, String kind, double millis, int lines, int tokens, boolean overBudget) {
+	    if (TYPE != null) {
+	      PerformanceEvent event = new PerformanceEvent(kind, millis, lines, tokens, overBudget);
+	      source.fireEvent(event);
+	    }
+	  }
+
+	  /**
+	   * Ensures the existence of the handler hook and then returns it.
+	   * 
+	   * @return returns a handler hook
+	   */
+	  public static Type<PerformanceHandler> getType() {
+	    if (TYPE == null) {
+	      TYPE = new Type<PerformanceHandler>();
+	    }
+	    return TYPE;
+	  }
+	  
+	  private final String kind;
+	  private final double millis;
+	  private final int lines;
+	  private final int tokens;
+	  private final boolean overBudget;
+
+	  /**
+	   * Construct a new {@link PerformanceEvent}.
+	   * 
+	   * @param kind the kind of measurement
+	   * @param millis the measured duration
+	   * @param lines the number of lines processed
+	   * @param tokens the number of tokens processed
+	   * @param overBudget true if the work ran out of time
+	   */
+	  protected PerformanceEvent(String kind, double millis, int lines, int tokens, boolean overBudget) {
+		  this.kind = kind;
+		  this.millis = millis;
+		  this.lines = lines;
+		  this.tokens = tokens;
+		  this.overBudget = overBudget;
+	  }
+	  
+	  /**
+	   * @return the kind of measurement, see CodeMirrorMetrics
+	   */
+	  public String getKind() {
+		  return kind;
+	  }
+	  
+	  /**
+	   * @return the measured duration in milliseconds
+	   */
+	  public double getMillis() {
+		  return millis;
+	  }
+	  
+	  /**
+	   * @return the number of lines processed, 0 if not counted
+	   */
+	  public int getLines() {
+		  return lines;
+	  }
+	  
+	  /**
+	   * @return the number of tokens processed, 0 if not counted
+	   */
+	  public int getTokens() {
+		  return tokens;
+	  }
+	  
+	  /**
+	   * @return true if the work stopped because it used up its time
+	   */
+	  public boolean isOverBudget() {
+		  return overBudget;
+	  }
+
+	  public final Type<PerformanceHandler> getAssociatedType() {
+	    return TYPE;
+	  }
+
+	  protected void dispatch(PerformanceHandler handler) {
+	    handler.onPerformance(this);
+	  }
+}
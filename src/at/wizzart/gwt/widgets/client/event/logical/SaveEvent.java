@@ -7,12 +7,15 @@
 
 package at.wizzart.gwt.widgets.client.event.logical;
 
+import at.wizzart.gwt.widgets.shared.ContentPatch;
+
 import com.google.gwt.event.shared.GwtEvent;
 import com.google.gwt.event.shared.HasHandlers;
 
 /**
  * A simple event class that holds a reference to the 
- * instance that fired the save event.
+ * instance that fired the save event, and the patch with
+ * the changes since the last acknowledged save.
  * 
  * @author dominikguzei
  * @version 1.0
@@ -32,8 +35,20 @@ public class SaveEvent extends GwtEvent<SaveHandler> {
 	   */
 	  public static <S extends HasSaveHandlers & HasHandlers> void fire(
 	      S source) {
+	    fire(source, null);
+	  }
+
+	  /**
+	   * Fires a save event with a patch on all registered handlers in the handler source.
+	   * 
+	   * @param <S> The handler source
+	   * @param source the source of the handlers
+	   * @param patch the changes to save
+	   */
+	  public static <S extends HasSaveHandlers & HasHandlers> void fire(
+	      S source, ContentPatch patch) {
 	    if (TYPE != null) {
-	      SaveEvent event = new SaveEvent();
+	      SaveEvent event = new SaveEvent(patch);
 	      source.fireEvent(event);
 	    }
 	  }
@@ -50,11 +65,27 @@ public class SaveEvent extends GwtEvent<SaveHandler> {
 	    return TYPE;
 	  }
 
+	  private ContentPatch patch;
+
 	  /**
 	   * Construct a new {@link SaveEvent}.
 	   * 
+	   * @param patch the changes to save
+	   */
+	  protected SaveEvent(ContentPatch patch) {
+	    this.patch = patch;
+	  }
+
+	  /**
+	   * Gets the changes since the last save the server acknowledged, 
+	   * a full upload if the editor does not know such a save.
+	   * 
+	   * @return the patch, null if the source does not create patches
+	   * 		or while its CodeMirrorSaver is busy, which saves the 
+	   * 		changes afterwards
 	   */
-	  protected SaveEvent() {
+	  public ContentPatch getPatch() {
+	    return patch;
 	  }
 
 	  public final Type<SaveHandler> getAssociatedType() {
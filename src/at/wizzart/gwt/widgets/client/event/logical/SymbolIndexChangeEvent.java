@@ -0,0 +1,98 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client.event.logical;
+
+import java.util.List;
+
+import at.wizzart.gwt.widgets.client.CodeMirrorSymbol;
+
+import com.google.gwt.event.shared.GwtEvent;
+import com.google.gwt.event.shared.HasHandlers;
+
+/**
+ * An event that reports the changes of the symbol index of
+ * an editor. It is fired after a highlight pass that changed
+ * symbols, and holds only the symbols that were added and
+ * removed, a symbol that changed is in both lists with 
+ * different ids.
+ * 
+ * @author dominikguzei
+ * @version 1.0
+ */
+
+public class SymbolIndexChangeEvent extends GwtEvent<SymbolIndexChangeHandler> {
+	/**
+	   * The event type.
+	   */
+	  private static Type<SymbolIndexChangeHandler> TYPE;
+
+	  /**
+	   * Fires a symbol index change event on all registered handlers in the handler source.
+	   * 
+	   * @param <S> The handler source
+	   * @param source the source of the handlers
+	   * @param added the new symbols
+	   * @param removed the symbols that are gone
+	   */
+	  public static <S extends HasSymbolIndexChangeHandlers & HasHandlers> void fire(
+	      S source, List<CodeMirrorSymbol> added, List<CodeMirrorSymbol> removed) {
+	    if (TYPE != null) {
+	      SymbolIndexChangeEvent event = new SymbolIndexChangeEvent(added, removed);
+	      source.fireEvent(event);
+	    }
+	  }
+
+	  /**
+	   * Ensures the existence of the handler hook and then returns it.
+	   * 
+	   * @return returns a handler hook
+	   */
+	  public static Type<SymbolIndexChangeHandler> getType() {
+	    if (TYPE == null) {
+	      TYPE = new Type<SymbolIndexChangeHandler>();
+	    }
+	    return TYPE;
+	  }
+	  
+	  private final List<CodeMirrorSymbol> added;
+	  private final List<CodeMirrorSymbol> removed;
+
+	  /**
+	   * Construct a new {@link SymbolIndexChangeEvent}.
+	   * 
+	   * @param added the new symbols
+	   * @param removed the symbols that are gone
+	   */
+	  protected SymbolIndexChangeEvent(List<CodeMirrorSymbol> added, List<CodeMirrorSymbol> removed) {
+		  this.added = added;
+		  this.removed = removed;
+	  }
+	  
+	  /**
+	   * @return the new symbols, in no particular order
+	   */
+	  public List<CodeMirrorSymbol> getAdded() {
+		  return added;
+	  }
+	  
+	  /**
+	   * @return the symbols that are gone, with the last line
+	   * that was known for them
+	   */
+	  public List<CodeMirrorSymbol> getRemoved() {
+		  return removed;
+	  }
+
+	  public final Type<SymbolIndexChangeHandler> getAssociatedType() {
+	    return TYPE;
+	  }
+
+	  protected void dispatch(SymbolIndexChangeHandler handler) {
+	    handler.onSymbolIndexChange(this);
+	  }
+}
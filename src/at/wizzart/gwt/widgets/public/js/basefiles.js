@@ -37,6 +37,33 @@ function map(iter, f) {
   return accum;
 }
 
+// The position of a value in an array, -1 if it is not in there
+// (Array.indexOf is missing in older browsers).
+function indexOf(array, value) {
+  for (var i = 0; i < array.length; i++) {
+    if (array[i] === value) {return i;}
+  }
+  return -1;
+}
+
+// Write numbers, strings, arrays and plain objects as JSON text.
+function toJSON(value) {
+  if (window.JSON) return JSON.stringify(value);
+  if (typeof value == "number") return String(value);
+  if (typeof value == "string") {
+    return "\"" + value.replace(/[\\"\x00-\x1f\u2028\u2029]/g, function(ch) {
+      var code = ch.charCodeAt(0).toString(16);
+      return "\\u" + "0000".slice(code.length) + code;
+    }) + "\"";
+  }
+  if (value instanceof Array) return "[" + map(value, toJSON).join(",") + "]";
+  var fields = [];
+  for (var name in value) {
+    if (value.hasOwnProperty(name)) fields.push(toJSON(name) + ":" + toJSON(value[name]));
+  }
+  return "{" + fields.join(",") + "}";
+}
+
 // Create a predicate function that tests a string againsts a given
 // regular expression. No longer used but might be used by 3rd party
 // parsers.
@@ -962,6 +989,15 @@ var select = {};
  * means taking such a chain off the undo history, restoring its
  * content (text is saved per line) and linking it back into the
  * document.
+ *
+ * Reading the content does not commit: flush reports the touched
+ * lines to the environment and keeps their shadows for the next
+ * commit, so the undo levels stay as the user made them.
+ *
+ * Lines in the undo and redo histories whose BR is still in the
+ * document only store how they differ from the line that follows
+ * that BR now (see compress). When they are taken back, the document
+ * is in that same state again, so the text can be rebuilt from it.
  */
 
 // A history object needs to know about the DOM container holding the
@@ -969,9 +1005,14 @@ var select = {};
 // delay (of no input) after which it commits a set of changes, and,
 // unfortunately, the 'parent' window -- a window that is not in
 // designMode, and on which setTimeout works in every browser.
-function History(container, maxDepth, commitDelay, editor) {
+// memoryLimit is the rough amount of bytes the undo history may take,
+// 0 for no limit.
+function History(container, maxDepth, commitDelay, editor, memoryLimit) {
   this.container = container;
   this.maxDepth = maxDepth; this.commitDelay = commitDelay;
+  this.memoryLimit = memoryLimit || 0;
+  // The estimated size of the undo history, see sizeOf.
+  this.memory = 0;
   this.editor = editor; this.parent = editor.parent;
   // This line object represents the initial, empty editor.
   var initial = {text: "", from: null, to: null};
@@ -988,6 +1029,16 @@ function History(container, maxDepth, commitDelay, editor) {
   // History is the set of committed changes, touched is the set of
   // nodes touched since the last commit.
   this.history = []; this.redoHistory = []; this.touched = [];
+  // Changes holds the chains that were committed or applied since the
+  // environment was last notified, see describeChanges.
+  this.changes = [];
+  // The shadows of the edits flush reported since the last commit, see
+  // flush. Lines linked by a flush carry the generation of the undo
+  // level they will be part of.
+  this.pending = []; this.generation = 0;
+  // The number of lines before the first DOM line, see
+  // Editor.moveWindow.
+  this.lineOffset = 0;
 }
 
 History.prototype = {
@@ -1005,17 +1056,23 @@ History.prototype = {
     this.scheduleCommit();
   },
 
-  // Undo the last change.
+  // Undo the last change. While a load runs (see Editor.beginLoad)
+  // the levels of the appended chunks are on top, nothing is undone.
   undo: function() {
     // Make sure pending changes have been committed.
     this.commit();
 
-    if (this.history.length) {
+    if (this.history.length && !this.editor.loading) {
       // Take the top diff from the history, apply it, and store its
       // shadow in the redo history.
       var item = this.history.pop();
-      this.redoHistory.push(this.updateTo(item, "applyChain"));
-      this.notifyEnvironment();
+      this.memory -= item.memory;
+      if (item.edits) {
+        this.redoHistory.push({edits: this.editor.applyLineEdits(item.edits, true)});
+        return this.editor.lineHandle(item.edits[0].line) || null;
+      }
+      this.expand(item);
+      this.redoHistory.push(this.compress(this.applyLevel(item)));
       return this.chainNode(item);
     }
   },
@@ -1023,11 +1080,15 @@ History.prototype = {
   // Redo the last undone change.
   redo: function() {
     this.commit();
-    if (this.redoHistory.length) {
+    if (this.redoHistory.length && !this.editor.loading) {
       // The inverse of undo, basically.
       var item = this.redoHistory.pop();
-      this.addUndoLevel(this.updateTo(item, "applyChain"));
-      this.notifyEnvironment();
+      if (item.edits) {
+        this.addLineLevel(this.editor.applyLineEdits(item.edits, true), true);
+        return this.editor.lineHandle(item.edits[0].line) || null;
+      }
+      this.expand(item);
+      this.addUndoLevel(this.applyLevel(item));
       return this.chainNode(item);
     }
   },
@@ -1035,6 +1096,9 @@ History.prototype = {
   clear: function() {
     this.history = [];
     this.redoHistory = [];
+    this.memory = 0;
+    this.pending = [];
+    this.generation++;
   },
 
   // Ask for the size of the un/redo histories.
@@ -1044,14 +1108,26 @@ History.prototype = {
 
   // Push a changeset into the document.
   push: function(from, to, lines) {
+    this.pushChains([this.makeChain(from, to, lines)], from === null && to === null);
+    this.notifyEnvironment();
+  },
+
+  // Replace the whole document without an undo level, for window
+  // moves (see Editor.moveWindow). The levels were parked before.
+  replaceAll: function(lines) {
+    this.commit(true);
+    this.updateTo([this.makeChain(null, null, lines)], "applyChain");
+    this.notifyEnvironment();
+  },
+
+  makeChain: function(from, to, lines) {
     var chain = [];
     for (var i = 0; i < lines.length; i++) {
       var end = (i == lines.length - 1) ? to : this.container.ownerDocument.createElement("BR");
       chain.push({from: from, to: end, text: cleanText(lines[i])});
       from = end;
     }
-    this.pushChains([chain], from === null && to === null);
-    this.notifyEnvironment();
+    return chain;
   },
 
   pushChains: function(chains, doNotHighlight) {
@@ -1072,6 +1148,115 @@ History.prototype = {
   // position.
   reset: function() {
     this.history = []; this.redoHistory = [];
+    this.memory = 0;
+    this.pending = [];
+    this.generation++;
+  },
+
+  setMemoryLimit: function(limit) {
+    this.memoryLimit = limit;
+    this.trim();
+  },
+
+  setMaxDepth: function(depth) {
+    this.maxDepth = depth;
+    this.trim();
+  },
+
+  // The hash of the lines in the DOM, see contentHash.
+  contentHash: function(index) {
+    var lines = [];
+    for (var i = 0; i < index.size(); i++) lines.push(this.editor.textOfLine(index, i));
+    return contentHash(lines);
+  },
+
+  // The undo and redo histories as JSON text, see restore. BR nodes
+  // are written as numbers: the ones in the document by their
+  // position, starting at 1, the others with numbers after those.
+  // The hash of the lines (see contentHash) tells restore whether it
+  // is given the same content.
+  serialize: function() {
+    this.commit();
+    var nodes = [], next = 1, index = this.editor.lineIndex();
+    for (var node = this.container.firstChild; node; node = node.nextSibling) {
+      if (isBR(node)) {
+        node.historyId = next++;
+        nodes.push(node);
+      }
+    }
+    var lines = next;
+    function id(node) {
+      if (!node) return 0;
+      if (!node.historyId) {
+        node.historyId = next++;
+        nodes.push(node);
+      }
+      return node.historyId;
+    }
+    function items(list) {
+      return map(list, function(item) {
+        if (item.edits) return {edits: item.edits};
+        var chains = map(item, function(chain) {
+          return map(chain, function(line) {
+            return [id(line.from), id(line.to), line.text == null ? line.diff : line.text];
+          });
+        });
+        // See joinGroups.
+        return item.groups ? {groups: item.groups, chains: chains} : chains;
+      });
+    }
+    var data = {lines: lines, length: index.offsetOf(index.size()), offset: this.lineOffset,
+                hash: this.contentHash(index), undo: items(this.history), redo: items(this.redoHistory)};
+    forEach(nodes, function(node) {node.historyId = null;});
+    return toJSON(data);
+  },
+
+  // Replace the undo and redo histories by ones from serialize. This
+  // only works on the content they were taken from, returns false if
+  // the content does not fit, or the browser can not parse JSON.
+  restore: function(json) {
+    this.commit();
+    var data;
+    if (!window.JSON) return false;
+    try {data = JSON.parse(json);}
+    catch (e) {return false;}
+    var nodes = [null], index = this.editor.lineIndex();
+    for (var node = this.container.firstChild; node; node = node.nextSibling) {
+      if (isBR(node)) nodes.push(node);
+    }
+    if (!data || data.lines != nodes.length || data.offset != this.lineOffset ||
+        data.length != index.offsetOf(index.size()) || data.hash != this.contentHash(index))
+      return false;
+
+    var doc = this.container.ownerDocument;
+    function nodeFor(id) {
+      while (nodes.length <= id) nodes.push(doc.createElement("BR"));
+      return nodes[id];
+    }
+    function items(list) {
+      return map(list, function(item) {
+        if (item.edits) return {edits: item.edits};
+        var chains = map(item.chains || item, function(chain) {
+          return map(chain, function(line) {
+            var text = line[2], object = {from: nodeFor(line[0]), to: nodeFor(line[1])};
+            if (typeof text == "string") object.text = text;
+            else {object.text = null; object.diff = text;}
+            return object;
+          });
+        });
+        if (item.groups) chains.groups = item.groups;
+        return chains;
+      });
+    }
+    this.history = items(data.undo);
+    this.redoHistory = items(data.redo);
+    this.memory = 0;
+    for (var i = 0; i < this.history.length; i++) {
+      this.history[i].memory = this.sizeOf(this.history[i]);
+      this.memory += this.history[i].memory;
+    }
+    this.trim();
+    return true;
   },
 
   textAfter: function(br) {
@@ -1094,17 +1279,47 @@ History.prototype = {
   },
 
   // Check whether the touched nodes hold any changes, if so, commit
-  // them.
+  // them, together with the ones flush reported before.
   commit: function(doNotHighlight) {
     this.parent.clearTimeout(this.commitTimeout);
     // Make sure there are no pending dirty nodes.
     if (!doNotHighlight) {this.editor.highlightDirty(true);}
     // Build set of chains.
-    var chains = this.touchedChains(), self = this;
-
+    var chains = this.touchedChains(), level = this.pending;
+    this.pending = [];
     if (chains.length) {
-      this.addUndoLevel(this.updateTo(chains, "linkChain"));
+      var shadows = this.linkPending(chains);
+      if (shadows.length) {level.unshift(shadows);}
+    }
+    this.generation++;
+
+    if (level.length) {
+      this.addUndoLevel(this.joinGroups(level));
       this.redoHistory = [];
+    }
+    if (chains.length) {this.notifyEnvironment();}
+  },
+
+  // Report the edits made since the last commit to the environment
+  // without committing them: nothing is highlighted, and no undo level
+  // is started. The lines are linked like a commit does, their
+  // shadows wait in pending until the next commit makes them part of
+  // its undo level. Lines the highlighter did not get to yet are
+  // taken as they are in the DOM.
+  flush: function() {
+    var dirty = this.editor.dirty;
+    for (var i = 0; i < dirty.length; i++) {
+      var node = dirty[i];
+      while (node && node.parentNode != this.container) {node = node.parentNode;}
+      while (node && !isBR(node)) {node = node.previousSibling;}
+      this.setTouched(node);
+    }
+    if (!this.touched.length && !this.firstTouched) {return;}
+    var chains = this.touchedChains();
+    if (chains.length) {
+      var shadows = this.linkPending(chains);
+      if (shadows.length) {this.pending.unshift(shadows);}
+      this.scheduleCommit();
       this.notifyEnvironment();
     }
   },
@@ -1122,6 +1337,7 @@ History.prototype = {
     for (var i = 0; i < chains.length; i++) {
       shadows.push(this.shadowChain(chains[i]));
       dirty.push(this[updateFunc](chains[i]));
+      this.changes.push({start: chains[i][0].from, removed: shadows[i].length, lines: chains[i], old: shadows[i]});
     }
     if (updateFunc == "applyChain") {
       this.notifyDirty(dirty);
@@ -1129,6 +1345,121 @@ History.prototype = {
     return shadows;
   },
 
+  // Link chains that match the document, and return their shadows.
+  // A line that an earlier flush of the same undo level already
+  // changed needs no shadow, its old text is in pending.
+  linkPending: function(chains) {
+    var shadows = this.updateTo(chains, "linkChain"), kept = [];
+    for (var i = 0; i < chains.length; i++) {
+      var chain = chains[i], shadow = shadows[i];
+      if (chain.length > 1 || shadow.length > 1 || shadow[0].generation != this.generation)
+        kept.push(shadow);
+      for (var j = 0; j < chain.length; j++) {chain[j].generation = this.generation;}
+    }
+    return kept;
+  },
+
+  // Levels can also be line levels, {edits: [{line, removed, lines}]}:
+  // line edits in whole document line numbers (see Editor.lineIndex),
+  // applied one after the other. Moving the window of a large
+  // document takes the DOM nodes the chains point at away, so park
+  // turns the chain levels into line levels first. Line levels are
+  // always below the chain levels made after them.
+  addLineLevel: function(edits, keepRedo) {
+    var level = {edits: edits};
+    level.memory = this.sizeOf(level);
+    this.memory += level.memory;
+    this.history.push(level);
+    if (!keepRedo) {this.redoHistory = [];}
+    this.trim();
+  },
+
+  // Turn the chain levels on top of the undo and redo histories into
+  // line levels. The chains of a level fit the document as it is
+  // after the levels above it were applied, so this follows the
+  // levels down, keeping the BRs and texts of the DOM lines as they
+  // would be at each of them. Everything changed since the window
+  // was put into the DOM, so only its lines are looked at. A level
+  // that does not fit is dropped with the ones below it.
+  park: function() {
+    var nodes = [null], texts = [], offset = this.lineOffset, self = this;
+    for (var node = this.container.firstChild; node; node = node.nextSibling) {
+      if (isBR(node)) {nodes.push(node);}
+    }
+    for (var i = 0; i < nodes.length; i++) {texts.push(this.textAfter(nodes[i]));}
+
+    function parkLevel(level, nodes, texts) {
+      var sizes = level.groups || [level.length], edits = [], pos = 0;
+      for (var g = 0; g < sizes.length; g++) {
+        var chains = level.slice(pos, pos + sizes[g]), found = [];
+        pos += sizes[g];
+        for (var c = 0; c < chains.length; c++) {
+          var chain = chains[c], to = chain[chain.length - 1].to;
+          var a = indexOf(nodes, chain[0].from), b = to ? indexOf(nodes, to) : nodes.length;
+          if (a < 0 || b <= a) {return null;}
+          // Compressed lines are rebuilt from the line after their BR.
+          var lines = map(chain, function(line) {
+            if (line.text != null) {return line.text;}
+            var base = texts[indexOf(nodes, line.from)], diff = line.diff;
+            return base.slice(0, diff[0]) + diff[2] + base.slice(base.length - diff[1]);
+          });
+          found.push({a: a, b: b, chain: chain, lines: lines});
+        }
+        // Back to front, so that the positions stay valid.
+        found.sort(function(x, y) {return y.a - x.a;});
+        for (c = 0; c < found.length; c++) {
+          var f = found[c];
+          edits.push({line: offset + f.a, removed: f.b - f.a, lines: f.lines});
+          nodes.splice.apply(nodes, [f.a + 1, f.b - f.a - 1].concat(
+            map(f.chain.slice(1), function(line) {return line.from;})));
+          texts.splice.apply(texts, [f.a, f.b - f.a].concat(f.lines));
+        }
+      }
+      return edits;
+    }
+    function parkStack(stack) {
+      var n = nodes.slice(), t = texts.slice();
+      for (var i = stack.length - 1; i >= 0 && !stack[i].edits; i--) {
+        var edits = parkLevel(stack[i], n, t);
+        if (!edits) {
+          stack.splice(0, i + 1);
+          break;
+        }
+        stack[i] = {edits: edits, memory: stack[i].memory};
+      }
+    }
+    parkStack(this.history);
+    parkStack(this.redoHistory);
+    this.memory = 0;
+    for (var i = 0; i < this.history.length; i++) {this.memory += this.history[i].memory;}
+  },
+
+  // Join the shadows of flushes and a commit into one undo level,
+  // newest first. They have to be applied one after the other, so the
+  // level remembers the size of each group (see applyLevel).
+  joinGroups: function(groups) {
+    var level = [], sizes = [];
+    for (var i = 0; i < groups.length; i++) {
+      level.push.apply(level, groups[i]);
+      sizes.push(groups[i].length);
+    }
+    if (sizes.length > 1) {level.groups = sizes;}
+    return level;
+  },
+
+  // Apply an undo or redo level, group by group, and return the level
+  // that takes it back. The environment is told about every group on
+  // its own, the changes of one group do not overlap.
+  applyLevel: function(level) {
+    var sizes = level.groups || [level.length], shadows = [], pos = 0;
+    for (var i = 0; i < sizes.length; i++) {
+      shadows.unshift(this.updateTo(level.slice(pos, pos + sizes[i]), "applyChain"));
+      pos += sizes[i];
+      this.notifyEnvironment();
+    }
+    return this.joinGroups(shadows);
+  },
+
   // Notify the editor that some nodes have changed.
   notifyDirty: function(nodes) {
     forEach(nodes, method(this.editor, "addDirtyNode"));
@@ -1136,11 +1467,69 @@ History.prototype = {
   },
 
   notifyEnvironment: function() {
-    // Used by the line-wrapping line-numbering code.
+    var changes = this.changes;
+    this.changes = [];
+    // Used by the line-numbering code.
     if (window.frameElement && window.frameElement.CodeMirror.updateNumbers) {
       window.frameElement.CodeMirror.updateNumbers();
     }
-    if (this.onChange) {this.onChange();}
+    if (this.editor.symbolLines) {this.editor.dropSymbols(changes);}
+    if (this.editor.wordLines) {this.editor.dropWords(changes);}
+    // The states of lines below the window may have changed.
+    if (this.editor.linesBefore) {this.editor.dropCheckpoints(this.lineOffset);}
+    if (this.onChange || this.editor.index || this.editor.searchIndexes.length || this.editor.worker) {
+      var described = this.describeChanges(changes);
+      this.editor.updateSearchIndexes(described);
+      if (this.editor.worker) {this.editor.queueWorkerChanges(described);}
+      if (this.onChange) {this.onChange(described);}
+    }
+  },
+
+  // Turn the recorded chains into {from, removed, lines} objects, and
+  // apply them to the line index (see Editor.lineIndex). From is the
+  // zero-based number of the first changed line in the current
+  // document, removed the amount of lines that were replaced, and
+  // lines holds the line objects (see touchedChains) of the new lines.
+  // The result is sorted by line, so that applying the changes in
+  // order to the old text gives the new one. The changes are numbered
+  // by looking up their start in the index before it is updated. When
+  // there is no index, or it does not fit, it is built again from the
+  // document, and the starts are looked up in the new one.
+  describeChanges: function(changes) {
+    var editor = this.editor, index = editor.index, result = [], self = this;
+    function lineOf(node) {return node ? index.lineOfNode(node) : self.lineOffset;}
+    for (var i = 0; i < changes.length; i++) {
+      var change = changes[i], start = change.start;
+      // The chain was replaced again before anyone got to see it.
+      if (start && start.parentNode != this.container) {continue;}
+      var from = index ? lineOf(start) : -1;
+      if (from < 0) {index = null;}
+      result.push({from: from, removed: change.removed, lines: change.lines, start: start, order: i});
+    }
+    function byLine(a, b) {return a.from - b.from || a.order - b.order;}
+
+    if (index) {
+      result.sort(byLine);
+      for (var i = 0, shift = 0; i < result.length && index; i++) {
+        var change = result[i], nodes = [], lengths = [];
+        change.from += shift;
+        if (change.from + change.removed > index.size()) {index = null; break;}
+        for (var j = 0; j < change.lines.length; j++) {
+          nodes.push(change.lines[j].from);
+          lengths.push(change.lines[j].text.length);
+        }
+        index.splice(change.from, change.removed, nodes, lengths);
+        shift += change.lines.length - change.removed;
+      }
+    }
+    if (!index) {
+      index = editor.index = editor.buildLineIndex();
+      for (var i = 0; i < result.length; i++) {result[i].from = lineOf(result[i].start);}
+      result.sort(byLine);
+    }
+    return map(result, function(change) {
+      return {from: change.from, removed: change.removed, lines: change.lines};
+    });
   },
 
   // Link a chain into the DOM nodes (or the first/last links for null
@@ -1179,9 +1568,78 @@ History.prototype = {
   // Store a new set of undo info, throw away info if there is more of
   // it than allowed.
   addUndoLevel: function(diffs) {
+    this.compress(diffs);
+    diffs.memory = this.sizeOf(diffs);
+    this.memory += diffs.memory;
     this.history.push(diffs);
-    if (this.history.length > this.maxDepth) {
-      this.history.shift();
+    this.trim();
+  },
+
+  // Drop the oldest undo levels until the history fits the depth and
+  // memory limits. The last level is kept even if it is bigger than
+  // the memory limit on its own.
+  trim: function() {
+    while (this.history.length > this.maxDepth ||
+           (this.memoryLimit && this.memory > this.memoryLimit && this.history.length > 1)) {
+      this.memory -= this.history.shift().memory;
+    }
+  },
+
+  // Roughly the bytes a set of chains keeps alive: two per character
+  // plus some for every line object.
+  sizeOf: function(chains) {
+    var size = 0;
+    if (chains.edits) {
+      for (var i = 0; i < chains.edits.length; i++) {
+        var lines = chains.edits[i].lines;
+        for (var j = 0; j < lines.length; j++) size += 48 + 2 * lines[j].length;
+      }
+      return size;
+    }
+    for (var i = 0; i < chains.length; i++) {
+      for (var j = 0; j < chains[i].length; j++) {
+        var line = chains[i][j];
+        size += 48 + 2 * (line.text == null ? line.diff[2].length : line.text.length);
+      }
+    }
+    return size;
+  },
+
+  // Replace the text of lines that were just taken out of the
+  // document by [prefix, suffix, middle]: the lengths of the start
+  // and end they have in common with the line now following their
+  // BR, and the text in between. Lines whose BR is gone keep their
+  // text.
+  compress: function(chains) {
+    for (var i = 0; i < chains.length; i++) {
+      for (var j = 0; j < chains[i].length; j++) {
+        var line = chains[i][j], from = line.from;
+        if (line.text == null || (from && from.parentNode != this.container)) continue;
+        var current = this.after(from);
+        if (!current || current == line || current.text == null) continue;
+        var text = line.text, base = current.text, max = Math.min(text.length, base.length);
+        var prefix = 0, suffix = 0;
+        while (prefix < max && text.charAt(prefix) == base.charAt(prefix)) prefix++;
+        while (suffix < max - prefix &&
+               text.charAt(text.length - 1 - suffix) == base.charAt(base.length - 1 - suffix)) suffix++;
+        line.diff = [prefix, suffix, text.slice(prefix, text.length - suffix)];
+        line.text = null;
+      }
+    }
+    return chains;
+  },
+
+  // Rebuild the text of compressed lines, the document has to be in
+  // the state it was in when they were compressed.
+  expand: function(chains) {
+    for (var i = 0; i < chains.length; i++) {
+      for (var j = 0; j < chains[i].length; j++) {
+        var line = chains[i][j];
+        if (line.text != null) continue;
+        var base = this.after(line.from).text, diff = line.diff;
+        line.text = base.slice(0, diff[0]) + diff[2] + base.slice(base.length - diff[1]);
+        line.diff = null;
+      }
     }
   },
 
@@ -1200,11 +1658,13 @@ History.prototype = {
       else {nullTemp = line;}
     }
 
+    // The text is read from the DOM, flush gets here before the
+    // highlighter normalized the edited nodes.
     function buildLine(node) {
       var text = [];
       for (var cur = node ? node.nextSibling : self.container.firstChild;
            cur && !isBR(cur); cur = cur.nextSibling) {
-        if (cur.currentText) {text.push(cur.currentText);}
+        text.push(nodeText(cur));
       }
       return {from: node, to: cur, text: cleanText(text.join(""))};
     }
@@ -1357,6 +1817,149 @@ History.prototype = {
   }
 };
 
+/* The line index maps line numbers to the <br> nodes in front of the
+ * lines (null for the first one) and to character offsets, and the
+ * nodes back to their lines. The lines are kept in blocks of around
+ * blockSize lines. A block knows the amount of characters in it, the
+ * line and offset it starts at are summed up from the first block an
+ * edit changed on, when they are asked for again. So an edit, like a
+ * lookup, takes in the order of the block size plus the number of
+ * blocks, also when it adds or removes lines.
+ */
+function LineIndex(nodes, lengths) {
+  var size = LineIndex.blockSize;
+  this.blocks = [];
+  for (var i = 0; i == 0 || i < nodes.length; i += size)
+    this.blocks.push(this.makeBlock(nodes.slice(i, i + size), lengths.slice(i, i + size)));
+  this.lines = nodes.length;
+  // The blocks before this one have an up to date start and offset.
+  this.fresh = 0;
+}
+
+LineIndex.blockSize = 128;
+
+LineIndex.prototype = {
+  size: function() {
+    return this.lines;
+  },
+
+  // The nodes of a block point back to it, see lineOfNode.
+  makeBlock: function(nodes, lengths) {
+    var block = {nodes: nodes, lengths: lengths, chars: 0};
+    for (var i = 0; i < nodes.length; i++) {
+      block.chars += lengths[i] + 1;
+      if (nodes[i]) {nodes[i].lineBlock = block;}
+    }
+    return block;
+  },
+
+  // Every line counts with its length plus one for the newline.
+  update: function() {
+    var blocks = this.blocks;
+    for (var i = this.fresh; i < blocks.length; i++) {
+      var block = blocks[i], prev = blocks[i - 1];
+      block.index = i;
+      block.start = prev ? prev.start + prev.nodes.length : 0;
+      block.offset = prev ? prev.offset + prev.chars : 0;
+    }
+    this.fresh = blocks.length;
+  },
+
+  // The block holding a line, or the last one for lines past the end.
+  find: function(line) {
+    this.update();
+    var blocks = this.blocks, from = 0, to = blocks.length - 1;
+    while (from < to) {
+      var mid = (from + to + 1) >> 1;
+      if (blocks[mid].start <= line) {from = mid;}
+      else {to = mid - 1;}
+    }
+    return blocks[from];
+  },
+
+  node: function(line) {
+    var block = this.find(line);
+    return block.nodes[line - block.start];
+  },
+
+  // The line after a node, -1 if the node is not in the index.
+  lineOfNode: function(node) {
+    var block = node.lineBlock;
+    if (!block) {return -1;}
+    this.update();
+    if (this.blocks[block.index] != block) {return -1;}
+    for (var i = 0; i < block.nodes.length; i++) {
+      if (block.nodes[i] == node) {return block.start + i;}
+    }
+    return -1;
+  },
+
+  // The offset of the first character of a line.
+  offsetOf: function(line) {
+    var block = this.find(line), sum = block.offset;
+    line = Math.min(line, this.lines) - block.start;
+    for (var i = 0; i < line; i++) {sum += block.lengths[i] + 1;}
+    return sum;
+  },
+
+  // The line holding the character at a given offset.
+  lineOf: function(offset) {
+    this.update();
+    var blocks = this.blocks, from = 0, to = blocks.length - 1;
+    while (from < to) {
+      var mid = (from + to + 1) >> 1;
+      if (blocks[mid].offset <= offset) {from = mid;}
+      else {to = mid - 1;}
+    }
+    var block = blocks[from];
+    offset -= block.offset;
+    for (var i = 0; i < block.lengths.length; i++) {
+      offset -= block.lengths[i] + 1;
+      if (offset < 0) {return block.start + i;}
+    }
+    return this.lines - 1;
+  },
+
+  setLength: function(line, length) {
+    var block = this.find(line), i = line - block.start;
+    block.chars += length - block.lengths[i];
+    block.lengths[i] = length;
+    this.fresh = Math.min(this.fresh, block.index + 1);
+  },
+
+  // Replace removed lines, starting at from, with the given ones.
+  // Only the blocks holding them are built again, split up when they
+  // grew too big, and joined with the next one when too small.
+  splice: function(from, removed, nodes, lengths) {
+    var size = LineIndex.blockSize, blocks = this.blocks;
+    var first = this.find(from), last = removed ? this.find(from + removed - 1) : first;
+    var end = last.index + 1, allNodes = [], allLengths = [];
+    for (var i = first.index; i < end; i++) {
+      allNodes = allNodes.concat(blocks[i].nodes);
+      allLengths = allLengths.concat(blocks[i].lengths);
+    }
+    allNodes.splice.apply(allNodes, [from - first.start, removed].concat(nodes));
+    allLengths.splice.apply(allLengths, [from - first.start, removed].concat(lengths));
+    if (allNodes.length < size / 2 && end < blocks.length) {
+      allNodes = allNodes.concat(blocks[end].nodes);
+      allLengths = allLengths.concat(blocks[end].lengths);
+      end++;
+    }
+    var replacement = [];
+    if (allNodes.length <= 2 * size) {
+      if (allNodes.length || blocks.length == end - first.index)
+        replacement.push(this.makeBlock(allNodes, allLengths));
+    }
+    else {
+      for (i = 0; i < allNodes.length; i += size)
+        replacement.push(this.makeBlock(allNodes.slice(i, i + size), allLengths.slice(i, i + size)));
+    }
+    blocks.splice.apply(blocks, [first.index, end - first.index].concat(replacement));
+    this.lines += nodes.length - removed;
+    this.fresh = Math.min(this.fresh, first.index);
+  }
+};
+
 /* The Editor object manages the content of the editable frame. It
  * catches events, colours nodes, and indents lines. This file also
  * holds some functions for transforming arbitrary DOM structures into
@@ -1421,14 +2024,177 @@ var webkitLastLineHack = webkit ?
       container.appendChild(makePartSpan("\u200b", container.ownerDocument));
   } : function() {};
 
+// A key for the content of a list of lines, made of two 32 bit
+// string hashes (FNV-1a and djb2) and the length of the content.
+function contentHash(lines) {
+  var fnv = 0x811c9dc5, djb = 5381, length = 0;
+  for (var i = 0; i < lines.length; i++) {
+    var line = lines[i];
+    for (var j = 0; j <= line.length; j++) {
+      var ch = j < line.length ? line.charCodeAt(j) : 10;
+      fnv ^= ch;
+      fnv += (fnv << 1) + (fnv << 4) + (fnv << 7) + (fnv << 8) + (fnv << 24);
+      djb = ((djb << 5) + djb + ch) | 0;
+    }
+    length += line.length + 1;
+  }
+  return (fnv >>> 0).toString(36) + (djb >>> 0).toString(36) + length.toString(36);
+}
+
 var Editor = (function(){
   // The HTML elements whose content should be suffixed by a newline
   // when converting them to flat text.
   var newlineElements = {"P": true, "DIV": true, "LI": true};
 
   function asEditorLines(string) {
-    var tab = makeWhiteSpace(indentUnit);
-    return map(string.replace(/\t/g, tab).replace(/\u00a0/g, " ").replace(/\r\n?/g, "\n").split("\n"), fixSpaces);
+    return map(splitLines(string), fixSpaces);
+  }
+
+  // The last id given to a symbol, see Editor.updateSymbols.
+  var symbolId = 0, symbolKey = 0;
+  var sqlTableKeywords = {"FROM": true, "JOIN": true, "INTO": true, "UPDATE": true, "TABLE": true};
+
+  // The token styles whose words go into the word index (see
+  // Editor.takeWords): names, not keywords, numbers, comments or strings.
+  var wordStyles = /(^|\s)(css-(identifier|selector|value)|js-(variable|variabledef|localvariable|property)|php-(variable|t_string)|xml-(tagname|attname)|sql-(word|var))(\s|$)/;
+
+  // The words of a line for the word index, found in its tokens as
+  // lineTokens returns them. Tokens of the CSS parser may contain
+  // '-', others '$'. A word has at least two characters and does not
+  // start with a digit.
+  function lineWords(tokens) {
+    var words = [];
+    for (var i = 0; i < tokens.length; i += 2) {
+      if (!wordStyles.test(tokens[i])) continue;
+      var found = tokens[i + 1].match(/^css-/.test(tokens[i]) ? /[\w\-]+/g : /[\w$]+/g) || [];
+      for (var j = 0; j < found.length; j++) {
+        if (found[j].length > 1 && !/^\d/.test(found[j])) words.push(found[j]);
+      }
+    }
+    return words;
+  }
+
+  // The symbols (options.symbolIndex) defined on a line, found in its
+  // tokens as lineTokens returns them: [style, text, style, ...]. Only
+  // the styles are looked at, so it works for every parser that uses
+  // the css-, js-, xml- and sql- classes, mixed ones included. A
+  // definition has to be on one line to be found. The result holds
+  // {name, kind} objects.
+  function lineSymbols(tokens) {
+    var symbols = [], selector = null, afterAt = false, varList = false, depth = 0,
+        afterComma = false, named = null, assigned = false, table = null, expectTable = false;
+    function add(name, kind) {
+      name = name.replace(/^\s+|\s+$/g, "");
+      if (name) symbols.push({name: name, kind: kind});
+      return symbols[symbols.length - 1];
+    }
+    function styleIs(style, name) {
+      return (" " + style + " ").indexOf(" " + name + " ") > -1;
+    }
+    for (var i = 0; i < tokens.length; i += 2) {
+      var style = tokens[i], text = tokens[i + 1], trimmed = text.replace(/^\s+|\s+$/g, "");
+      if (style == "whitespace") continue;
+      // CSS: a rule starts with a selector and its name goes up to the {.
+      if (selector != null) {
+        if (styleIs(style, "css-punctuation") && trimmed == "{") {
+          add(selector.replace(/,\s*$/, ""), "selector");
+          selector = null;
+        }
+        else if (/^css-/.test(style)) selector += text;
+        else selector = null;
+        continue;
+      }
+      if (styleIs(style, "css-at")) {afterAt = true; continue;}
+      if (styleIs(style, "css-selector") && !afterAt) {selector = text; continue;}
+      if (styleIs(style, "css-punctuation") && (trimmed == "{" || trimmed == ";")) afterAt = false;
+
+      // JS: function and var definitions, and functions assigned to
+      // a name or property.
+      if (/^js-/.test(style)) {
+        var isName = /\bjs-(variable|variabledef|localvariable|property)\b/.test(style);
+        if (styleIs(style, "js-keyword") && trimmed == "var") {
+          varList = true; depth = 0; named = null; assigned = false; afterComma = true;
+        }
+        else if (styleIs(style, "js-keyword") && trimmed == "function") {
+          var next = tokens[i + 2];
+          if (next && /\bjs-variable(def)?\b/.test(next)) {
+            add(tokens[i + 3], "function");
+            i += 2;
+          }
+          else if (named && assigned) {
+            // name = function(...), or name: function(...)
+            if (named.kind == "variable") named.kind = "function";
+            else add(named.name, "function");
+          }
+          named = null; assigned = false;
+        }
+        else if (isName && varList && depth == 0 && afterComma) {
+          named = add(text, "variable"); assigned = false; afterComma = false;
+        }
+        else if (isName) {
+          named = {name: text}; assigned = false; afterComma = false;
+        }
+        else if ((styleIs(style, "js-operator") && trimmed == "=") ||
+                 (styleIs(style, "js-punctuation") && trimmed == ":")) {
+          assigned = !!named;
+        }
+        else {
+          if (styleIs(style, "js-punctuation")) {
+            if (trimmed == "(" || trimmed == "[" || trimmed == "{") depth++;
+            else if (trimmed == ")" || trimmed == "]" || trimmed == "}") depth--;
+            else if (trimmed == ";" && depth <= 0) varList = false;
+          }
+          afterComma = varList && depth == 0 && trimmed == ",";
+          named = null; assigned = false;
+        }
+        continue;
+      }
+
+      // XML: the name of an opening tag.
+      if (styleIs(style, "xml-tagname")) {
+        if (tokens[i - 2] && styleIs(tokens[i - 2], "xml-punctuation") && tokens[i - 1] == "<")
+          add(text, "element");
+        continue;
+      }
+
+      // SQL: the word after FROM, JOIN, INTO, UPDATE or TABLE, and
+      // further ones after commas in a FROM list.
+      if (styleIs(style, "sql-keyword")) {
+        var keyword = trimmed.toUpperCase();
+        expectTable = sqlTableKeywords.hasOwnProperty(keyword);
+        table = keyword == "FROM" ? "from" : null;
+        continue;
+      }
+      if (styleIs(style, "sql-word")) {
+        if (expectTable) {
+          named = add(text, "table");
+          expectTable = false;
+        }
+        else if (named && named.kind == "table" && text.charAt(0) == "." &&
+                 styleIs(tokens[i - 2], "sql-word")) {
+          // A qualified name, schema.table.
+          named.name += trimmed;
+        }
+        else named = null;
+        continue;
+      }
+      if (styleIs(style, "sql-separator") && trimmed == "," && table == "from") {
+        expectTable = true;
+        continue;
+      }
+      if (/^sql-/.test(style)) {
+        expectTable = false;
+        if (styleIs(style, "sql-separator") || styleIs(style, "sql-punctuation")) table = null;
+      }
+    }
+    return symbols;
+  }
+
+  // Split a string into plain lines, with tabs expanded but without
+  // the non-breaking spaces the DOM needs.
+  function splitLines(string) {
+    var tab = new Array(indentUnit + 1).join(" ");
+    return string.replace(/\t/g, tab).replace(/\u00a0/g, " ").replace(/\r\n?/g, "\n").split("\n");
   }
 
   // Helper function for traverseDOM. Flattens an arbitrary DOM node
@@ -1593,134 +2359,207 @@ var Editor = (function(){
 
   function time() {return new Date().getTime();}
 
-  // Client interface for searching the content of the editor. Create
-  // these by calling CodeMirror.getSearchCursor. To use, call
-  // findNext on the resulting object -- this returns a boolean
-  // indicating whether anything was found, and can be called again to
-  // skip to the next find. Use the select and replace methods to
-  // actually do something with the found locations.
-  function SearchCursor(editor, string, fromCursor, caseFold) {
-    this.editor = editor;
-    this.caseFold = caseFold;
-    if (caseFold) string = string.toLowerCase();
-    this.history = editor.history;
-    this.history.commit();
-
-    // Are we currently at an occurrence of the search string?
-    this.atOccurrence = false;
-    // The object stores a set of nodes coming after its current
-    // position, so that when the current point is taken out of the
-    // DOM tree, we can still try to continue.
-    this.fallbackSize = 15;
-    var cursor;
-    // Start from the cursor when specified and a cursor can be found.
-    if (fromCursor && (cursor = select.cursorPos(this.editor.container))) {
-      this.line = cursor.node;
-      this.offset = cursor.offset;
+  // The matches of one query, cached per line. lines[n] holds the
+  // matches in line n as flat [start, end, start, end, ...] offsets,
+  // or null when the line changed since it was last searched, so
+  // that running the query again only searches the changed lines.
+  // For queries spanning several lines only the line where a match
+  // would start is cached (with an end of -1), the following lines
+  // are compared when the match is asked for. The groups of regular
+  // expressions with groups are kept with the offsets (in groups),
+  // they are what $1, $2 etc. stand for when a match is replaced.
+  function SearchIndex(query, caseFold, regexp) {
+    this.key = (regexp ? "r" : "s") + (caseFold ? "i" : "c") + query;
+    this.valid = !!query;
+    if (regexp) {
+      try {
+        this.pattern = new RegExp(query, caseFold ? "gi" : "g");
+        this.grouped = new RegExp(query + "|").exec("").length > 1;
+      }
+      catch (e) {this.valid = false;}
     }
     else {
-      this.line = null;
-      this.offset = 0;
-    }
-    this.valid = !!string;
-
-    // Create a matcher function based on the kind of string we have.
-    var target = string.split("\n"), self = this;
-    this.matches = (target.length == 1) ?
-      // For one-line strings, searching can be done simply by calling
-      // indexOf on the current line.
-      function() {
-        var line = cleanText(self.history.textAfter(self.line).slice(self.offset));
-        var match = (self.caseFold ? line.toLowerCase() : line).indexOf(string);
-        if (match > -1)
-          return {from: {node: self.line, offset: self.offset + match},
-                  to: {node: self.line, offset: self.offset + match + string.length}};
-      } :
-      // Multi-line strings require internal iteration over lines, and
-      // some clunky checks to make sure the first match ends at the
-      // end of the line and the last match starts at the start.
-      function() {
-        var firstLine = cleanText(self.history.textAfter(self.line).slice(self.offset));
-        var match = (self.caseFold ? firstLine.toLowerCase() : firstLine).lastIndexOf(target[0]);
-        if (match == -1 || match != firstLine.length - target[0].length)
-          return false;
-        var startOffset = self.offset + match;
+      this.caseFold = caseFold;
+      this.target = (caseFold ? query.toLowerCase() : query).split("\n");
+    }
+    this.lines = [];
+  }
 
-        var line = self.history.nodeAfter(self.line);
-        for (var i = 1; i < target.length - 1; i++) {
-          var lineText = cleanText(self.history.textAfter(line));
-          if ((self.caseFold ? lineText.toLowerCase() : lineText) != target[i])
-            return false;
-          line = self.history.nodeAfter(line);
+  var noMatches = [];
+
+  SearchIndex.prototype = {
+    // Search one line of text.
+    search: function(text) {
+      var found = noMatches;
+      if (!this.valid) return found;
+      if (this.pattern) {
+        var pattern = this.pattern, match;
+        pattern.lastIndex = 0;
+        while ((match = pattern.exec(text))) {
+          if (found == noMatches) {
+            found = [];
+            if (this.grouped) found.groups = [];
+          }
+          found.push(match.index, match.index + match[0].length);
+          if (this.grouped) found.groups.push(match.slice(1));
+          // Do not get stuck on empty matches.
+          if (!match[0].length) pattern.lastIndex++;
         }
+        return found;
+      }
+      if (this.caseFold) text = text.toLowerCase();
+      var target = this.target;
+      if (target.length > 1) {
+        var start = text.length - target[0].length;
+        if (start >= 0 && text.lastIndexOf(target[0]) == start) found = [start, -1];
+        return found;
+      }
+      for (var pos = text.indexOf(target[0]); pos > -1;
+           pos = text.indexOf(target[0], pos + Math.max(1, target[0].length))) {
+        if (found == noMatches) found = [];
+        found.push(pos, pos + target[0].length);
+      }
+      return found;
+    },
 
-        var lastLine = cleanText(self.history.textAfter(line));
-        if ((self.caseFold ? lastLine.toLowerCase() : lastLine).indexOf(target[target.length - 1]) != 0)
-          return false;
+    // Apply a change description (see History.describeChanges), the
+    // new lines have to be searched again.
+    splice: function(from, removed, added) {
+      var args = [from, removed];
+      for (var i = 0; i < added; i++) args.push(null);
+      this.lines.splice.apply(this.lines, args);
+    },
 
-        return {from: {node: self.line, offset: startOffset},
-                to: {node: line, offset: target[target.length - 1].length}};
-      };
+    // The text a match (see Editor.lineMatches) in the given line is
+    // replaced with. Regular expressions may refer to their groups
+    // with $1, $2 etc., to the match with $&, and to the text before
+    // and after it on the line with $` and $', like String.replace.
+    replacement: function(match, line, text) {
+      if (!this.pattern) return text;
+      var start = match.from.ch, end = match.to.ch, groups = match.groups || [];
+      return text.replace(/\$([$&`']|\d\d?)/g, function(all, code) {
+        if (code == "$") return "$";
+        if (code == "&") return line.slice(start, end);
+        if (code == "`") return line.slice(0, start);
+        if (code == "'") return line.slice(end);
+        var n = +code, rest = "";
+        // $12 with less than 12 groups is $1 followed by a 2.
+        if (n > groups.length && code.length == 2) {n = +code.charAt(0); rest = code.charAt(1);}
+        if (n < 1 || n > groups.length) return all;
+        return (groups[n - 1] || "") + rest;
+      });
+    }
+  };
+
+  // Client interface for searching the content of the editor. Create
+  // these by calling CodeMirror.getSearchCursor. To use, call
+  // findNext or findPrevious on the resulting object -- these return
+  // a boolean indicating whether anything was found, and can be
+  // called again to skip to the next find. Use the select and replace
+  // methods to actually do something with the found locations.
+  // Positions are {line, ch} objects with zero-based line numbers, see
+  // Editor.lineText. The matches come from a search index that is kept
+  // by the editor, so searching again after an edit only looks at the
+  // lines that changed.
+  function SearchCursor(editor, string, fromCursor, caseFold, regexp) {
+    this.editor = editor;
+    this.search = editor.searchIndex(string, caseFold, regexp);
+    this.valid = this.search.valid;
+    // The current match, if any.
+    this.atOccurrence = false;
+    // Start from the cursor when specified and a cursor can be found.
+    this.pos = (fromCursor && editor.cursorLine()) || {line: 0, ch: 0};
   }
 
   SearchCursor.prototype = {
     findNext: function() {
       if (!this.valid) return false;
-      this.atOccurrence = false;
-      var self = this;
-
-      // Go back to the start of the document if the current line is
-      // no longer in the DOM tree.
-      if (this.line && !this.line.parentNode) {
-        this.line = null;
-        this.offset = 0;
+      this.search = this.editor.useSearch(this.search);
+      var start = this.pos, match = this.atOccurrence;
+      if (match) {
+        // Continue after the current match, or one character after
+        // it when it was empty.
+        start = match.to;
+        if (match.to.line == match.from.line && match.to.ch == match.from.ch)
+          start = {line: start.line, ch: start.ch + 1};
       }
-
-      // Set the cursor's position one character after the given
-      // position.
-      function saveAfter(pos) {
-        if (self.history.textAfter(pos.node).length > pos.offset) {
-          self.line = pos.node;
-          self.offset = pos.offset + 1;
-        }
-        else {
-          self.line = self.history.nodeAfter(pos.node);
-          self.offset = 0;
+      var editor = this.editor, size = editor.lineCount();
+      for (var line = start.line; line < size; line++) {
+        var found = editor.lineMatches(this.search, line);
+        for (var i = 0; i < found.length; i++) {
+          if (line > start.line || found[i].from.ch >= start.ch)
+            return this.found(found[i]);
         }
       }
+      return this.notFound(size, 0);
+    },
 
-      while (true) {
-        var match = this.matches();
-        // Found the search string.
-        if (match) {
-          this.atOccurrence = match;
-          saveAfter(match.from);
-          return true;
-        }
-        this.line = this.history.nodeAfter(this.line);
-        this.offset = 0;
-        // End of document.
-        if (!this.line) {
-          this.valid = false;
-          return false;
+    findPrevious: function() {
+      if (!this.valid) return false;
+      this.search = this.editor.useSearch(this.search);
+      var start = this.atOccurrence ? this.atOccurrence.from : this.pos;
+      var editor = this.editor, size = editor.lineCount();
+      for (var line = Math.min(start.line, size - 1); line >= 0; line--) {
+        var found = editor.lineMatches(this.search, line);
+        for (var i = found.length - 1; i >= 0; i--) {
+          if (line < start.line || found[i].from.ch < start.ch)
+            return this.found(found[i]);
         }
       }
+      return this.notFound(0, 0);
+    },
+
+    found: function(match) {
+      this.atOccurrence = match;
+      this.pos = match.from;
+      return true;
+    },
+
+    notFound: function(line, ch) {
+      this.atOccurrence = false;
+      this.pos = {line: line, ch: ch};
+      return false;
+    },
+
+    // Every match in the document, in one pass over the index.
+    findAll: function() {
+      return this.valid ? this.editor.findAll(this.search) : [];
+    },
+
+    from: function() {
+      return this.atOccurrence && this.atOccurrence.from;
+    },
+
+    to: function() {
+      return this.atOccurrence && this.atOccurrence.to;
     },
 
     select: function() {
-      if (this.atOccurrence) {
-        select.setCursorPos(this.editor.container, this.atOccurrence.from, this.atOccurrence.to);
-        select.scrollToCursor(this.editor.container);
-      }
+      if (this.atOccurrence)
+        this.editor.selectRange(this.atOccurrence.from, this.atOccurrence.to);
     },
 
     replace: function(string) {
-      if (this.atOccurrence) {
-        var end = this.editor.replaceRange(this.atOccurrence.from, this.atOccurrence.to, string);
-        this.line = end.node;
-        this.offset = end.offset;
+      var match = this.atOccurrence;
+      if (match) {
+        var editor = this.editor, first = editor.lineText(match.from.line);
+        var text = this.search.replacement(match, first, string);
+        var lines = text.split("\n"), last = lines[lines.length - 1];
+        text = first.slice(0, match.from.ch) + text + editor.lineText(match.to.line).slice(match.to.ch);
+        editor.replaceLines(match.from.line, match.to.line + 1, text);
         this.atOccurrence = false;
+        this.pos = {line: match.from.line + lines.length - 1,
+                    ch: (lines.length == 1 ? match.from.ch : 0) + last.length};
       }
+    },
+
+    // Replace every match in the document, as one undo step. Returns
+    // the number of replaced matches.
+    replaceAll: function(string) {
+      if (!this.valid) return 0;
+      this.atOccurrence = false;
+      this.pos = {line: 0, ch: 0};
+      return this.editor.replaceMatches(this.search, string);
     }
   };
 
@@ -1732,9 +2571,12 @@ var Editor = (function(){
     this.doc = document;
     var container = this.container = this.doc.body;
     this.win = window;
-    this.history = new History(container, options.undoDepth, options.undoDelay, this);
+    this.history = new History(container, options.undoDepth, options.undoDelay, this, options.undoMemoryLimit);
     var self = this;
 
+    this.parserName = options.parser;
+    if (options.parser && window[options.parser])
+      Editor.Parser = window[options.parser];
     if (!Editor.Parser)
       throw "No parser loaded.";
     if (options.parserConfig && Editor.Parser.configure)
@@ -1744,6 +2586,18 @@ var Editor = (function(){
       select.setCursorPos(container, {node: null, offset: 0});
 
     this.dirty = [];
+    // Parser states of lines in large document mode, {line, state}
+    // sorted by line, and the state the window starts with.
+    this.checkpoints = [];
+    this.windowState = null;
+    this.highlightedLines = this.highlightedTokens = 0;
+    if (options.highlightWorker && options.parser && window.Worker) {
+      // Fall back to highlighting in the frame if the worker can not
+      // be started (for example when the scripts come from another
+      // domain).
+      try {this.startWorker();}
+      catch (e) {this.worker = null;}
+    }
     this.importCode(options.content || "");
     this.history.onChange = options.onChange;
 
@@ -1809,37 +2663,874 @@ var Editor = (function(){
 
       if (this.options.autoMatchParens)
         addEventHandler(document.body, "click", method(this, "scheduleParenHighlight"));
+
+      if (options.onBlur)
+        addEventHandler(this.win, "blur", function() {options.onBlur();});
+      // Clicks on the completion list take the focus away from the
+      // frame for a moment.
+      addEventHandler(this.win, "blur", function() {
+        var completion = self.completion;
+        if (completion) self.parent.setTimeout(function() {
+          if (self.completion == completion && window.select) self.closeCompletion();
+        }, 200);
+      });
     }
     else if (!options.textWrapping) {
       container.style.whiteSpace = "nowrap";
     }
-  }
 
-  function isSafeKey(code) {
-    return (code >= 16 && code <= 18) || // shift, control, alt
-           (code >= 33 && code <= 40); // arrows, home, end
+    if (options.largeDocumentThreshold) {
+      addEventHandler(this.win, "scroll", method(this, "scheduleWindowCheck"));
+      addEventHandler(this.win, "resize", method(this, "scheduleWindowCheck"));
+    }
   }
 
-  Editor.prototype = {
-    // Import a piece of code into the editor.
-    importCode: function(code) {
-      this.history.push(null, null, asEditorLines(code));
-      this.history.reset();
-    },
-
-    // Extract the code from the editor.
-    getCode: function() {
-      if (!this.container.firstChild)
-        return "";
+  // Stand-in for Editor.Parser in worker highlight mode. It does not
+  // parse anything, every line gets the tokens that the worker sent
+  // for it. applyWorkerTokens stores them on the <br> in front of the
+  // line, or in editor.firstLineTokens for the first line. If the line
+  // was edited after the worker saw it, the tokens before and behind
+  // the edit are kept and the edited part stays unstyled until the
+  // worker has caught up. The worker sees the lines with plain spaces
+  // (see History.describeChanges), so the texts are compared that way
+  // and the token values are taken from the line itself.
+  function workerParser(editor) {
+    function plain(text) {return text.replace(/\u00a0/g, " ");}
+    function guessTokens(text, data) {
+      var result = [], tail = [], start = 0, end = text.length, clean = plain(text);
+      function add(list, value, style) {list.push({value: value, style: style});}
+      if (data) {
+        var old = data.text, tokens = data.tokens, max = Math.min(old.length, clean.length);
+        var pre = 0, post = 0;
+        while (pre < max && old.charAt(pre) == clean.charAt(pre)) pre++;
+        while (post < max - pre && old.charAt(old.length - 1 - post) == clean.charAt(clean.length - 1 - post)) post++;
+        var i = 0, j = tokens.length - 2, oldEnd = old.length;
+        for (; i < tokens.length && start + tokens[i].length <= pre; i += 2) {
+          add(result, text.substr(start, tokens[i].length), tokens[i + 1]);
+          start += tokens[i].length;
+        }
+        for (; j >= i && oldEnd - tokens[j].length >= old.length - post; j -= 2) {
+          var length = tokens[j].length, at = text.length - (old.length - oldEnd) - length;
+          tail.unshift({value: text.substr(at, length), style: tokens[j + 1]});
+          oldEnd -= length;
+        }
+        end = text.length - (old.length - oldEnd);
+      }
+      var rest = text.slice(start, end);
+      if (start == 0) {
+        // indentLineAfter looks for the whitespace span.
+        var space = rest.match(/^[ \u00a0]*/)[0];
+        if (space) add(result, space, "whitespace");
+        rest = rest.slice(space.length);
+      }
+      if (rest) add(result, rest, "");
+      return result.concat(tail);
+    }
+
+    // Without up to date information from the worker, a new line is
+    // indented like the one before it.
+    function indenter(text, data) {
+      var lead = text.match(/^[ \u00a0]*/)[0].length;
+      var known = data && data.text == plain(text) && data.indent;
+      return function(nextChars, current, direction) {
+        if (known) {
+          if (!nextChars) return known.empty;
+          if (known.nextText.indexOf(plain(nextChars)) == 0) return known.next;
+        }
+        return lead;
+      };
+    }
+
+    function make(stream, br) {
+      var queue = [], newline = false;
+      function readLine() {
+        if (newline) br = endOfLine(br, editor.container);
+        var data = br ? br.workerTokens : editor.firstLineTokens;
+        stream.nextWhileMatches(/[^\n]/);
+        var text = stream.get();
+        newline = stream.more();
+        if (!text && !newline) throw StopIteration;
+        queue = guessTokens(text, data);
+        if (newline) {
+          stream.next();
+          queue.push({value: stream.get(), style: "whitespace", indentation: indenter(text, data)});
+        }
+      }
+      function resume(stream) {
+        // Called as a method of the <br> it was stored on.
+        return make(stream, this);
+      }
+      return {
+        next: function() {
+          while (!queue.length) readLine();
+          return queue.shift();
+        },
+        copy: function() {return resume;}
+      };
+    }
+    return {make: function(stream) {return make(stream, null);}};
+  }
+
+  // In large document mode the parser states of every this many
+  // lines outside the window are kept, see Editor.keepCheckpoints.
+  var checkpointSpacing = 100;
+
+  // The last id given to a completion request, and the keys that
+  // the open completion list takes, see Editor.completionKey.
+  var completionId = 0;
+  var completionKeys = {38: true, 40: true, 33: true, 34: true, 13: true, 9: true, 27: true};
+
+  function isSafeKey(code) {
+    return (code >= 16 && code <= 18) || // shift, control, alt
+           (code >= 33 && code <= 40); // arrows, home, end
+  }
+
+  Editor.prototype = {
+    // Import a piece of code into the editor.
+    // Documents with more lines than options.largeDocumentThreshold
+    // are only put into the DOM partially, see moveWindow.
+    importCode: function(code) {
+      this.closeCompletion();
+      this.searchIndexes = [];
+      this.checkpoints = [];
+      this.windowState = null;
+      var threshold = this.options.largeDocumentThreshold;
+      if (threshold && code.length >= threshold) {
+        var lines = splitLines(code);
+        if (lines.length > threshold) {
+          this.showLargeDocument(lines);
+          return;
+        }
+      }
+      if (this.linesBefore) {
+        this.linesBefore = this.linesAfter = null;
+        this.history.lineOffset = 0;
+        this.updatePadding();
+      }
+      var lines = splitLines(code);
+      this.history.push(null, null, map(lines, fixSpaces));
+      this.history.reset();
+      this.applyCachedHighlight(lines);
+    },
+
+    // Switch to large document mode, with the window at the start.
+    showLargeDocument: function(lines) {
+      this.linesBefore = [];
+      this.linesAfter = lines;
+      // Lines have to be one row high, or the padding would not
+      // match the height of the lines it stands for.
+      this.options.textWrapping = false;
+      this.container.style.whiteSpace = "nowrap";
+      this.history.lineOffset = 0;
+      this.setWindow(lines.splice(0, this.windowSize()));
+      this.history.reset();
+    },
+
+    // Streaming load, see CodeMirror.loadChunk: the document starts
+    // out empty and appendCode adds the text of every chunk at its
+    // end. The appended lines are not reported to onChange, the load
+    // as a whole replaces the content, and the steps can not be
+    // undone. Edits made meanwhile are reported as usual.
+    beginLoad: function() {
+      this.importCode("");
+      this.loadedLines = 1;
+      this.loading = true;
+    },
+
+    appendCode: function(text) {
+      var lines = splitLines(text), threshold = this.options.largeDocumentThreshold;
+      if (this.linesBefore && this.linesAfter.length) {
+        // The end of the document is outside the DOM.
+        var after = this.linesAfter;
+        after[after.length - 1] += lines[0];
+        for (var i = 1; i < lines.length; i++) after.push(lines[i]);
+        this.indexLinesAfter(lines.length, 1);
+        this.updatePadding();
+        return;
+      }
+      if (!this.linesBefore && threshold && this.loadedLines + lines.length > threshold) {
+        // Too long for the DOM after all, move the lines that are
+        // already there into the plain line arrays once.
+        this.showLargeDocument(splitLines(this.getCode() + text));
+        return;
+      }
+      // Only the last line is rebuilt, the ones before stay. Edits
+      // made since the last chunk are reported before onChange is
+      // taken away.
+      this.history.commit();
+      var last = this.container.lastChild;
+      while (last && !isBR(last)) last = last.previousSibling;
+      lines[0] = this.history.textAfter(last) + lines[0];
+      var onChange = this.history.onChange;
+      this.history.onChange = null;
+      if (this.linesBefore) {
+        // Large document mode with the end in the window, the
+        // new lines go after it.
+        this.history.push(last, null, [fixSpaces(lines[0])]);
+        this.history.onChange = onChange;
+        this.linesAfter = lines.slice(1);
+        this.indexLinesAfter(lines.length - 1, 0);
+        this.updatePadding();
+      }
+      else {
+        this.history.push(last, null, map(lines, fixSpaces));
+        this.history.onChange = onChange;
+        this.loadedLines += lines.length - 1;
+      }
+    },
+
+    endLoad: function() {
+      this.loading = false;
+      this.searchIndexes = [];
+      this.history.reset();
+    },
+
+    // Update the line index (if there is one) for the last count lines
+    // of linesAfter, which replaced the last removed lines.
+    indexLinesAfter: function(count, removed) {
+      var index = this.index, after = this.linesAfter, nodes = [], lengths = [];
+      if (!index) return;
+      for (var i = after.length - count; i < after.length; i++) {
+        nodes.push(null);
+        lengths.push(after[i].length);
+      }
+      index.splice(index.size() - removed, removed, nodes, lengths);
+    },
+
+    // Colour freshly imported lines with the token runs the highlight
+    // cache (see CodeMirror.highlightCache) has for the same content.
+    // The lines stay dirty, so the parser still passes over them to
+    // set up its checkpoints, but it finds the spans right and leaves
+    // them alone. Without a cached entry, one is stored when the first
+    // complete pass is done, see storeHighlight.
+    applyCachedHighlight: function(lines) {
+      var cache = parent.CodeMirror && parent.CodeMirror.highlightCache;
+      // While setParser still loads a parser, the runs of the old one
+      // would be wrong.
+      this.cachePending = !!(cache && this.options.highlightCache && !this.options.activeTokens &&
+                             (!this.pendingParser || this.pendingParser == this.parserName));
+      if (!this.cachePending) return;
+      var runs = cache.get(this.parserName + ":" + contentHash(lines), this.options);
+      if (!runs || runs.length != lines.length) return;
+
+      // Every imported line is a single span, check that the runs
+      // cover them before anything is changed.
+      var spans = [], node = this.container.firstChild;
+      for (var i = 0; i < runs.length; i++) {
+        var length = 0;
+        for (var j = 1; j < runs[i].length; j += 2) length += runs[i][j];
+        if (!node || !isSpan(node) || node.currentText.length != length) return;
+        spans.push(node);
+        node = node.nextSibling && node.nextSibling.nextSibling;
+      }
+      for (i = 0; i < runs.length; i++) {
+        var span = spans[i], text = span.currentText, pos = 0;
+        for (j = 0; j < runs[i].length; j += 2) {
+          var part = makePartSpan(text.substr(pos, runs[i][j + 1]), this.doc);
+          part.className = runs[i][j];
+          this.container.insertBefore(part, span);
+          pos += runs[i][j + 1];
+        }
+        if (runs[i].length) this.container.removeChild(span);
+      }
+      this.cachePending = false;
+    },
+
+    // Put the token runs of the whole document into the highlight
+    // cache. The key is computed from the current content, so edits
+    // made before the pass got done do no harm.
+    storeHighlight: function() {
+      this.cachePending = false;
+      if (this.linesBefore) return;
+      var lines = [], texts = [], runs = [], text = "";
+      for (var node = this.container.firstChild; node; node = node.nextSibling) {
+        if (isBR(node)) {
+          lines.push(runs); texts.push(text);
+          runs = []; text = "";
+        }
+        else if (isSpan(node)) {
+          var part = node.currentText;
+          // Skip the zero-width space of webkitLastLineHack.
+          if (part.indexOf("\u200b") > -1) {
+            if (part == "\u200b") continue;
+            return;
+          }
+          if (!part) continue;
+          runs.push(node.className, part.length);
+          text += cleanText(part);
+        }
+        else {
+          return;
+        }
+      }
+      lines.push(runs); texts.push(text);
+      parent.CodeMirror.highlightCache.put(this.parserName + ":" + contentHash(texts), lines, this.options);
+    },
+
+    // Extract the code from the editor.
+    getCode: function() {
+      var code = "";
+      if (this.container.firstChild) {
+        select.markSelection(this.win);
+        code = this.windowCode();
+        select.selectMarked();
+      }
+      if (this.linesBefore)
+        code = this.linesBefore.concat([code], this.linesAfter).join("\n");
+      return code;
+    },
+
+    // Line based access, with zero-based line numbers that count the
+    // whole document (also the lines outside the DOM in large document
+    // mode). Pending edits are reported first (see History.flush), so
+    // that the index is up to date.
+    lineIndex: function() {
+      this.history.flush();
+      if (!this.index) this.index = this.buildLineIndex();
+      return this.index;
+    },
+
+    buildLineIndex: function() {
+      var nodes = [], lengths = [], length = 0;
+      function addLines(lines) {
+        for (var i = 0; i < lines.length; i++) {
+          nodes.push(null);
+          lengths.push(lines[i].length);
+        }
+      }
+      if (this.linesBefore) addLines(this.linesBefore);
+      nodes.push(null);
+      for (var node = this.container.firstChild; node; node = node.nextSibling) {
+        if (isBR(node)) {
+          lengths.push(length);
+          nodes.push(node);
+          length = 0;
+        }
+        else length += cleanText(nodeText(node)).length;
+      }
+      lengths.push(length);
+      if (this.linesAfter) addLines(this.linesAfter);
+      return new LineIndex(nodes, lengths);
+    },
+
+    lineCount: function() {
+      return this.lineIndex().size();
+    },
+
+    // The <br> in front of a line (null for the first line), or false
+    // if the line does not exist or is not in the DOM.
+    lineHandle: function(n) {
+      var index = this.lineIndex(), before = this.linesBefore;
+      if (n < 0 || n >= index.size()) return false;
+      if (before && (n < before.length || n >= index.size() - this.linesAfter.length)) return false;
+      var node = index.node(n);
+      if (node && node.parentNode != this.container) {
+        // Should not happen, but a stale index must not hand out
+        // nodes that are gone.
+        this.index = null;
+        return this.lineHandle(n);
+      }
+      return node;
+    },
+
+    lineText: function(n) {
+      return this.textOfLine(this.lineIndex(), n);
+    },
+
+    // Like lineText, for callers that got an up to date index (and
+    // read many lines, so that flushing each time would add up).
+    textOfLine: function(index, n) {
+      var before = this.linesBefore;
+      if (n < 0 || n >= index.size()) return null;
+      if (before && n < before.length) return before[n];
+      var afterStart = before ? index.size() - this.linesAfter.length : index.size();
+      if (n >= afterStart) return this.linesAfter[n - afterStart];
+      return this.history.textAfter(index.node(n));
+    },
+
+    // The text between two {line, ch} positions.
+    textOfRange: function(from, to) {
+      var index = this.lineIndex(), first = this.textOfLine(index, from.line);
+      if (from.line == to.line) return first.slice(from.ch, to.ch);
+      var text = [first.slice(from.ch)];
+      for (var n = from.line + 1; n < to.line; n++) text.push(this.textOfLine(index, n));
+      text.push(this.textOfLine(index, to.line).slice(0, to.ch));
+      return text.join("\n");
+    },
+
+    offsetOfLine: function(n) {
+      return this.lineIndex().offsetOf(n);
+    },
+
+    lineOfOffset: function(offset) {
+      return this.lineIndex().lineOf(offset);
+    },
+
+    // Replace the lines from up to to (exclusive) with the lines of
+    // text. A text of null removes the lines, from == to inserts the
+    // text in front of line from.
+    replaceLines: function(from, to, text) {
+      var index = this.lineIndex(), size = index.size(), before = this.linesBefore;
+      from = Math.max(0, Math.min(from, size));
+      to = Math.max(from, Math.min(to, size));
+      if (text == null && from == to) return;
+
+      // Removing or inserting in front of the first line after the
+      // window needs that line in the DOM too.
+      var windowEnd = before ? size - this.linesAfter.length : size;
+      if (before && (from < before.length || to > windowEnd || (to == windowEnd && to < size))) {
+        // Lines outside the DOM are replaced in the plain line arrays.
+        var added = text == null ? [] : splitLines(text);
+        this.history.addLineLevel(this.applyLineEdits([{line: from, removed: to - from, lines: added}]));
+        return;
+      }
+
+      var self = this;
+      function start(n) {return {node: self.lineHandle(n), offset: 0};}
+      function end(n) {
+        var node = self.lineHandle(n);
+        return {node: node, offset: self.history.textAfter(node).length};
+      }
+      var range;
+      if (text == null) {
+        if (to < size) range = [start(from), start(to), ""];
+        else if (from > 0) range = [end(from - 1), end(to - 1), ""];
+        else range = [start(0), end(size - 1), ""];
+      }
+      else if (from == to) {
+        if (from < size) range = [start(from), start(from), text + "\n"];
+        else range = [end(size - 1), end(size - 1), "\n" + text];
+      }
+      else range = [start(from), end(to - 1), text];
+      this.replaceRange(range[0], range[1], range[2]);
+    },
+
+    // Tell the environment about changes to lines that are not in
+    // the DOM, which the history does not know about.
+    reportChanges: function(changes) {
+      var first = changes.length ? changes[0].from : 0;
+      for (var i = 1; i < changes.length; i++) first = Math.min(first, changes[i].from);
+      this.dropCheckpoints(first);
+      this.updateSearchIndexes(changes);
+      if (this.history.onChange) this.history.onChange(changes);
+    },
+
+    // The search index for a query, see SearchIndex. The indexes of
+    // the last few queries are kept up to date while the document
+    // changes.
+    searchIndex: function(query, caseFold, regexp) {
+      return this.useSearch(new SearchIndex(query, !!caseFold, !!regexp));
+    },
+
+    // Put a search index in front of the kept ones, or replace it by
+    // the kept one for the same query. An index that was dropped
+    // starts from scratch.
+    useSearch: function(search) {
+      var indexes = this.searchIndexes;
+      for (var i = 0; i < indexes.length; i++) {
+        if (indexes[i].key == search.key) {
+          search = indexes[i];
+          indexes.splice(i, 1);
+          indexes.unshift(search);
+          return search;
+        }
+      }
+      search.lines = [];
+      indexes.unshift(search);
+      if (indexes.length > 4) indexes.pop();
+      return search;
+    },
+
+    updateSearchIndexes: function(changes) {
+      for (var i = 0; i < this.searchIndexes.length; i++) {
+        var search = this.searchIndexes[i];
+        for (var j = 0; j < changes.length; j++)
+          search.splice(changes[j].from, changes[j].removed, changes[j].lines.length);
+      }
+    },
+
+    // The matches of a search index that start in line n, as
+    // {from, to} pairs of {line, ch} positions.
+    lineMatches: function(search, n, index) {
+      index = index || this.lineIndex();
+      var size = index.size();
+      if (search.lines.length != size) {
+        // A change got lost, start over.
+        search.lines = [];
+        for (var i = 0; i < size; i++) search.lines.push(null);
+      }
+      var found = search.lines[n], result = [];
+      if (found == null) found = search.lines[n] = search.search(this.textOfLine(index, n));
+      for (var i = 0; i < found.length; i += 2) {
+        var to = found[i + 1] > -1 ? {line: n, ch: found[i + 1]} : this.matchRest(search, index, n);
+        if (!to) continue;
+        var match = {from: {line: n, ch: found[i]}, to: to};
+        if (found.groups) match.groups = found.groups[i / 2];
+        result.push(match);
+      }
+      return result;
+    },
+
+    // Check the lines after line n against the rest of a query that
+    // spans several lines, return the end of the match if they fit.
+    matchRest: function(search, index, n) {
+      var target = search.target, last = target.length - 1;
+      if (n + last >= index.size()) return null;
+      for (var i = 1; i <= last; i++) {
+        var text = this.textOfLine(index, n + i);
+        if (search.caseFold) text = text.toLowerCase();
+        if (i < last ? text != target[i] : text.indexOf(target[i]) != 0) return null;
+      }
+      return {line: n + last, ch: target[last].length};
+    },
+
+    // All matches of a search index, in document order.
+    findAll: function(search) {
+      search = this.useSearch(search);
+      var index = this.lineIndex(), result = [];
+      for (var n = 0; n < index.size(); n++) {
+        var found = search.lines[n];
+        if (found && !found.length) continue;
+        var matches = this.lineMatches(search, n, index);
+        for (var i = 0; i < matches.length; i++) {
+          var match = matches[i], last = result[result.length - 1];
+          // Matches spanning lines may overlap the next ones.
+          if (last && (last.to.line > match.from.line ||
+                       (last.to.line == match.from.line && last.to.ch > match.from.ch))) continue;
+          result.push(match);
+        }
+      }
+      return result;
+    },
+
+    // Replace all matches of a search index as one change. Returns the
+    // number of replaced matches.
+    replaceMatches: function(search, string) {
+      var matches = this.findAll(search), edits = [], index = this.lineIndex();
+      for (var i = 0; i < matches.length; i++) {
+        var match = matches[i], line = search.pattern ? this.textOfLine(index, match.from.line) : null;
+        edits.push({from: match.from, to: match.to, text: search.replacement(match, line, string)});
+      }
+      this.replaceRanges(edits);
+      return matches.length;
+    },
+
+    // Replace a set of {from, to, text} ranges, given as {line, ch}
+    // positions in the document before any of them is applied, as one
+    // change: the DOM is updated once, undo takes them back in one
+    // step and onChange is called once with all changed lines. The
+    // ranges must not overlap, insertions at the same position keep
+    // their order and go in front of a range starting there.
+    replaceRanges: function(edits) {
+      if (!edits.length) return;
+      var index = this.lineIndex(), size = index.size(), self = this;
+      function clip(pos) {
+        var line = Math.max(0, Math.min(pos.line, size - 1));
+        var ch = line < pos.line ? Infinity : line > pos.line ? 0 : pos.ch;
+        return {line: line, ch: Math.max(0, Math.min(ch, self.textOfLine(index, line).length))};
+      }
+      function precedes(a, b) {
+        return a.line < b.line || (a.line == b.line && a.ch < b.ch);
+      }
+      var sorted = [];
+      for (var i = 0; i < edits.length; i++) {
+        var from = clip(edits[i].from), to = clip(edits[i].to);
+        if (precedes(to, from)) to = from;
+        sorted.push({from: from, to: to, text: edits[i].text || "", order: i});
+      }
+      // Insertions go in front of a range starting at the same place.
+      function rank(edit) {
+        return precedes(edit.from, edit.to) ? sorted.length + edit.order : edit.order;
+      }
+      sorted.sort(function(a, b) {
+        return precedes(a.from, b.from) ? -1 : precedes(b.from, a.from) ? 1 : rank(a) - rank(b);
+      });
+
+      // Group the ranges by the lines they touch and build the new
+      // text of each group.
+      var groups = [], group = null;
+      function close() {
+        group.text += self.textOfLine(index, group.to).slice(group.end.ch);
+        groups.push(group);
+      }
+      for (i = 0; i < sorted.length; i++) {
+        var edit = sorted[i];
+        if (group && precedes(edit.from, group.end))
+          throw "Overlapping edits.";
+        if (group && edit.from.line == group.to) {
+          group.text += this.textOfRange(group.end, edit.from) + edit.text;
+        }
+        else {
+          if (group) close();
+          group = {from: edit.from.line,
+                   text: this.textOfLine(index, edit.from.line).slice(0, edit.from.ch) + edit.text};
+        }
+        group.to = edit.to.line;
+        group.end = edit.to;
+      }
+      close();
+
+      var before = this.linesBefore;
+      if (before && (groups[0].from < before.length ||
+                     groups[groups.length - 1].to >= size - this.linesAfter.length)) {
+        var edits = [], offset = 0;
+        for (i = 0; i < groups.length; i++) {
+          var lines = splitLines(groups[i].text);
+          edits.push({line: groups[i].from + offset, removed: groups[i].to - groups[i].from + 1, lines: lines});
+          offset += lines.length - (groups[i].to - groups[i].from + 1);
+        }
+        this.history.addLineLevel(this.applyLineEdits(edits));
+        return;
+      }
 
+      // One chain per group, pushed together so that undo takes them
+      // back in one step.
+      var chains = [], doc = this.container.ownerDocument;
+      for (i = 0; i < groups.length; i++) {
+        var lines = asEditorLines(groups[i].text), chain = [];
+        var from = index.node(groups[i].from), to = this.history.nodeAfter(index.node(groups[i].to));
+        for (var j = 0; j < lines.length; j++) {
+          var end = (j == lines.length - 1) ? to : doc.createElement("BR");
+          chain.push({from: from, to: end, text: cleanText(lines[j])});
+          from = end;
+        }
+        chains.push(chain);
+      }
+      this.history.pushChains(chains);
+      this.history.notifyEnvironment();
+    },
+
+    // The cursor position as {line, ch}, null if there is none.
+    cursorLine: function() {
+      var cursor = select.cursorPos(this.container, true);
+      if (!cursor) return null;
+      var line = 0;
+      for (var cur = cursor.node; cur; cur = cur.previousSibling)
+        if (isBR(cur)) line++;
+      return {line: this.history.lineOffset + line, ch: cursor.offset};
+    },
+
+    // Select the text between two {line, ch} positions, and scroll it
+    // into view. In large document mode the window is moved there
+    // first if needed.
+    selectRange: function(from, to) {
+      var index = this.lineIndex(), before = this.linesBefore;
+      if (before && (from.line < before.length || to.line >= index.size() - this.linesAfter.length)) {
+        var size = this.windowSize(), start = Math.max(0, from.line - Math.floor(size / 2));
+        this.moveWindow(start, start + size);
+      }
+      select.setCursorPos(this.container, {node: this.lineHandle(from.line), offset: from.ch},
+                          {node: this.lineHandle(to.line), offset: to.ch});
+      select.scrollToCursor(this.container);
+    },
+
+    // The text of the lines that are in the DOM.
+    windowCode: function() {
       var accum = [];
-      select.markSelection(this.win);
       forEach(traverseDOM(this.container.firstChild), method(accum, "push"));
       webkitLastLineHack(this.container);
-      select.selectMarked();
       return cleanText(accum.join(""));
     },
 
+    // Large document mode. Only the lines around the visible part of
+    // the frame are in the DOM, the lines above and below them are
+    // kept as strings in linesBefore and linesAfter. The body gets
+    // padding of their height, so that the scrollbar still stands for
+    // the whole document, and when the user scrolls close to the edge
+    // of the DOM lines the window is moved. Moving the window keeps
+    // the undo history as line edits (see History.park), and the
+    // parser states of some lines (see keepCheckpoints), so that the
+    // lines coming in are highlighted in the right context.
+    scheduleWindowCheck: function() {
+      if (!this.linesBefore || this.windowTimeout) return;
+      var self = this;
+      this.windowTimeout = this.parent.setTimeout(function() {
+        self.windowTimeout = null;
+        if (window.History) self.checkWindow();
+      }, 50);
+    },
+
+    checkWindow: function() {
+      var lineHeight = this.lineHeight(), margin = this.options.viewportMargin;
+      var scrollTop = document.documentElement.scrollTop || this.container.scrollTop || 0;
+      var visible = Math.ceil(this.viewHeight() / lineHeight);
+      var first = Math.floor(scrollTop / lineHeight);
+      var start = this.linesBefore.length;
+      var end = start + this.container.getElementsByTagName("BR").length + 1;
+      if ((start > 0 && first - start < margin / 2) ||
+          (this.linesAfter.length > 0 && end - (first + visible) < margin / 2))
+        this.moveWindow(Math.max(0, first - margin), first + visible + margin);
+    },
+
+    // Put the lines start to end (exclusive) into the DOM. If edit is
+    // given, it is called with the array of all lines first and may
+    // change it.
+    moveWindow: function(start, end, edit) {
+      // Report pending edits while their line numbers are still valid.
+      this.history.commit();
+      this.history.park();
+      this.keepCheckpoints();
+      var cursor = this.options.readOnly ? null : this.cursorLine();
+
+      var lines = this.linesBefore.concat(this.windowCode().split("\n"), this.linesAfter);
+      if (edit) edit(lines);
+      end = Math.min(end, lines.length);
+      start = Math.max(0, Math.min(start, end - 1));
+      this.linesBefore = lines.slice(0, start);
+      this.linesAfter = lines.slice(end);
+      this.history.lineOffset = start;
+      this.setWindow(lines.slice(start, end));
+
+      if (cursor && cursor.line >= start && cursor.line < end) {
+        var node = null;
+        for (var i = start; i < cursor.line; i++) node = endOfLine(node, this.container);
+        select.setCursorPos(this.container, {node: node, offset: cursor.ch});
+      }
+    },
+
+    // Replace the DOM content with the given plain lines, without
+    // reporting it as a change or adding an undo level.
+    setWindow: function(lines) {
+      // The index would get the change in window coordinates.
+      this.index = null;
+      this.windowState = null;
+      // The search indexes count the whole document and stay valid.
+      var onChange = this.history.onChange, searches = this.searchIndexes;
+      this.history.onChange = null;
+      this.searchIndexes = [];
+      this.history.replaceAll(map(lines, fixSpaces));
+      this.history.onChange = onChange;
+      this.searchIndexes = searches;
+      this.updatePadding();
+    },
+
+    // Apply line edits (see History.addLineLevel) to the whole
+    // document, the window is built again from the edited lines. It
+    // stays where it is, unless recentre is given and the first edit
+    // is outside of it (undo and redo show what they change). Returns
+    // the edits that take them back.
+    applyLineEdits: function(edits, recentre) {
+      var index = this.lineIndex(), start = this.linesBefore.length;
+      var end = index.size() - this.linesAfter.length, line = edits[0].line, undo = [];
+      if (recentre && (line < start || line >= end)) {
+        var size = this.windowSize();
+        start = Math.max(0, line - Math.floor(size / 2));
+        end = start + size;
+      }
+      this.moveWindow(start, end, function(lines) {
+        for (var i = 0; i < edits.length; i++) {
+          var edit = edits[i], old = lines.slice(edit.line, edit.line + edit.removed);
+          lines.splice.apply(lines, [edit.line, edit.removed].concat(edit.lines));
+          undo.unshift({line: edit.line, removed: edit.lines.length, lines: old});
+        }
+        if (!lines.length) lines.push("");
+      });
+      this.reportChanges(map(edits, function(edit) {
+        return {from: edit.line, removed: edit.removed,
+                lines: map(edit.lines, function(line) {return {text: line};})};
+      }));
+      return undo;
+    },
+
+    // Keep the parser states of the DOM lines before the window
+    // moves, one every checkpointSpacing lines. Only the lines before
+    // the first one that still has to be highlighted are known.
+    keepCheckpoints: function() {
+      var points = this.checkpoints, line = this.history.lineOffset;
+      if (this.worker) return;
+      this.dropCheckpoints(line);
+      var last = points.length ? points[points.length - 1].line : line;
+      for (var node = this.container.firstChild; node; node = node.nextSibling) {
+        if (node.nodeType == 3 || node.dirty) break;
+        if (!isBR(node)) continue;
+        line++;
+        if (node.parserFromHere && line - last >= checkpointSpacing) {
+          points.push({line: line, state: node.parserFromHere});
+          last = line;
+        }
+      }
+    },
+
+    // Forget the parser states after a changed line.
+    dropCheckpoints: function(line) {
+      var points = this.checkpoints;
+      while (points.length && points[points.length - 1].line > line) points.pop();
+      if (line < this.history.lineOffset) this.windowState = null;
+    },
+
+    // The parser for the first line in the DOM. In large document mode
+    // it goes on with the state the lines above the window end in,
+    // which is parsed from the last checkpoint before them. The
+    // checkpoints passed on the way are kept.
+    startParser: function(stream) {
+      var before = this.linesBefore;
+      if (!before || !before.length || this.worker) return Editor.Parser.make(stream);
+      if (!this.windowState) this.windowState = this.parserStateAt(before);
+      return this.windowState(stream);
+    },
+
+    parserStateAt: function(lines) {
+      var points = this.checkpoints, target = lines.length, i = points.length - 1;
+      while (i >= 0 && points[i].line > target) i--;
+      if (i >= 0 && points[i].line == target) return points[i].state;
+      var line = i >= 0 ? points[i].line : 0, read = line, newline = false;
+      var stream = stringStream({next: function() {
+        if (newline) {
+          newline = false;
+          return "\n";
+        }
+        if (read >= target) throw StopIteration;
+        newline = true;
+        return fixSpaces(lines[read++]);
+      }});
+      var parsed = i >= 0 ? points[i].state(stream) : Editor.Parser.make(stream);
+      try {
+        while (line < target) {
+          if (parsed.next().value != "\n") continue;
+          line++;
+          if (line == target || line % checkpointSpacing == 0)
+            points.splice(++i, 0, {line: line, state: parsed.copy()});
+        }
+      }
+      catch (e) {
+        if (e != StopIteration) throw e;
+      }
+      if (line < target) return function(stream) {return Editor.Parser.make(stream);};
+      return points[i].state;
+    },
+
+    updatePadding: function() {
+      var style = this.container.style;
+      if (this.linesBefore) {
+        var lineHeight = this.lineHeight();
+        style.paddingTop = (this.linesBefore.length * lineHeight) + "px";
+        style.paddingBottom = (this.linesAfter.length * lineHeight) + "px";
+      }
+      else {
+        style.paddingTop = style.paddingBottom = "";
+      }
+    },
+
+    // The number of lines that are put into the DOM at once.
+    windowSize: function() {
+      return Math.ceil(this.viewHeight() / this.lineHeight()) + 2 * this.options.viewportMargin;
+    },
+
+    viewHeight: function() {
+      return window.innerHeight || document.documentElement.clientHeight || this.container.clientHeight;
+    },
+
+    lineHeight: function() {
+      if (this.measuredLineHeight) return this.measuredLineHeight;
+      var span = makePartSpan("x", this.doc);
+      this.container.appendChild(span);
+      var height = span.offsetHeight;
+      this.container.removeChild(span);
+      // Not rendered yet, guess.
+      if (!height) return 16;
+      return this.measuredLineHeight = height;
+    },
+
     checkLine: function(node) {
       if (node === false || !(node == null || node.parentNode == this.container))
         throw parent.CodeMirror.InvalidLineHandle;
@@ -2019,8 +3710,8 @@ var Editor = (function(){
               offset: lastLine.length};
     },
 
-    getSearchCursor: function(string, fromCursor, caseFold) {
-      return new SearchCursor(this, string, fromCursor, caseFold);
+    getSearchCursor: function(string, fromCursor, caseFold, regexp) {
+      return new SearchCursor(this, string, fromCursor, caseFold, regexp);
     },
 
     // Re-indent the whole buffer
@@ -2050,8 +3741,169 @@ var Editor = (function(){
       this.keyFilter = null;
     },
 
+    // Autocompletion. Control-space, or typing a word of
+    // options.completionAutoPrefix characters, asks options.onComplete
+    // for the words that start with the word before the cursor (the
+    // whole word at the cursor goes with it), the answer comes in
+    // through showCompletions. The list is put into
+    // the page, over the frame, the keys that move through it are
+    // handled here. While it is open, it follows the typing.
+    requestCompletion: function(explicit) {
+      var cursor = select.cursorPos(this.container, true), options = this.options;
+      if (!cursor || !options.onComplete) return this.closeCompletion();
+      var text = this.lineTextAfter(cursor.node), start = cursor.offset, end = cursor.offset,
+          wordChar = this.parserName == "CSSParser" ? /[\w\-]/ : /[\w$]/;
+      while (start > 0 && wordChar.test(text.charAt(start - 1))) start--;
+      while (end < text.length && wordChar.test(text.charAt(end))) end++;
+      var prefix = text.slice(start, cursor.offset), open = this.completion;
+      if (!explicit && !(open && open.node == cursor.node && prefix) &&
+          !(options.completionAutoPrefix && prefix.length >= options.completionAutoPrefix))
+        return this.closeCompletion();
+      if (open && open.node == cursor.node && open.from == start && open.prefix == prefix) return;
+      var position = this.cursorLine();
+      this.completion = {id: ++completionId, node: cursor.node, from: start, to: cursor.offset,
+                         prefix: prefix, words: open ? open.words : [], selected: 0,
+                         popup: open ? open.popup : null};
+      options.onComplete(this.completion.id, prefix, text.slice(start, end), position ? position.line : 0, start);
+    },
+
+    showCompletions: function(id, words) {
+      var completion = this.completion;
+      if (!completion || completion.id != id) return;
+      if (!words.length) return this.closeCompletion();
+      completion.words = words;
+      completion.selected = 0;
+      var popup = completion.popup, frame = window.frameElement, page = frame.ownerDocument, self = this;
+      if (!popup) {
+        popup = completion.popup = page.createElement("DIV");
+        popup.className = "CodeMirror-completions";
+        popup.style.position = "absolute";
+        // Keep the focus in the frame when the list is clicked.
+        popup.onmousedown = function(event) {
+          event = event || page.parentWindow.event;
+          for (var node = event.target || event.srcElement; node && node != popup; node = node.parentNode) {
+            if (node.completionIndex != null) {
+              self.acceptCompletion(node.completionIndex);
+              break;
+            }
+          }
+          if (event.preventDefault) event.preventDefault();
+          return false;
+        };
+        page.body.appendChild(popup);
+      }
+      popup.innerHTML = "";
+      for (var i = 0; i < words.length; i++) {
+        var item = page.createElement("DIV");
+        item.appendChild(page.createTextNode(words[i]));
+        item.completionIndex = i;
+        popup.appendChild(item);
+      }
+      this.selectCompletion(0);
+
+      // Below the start of the word, in page coordinates.
+      var coords = this.completionCoords(completion.node, completion.from), box = frame.getBoundingClientRect(),
+          html = page.documentElement, body = this.doc.body, frameHtml = this.doc.documentElement;
+      var pageX = window.parent.pageXOffset || html.scrollLeft || page.body.scrollLeft || 0,
+          pageY = window.parent.pageYOffset || html.scrollTop || page.body.scrollTop || 0;
+      popup.style.left = Math.round(box.left + pageX + coords.left - (body.scrollLeft || frameHtml.scrollLeft || 0)) + "px";
+      popup.style.top = Math.round(box.top + pageY + coords.top - (body.scrollTop || frameHtml.scrollTop || 0)) + "px";
+    },
+
+    selectCompletion: function(index) {
+      var completion = this.completion, popup = completion.popup;
+      index = Math.max(0, Math.min(completion.words.length - 1, index));
+      var old = popup.childNodes[completion.selected], item = popup.childNodes[index];
+      if (old) old.className = "";
+      completion.selected = index;
+      if (!item) return;
+      item.className = "CodeMirror-completion-selected";
+      if (item.offsetTop < popup.scrollTop)
+        popup.scrollTop = item.offsetTop;
+      else if (item.offsetTop + item.offsetHeight > popup.scrollTop + popup.clientHeight)
+        popup.scrollTop = item.offsetTop + item.offsetHeight - popup.clientHeight;
+    },
+
+    acceptCompletion: function(index) {
+      var completion = this.completion, word = completion && completion.words[index];
+      this.closeCompletion();
+      if (word == null || completion.node && completion.node.parentNode != this.container) return;
+      this.history.commit();
+      var end = this.replaceRange({node: completion.node, offset: completion.from},
+                                  {node: completion.node, offset: completion.to}, word);
+      select.setCursorPos(this.container, {node: end.node, offset: completion.from + word.length});
+      select.scrollToCursor(this.container);
+    },
+
+    closeCompletion: function() {
+      var completion = this.completion;
+      this.completion = null;
+      if (completion && completion.popup && completion.popup.parentNode)
+        completion.popup.parentNode.removeChild(completion.popup);
+    },
+
+    // The keys of the open list, returns true if the key was used.
+    completionKey: function(code) {
+      var completion = this.completion;
+      if (!completion || !completion.popup) return false;
+      var page = Math.max(1, Math.floor(completion.popup.clientHeight / this.lineHeight()) - 1);
+      if (code == 38) this.selectCompletion(completion.selected - 1); // up
+      else if (code == 40) this.selectCompletion(completion.selected + 1); // down
+      else if (code == 33) this.selectCompletion(completion.selected - page); // PgUp
+      else if (code == 34) this.selectCompletion(completion.selected + page); // PgDn
+      else if (code == 13 || code == 9) this.acceptCompletion(completion.selected); // enter, tab
+      else if (code == 27) this.closeCompletion(); // escape
+      else return false;
+      return true;
+    },
+
+    // The text of the line after the given <br> as it is in the DOM,
+    // edits that the history did not see yet included.
+    lineTextAfter: function(node) {
+      var text = [];
+      for (var cur = node ? node.nextSibling : this.container.firstChild;
+           cur && !isBR(cur); cur = cur.nextSibling) {
+        if (cur.currentText) text.push(cur.currentText);
+      }
+      return cleanText(text.join(""));
+    },
+
+    // The bottom left corner of a character of the line after the
+    // given <br>, relative to the content of the frame. Within a
+    // span, the width of the span is shared out evenly.
+    completionCoords: function(node, offset) {
+      var height = this.lineHeight();
+      for (var cur = node ? node.nextSibling : this.container.firstChild;
+           cur && !isBR(cur); cur = cur.nextSibling) {
+        var length = cur.currentText ? cur.currentText.length : 0;
+        if (offset <= length && length)
+          return {left: cur.offsetLeft + Math.round(cur.offsetWidth * offset / length),
+                  top: cur.offsetTop + cur.offsetHeight};
+        offset -= length;
+      }
+      var top = node ? node.offsetTop + height : 0;
+      return {left: this.container.offsetLeft || 0, top: top + height};
+    },
+
     setParser: function(name) {
+      this.pendingParser = name;
+      if (!window[name]) {
+        // Fetch the parser first, if a later call picked another
+        // parser in the meantime, that one wins.
+        var self = this;
+        this.loadParser(name, function() {
+          if (self.pendingParser == name) self.setParser(name);
+        });
+        return;
+      }
       Editor.Parser = window[name];
+      this.parserName = name;
+      this.cachePending = true;
+      this.checkpoints = [];
+      this.windowState = null;
+      if (this.worker)
+        this.worker.postMessage({type: "parser", parser: name, parserConfig: this.options.parserConfig,
+                                 files: parent.CodeMirror.parserFiles(name)});
       if (this.container.firstChild) {
         forEach(this.container.childNodes, function(n) {
           if (n.nodeType != 3) n.dirty = true;
@@ -2061,9 +3913,68 @@ var Editor = (function(){
       }
     },
 
+    // Load the files of a parser (see CodeMirror.parserFiles) that are
+    // not in this frame yet, one after the other, and call done when
+    // the last one has been evaluated. Files in options.inlineFiles
+    // are evaluated right away. Every parser file sets Editor.Parser
+    // when it is evaluated, the parser in use is put back after each
+    // one, so that the lines highlighted meanwhile keep it.
+    loadParser: function(name, done) {
+      var loaded = this.loadedFiles, path = this.options.path, head = document.getElementsByTagName("head")[0];
+      var inline = this.options.inlineFiles || {}, self = this;
+      function restore() {
+        if (window[self.parserName]) Editor.Parser = window[self.parserName];
+      }
+      if (!loaded) {
+        loaded = this.loadedFiles = {};
+        forEach(this.options.parserfile, function(file) {loaded[file] = true;});
+      }
+      var files = [];
+      forEach(parent.CodeMirror.parserFiles(name), function(file) {
+        if (!loaded[file]) files.push(file);
+      });
+
+      function next() {
+        if (!files.length) {
+          if (window[name]) done();
+          return;
+        }
+        var file = files.shift(), script = document.createElement("script"), finished = false;
+        function onLoad() {
+          if (finished || (script.readyState && !/loaded|complete/.test(script.readyState))) return;
+          finished = true;
+          loaded[file] = true;
+          restore();
+          next();
+        }
+        script.type = "text/javascript";
+        if (inline[path + file] != null) {
+          script.text = inline[path + file];
+          head.appendChild(script);
+          loaded[file] = true;
+          restore();
+          next();
+          return;
+        }
+        script.onload = script.onreadystatechange = onLoad;
+        script.src = path + file;
+        head.appendChild(script);
+      }
+      next();
+    },
+
     // Intercept enter and tab, and assign their new functions.
     keyDown: function(event) {
+      // Keystroke latency runs until the next highlight pass that
+      // does some work, see highlightDirty.
+      if (this.options.collectMetrics && !this.keyTime && !isSafeKey(event.keyCode))
+        this.keyTime = time();
+      this.lastInput = time();
       if (this.frozen == "leave") this.frozen = null;
+      if (this.completionKey(event.keyCode)) {
+        event.stop();
+        return;
+      }
       if (this.frozen && (!this.keyFilter || this.keyFilter(event.keyCode, event))) {
         event.stop();
         this.frozen(event);
@@ -2112,6 +4023,10 @@ var Editor = (function(){
       else if (code == 34 && !event.shiftKey && !event.ctrlKey && !gecko) {  // PgDn
         if (this.pageDown()) event.stop();
       }
+      else if (code == 32 && event.ctrlKey && !event.altKey && this.options.onComplete) { // space
+        this.requestCompletion(true);
+        event.stop();
+      }
       else if ((code == 219 || code == 221) && event.ctrlKey && !event.altKey) { // [, ]
         this.highlightParens(event.shiftKey, true);
         event.stop();
@@ -2155,6 +4070,8 @@ var Editor = (function(){
       // from happening, so we have to cancel enter and tab again
       // here.
       if ((this.frozen && (!this.keyFilter || this.keyFilter(event.keyCode, event))) ||
+          (this.completion && this.completion.popup && completionKeys[event.keyCode]) ||
+          (event.keyCode == 32 && event.ctrlKey && !event.altKey && this.options.onComplete) ||
           event.code == 13 || (event.code == 9 && this.options.tabMode != "default") ||
           (event.keyCode == 32 && event.shiftKey && this.options.tabMode == "default"))
         event.stop();
@@ -2169,6 +4086,11 @@ var Editor = (function(){
     // released.
     keyUp: function(event) {
       this.cursorActivity(isSafeKey(event.keyCode));
+      // Follow the typing with the completion list.
+      var code = event.keyCode;
+      if ((this.completion || this.options.completionAutoPrefix) && !completionKeys[code] &&
+          !(code >= 16 && code <= 18) && !(code == 32 && event.ctrlKey))
+        this.requestCompletion(false);
     },
 
     // Indent the line following a given <br>, or null for the first
@@ -2238,7 +4160,9 @@ var Editor = (function(){
       if (pos === false || to === false) return false;
 
       select.markSelection(this.win);
-      if (this.highlight(pos, endOfLine(to, this.container), true, 20) === false)
+      // Backtracking has to reach at least the last checkpoint.
+      var backtrack = 20 + (this.options.checkpointInterval || 1);
+      if (this.highlight(pos, endOfLine(to, this.container), true, backtrack) === false)
         return false;
       select.selectMarked();
       return true;
@@ -2505,12 +4429,19 @@ var Editor = (function(){
       if (node.nodeType != 3)
         node.dirty = true;
       this.dirty.push(node);
+      if (!this.highlighting) this.workerStale = true;
     },
 
     allClean: function() {
       return !this.dirty.length;
     },
 
+    // Hand a measurement to options.onMetric, see collectMetrics.
+    reportMetric: function(kind, millis, lines, tokens, overBudget) {
+      if (this.options.onMetric)
+        this.options.onMetric(kind, millis, lines || 0, tokens || 0, !!overBudget);
+    },
+
     // Cause a highlight pass to happen in options.passDelay
     // milliseconds. Clear the existing timeout, if one exists. This
     // way, the passes do not happen while the user is typing, and
@@ -2520,9 +4451,108 @@ var Editor = (function(){
       // some browsers designMode windows do not fire timeouts.
       var self = this;
       this.parent.clearTimeout(this.highlightTimeout);
+      if (this.options.sharedScheduler) {
+        this.mirror().schedule("highlight", function(budget) {self.highlightDirty(false, budget);},
+                               this.options.passDelay, this.options.passTime);
+        return;
+      }
+      if (this.options.adaptiveHighlight) {
+        this.scheduleAdaptive();
+        return;
+      }
       this.highlightTimeout = this.parent.setTimeout(function(){self.highlightDirty();}, this.options.passDelay);
     },
 
+    // The CodeMirror object in the parent window this frame belongs to.
+    mirror: function() {
+      return window.frameElement.CodeMirror;
+    },
+
+    // The number of milliseconds a highlight pass may take, fixed at
+    // options.passTime unless options.adaptiveHighlight is set. The
+    // adaptive budget starts at half a frame.
+    highlightBudget: function() {
+      if (!this.options.adaptiveHighlight) return this.options.passTime;
+      return this.budget || Math.min(8, this.options.passTime);
+    },
+
+    // Adaptive scheduling (options.adaptiveHighlight). While the user
+    // types, passes wait until the input paused for options.passDelay
+    // milliseconds. Otherwise the next pass runs in the next idle
+    // period of the browser, with what is left of it as budget, or
+    // right after the next frame is drawn. In the second case the
+    // budget follows the measured frame times: it is halved when a
+    // frame came late and grows by a millisecond otherwise, between
+    // 2 milliseconds and options.passTime. Browsers without either
+    // callback run the passes from a zero timeout.
+    scheduleAdaptive: function() {
+      var self = this, win = this.parent;
+      this.cancelAdaptive();
+      var wait = this.lastInput ? this.lastInput + this.options.passDelay - time() : 0;
+      if (wait > 0) {
+        this.highlightTimeout = win.setTimeout(function(){self.scheduleAdaptive();}, wait);
+      }
+      else if (win.requestIdleCallback) {
+        this.idleCallback = win.requestIdleCallback(function(deadline) {
+          self.idleCallback = null;
+          self.budget = Math.max(2, Math.min(Math.floor(deadline.timeRemaining()), self.options.passTime));
+          self.highlightDirty();
+        }, {timeout: this.options.passDelay});
+      }
+      else if (win.requestAnimationFrame) {
+        this.frameCallback = win.requestAnimationFrame(function() {
+          self.frameCallback = null;
+          self.adjustBudget(time());
+          self.highlightDirty();
+        });
+      }
+      else {
+        this.highlightTimeout = win.setTimeout(function(){self.highlightDirty();}, 0);
+      }
+    },
+
+    cancelAdaptive: function() {
+      var win = this.parent;
+      win.clearTimeout(this.highlightTimeout);
+      if (this.idleCallback) win.cancelIdleCallback(this.idleCallback);
+      if (this.frameCallback) win.cancelAnimationFrame(this.frameCallback);
+      this.idleCallback = this.frameCallback = null;
+    },
+
+    // Stop all work of the editor before it is taken out of the page.
+    // The timeouts run in the parent window, so they would keep the
+    // frame alive after its removal (the document scanner even sets
+    // itself up again forever).
+    destroy: function() {
+      var win = this.parent;
+      this.cancelAdaptive();
+      this.closeCompletion();
+      this.scanner = null;
+      win.clearTimeout(this.parenEvent);
+      win.clearTimeout(this.documentScan);
+      win.clearTimeout(this.windowTimeout);
+      win.clearTimeout(this.workerTimeout);
+      win.clearTimeout(this.history.commitTimeout);
+      this.parenEvent = this.documentScan = this.windowTimeout = this.workerTimeout = null;
+      if (this.worker) this.worker.terminate();
+      this.worker = null;
+      this.history.onChange = null;
+    },
+
+    // Compare the time since the frame the last pass ran in with the
+    // shortest frame seen so far (the refresh rate of the display).
+    adjustBudget: function(now) {
+      var last = this.lastFrame, budget = this.highlightBudget();
+      this.lastFrame = now;
+      // Frames far apart were not requested one after the other.
+      if (!last || now - last > 250) return;
+      var frame = this.frameTime = Math.min(this.frameTime || 1000 / 60, Math.max(now - last, 4));
+      if (now - last > frame * 1.5)
+        this.budget = Math.max(2, Math.floor(budget / 2));
+      else
+        this.budget = Math.min(this.options.passTime, budget + 1);
+    },
+
     // Fetch one dirty node, and remove it from the dirty set.
     getDirtyNode: function() {
       while (this.dirty.length > 0) {
@@ -2542,33 +4572,368 @@ var Editor = (function(){
     },
 
     // Pick dirty nodes, and highlight them, until options.passTime
-    // milliseconds have gone by. The highlight method will continue
+    // milliseconds (or the given budget) have gone by. The highlight method will continue
     // to next lines as long as it finds dirty nodes. It returns
     // information about the place where it stopped. If there are
     // dirty nodes left after this function has spent all its lines,
     // it shedules another highlight to finish the job.
-    highlightDirty: function(force) {
+    highlightDirty: function(force, budget) {
       // Prevent FF from raising an error when it is firing timeouts
       // on a page that's no longer loaded.
       if (!window.select) return false;
 
       if (!this.options.readOnly) select.markSelection(this.win);
-      var start, endTime = force ? null : time() + this.options.passTime;
+      var passStart = time(), start, endTime = force ? null : passStart + (budget || this.highlightBudget());
+      this.highlightedLines = this.highlightedTokens = 0;
+      this.highlighting = true;
       while ((time() < endTime || force) && (start = this.getDirtyNode())) {
         var result = this.highlight(start, endTime);
         if (result && result.node && result.dirty)
           this.addDirtyNode(result.node);
       }
+      this.highlighting = false;
       if (!this.options.readOnly) select.selectMarked();
+      if (this.options.collectMetrics && this.highlightedLines + this.highlightedTokens) {
+        var now = time();
+        // A pass that stopped with dirty nodes left ran out of passTime.
+        this.reportMetric("highlight", now - passStart, this.highlightedLines,
+                          this.highlightedTokens, !!start);
+        if (this.keyTime) {
+          this.reportMetric("keyLatency", now - this.keyTime);
+          this.keyTime = null;
+        }
+      }
+      if (!!this.options.symbolIndex != !!this.symbolLines) this.resetSymbols();
+      if (this.symbolLines && this.symbolLines.length) this.updateSymbols();
+      if (this.wordLines && this.wordLines.length) this.updateWords();
       if (start) this.scheduleHighlight();
+      else if (this.cachePending && !this.dirty.length) this.storeHighlight();
+      if (this.worker && this.workerStale) this.scheduleWorkerUpdate();
       return this.dirty.length == 0;
     },
 
+    // The symbol index (options.symbolIndex). The symbols of a line,
+    // see lineSymbols, are kept on the <br> in front of it (in
+    // firstLineSymbols for the first line), the <br>s holding symbols
+    // in symbolNodes by their symbolKey. highlight records the lines
+    // it changed in symbolLines, and only those are looked at again
+    // after the pass. The symbols of lines that were taken out of the
+    // document are dropped when the history reports the change (see
+    // dropSymbols). Changed symbols get new ids, and the added and
+    // removed ones are reported to options.onSymbolChange. Their lines
+    // come from the line index. In large document mode only the lines
+    // in the DOM are indexed.
+    resetSymbols: function() {
+      this.symbolNodes = {};
+      this.firstLineSymbols = null;
+      this.symbolLines = null;
+      if (!this.options.symbolIndex) return;
+      // Index all lines that are there, the highlighted ones will not
+      // be highlighted again.
+      var lines = this.symbolLines = [null];
+      for (var cur = this.container.firstChild; cur; cur = cur.nextSibling) {
+        if (isBR(cur)) {cur.symbols = null; lines.push(cur);}
+      }
+    },
+
+    // Keep the symbols of a <br>, or drop them when there are none.
+    setSymbols: function(node, symbols) {
+      if (!node) {
+        this.firstLineSymbols = symbols;
+        return;
+      }
+      if (!node.symbolKey) node.symbolKey = ++symbolKey;
+      if (symbols) this.symbolNodes[node.symbolKey] = node;
+      else delete this.symbolNodes[node.symbolKey];
+      node.symbols = symbols;
+    },
+
+    updateSymbols: function() {
+      var container = this.container, lines = this.symbolLines, added = [], removed = [];
+      this.symbolLines = [];
+      var firstSeen = false;
+      for (var i = 0; i < lines.length; i++) {
+        var node = lines[i];
+        if (node ? node.parentNode != container || node.symbolsSeen : firstSeen) continue;
+        if (node) node.symbolsSeen = true;
+        else firstSeen = true;
+        var old = (node ? node.symbols : this.firstLineSymbols) || [],
+            found = lineSymbols(this.tokensAfter(node));
+        var same = old.length == found.length;
+        for (var j = 0; same && j < found.length; j++)
+          same = old[j].name == found[j].name && old[j].kind == found[j].kind;
+        if (same) continue;
+        removed.push.apply(removed, old);
+        for (var j = 0; j < found.length; j++) {
+          found[j].id = ++symbolId;
+          found[j].node = node;
+          added.push(found[j]);
+        }
+        this.setSymbols(node, found.length ? found : null);
+      }
+      for (var i = 0; i < lines.length; i++) {
+        if (lines[i]) lines[i].symbolsSeen = false;
+      }
+      if (!added.length && !removed.length) return;
+      if (added.length) {
+        var index = this.lineIndex();
+        for (var i = 0; i < added.length; i++) added[i].line = this.lineOfNode(index, added[i].node);
+      }
+      if (this.options.onSymbolChange) this.options.onSymbolChange(added, removed);
+    },
+
+    // Drop the symbols of the <br>s that the changes (see
+    // History.updateTo) took out of the document, the first line of
+    // a change keeps its <br>.
+    dropSymbols: function(changes) {
+      var removed = [];
+      for (var i = 0; i < changes.length; i++) {
+        var old = changes[i].old;
+        for (var j = 1; j < old.length; j++) {
+          var node = old[j].from;
+          if (node && node.symbols && node.parentNode != this.container) {
+            removed.push.apply(removed, node.symbols);
+            this.setSymbols(node, null);
+          }
+        }
+      }
+      if (removed.length && this.options.onSymbolChange) this.options.onSymbolChange([], removed);
+    },
+
+    // The word index for the completion list, kept like the symbol
+    // index: the words of a line (see lineWords) are kept on the <br>
+    // in front of it (in firstLineWords for the first line), highlight
+    // records the lines it changed in wordLines, and dropWords takes
+    // out the words of the lines taken out of the document. The
+    // changes are counted by word in wordChanges until takeWords hands
+    // them out. The index is started by the first takeWords, in large
+    // document mode only the lines in the DOM are indexed.
+    resetWords: function(on) {
+      this.firstLineWords = null;
+      this.wordChanges = {};
+      this.wordLines = on ? [null] : null;
+      for (var cur = this.container.firstChild; cur; cur = cur.nextSibling) {
+        if (!isBR(cur)) continue;
+        cur.words = null;
+        if (on) this.wordLines.push(cur);
+      }
+    },
+
+    countWords: function(words, delta) {
+      for (var i = 0; i < words.length; i++) {
+        // The space keeps the words apart from the properties of Object.
+        var key = " " + words[i];
+        this.wordChanges[key] = (this.wordChanges[key] || 0) + delta;
+      }
+    },
+
+    updateWords: function() {
+      var container = this.container, lines = this.wordLines, firstSeen = false;
+      this.wordLines = [];
+      for (var i = 0; i < lines.length; i++) {
+        var node = lines[i];
+        if (node ? node.parentNode != container || node.wordsSeen : firstSeen) continue;
+        if (node) node.wordsSeen = true;
+        else firstSeen = true;
+        var old = (node ? node.words : this.firstLineWords) || [],
+            found = lineWords(this.tokensAfter(node));
+        if (old.join(" ") == found.join(" ")) continue;
+        this.countWords(old, -1);
+        this.countWords(found, 1);
+        if (node) node.words = found.length ? found : null;
+        else this.firstLineWords = found.length ? found : null;
+      }
+      for (var i = 0; i < lines.length; i++) {
+        if (lines[i]) lines[i].wordsSeen = false;
+      }
+    },
+
+    // Like dropSymbols, for the word index.
+    dropWords: function(changes) {
+      for (var i = 0; i < changes.length; i++) {
+        var old = changes[i].old;
+        for (var j = 1; j < old.length; j++) {
+          var node = old[j].from;
+          if (node && node.words && node.parentNode != this.container) {
+            this.countWords(node.words, -1);
+            node.words = null;
+          }
+        }
+      }
+    },
+
+    // The changes of the word index since the last call, as {all,
+    // added, removed} with a word listed once for every occurrence.
+    // Pending lines are highlighted first. With all, and when the
+    // index was not running, it starts over: all is true and the
+    // added words are all words.
+    takeWords: function(all) {
+      this.highlightDirty(true);
+      all = all || !this.wordLines;
+      if (all) this.resetWords(true);
+      if (this.wordLines.length) this.updateWords();
+      var added = [], removed = [], changes = this.wordChanges;
+      for (var key in changes) {
+        if (!changes.hasOwnProperty(key)) continue;
+        for (var n = changes[key]; n > 0; n--) added.push(key.slice(1));
+        for (var n = changes[key]; n < 0; n++) removed.push(key.slice(1));
+      }
+      this.wordChanges = {};
+      return {all: all, added: added, removed: removed};
+    },
+
+    // The line after a <br> (null for the first one in the DOM).
+    lineOfNode: function(index, node) {
+      return node ? index.lineOfNode(node) : this.history.lineOffset;
+    },
+
+    // All indexed symbols in document order, with their lines set.
+    numberSymbols: function() {
+      var index = this.lineIndex(), lines = [], result = [];
+      if (this.firstLineSymbols) lines.push(null);
+      for (var key in this.symbolNodes) {
+        if (this.symbolNodes.hasOwnProperty(key)) lines.push(this.symbolNodes[key]);
+      }
+      for (var i = 0; i < lines.length; i++)
+        lines[i] = {line: this.lineOfNode(index, lines[i]), node: lines[i]};
+      lines.sort(function(a, b) {return a.line - b.line;});
+      for (var i = 0; i < lines.length; i++) {
+        var symbols = lines[i].node ? lines[i].node.symbols : this.firstLineSymbols;
+        for (var j = 0; j < symbols.length; j++) {
+          symbols[j].line = lines[i].line;
+          result.push(symbols[j]);
+        }
+      }
+      return result;
+    },
+
+    // Pending lines are highlighted first, so that their symbols are
+    // known.
+    symbols: function() {
+      this.highlightDirty(true);
+      if (!!this.options.symbolIndex != !!this.symbolLines) this.resetSymbols();
+      if (this.symbolLines && this.symbolLines.length) this.updateSymbols();
+      return this.numberSymbols();
+    },
+
+    // The tokens of the line after the given <br> (null for the first
+    // line), as [style, text, style, text, ...].
+    tokensAfter: function(node) {
+      var tokens = [];
+      for (var cur = node ? node.nextSibling : this.container.firstChild;
+           cur && !isBR(cur); cur = cur.nextSibling) {
+        if (cur.currentText) tokens.push(cur.className, cleanText(cur.currentText));
+      }
+      return tokens;
+    },
+
+    // The tokens of line n, see tokensAfter, or null if the line does
+    // not exist or is not in the DOM.
+    lineTokens: function(n) {
+      var node = this.lineHandle(n);
+      if (node === false) return null;
+      return this.tokensAfter(node);
+    },
+
+    // Worker highlight mode (options.highlightWorker). The parser runs
+    // in highlightworker.js, which gets the changes the history
+    // describes (see History.describeChanges), after every highlight
+    // pass. The frame only applies the tokens that come back, through
+    // highlight() with workerParser in place of Editor.Parser. The
+    // worker knows the lines in the DOM, a window move (see setWindow)
+    // reaches it as a change of all of them.
+    startWorker: function() {
+      var self = this, options = this.options;
+      this.worker = new Worker(options.path + "highlightworker-min.js");
+      this.workerParser = workerParser(this);
+      this.workerChanges = [];
+      this.workerVersion = 0;
+      this.worker.onmessage = function(event) {
+        if (window.select) self.applyWorkerTokens(event.data);
+      };
+      this.worker.onerror = function() {self.stopWorker();};
+      this.worker.postMessage({type: "init", path: options.path, indentUnit: options.indentUnit,
+                               files: options.basefiles.concat(parent.CodeMirror.parserFiles(options.parser)),
+                               parser: options.parser, parserConfig: options.parserConfig});
+      addEventHandler(window, "unload", function() {if (self.worker) self.worker.terminate();});
+    },
+
+    // Go back to highlighting in the frame.
+    stopWorker: function() {
+      if (!this.worker) return;
+      this.worker.terminate();
+      this.worker = null;
+      this.reparseBuffer();
+      this.scheduleHighlight();
+    },
+
+    scheduleWorkerUpdate: function() {
+      if (this.workerTimeout) return;
+      var self = this;
+      // The changes the flush in sendWorkerUpdate reports go with it.
+      this.workerTimeout = this.parent.setTimeout(function() {
+        if (window.select) self.sendWorkerUpdate();
+        self.workerTimeout = null;
+      }, 0);
+    },
+
+    // Keep described changes for the worker, in the line numbers of
+    // the DOM.
+    queueWorkerChanges: function(changes) {
+      var offset = this.history.lineOffset;
+      for (var i = 0; i < changes.length; i++) {
+        var change = changes[i];
+        this.workerChanges.push({from: change.from - offset, removed: change.removed,
+                                 lines: map(change.lines, function(line) {return line.text;})});
+      }
+      this.scheduleWorkerUpdate();
+    },
+
+    // Send the changes since the last update, edits that were not
+    // reported yet are flushed first.
+    sendWorkerUpdate: function() {
+      if (!this.worker) return;
+      this.workerStale = false;
+      this.history.flush();
+      if (!this.workerChanges.length) return;
+      this.worker.postMessage({type: "update", version: ++this.workerVersion, changes: this.workerChanges});
+      this.workerChanges = [];
+    },
+
+    // Store the tokens of a worker message on the lines they belong to
+    // and mark those lines dirty. Tokens for an older version of the
+    // document are dropped, the worker posts those lines again when it
+    // gets the newer one.
+    applyWorkerTokens: function(message) {
+      if (message.type != "tokens" || message.version != this.workerVersion) return;
+      var container = this.container, node = null, line = 0;
+      this.highlighting = true;
+      runs: for (var r = 0; r < message.runs.length; r++) {
+        var run = message.runs[r];
+        while (line < run.from && (node = endOfLine(node, container))) line++;
+        if (line < run.from) break;
+        this.addDirtyNode(node);
+        for (var i = 0; i < run.lines.length; i++) {
+          if (node) {
+            node.workerTokens = run.lines[i];
+            node.dirty = true;
+          }
+          else this.firstLineTokens = run.lines[i];
+          if (i < run.lines.length - 1) {
+            if (!(node = endOfLine(node, container))) break runs;
+            line++;
+          }
+        }
+      }
+      this.highlighting = false;
+      this.highlightDirty();
+    },
+
     // Creates a function that, when called through a timeout, will
     // continuously re-parse the document.
     documentScanner: function(passTime) {
       var self = this, pos = null;
-      return function() {
+      return function(budget) {
         // FF timeout weirdness workaround.
         if (!window.select) return;
         // If the current node is no longer in the document... oh
@@ -2576,7 +4941,7 @@ var Editor = (function(){
         if (pos && pos.parentNode != self.container)
           pos = null;
         select.markSelection(self.win);
-        var result = self.highlight(pos, time() + passTime, true);
+        var result = self.highlight(pos, time() + (budget || passTime), true);
         select.selectMarked();
         var newPos = result ? (result.node && result.node.nextSibling) : null;
         pos = (pos == newPos) ? null : newPos;
@@ -2587,9 +4952,13 @@ var Editor = (function(){
     // Starts the continuous scanning process for this document after
     // a given interval.
     delayScanning: function() {
-      if (this.scanner) {
+      if (this.scanner && this.options.sharedScheduler) {
+        this.mirror().schedule("scan", this.scanner, this.options.continuousScanning, this.options.passTime);
+      }
+      else if (this.scanner) {
         this.parent.clearTimeout(this.documentScan);
-        this.documentScan = this.parent.setTimeout(this.scanner, this.options.continuousScanning);
+        var scanner = this.scanner;
+        this.documentScan = this.parent.setTimeout(function() {scanner();}, this.options.continuousScanning);
       }
     },
 
@@ -2615,10 +4984,15 @@ var Editor = (function(){
       if (!container.firstChild)
         return false;
       // Backtrack to the first node before from that has a partial
-      // parse stored.
+      // parse stored. The lines passed on the way are parsed again
+      // before clean lines may end the pass.
+      var backtracked = 0;
       while (from && (!from.parserFromHere || from.dirty)) {
-        if (maxBacktrack != null && isBR(from) && (--maxBacktrack) < 0)
-          return false;
+        if (isBR(from)) {
+          if (maxBacktrack != null && (--maxBacktrack) < 0)
+            return false;
+          backtracked++;
+        }
         from = from.previousSibling;
       }
       // If we are at the end of the document, do nothing.
@@ -2666,7 +5040,11 @@ var Editor = (function(){
       // is resumed.
       var traversal = traverseDOM(from ? from.nextSibling : container.firstChild),
           stream = stringStream(traversal),
-          parsed = from ? from.parserFromHere(stream) : Editor.Parser.make(stream);
+          parsed = from ? from.parserFromHere(stream) : this.worker ? this.workerParser.make(stream) : this.startParser(stream);
+      // Parser states are only kept on every checkpointInterval-th
+      // line, counted from the line the parse resumes at. Changes
+      // further down are parsed again from the checkpoint before them.
+      var interval = this.options.checkpointInterval || 1, sinceCheckpoint = 0;
 
       function surroundedByBRs(node) {
         return (node.previousSibling == null || isBR(node.previousSibling)) &&
@@ -2739,25 +5117,33 @@ var Editor = (function(){
             throw "Parser out of sync. Expected BR.";
 
           if (part.dirty || !part.indentation) lineDirty = true;
+          self.highlightedLines++;
           maybeTouch(from);
+          if (lineDirty && self.symbolLines) self.symbolLines.push(from);
+          if (lineDirty && self.wordLines) self.wordLines.push(from);
           from = part;
 
-          // Every <br> gets a copy of the parser state and a lexical
-          // context assigned to it. The first is used to be able to
-          // later resume parsing from this point, the second is used
-          // for indentation.
-          part.parserFromHere = parsed.copy();
+          // Every <br> gets a lexical context assigned to it, which is
+          // used for indentation. Checkpoints also get a copy of the
+          // parser state, to be able to later resume parsing from this
+          // point.
           part.indentation = token.indentation;
           part.dirty = false;
 
-          // If the target argument wasn't an integer, go at least
-          // until that node.
-          if (endTime == null && part == target) throw StopIteration;
+          if (++sinceCheckpoint >= interval) {
+            part.parserFromHere = parsed.copy();
+            sinceCheckpoint = 0;
+          }
+          else {
+            part.parserFromHere = null;
+          }
 
-          // A clean line with more than one node means we are done.
-          // Throwing a StopIteration is the way to break out of a
-          // MochiKit forEach loop.
-          if ((endTime != null && time() >= endTime) || (!lineDirty && !prevLineDirty && lineNodes > 1 && !cleanLines))
+          // If the target argument wasn't an integer, go at least
+          // until that node. A clean line with more than one node
+          // means we are done. Throwing a StopIteration is the way to
+          // break out of a MochiKit forEach loop.
+          if ((endTime == null && part == target) || (endTime != null && time() >= endTime) ||
+              (--backtracked < 0 && !lineDirty && !prevLineDirty && lineNodes > 1 && !cleanLines))
             throw StopIteration;
           prevLineDirty = lineDirty; lineDirty = false; lineNodes = 0;
           parts.next();
@@ -2768,6 +5154,7 @@ var Editor = (function(){
           if (part.dirty)
             lineDirty = true;
           lineNodes++;
+          self.highlightedTokens++;
 
           // If the part matches the token, we can leave it alone.
           if (correctPart(token, part)){
@@ -2804,6 +5191,8 @@ var Editor = (function(){
         }
       });
       maybeTouch(from);
+      if (lineDirty && self.symbolLines) self.symbolLines.push(from);
+      if (lineDirty && self.wordLines) self.wordLines.push(from);
       webkitLastLineHack(this.container);
 
       // The function returns some status information that is used by
@@ -2818,7 +5207,9 @@ var Editor = (function(){
 })();
 
 addEventHandler(window, "load", function() {
-  var CodeMirror = window.frameElement.CodeMirror;
+  // The editor may have been destroyed while the frame was loading.
+  var CodeMirror = window.frameElement && window.frameElement.CodeMirror;
+  if (!CodeMirror) return;
   var e = CodeMirror.editor = new Editor(CodeMirror.options);
   this.parent.setTimeout(method(CodeMirror, "init"), 0);
 });
@@ -2880,1187 +5271,3 @@ var tokenizer = {
 };
 return tokenizer;
 }
-
-/* Tokenizer for JavaScript code */
-
-var tokenizeJavaScript = (function() {
-  // Advance the stream until the given character (not preceded by a
-  // backslash) is encountered, or the end of the line is reached.
-  function nextUntilUnescaped(source, end) {
-    var escaped = false;
-    while (!source.endOfLine()) {
-      var next = source.next();
-      if (next == end && !escaped)
-        return false;
-      escaped = !escaped && next == "\\";
-    }
-    return escaped;
-  }
-
-  // A map of JavaScript's keywords. The a/b/c keyword distinction is
-  // very rough, but it gives the parser enough information to parse
-  // correct code correctly (we don't care that much how we parse
-  // incorrect code). The style information included in these objects
-  // is used by the highlighter to pick the correct CSS style for a
-  // token.
-  var keywords = function(){
-    function result(type, style){
-      return {type: type, style: "js-" + style};
-    }
-    // keywords that take a parenthised expression, and then a
-    // statement (if)
-    var keywordA = result("keyword a", "keyword");
-    // keywords that take just a statement (else)
-    var keywordB = result("keyword b", "keyword");
-    // keywords that optionally take an expression, and form a
-    // statement (return)
-    var keywordC = result("keyword c", "keyword");
-    var operator = result("operator", "keyword");
-    var atom = result("atom", "atom");
-    return {
-      "if": keywordA, "while": keywordA, "with": keywordA,
-      "else": keywordB, "do": keywordB, "try": keywordB, "finally": keywordB,
-      "return": keywordC, "break": keywordC, "continue": keywordC, "new": keywordC, "delete": keywordC, "throw": keywordC,
-      "in": operator, "typeof": operator, "instanceof": operator,
-      "var": result("var", "keyword"), "function": result("function", "keyword"), "catch": result("catch", "keyword"),
-      "for": result("for", "keyword"), "switch": result("switch", "keyword"),
-      "case": result("case", "keyword"), "default": result("default", "keyword"),
-      "true": atom, "false": atom, "null": atom, "undefined": atom, "NaN": atom, "Infinity": atom
-    };
-  }();
-
-  // Some helper regexps
-  var isOperatorChar = /[+\-*&%=<>!?|]/;
-  var isHexDigit = /[0-9A-Fa-f]/;
-  var isWordChar = /[\w\$_]/;
-
-  // Wrapper around jsToken that helps maintain parser state (whether
-  // we are inside of a multi-line comment and whether the next token
-  // could be a regular expression).
-  function jsTokenState(inside, regexp) {
-    return function(source, setState) {
-      var newInside = inside;
-      var type = jsToken(inside, regexp, source, function(c) {newInside = c;});
-      var newRegexp = type.type == "operator" || type.type == "keyword c" || type.type.match(/^[\[{}\(,;:]$/);
-      if (newRegexp != regexp || newInside != inside)
-        setState(jsTokenState(newInside, newRegexp));
-      return type;
-    };
-  }
-
-  // The token reader, intended to be used by the tokenizer from
-  // tokenize.js (through jsTokenState). Advances the source stream
-  // over a token, and returns an object containing the type and style
-  // of that token.
-  function jsToken(inside, regexp, source, setInside) {
-    function readHexNumber(){
-      source.next(); // skip the 'x'
-      source.nextWhileMatches(isHexDigit);
-      return {type: "number", style: "js-atom"};
-    }
-
-    function readNumber() {
-      source.nextWhileMatches(/[0-9]/);
-      if (source.equals(".")){
-        source.next();
-        source.nextWhileMatches(/[0-9]/);
-      }
-      if (source.equals("e") || source.equals("E")){
-        source.next();
-        if (source.equals("-"))
-          source.next();
-        source.nextWhileMatches(/[0-9]/);
-      }
-      return {type: "number", style: "js-atom"};
-    }
-    // Read a word, look it up in keywords. If not found, it is a
-    // variable, otherwise it is a keyword of the type found.
-    function readWord() {
-      source.nextWhileMatches(isWordChar);
-      var word = source.get();
-      var known = keywords.hasOwnProperty(word) && keywords.propertyIsEnumerable(word) && keywords[word];
-      return known ? {type: known.type, style: known.style, content: word} :
-      {type: "variable", style: "js-variable", content: word};
-    }
-    function readRegexp() {
-      nextUntilUnescaped(source, "/");
-      source.nextWhileMatches(/[gi]/);
-      return {type: "regexp", style: "js-string"};
-    }
-    // Mutli-line comments are tricky. We want to return the newlines
-    // embedded in them as regular newline tokens, and then continue
-    // returning a comment token for every line of the comment. So
-    // some state has to be saved (inside) to indicate whether we are
-    // inside a /* */ sequence.
-    function readMultilineComment(start){
-      var newInside = "/*";
-      var maybeEnd = (start == "*");
-      while (true) {
-        if (source.endOfLine())
-          break;
-        var next = source.next();
-        if (next == "/" && maybeEnd){
-          newInside = null;
-          break;
-        }
-        maybeEnd = (next == "*");
-      }
-      setInside(newInside);
-      return {type: "comment", style: "js-comment"};
-    }
-    function readOperator() {
-      source.nextWhileMatches(isOperatorChar);
-      return {type: "operator", style: "js-operator"};
-    }
-    function readString(quote) {
-      var endBackSlash = nextUntilUnescaped(source, quote);
-      setInside(endBackSlash ? quote : null);
-      return {type: "string", style: "js-string"};
-    }
-
-    // Fetch the next token. Dispatches on first character in the
-    // stream, or first two characters when the first is a slash.
-    if (inside == "\"" || inside == "'")
-      return readString(inside);
-    var ch = source.next();
-    if (inside == "/*")
-      return readMultilineComment(ch);
-    else if (ch == "\"" || ch == "'")
-      return readString(ch);
-    // with punctuation, the type of the token is the symbol itself
-    else if (/[\[\]{}\(\),;\:\.]/.test(ch))
-      return {type: ch, style: "js-punctuation"};
-    else if (ch == "0" && (source.equals("x") || source.equals("X")))
-      return readHexNumber();
-    else if (/[0-9]/.test(ch))
-      return readNumber();
-    else if (ch == "/"){
-      if (source.equals("*"))
-      { source.next(); return readMultilineComment(ch); }
-      else if (source.equals("/"))
-      { nextUntilUnescaped(source, null); return {type: "comment", style: "js-comment"};}
-      else if (regexp)
-        return readRegexp();
-      else
-        return readOperator();
-    }
-    else if (isOperatorChar.test(ch))
-      return readOperator();
-    else
-      return readWord();
-  }
-
-  // The external interface to the tokenizer.
-  return function(source, startState) {
-    return tokenizer(source, startState || jsTokenState(false, true));
-  };
-})();
-
-/*
-Copyright (c) 2008-2009 Yahoo! Inc.  All rights reserved.
-The copyrights embodied in the content of this file are licensed by
-Yahoo! Inc. under the BSD (revised) open source license
-
-@author Vlad Dan Dascalescu <dandv@yahoo-inc.com>
-
-
-Tokenizer for PHP code
-
-References:
-  + http://php.net/manual/en/reserved.php
-  + http://php.net/tokens
-  + get_defined_constants(), get_defined_functions(), get_declared_classes()
-      executed on a realistic (not vanilla) PHP installation with typical LAMP modules.
-      Specifically, the PHP bundled with the Uniform Web Server (www.uniformserver.com).
-
-*/
-
-
-// add the forEach method for JS engines that don't support it (e.g. IE)
-// code from https://developer.mozilla.org/En/Core_JavaScript_1.5_Reference:Objects:Array:forEach
-if (!Array.prototype.forEach)
-{
-  Array.prototype.forEach = function(fun /*, thisp*/)
-  {
-    var len = this.length;
-    if (typeof fun != "function")
-      throw new TypeError();
-
-    var thisp = arguments[1];
-    for (var i = 0; i < len; i++)
-    {
-      if (i in this)
-        fun.call(thisp, this[i], i, this);
-    }
-  };
-}
-
-
-var tokenizePHP = (function() {
-  /* A map of PHP's reserved words (keywords, predefined classes, functions and
-     constants. Each token has a type ('keyword', 'operator' etc.) and a style.
-     The style corresponds to the CSS span class in phpcolors.css.
-
-     Keywords can be of three types:
-     a - takes an expression and forms a statement - e.g. if
-     b - takes just a statement - e.g. else
-     c - takes an optinoal expression, but no statement - e.g. return
-     This distinction gives the parser enough information to parse
-     correct code correctly (we don't care that much how we parse
-     incorrect code).
-
-     Reference: http://us.php.net/manual/en/reserved.php
-  */
-  var keywords = function(){
-    function token(type, style){
-      return {type: type, style: style};
-    }
-    var result = {};
-
-    // for each(var element in ["...", "..."]) can pick up elements added to
-    // Array.prototype, so we'll use the loop structure below. See also
-    // http://developer.mozilla.org/en/Core_JavaScript_1.5_Reference/Statements/for_each...in
-
-    // keywords that take an expression and form a statement
-    ["if", "elseif", "while", "declare"].forEach(function(element, index, array) {
-      result[element] = token("keyword a", "php-keyword");
-    });
-
-    // keywords that take just a statement
-    ["do", "else", "try" ].forEach(function(element, index, array) {
-      result[element] = token("keyword b", "php-keyword");
-    });
-
-    // keywords that take an optional expression, but no statement
-    ["return", "break", "continue",  // the expression is optional
-      "new", "clone", "throw"  // the expression is mandatory
-    ].forEach(function(element, index, array) {
-      result[element] = token("keyword c", "php-keyword");
-    });
-
-    ["__CLASS__", "__DIR__", "__FILE__", "__FUNCTION__", "__METHOD__", "__NAMESPACE__"].forEach(function(element, index, array) {
-      result[element] = token("atom", "php-compile-time-constant");
-    });
-
-    ["true", "false", "null"].forEach(function(element, index, array) {
-      result[element] = token("atom", "php-atom");
-    });
-
-    ["and", "or", "xor", "instanceof"].forEach(function(element, index, array) {
-      result[element] = token("operator", "php-keyword php-operator");
-    });
-
-    ["class", "interface"].forEach(function(element, index, array) {
-      result[element] = token("class", "php-keyword");
-    });
-    ["namespace", "use", "extends", "implements"].forEach(function(element, index, array) {
-      result[element] = token("namespace", "php-keyword");
-    });
-
-    // reserved "language constructs"... http://php.net/manual/en/reserved.php
-    [ "die", "echo", "empty", "exit", "eval", "include", "include_once", "isset",
-      "list", "require", "require_once", "return", "print", "unset",
-      "array" // a keyword rather, but mandates a parenthesized parameter list
-    ].forEach(function(element, index, array) {
-      result[element] = token("t_string", "php-reserved-language-construct");
-    });
-
-    result["switch"] = token("switch", "php-keyword");
-    result["case"] = token("case", "php-keyword");
-    result["default"] = token("default", "php-keyword");
-    result["catch"] = token("catch", "php-keyword");
-    result["function"] = token("function", "php-keyword");
-
-    // http://php.net/manual/en/control-structures.alternative-syntax.php must be followed by a ':'
-    ["endif", "endwhile", "endfor", "endforeach", "endswitch", "enddeclare"].forEach(function(element, index, array) {
-      result[element] = token("default", "php-keyword");
-    });
-
-    result["const"] = token("const", "php-keyword");
-
-    ["abstract", "final", "private", "protected", "public", "global", "static"].forEach(function(element, index, array) {
-      result[element] = token("modifier", "php-keyword");
-    });
-    result["var"] = token("modifier", "php-keyword deprecated");
-
-    result["foreach"] = token("foreach", "php-keyword");
-    result["as"] = token("as", "php-keyword");
-    result["for"] = token("for", "php-keyword");
-
-    // PHP built-in functions - output of get_defined_functions()["internal"]
-    [ "zend_version", "func_num_args", "func_get_arg", "func_get_args", "strlen",
-      "strcmp", "strncmp", "strcasecmp", "strncasecmp", "each", "error_reporting",
-      "define", "defined", "get_class", "get_parent_class", "method_exists",
-      "property_exists", "class_exists", "interface_exists", "function_exists",
-      "get_included_files", "get_required_files", "is_subclass_of", "is_a",
-      "get_class_vars", "get_object_vars", "get_class_methods", "trigger_error",
-      "user_error", "set_error_handler", "restore_error_handler",
-      "set_exception_handler", "restore_exception_handler", "get_declared_classes",
-      "get_declared_interfaces", "get_defined_functions", "get_defined_vars",
-      "create_function", "get_resource_type", "get_loaded_extensions",
-      "extension_loaded", "get_extension_funcs", "get_defined_constants",
-      "debug_backtrace", "debug_print_backtrace", "bcadd", "bcsub", "bcmul", "bcdiv",
-      "bcmod", "bcpow", "bcsqrt", "bcscale", "bccomp", "bcpowmod", "jdtogregorian",
-      "gregoriantojd", "jdtojulian", "juliantojd", "jdtojewish", "jewishtojd",
-      "jdtofrench", "frenchtojd", "jddayofweek", "jdmonthname", "easter_date",
-      "easter_days", "unixtojd", "jdtounix", "cal_to_jd", "cal_from_jd",
-      "cal_days_in_month", "cal_info", "variant_set", "variant_add", "variant_cat",
-      "variant_sub", "variant_mul", "variant_and", "variant_div", "variant_eqv",
-      "variant_idiv", "variant_imp", "variant_mod", "variant_or", "variant_pow",
-      "variant_xor", "variant_abs", "variant_fix", "variant_int", "variant_neg",
-      "variant_not", "variant_round", "variant_cmp", "variant_date_to_timestamp",
-      "variant_date_from_timestamp", "variant_get_type", "variant_set_type",
-      "variant_cast", "com_create_guid", "com_event_sink", "com_print_typeinfo",
-      "com_message_pump", "com_load_typelib", "com_get_active_object", "ctype_alnum",
-      "ctype_alpha", "ctype_cntrl", "ctype_digit", "ctype_lower", "ctype_graph",
-      "ctype_print", "ctype_punct", "ctype_space", "ctype_upper", "ctype_xdigit",
-      "strtotime", "date", "idate", "gmdate", "mktime", "gmmktime", "checkdate",
-      "strftime", "gmstrftime", "time", "localtime", "getdate", "date_create",
-      "date_parse", "date_format", "date_modify", "date_timezone_get",
-      "date_timezone_set", "date_offset_get", "date_time_set", "date_date_set",
-      "date_isodate_set", "timezone_open", "timezone_name_get",
-      "timezone_name_from_abbr", "timezone_offset_get", "timezone_transitions_get",
-      "timezone_identifiers_list", "timezone_abbreviations_list",
-      "date_default_timezone_set", "date_default_timezone_get", "date_sunrise",
-      "date_sunset", "date_sun_info", "filter_input", "filter_var",
-      "filter_input_array", "filter_var_array", "filter_list", "filter_has_var",
-      "filter_id", "ftp_connect", "ftp_login", "ftp_pwd", "ftp_cdup", "ftp_chdir",
-      "ftp_exec", "ftp_raw", "ftp_mkdir", "ftp_rmdir", "ftp_chmod", "ftp_alloc",
-      "ftp_nlist", "ftp_rawlist", "ftp_systype", "ftp_pasv", "ftp_get", "ftp_fget",
-      "ftp_put", "ftp_fput", "ftp_size", "ftp_mdtm", "ftp_rename", "ftp_delete",
-      "ftp_site", "ftp_close", "ftp_set_option", "ftp_get_option", "ftp_nb_fget",
-      "ftp_nb_get", "ftp_nb_continue", "ftp_nb_put", "ftp_nb_fput", "ftp_quit",
-      "hash", "hash_file", "hash_hmac", "hash_hmac_file", "hash_init", "hash_update",
-      "hash_update_stream", "hash_update_file", "hash_final", "hash_algos", "iconv",
-      "ob_iconv_handler", "iconv_get_encoding", "iconv_set_encoding", "iconv_strlen",
-      "iconv_substr", "iconv_strpos", "iconv_strrpos", "iconv_mime_encode",
-      "iconv_mime_decode", "iconv_mime_decode_headers", "json_encode", "json_decode",
-      "odbc_autocommit", "odbc_binmode", "odbc_close", "odbc_close_all",
-      "odbc_columns", "odbc_commit", "odbc_connect", "odbc_cursor",
-      "odbc_data_source", "odbc_execute", "odbc_error", "odbc_errormsg", "odbc_exec",
-      "odbc_fetch_array", "odbc_fetch_object", "odbc_fetch_row", "odbc_fetch_into",
-      "odbc_field_len", "odbc_field_scale", "odbc_field_name", "odbc_field_type",
-      "odbc_field_num", "odbc_free_result", "odbc_gettypeinfo", "odbc_longreadlen",
-      "odbc_next_result", "odbc_num_fields", "odbc_num_rows", "odbc_pconnect",
-      "odbc_prepare", "odbc_result", "odbc_result_all", "odbc_rollback",
-      "odbc_setoption", "odbc_specialcolumns", "odbc_statistics", "odbc_tables",
-      "odbc_primarykeys", "odbc_columnprivileges", "odbc_tableprivileges",
-      "odbc_foreignkeys", "odbc_procedures", "odbc_procedurecolumns", "odbc_do",
-      "odbc_field_precision", "preg_match", "preg_match_all", "preg_replace",
-      "preg_replace_callback", "preg_split", "preg_quote", "preg_grep",
-      "preg_last_error", "session_name", "session_module_name", "session_save_path",
-      "session_id", "session_regenerate_id", "session_decode", "session_register",
-      "session_unregister", "session_is_registered", "session_encode",
-      "session_start", "session_destroy", "session_unset",
-      "session_set_save_handler", "session_cache_limiter", "session_cache_expire",
-      "session_set_cookie_params", "session_get_cookie_params",
-      "session_write_close", "session_commit", "spl_classes", "spl_autoload",
-      "spl_autoload_extensions", "spl_autoload_register", "spl_autoload_unregister",
-      "spl_autoload_functions", "spl_autoload_call", "class_parents",
-      "class_implements", "spl_object_hash", "iterator_to_array", "iterator_count",
-      "iterator_apply", "constant", "bin2hex", "sleep", "usleep", "flush",
-      "wordwrap", "htmlspecialchars", "htmlentities", "html_entity_decode",
-      "htmlspecialchars_decode", "get_html_translation_table", "sha1", "sha1_file",
-      "md5", "md5_file", "crc32", "iptcparse", "iptcembed", "getimagesize",
-      "image_type_to_mime_type", "image_type_to_extension", "phpinfo", "phpversion",
-      "phpcredits", "php_logo_guid", "php_real_logo_guid", "php_egg_logo_guid",
-      "zend_logo_guid", "php_sapi_name", "php_uname", "php_ini_scanned_files",
-      "strnatcmp", "strnatcasecmp", "substr_count", "strspn", "strcspn", "strtok",
-      "strtoupper", "strtolower", "strpos", "stripos", "strrpos", "strripos",
-      "strrev", "hebrev", "hebrevc", "nl2br", "basename", "dirname", "pathinfo",
-      "stripslashes", "stripcslashes", "strstr", "stristr", "strrchr", "str_shuffle",
-      "str_word_count", "str_split", "strpbrk", "substr_compare", "strcoll",
-      "substr", "substr_replace", "quotemeta", "ucfirst", "ucwords", "strtr",
-      "addslashes", "addcslashes", "rtrim", "str_replace", "str_ireplace",
-      "str_repeat", "count_chars", "chunk_split", "trim", "ltrim", "strip_tags",
-      "similar_text", "explode", "implode", "setlocale", "localeconv", "soundex",
-      "levenshtein", "chr", "ord", "parse_str", "str_pad", "chop", "strchr",
-      "sprintf", "printf", "vprintf", "vsprintf", "fprintf", "vfprintf", "sscanf",
-      "fscanf", "parse_url", "urlencode", "urldecode", "rawurlencode",
-      "rawurldecode", "http_build_query", "unlink", "exec", "system",
-      "escapeshellcmd", "escapeshellarg", "passthru", "shell_exec", "proc_open",
-      "proc_close", "proc_terminate", "proc_get_status", "rand", "srand",
-      "getrandmax", "mt_rand", "mt_srand", "mt_getrandmax", "getservbyname",
-      "getservbyport", "getprotobyname", "getprotobynumber", "getmyuid", "getmygid",
-      "getmypid", "getmyinode", "getlastmod", "base64_decode", "base64_encode",
-      "convert_uuencode", "convert_uudecode", "abs", "ceil", "floor", "round", "sin",
-      "cos", "tan", "asin", "acos", "atan", "atan2", "sinh", "cosh", "tanh", "pi",
-      "is_finite", "is_nan", "is_infinite", "pow", "exp", "log", "log10", "sqrt",
-      "hypot", "deg2rad", "rad2deg", "bindec", "hexdec", "octdec", "decbin",
-      "decoct", "dechex", "base_convert", "number_format", "fmod", "ip2long",
-      "long2ip", "getenv", "putenv", "microtime", "gettimeofday", "uniqid",
-      "quoted_printable_decode", "convert_cyr_string", "get_current_user",
-      "set_time_limit", "get_cfg_var", "magic_quotes_runtime",
-      "set_magic_quotes_runtime", "get_magic_quotes_gpc", "get_magic_quotes_runtime",
-      "import_request_variables", "error_log", "error_get_last", "call_user_func",
-      "call_user_func_array", "call_user_method", "call_user_method_array",
-      "serialize", "unserialize", "var_dump", "var_export", "debug_zval_dump",
-      "print_r", "memory_get_usage", "memory_get_peak_usage",
-      "register_shutdown_function", "register_tick_function",
-      "unregister_tick_function", "highlight_file", "show_source",
-      "highlight_string", "php_strip_whitespace", "ini_get", "ini_get_all",
-      "ini_set", "ini_alter", "ini_restore", "get_include_path", "set_include_path",
-      "restore_include_path", "setcookie", "setrawcookie", "header", "headers_sent",
-      "headers_list", "connection_aborted", "connection_status", "ignore_user_abort",
-      "parse_ini_file", "is_uploaded_file", "move_uploaded_file", "gethostbyaddr",
-      "gethostbyname", "gethostbynamel", "intval", "floatval", "doubleval", "strval",
-      "gettype", "settype", "is_null", "is_resource", "is_bool", "is_long",
-      "is_float", "is_int", "is_integer", "is_double", "is_real", "is_numeric",
-      "is_string", "is_array", "is_object", "is_scalar", "is_callable", "ereg",
-      "ereg_replace", "eregi", "eregi_replace", "split", "spliti", "join",
-      "sql_regcase", "dl", "pclose", "popen", "readfile", "rewind", "rmdir", "umask",
-      "fclose", "feof", "fgetc", "fgets", "fgetss", "fread", "fopen", "fpassthru",
-      "ftruncate", "fstat", "fseek", "ftell", "fflush", "fwrite", "fputs", "mkdir",
-      "rename", "copy", "tempnam", "tmpfile", "file", "file_get_contents",
-      "file_put_contents", "stream_select", "stream_context_create",
-      "stream_context_set_params", "stream_context_set_option",
-      "stream_context_get_options", "stream_context_get_default",
-      "stream_filter_prepend", "stream_filter_append", "stream_filter_remove",
-      "stream_socket_client", "stream_socket_server", "stream_socket_accept",
-      "stream_socket_get_name", "stream_socket_recvfrom", "stream_socket_sendto",
-      "stream_socket_enable_crypto", "stream_socket_shutdown",
-      "stream_copy_to_stream", "stream_get_contents", "fgetcsv", "fputcsv", "flock",
-      "get_meta_tags", "stream_set_write_buffer", "set_file_buffer",
-      "set_socket_blocking", "stream_set_blocking", "socket_set_blocking",
-      "stream_get_meta_data", "stream_get_line", "stream_wrapper_register",
-      "stream_register_wrapper", "stream_wrapper_unregister",
-      "stream_wrapper_restore", "stream_get_wrappers", "stream_get_transports",
-      "get_headers", "stream_set_timeout", "socket_set_timeout", "socket_get_status",
-      "realpath", "fsockopen", "pfsockopen", "pack", "unpack", "get_browser",
-      "crypt", "opendir", "closedir", "chdir", "getcwd", "rewinddir", "readdir",
-      "dir", "scandir", "glob", "fileatime", "filectime", "filegroup", "fileinode",
-      "filemtime", "fileowner", "fileperms", "filesize", "filetype", "file_exists",
-      "is_writable", "is_writeable", "is_readable", "is_executable", "is_file",
-      "is_dir", "is_link", "stat", "lstat", "chown", "chgrp", "chmod", "touch",
-      "clearstatcache", "disk_total_space", "disk_free_space", "diskfreespace",
-      "mail", "ezmlm_hash", "openlog", "syslog", "closelog",
-      "define_syslog_variables", "lcg_value", "metaphone", "ob_start", "ob_flush",
-      "ob_clean", "ob_end_flush", "ob_end_clean", "ob_get_flush", "ob_get_clean",
-      "ob_get_length", "ob_get_level", "ob_get_status", "ob_get_contents",
-      "ob_implicit_flush", "ob_list_handlers", "ksort", "krsort", "natsort",
-      "natcasesort", "asort", "arsort", "sort", "rsort", "usort", "uasort", "uksort",
-      "shuffle", "array_walk", "array_walk_recursive", "count", "end", "prev",
-      "next", "reset", "current", "key", "min", "max", "in_array", "array_search",
-      "extract", "compact", "array_fill", "array_fill_keys", "range",
-      "array_multisort", "array_push", "array_pop", "array_shift", "array_unshift",
-      "array_splice", "array_slice", "array_merge", "array_merge_recursive",
-      "array_keys", "array_values", "array_count_values", "array_reverse",
-      "array_reduce", "array_pad", "array_flip", "array_change_key_case",
-      "array_rand", "array_unique", "array_intersect", "array_intersect_key",
-      "array_intersect_ukey", "array_uintersect", "array_intersect_assoc",
-      "array_uintersect_assoc", "array_intersect_uassoc", "array_uintersect_uassoc",
-      "array_diff", "array_diff_key", "array_diff_ukey", "array_udiff",
-      "array_diff_assoc", "array_udiff_assoc", "array_diff_uassoc",
-      "array_udiff_uassoc", "array_sum", "array_product", "array_filter",
-      "array_map", "array_chunk", "array_combine", "array_key_exists", "pos",
-      "sizeof", "key_exists", "assert", "assert_options", "version_compare",
-      "str_rot13", "stream_get_filters", "stream_filter_register",
-      "stream_bucket_make_writeable", "stream_bucket_prepend",
-      "stream_bucket_append", "stream_bucket_new", "output_add_rewrite_var",
-      "output_reset_rewrite_vars", "sys_get_temp_dir", "token_get_all", "token_name",
-      "readgzfile", "gzrewind", "gzclose", "gzeof", "gzgetc", "gzgets", "gzgetss",
-      "gzread", "gzopen", "gzpassthru", "gzseek", "gztell", "gzwrite", "gzputs",
-      "gzfile", "gzcompress", "gzuncompress", "gzdeflate", "gzinflate", "gzencode",
-      "ob_gzhandler", "zlib_get_coding_type", "libxml_set_streams_context",
-      "libxml_use_internal_errors", "libxml_get_last_error", "libxml_clear_errors",
-      "libxml_get_errors", "dom_import_simplexml", "simplexml_load_file",
-      "simplexml_load_string", "simplexml_import_dom", "wddx_serialize_value",
-      "wddx_serialize_vars", "wddx_packet_start", "wddx_packet_end", "wddx_add_vars",
-      "wddx_deserialize", "xml_parser_create", "xml_parser_create_ns",
-      "xml_set_object", "xml_set_element_handler", "xml_set_character_data_handler",
-      "xml_set_processing_instruction_handler", "xml_set_default_handler",
-      "xml_set_unparsed_entity_decl_handler", "xml_set_notation_decl_handler",
-      "xml_set_external_entity_ref_handler", "xml_set_start_namespace_decl_handler",
-      "xml_set_end_namespace_decl_handler", "xml_parse", "xml_parse_into_struct",
-      "xml_get_error_code", "xml_error_string", "xml_get_current_line_number",
-      "xml_get_current_column_number", "xml_get_current_byte_index",
-      "xml_parser_free", "xml_parser_set_option", "xml_parser_get_option",
-      "utf8_encode", "utf8_decode", "xmlwriter_open_uri", "xmlwriter_open_memory",
-      "xmlwriter_set_indent", "xmlwriter_set_indent_string",
-      "xmlwriter_start_comment", "xmlwriter_end_comment",
-      "xmlwriter_start_attribute", "xmlwriter_end_attribute",
-      "xmlwriter_write_attribute", "xmlwriter_start_attribute_ns",
-      "xmlwriter_write_attribute_ns", "xmlwriter_start_element",
-      "xmlwriter_end_element", "xmlwriter_full_end_element",
-      "xmlwriter_start_element_ns", "xmlwriter_write_element",
-      "xmlwriter_write_element_ns", "xmlwriter_start_pi", "xmlwriter_end_pi",
-      "xmlwriter_write_pi", "xmlwriter_start_cdata", "xmlwriter_end_cdata",
-      "xmlwriter_write_cdata", "xmlwriter_text", "xmlwriter_write_raw",
-      "xmlwriter_start_document", "xmlwriter_end_document",
-      "xmlwriter_write_comment", "xmlwriter_start_dtd", "xmlwriter_end_dtd",
-      "xmlwriter_write_dtd", "xmlwriter_start_dtd_element",
-      "xmlwriter_end_dtd_element", "xmlwriter_write_dtd_element",
-      "xmlwriter_start_dtd_attlist", "xmlwriter_end_dtd_attlist",
-      "xmlwriter_write_dtd_attlist", "xmlwriter_start_dtd_entity",
-      "xmlwriter_end_dtd_entity", "xmlwriter_write_dtd_entity",
-      "xmlwriter_output_memory", "xmlwriter_flush", "gd_info", "imagearc",
-      "imageellipse", "imagechar", "imagecharup", "imagecolorat",
-      "imagecolorallocate", "imagepalettecopy", "imagecreatefromstring",
-      "imagecolorclosest", "imagecolordeallocate", "imagecolorresolve",
-      "imagecolorexact", "imagecolorset", "imagecolortransparent",
-      "imagecolorstotal", "imagecolorsforindex", "imagecopy", "imagecopymerge",
-      "imagecopymergegray", "imagecopyresized", "imagecreate",
-      "imagecreatetruecolor", "imageistruecolor", "imagetruecolortopalette",
-      "imagesetthickness", "imagefilledarc", "imagefilledellipse",
-      "imagealphablending", "imagesavealpha", "imagecolorallocatealpha",
-      "imagecolorresolvealpha", "imagecolorclosestalpha", "imagecolorexactalpha",
-      "imagecopyresampled", "imagegrabwindow", "imagegrabscreen", "imagerotate",
-      "imageantialias", "imagesettile", "imagesetbrush", "imagesetstyle",
-      "imagecreatefrompng", "imagecreatefromgif", "imagecreatefromjpeg",
-      "imagecreatefromwbmp", "imagecreatefromxbm", "imagecreatefromgd",
-      "imagecreatefromgd2", "imagecreatefromgd2part", "imagepng", "imagegif",
-      "imagejpeg", "imagewbmp", "imagegd", "imagegd2", "imagedestroy",
-      "imagegammacorrect", "imagefill", "imagefilledpolygon", "imagefilledrectangle",
-      "imagefilltoborder", "imagefontwidth", "imagefontheight", "imageinterlace",
-      "imageline", "imageloadfont", "imagepolygon", "imagerectangle",
-      "imagesetpixel", "imagestring", "imagestringup", "imagesx", "imagesy",
-      "imagedashedline", "imagettfbbox", "imagettftext", "imageftbbox",
-      "imagefttext", "imagepsloadfont", "imagepsfreefont", "imagepsencodefont",
-      "imagepsextendfont", "imagepsslantfont", "imagepstext", "imagepsbbox",
-      "imagetypes", "jpeg2wbmp", "png2wbmp", "image2wbmp", "imagelayereffect",
-      "imagecolormatch", "imagexbm", "imagefilter", "imageconvolution",
-      "mb_convert_case", "mb_strtoupper", "mb_strtolower", "mb_language",
-      "mb_internal_encoding", "mb_http_input", "mb_http_output", "mb_detect_order",
-      "mb_substitute_character", "mb_parse_str", "mb_output_handler",
-      "mb_preferred_mime_name", "mb_strlen", "mb_strpos", "mb_strrpos", "mb_stripos",
-      "mb_strripos", "mb_strstr", "mb_strrchr", "mb_stristr", "mb_strrichr",
-      "mb_substr_count", "mb_substr", "mb_strcut", "mb_strwidth", "mb_strimwidth",
-      "mb_convert_encoding", "mb_detect_encoding", "mb_list_encodings",
-      "mb_convert_kana", "mb_encode_mimeheader", "mb_decode_mimeheader",
-      "mb_convert_variables", "mb_encode_numericentity", "mb_decode_numericentity",
-      "mb_send_mail", "mb_get_info", "mb_check_encoding", "mb_regex_encoding",
-      "mb_regex_set_options", "mb_ereg", "mb_eregi", "mb_ereg_replace",
-      "mb_eregi_replace", "mb_split", "mb_ereg_match", "mb_ereg_search",
-      "mb_ereg_search_pos", "mb_ereg_search_regs", "mb_ereg_search_init",
-      "mb_ereg_search_getregs", "mb_ereg_search_getpos", "mb_ereg_search_setpos",
-      "mbregex_encoding", "mbereg", "mberegi", "mbereg_replace", "mberegi_replace",
-      "mbsplit", "mbereg_match", "mbereg_search", "mbereg_search_pos",
-      "mbereg_search_regs", "mbereg_search_init", "mbereg_search_getregs",
-      "mbereg_search_getpos", "mbereg_search_setpos", "mysql_connect",
-      "mysql_pconnect", "mysql_close", "mysql_select_db", "mysql_query",
-      "mysql_unbuffered_query", "mysql_db_query", "mysql_list_dbs",
-      "mysql_list_tables", "mysql_list_fields", "mysql_list_processes",
-      "mysql_error", "mysql_errno", "mysql_affected_rows", "mysql_insert_id",
-      "mysql_result", "mysql_num_rows", "mysql_num_fields", "mysql_fetch_row",
-      "mysql_fetch_array", "mysql_fetch_assoc", "mysql_fetch_object",
-      "mysql_data_seek", "mysql_fetch_lengths", "mysql_fetch_field",
-      "mysql_field_seek", "mysql_free_result", "mysql_field_name",
-      "mysql_field_table", "mysql_field_len", "mysql_field_type",
-      "mysql_field_flags", "mysql_escape_string", "mysql_real_escape_string",
-      "mysql_stat", "mysql_thread_id", "mysql_client_encoding", "mysql_ping",
-      "mysql_get_client_info", "mysql_get_host_info", "mysql_get_proto_info",
-      "mysql_get_server_info", "mysql_info", "mysql_set_charset", "mysql",
-      "mysql_fieldname", "mysql_fieldtable", "mysql_fieldlen", "mysql_fieldtype",
-      "mysql_fieldflags", "mysql_selectdb", "mysql_freeresult", "mysql_numfields",
-      "mysql_numrows", "mysql_listdbs", "mysql_listtables", "mysql_listfields",
-      "mysql_db_name", "mysql_dbname", "mysql_tablename", "mysql_table_name",
-      "mysqli_affected_rows", "mysqli_autocommit", "mysqli_change_user",
-      "mysqli_character_set_name", "mysqli_close", "mysqli_commit", "mysqli_connect",
-      "mysqli_connect_errno", "mysqli_connect_error", "mysqli_data_seek",
-      "mysqli_debug", "mysqli_disable_reads_from_master", "mysqli_disable_rpl_parse",
-      "mysqli_dump_debug_info", "mysqli_enable_reads_from_master",
-      "mysqli_enable_rpl_parse", "mysqli_embedded_server_end",
-      "mysqli_embedded_server_start", "mysqli_errno", "mysqli_error",
-      "mysqli_stmt_execute", "mysqli_execute", "mysqli_fetch_field",
-      "mysqli_fetch_fields", "mysqli_fetch_field_direct", "mysqli_fetch_lengths",
-      "mysqli_fetch_array", "mysqli_fetch_assoc", "mysqli_fetch_object",
-      "mysqli_fetch_row", "mysqli_field_count", "mysqli_field_seek",
-      "mysqli_field_tell", "mysqli_free_result", "mysqli_get_charset",
-      "mysqli_get_client_info", "mysqli_get_client_version", "mysqli_get_host_info",
-      "mysqli_get_proto_info", "mysqli_get_server_info", "mysqli_get_server_version",
-      "mysqli_get_warnings", "mysqli_init", "mysqli_info", "mysqli_insert_id",
-      "mysqli_kill", "mysqli_set_local_infile_default",
-      "mysqli_set_local_infile_handler", "mysqli_master_query",
-      "mysqli_more_results", "mysqli_multi_query", "mysqli_next_result",
-      "mysqli_num_fields", "mysqli_num_rows", "mysqli_options", "mysqli_ping",
-      "mysqli_prepare", "mysqli_report", "mysqli_query", "mysqli_real_connect",
-      "mysqli_real_escape_string", "mysqli_real_query", "mysqli_rollback",
-      "mysqli_rpl_parse_enabled", "mysqli_rpl_probe", "mysqli_rpl_query_type",
-      "mysqli_select_db", "mysqli_set_charset", "mysqli_stmt_attr_get",
-      "mysqli_stmt_attr_set", "mysqli_stmt_field_count", "mysqli_stmt_init",
-      "mysqli_stmt_prepare", "mysqli_stmt_result_metadata",
-      "mysqli_stmt_send_long_data", "mysqli_stmt_bind_param",
-      "mysqli_stmt_bind_result", "mysqli_stmt_fetch", "mysqli_stmt_free_result",
-      "mysqli_stmt_get_warnings", "mysqli_stmt_insert_id", "mysqli_stmt_reset",
-      "mysqli_stmt_param_count", "mysqli_send_query", "mysqli_slave_query",
-      "mysqli_sqlstate", "mysqli_ssl_set", "mysqli_stat",
-      "mysqli_stmt_affected_rows", "mysqli_stmt_close", "mysqli_stmt_data_seek",
-      "mysqli_stmt_errno", "mysqli_stmt_error", "mysqli_stmt_num_rows",
-      "mysqli_stmt_sqlstate", "mysqli_store_result", "mysqli_stmt_store_result",
-      "mysqli_thread_id", "mysqli_thread_safe", "mysqli_use_result",
-      "mysqli_warning_count", "mysqli_bind_param", "mysqli_bind_result",
-      "mysqli_client_encoding", "mysqli_escape_string", "mysqli_fetch",
-      "mysqli_param_count", "mysqli_get_metadata", "mysqli_send_long_data",
-      "mysqli_set_opt", "pdo_drivers", "socket_select", "socket_create",
-      "socket_create_listen", "socket_accept", "socket_set_nonblock",
-      "socket_set_block", "socket_listen", "socket_close", "socket_write",
-      "socket_read", "socket_getsockname", "socket_getpeername", "socket_connect",
-      "socket_strerror", "socket_bind", "socket_recv", "socket_send",
-      "socket_recvfrom", "socket_sendto", "socket_get_option", "socket_set_option",
-      "socket_shutdown", "socket_last_error", "socket_clear_error", "socket_getopt",
-      "socket_setopt", "eaccelerator_put", "eaccelerator_get", "eaccelerator_rm",
-      "eaccelerator_gc", "eaccelerator_lock", "eaccelerator_unlock",
-      "eaccelerator_caching", "eaccelerator_optimizer", "eaccelerator_clear",
-      "eaccelerator_clean", "eaccelerator_info", "eaccelerator_purge",
-      "eaccelerator_cached_scripts", "eaccelerator_removed_scripts",
-      "eaccelerator_list_keys", "eaccelerator_encode", "eaccelerator_load",
-      "_eaccelerator_loader_file", "_eaccelerator_loader_line",
-      "eaccelerator_set_session_handlers", "_eaccelerator_output_handler",
-      "eaccelerator_cache_page", "eaccelerator_rm_page", "eaccelerator_cache_output",
-      "eaccelerator_cache_result", "xdebug_get_stack_depth",
-      "xdebug_get_function_stack", "xdebug_print_function_stack",
-      "xdebug_get_declared_vars", "xdebug_call_class", "xdebug_call_function",
-      "xdebug_call_file", "xdebug_call_line", "xdebug_var_dump", "xdebug_debug_zval",
-      "xdebug_debug_zval_stdout", "xdebug_enable", "xdebug_disable",
-      "xdebug_is_enabled", "xdebug_break", "xdebug_start_trace", "xdebug_stop_trace",
-      "xdebug_get_tracefile_name", "xdebug_get_profiler_filename",
-      "xdebug_dump_aggr_profiling_data", "xdebug_clear_aggr_profiling_data",
-      "xdebug_memory_usage", "xdebug_peak_memory_usage", "xdebug_time_index",
-      "xdebug_start_error_collection", "xdebug_stop_error_collection",
-      "xdebug_get_collected_errors", "xdebug_start_code_coverage",
-      "xdebug_stop_code_coverage", "xdebug_get_code_coverage",
-      "xdebug_get_function_count", "xdebug_dump_superglobals",
-      "_" // alias for gettext()
-    ].forEach(function(element, index, array) {
-      result[element] = token("t_string", "php-predefined-function");
-    });
-
-    // output of get_defined_constants(). Differs significantly from http://php.net/manual/en/reserved.constants.php
-    [ "E_ERROR", "E_RECOVERABLE_ERROR", "E_WARNING", "E_PARSE", "E_NOTICE",
-      "E_STRICT", "E_CORE_ERROR", "E_CORE_WARNING", "E_COMPILE_ERROR",
-      "E_COMPILE_WARNING", "E_USER_ERROR", "E_USER_WARNING", "E_USER_NOTICE",
-      "E_ALL", "TRUE", "FALSE", "NULL", "ZEND_THREAD_SAFE", "PHP_VERSION", "PHP_OS",
-      "PHP_SAPI", "DEFAULT_INCLUDE_PATH", "PEAR_INSTALL_DIR", "PEAR_EXTENSION_DIR",
-      "PHP_EXTENSION_DIR", "PHP_PREFIX", "PHP_BINDIR", "PHP_LIBDIR", "PHP_DATADIR",
-      "PHP_SYSCONFDIR", "PHP_LOCALSTATEDIR", "PHP_CONFIG_FILE_PATH",
-      "PHP_CONFIG_FILE_SCAN_DIR", "PHP_SHLIB_SUFFIX", "PHP_EOL", "PHP_EOL",
-      "PHP_INT_MAX", "PHP_INT_SIZE", "PHP_OUTPUT_HANDLER_START",
-      "PHP_OUTPUT_HANDLER_CONT", "PHP_OUTPUT_HANDLER_END", "UPLOAD_ERR_OK",
-      "UPLOAD_ERR_INI_SIZE", "UPLOAD_ERR_FORM_SIZE", "UPLOAD_ERR_PARTIAL",
-      "UPLOAD_ERR_NO_FILE", "UPLOAD_ERR_NO_TMP_DIR", "UPLOAD_ERR_CANT_WRITE",
-      "UPLOAD_ERR_EXTENSION", "CAL_GREGORIAN", "CAL_JULIAN", "CAL_JEWISH",
-      "CAL_FRENCH", "CAL_NUM_CALS", "CAL_DOW_DAYNO", "CAL_DOW_SHORT", "CAL_DOW_LONG",
-      "CAL_MONTH_GREGORIAN_SHORT", "CAL_MONTH_GREGORIAN_LONG",
-      "CAL_MONTH_JULIAN_SHORT", "CAL_MONTH_JULIAN_LONG", "CAL_MONTH_JEWISH",
-      "CAL_MONTH_FRENCH", "CAL_EASTER_DEFAULT", "CAL_EASTER_ROMAN",
-      "CAL_EASTER_ALWAYS_GREGORIAN", "CAL_EASTER_ALWAYS_JULIAN",
-      "CAL_JEWISH_ADD_ALAFIM_GERESH", "CAL_JEWISH_ADD_ALAFIM",
-      "CAL_JEWISH_ADD_GERESHAYIM", "CLSCTX_INPROC_SERVER", "CLSCTX_INPROC_HANDLER",
-      "CLSCTX_LOCAL_SERVER", "CLSCTX_REMOTE_SERVER", "CLSCTX_SERVER", "CLSCTX_ALL",
-      "VT_NULL", "VT_EMPTY", "VT_UI1", "VT_I1", "VT_UI2", "VT_I2", "VT_UI4", "VT_I4",
-      "VT_R4", "VT_R8", "VT_BOOL", "VT_ERROR", "VT_CY", "VT_DATE", "VT_BSTR",
-      "VT_DECIMAL", "VT_UNKNOWN", "VT_DISPATCH", "VT_VARIANT", "VT_INT", "VT_UINT",
-      "VT_ARRAY", "VT_BYREF", "CP_ACP", "CP_MACCP", "CP_OEMCP", "CP_UTF7", "CP_UTF8",
-      "CP_SYMBOL", "CP_THREAD_ACP", "VARCMP_LT", "VARCMP_EQ", "VARCMP_GT",
-      "VARCMP_NULL", "NORM_IGNORECASE", "NORM_IGNORENONSPACE", "NORM_IGNORESYMBOLS",
-      "NORM_IGNOREWIDTH", "NORM_IGNOREKANATYPE", "DISP_E_DIVBYZERO",
-      "DISP_E_OVERFLOW", "DISP_E_BADINDEX", "MK_E_UNAVAILABLE", "INPUT_POST",
-      "INPUT_GET", "INPUT_COOKIE", "INPUT_ENV", "INPUT_SERVER", "INPUT_SESSION",
-      "INPUT_REQUEST", "FILTER_FLAG_NONE", "FILTER_REQUIRE_SCALAR",
-      "FILTER_REQUIRE_ARRAY", "FILTER_FORCE_ARRAY", "FILTER_NULL_ON_FAILURE",
-      "FILTER_VALIDATE_INT", "FILTER_VALIDATE_BOOLEAN", "FILTER_VALIDATE_FLOAT",
-      "FILTER_VALIDATE_REGEXP", "FILTER_VALIDATE_URL", "FILTER_VALIDATE_EMAIL",
-      "FILTER_VALIDATE_IP", "FILTER_DEFAULT", "FILTER_UNSAFE_RAW",
-      "FILTER_SANITIZE_STRING", "FILTER_SANITIZE_STRIPPED",
-      "FILTER_SANITIZE_ENCODED", "FILTER_SANITIZE_SPECIAL_CHARS",
-      "FILTER_SANITIZE_EMAIL", "FILTER_SANITIZE_URL", "FILTER_SANITIZE_NUMBER_INT",
-      "FILTER_SANITIZE_NUMBER_FLOAT", "FILTER_SANITIZE_MAGIC_QUOTES",
-      "FILTER_CALLBACK", "FILTER_FLAG_ALLOW_OCTAL", "FILTER_FLAG_ALLOW_HEX",
-      "FILTER_FLAG_STRIP_LOW", "FILTER_FLAG_STRIP_HIGH", "FILTER_FLAG_ENCODE_LOW",
-      "FILTER_FLAG_ENCODE_HIGH", "FILTER_FLAG_ENCODE_AMP",
-      "FILTER_FLAG_NO_ENCODE_QUOTES", "FILTER_FLAG_EMPTY_STRING_NULL",
-      "FILTER_FLAG_ALLOW_FRACTION", "FILTER_FLAG_ALLOW_THOUSAND",
-      "FILTER_FLAG_ALLOW_SCIENTIFIC", "FILTER_FLAG_SCHEME_REQUIRED",
-      "FILTER_FLAG_HOST_REQUIRED", "FILTER_FLAG_PATH_REQUIRED",
-      "FILTER_FLAG_QUERY_REQUIRED", "FILTER_FLAG_IPV4", "FILTER_FLAG_IPV6",
-      "FILTER_FLAG_NO_RES_RANGE", "FILTER_FLAG_NO_PRIV_RANGE", "FTP_ASCII",
-      "FTP_TEXT", "FTP_BINARY", "FTP_IMAGE", "FTP_AUTORESUME", "FTP_TIMEOUT_SEC",
-      "FTP_AUTOSEEK", "FTP_FAILED", "FTP_FINISHED", "FTP_MOREDATA", "HASH_HMAC",
-      "ICONV_IMPL", "ICONV_VERSION", "ICONV_MIME_DECODE_STRICT",
-      "ICONV_MIME_DECODE_CONTINUE_ON_ERROR", "ODBC_TYPE", "ODBC_BINMODE_PASSTHRU",
-      "ODBC_BINMODE_RETURN", "ODBC_BINMODE_CONVERT", "SQL_ODBC_CURSORS",
-      "SQL_CUR_USE_DRIVER", "SQL_CUR_USE_IF_NEEDED", "SQL_CUR_USE_ODBC",
-      "SQL_CONCURRENCY", "SQL_CONCUR_READ_ONLY", "SQL_CONCUR_LOCK",
-      "SQL_CONCUR_ROWVER", "SQL_CONCUR_VALUES", "SQL_CURSOR_TYPE",
-      "SQL_CURSOR_FORWARD_ONLY", "SQL_CURSOR_KEYSET_DRIVEN", "SQL_CURSOR_DYNAMIC",
-      "SQL_CURSOR_STATIC", "SQL_KEYSET_SIZE", "SQL_FETCH_FIRST", "SQL_FETCH_NEXT",
-      "SQL_CHAR", "SQL_VARCHAR", "SQL_LONGVARCHAR", "SQL_DECIMAL", "SQL_NUMERIC",
-      "SQL_BIT", "SQL_TINYINT", "SQL_SMALLINT", "SQL_INTEGER", "SQL_BIGINT",
-      "SQL_REAL", "SQL_FLOAT", "SQL_DOUBLE", "SQL_BINARY", "SQL_VARBINARY",
-      "SQL_LONGVARBINARY", "SQL_DATE", "SQL_TIME", "SQL_TIMESTAMP",
-      "PREG_PATTERN_ORDER", "PREG_SET_ORDER", "PREG_OFFSET_CAPTURE",
-      "PREG_SPLIT_NO_EMPTY", "PREG_SPLIT_DELIM_CAPTURE", "PREG_SPLIT_OFFSET_CAPTURE",
-      "PREG_GREP_INVERT", "PREG_NO_ERROR", "PREG_INTERNAL_ERROR",
-      "PREG_BACKTRACK_LIMIT_ERROR", "PREG_RECURSION_LIMIT_ERROR",
-      "PREG_BAD_UTF8_ERROR", "DATE_ATOM", "DATE_COOKIE", "DATE_ISO8601",
-      "DATE_RFC822", "DATE_RFC850", "DATE_RFC1036", "DATE_RFC1123", "DATE_RFC2822",
-      "DATE_RFC3339", "DATE_RSS", "DATE_W3C", "SUNFUNCS_RET_TIMESTAMP",
-      "SUNFUNCS_RET_STRING", "SUNFUNCS_RET_DOUBLE", "LIBXML_VERSION",
-      "LIBXML_DOTTED_VERSION", "LIBXML_NOENT", "LIBXML_DTDLOAD", "LIBXML_DTDATTR",
-      "LIBXML_DTDVALID", "LIBXML_NOERROR", "LIBXML_NOWARNING", "LIBXML_NOBLANKS",
-      "LIBXML_XINCLUDE", "LIBXML_NSCLEAN", "LIBXML_NOCDATA", "LIBXML_NONET",
-      "LIBXML_COMPACT", "LIBXML_NOXMLDECL", "LIBXML_NOEMPTYTAG", "LIBXML_ERR_NONE",
-      "LIBXML_ERR_WARNING", "LIBXML_ERR_ERROR", "LIBXML_ERR_FATAL",
-      "CONNECTION_ABORTED", "CONNECTION_NORMAL", "CONNECTION_TIMEOUT", "INI_USER",
-      "INI_PERDIR", "INI_SYSTEM", "INI_ALL", "PHP_URL_SCHEME", "PHP_URL_HOST",
-      "PHP_URL_PORT", "PHP_URL_USER", "PHP_URL_PASS", "PHP_URL_PATH",
-      "PHP_URL_QUERY", "PHP_URL_FRAGMENT", "M_E", "M_LOG2E", "M_LOG10E", "M_LN2",
-      "M_LN10", "M_PI", "M_PI_2", "M_PI_4", "M_1_PI", "M_2_PI", "M_SQRTPI",
-      "M_2_SQRTPI", "M_LNPI", "M_EULER", "M_SQRT2", "M_SQRT1_2", "M_SQRT3", "INF",
-      "NAN", "INFO_GENERAL", "INFO_CREDITS", "INFO_CONFIGURATION", "INFO_MODULES",
-      "INFO_ENVIRONMENT", "INFO_VARIABLES", "INFO_LICENSE", "INFO_ALL",
-      "CREDITS_GROUP", "CREDITS_GENERAL", "CREDITS_SAPI", "CREDITS_MODULES",
-      "CREDITS_DOCS", "CREDITS_FULLPAGE", "CREDITS_QA", "CREDITS_ALL",
-      "HTML_SPECIALCHARS", "HTML_ENTITIES", "ENT_COMPAT", "ENT_QUOTES",
-      "ENT_NOQUOTES", "STR_PAD_LEFT", "STR_PAD_RIGHT", "STR_PAD_BOTH",
-      "PATHINFO_DIRNAME", "PATHINFO_BASENAME", "PATHINFO_EXTENSION",
-      "PATHINFO_FILENAME", "CHAR_MAX", "LC_CTYPE", "LC_NUMERIC", "LC_TIME",
-      "LC_COLLATE", "LC_MONETARY", "LC_ALL", "SEEK_SET", "SEEK_CUR", "SEEK_END",
-      "LOCK_SH", "LOCK_EX", "LOCK_UN", "LOCK_NB", "STREAM_NOTIFY_CONNECT",
-      "STREAM_NOTIFY_AUTH_REQUIRED", "STREAM_NOTIFY_AUTH_RESULT",
-      "STREAM_NOTIFY_MIME_TYPE_IS", "STREAM_NOTIFY_FILE_SIZE_IS",
-      "STREAM_NOTIFY_REDIRECTED", "STREAM_NOTIFY_PROGRESS", "STREAM_NOTIFY_FAILURE",
-      "STREAM_NOTIFY_COMPLETED", "STREAM_NOTIFY_RESOLVE",
-      "STREAM_NOTIFY_SEVERITY_INFO", "STREAM_NOTIFY_SEVERITY_WARN",
-      "STREAM_NOTIFY_SEVERITY_ERR", "STREAM_FILTER_READ", "STREAM_FILTER_WRITE",
-      "STREAM_FILTER_ALL", "STREAM_CLIENT_PERSISTENT", "STREAM_CLIENT_ASYNC_CONNECT",
-      "STREAM_CLIENT_CONNECT", "STREAM_CRYPTO_METHOD_SSLv2_CLIENT",
-      "STREAM_CRYPTO_METHOD_SSLv3_CLIENT", "STREAM_CRYPTO_METHOD_SSLv23_CLIENT",
-      "STREAM_CRYPTO_METHOD_TLS_CLIENT", "STREAM_CRYPTO_METHOD_SSLv2_SERVER",
-      "STREAM_CRYPTO_METHOD_SSLv3_SERVER", "STREAM_CRYPTO_METHOD_SSLv23_SERVER",
-      "STREAM_CRYPTO_METHOD_TLS_SERVER", "STREAM_SHUT_RD", "STREAM_SHUT_WR",
-      "STREAM_SHUT_RDWR", "STREAM_PF_INET", "STREAM_PF_INET6", "STREAM_PF_UNIX",
-      "STREAM_IPPROTO_IP", "STREAM_IPPROTO_TCP", "STREAM_IPPROTO_UDP",
-      "STREAM_IPPROTO_ICMP", "STREAM_IPPROTO_RAW", "STREAM_SOCK_STREAM",
-      "STREAM_SOCK_DGRAM", "STREAM_SOCK_RAW", "STREAM_SOCK_SEQPACKET",
-      "STREAM_SOCK_RDM", "STREAM_PEEK", "STREAM_OOB", "STREAM_SERVER_BIND",
-      "STREAM_SERVER_LISTEN", "FILE_USE_INCLUDE_PATH", "FILE_IGNORE_NEW_LINES",
-      "FILE_SKIP_EMPTY_LINES", "FILE_APPEND", "FILE_NO_DEFAULT_CONTEXT",
-      "PSFS_PASS_ON", "PSFS_FEED_ME", "PSFS_ERR_FATAL", "PSFS_FLAG_NORMAL",
-      "PSFS_FLAG_FLUSH_INC", "PSFS_FLAG_FLUSH_CLOSE", "CRYPT_SALT_LENGTH",
-      "CRYPT_STD_DES", "CRYPT_EXT_DES", "CRYPT_MD5", "CRYPT_BLOWFISH",
-      "DIRECTORY_SEPARATOR", "PATH_SEPARATOR", "GLOB_BRACE", "GLOB_MARK",
-      "GLOB_NOSORT", "GLOB_NOCHECK", "GLOB_NOESCAPE", "GLOB_ERR", "GLOB_ONLYDIR",
-      "LOG_EMERG", "LOG_ALERT", "LOG_CRIT", "LOG_ERR", "LOG_WARNING", "LOG_NOTICE",
-      "LOG_INFO", "LOG_DEBUG", "LOG_KERN", "LOG_USER", "LOG_MAIL", "LOG_DAEMON",
-      "LOG_AUTH", "LOG_SYSLOG", "LOG_LPR", "LOG_NEWS", "LOG_UUCP", "LOG_CRON",
-      "LOG_AUTHPRIV", "LOG_PID", "LOG_CONS", "LOG_ODELAY", "LOG_NDELAY",
-      "LOG_NOWAIT", "LOG_PERROR", "EXTR_OVERWRITE", "EXTR_SKIP", "EXTR_PREFIX_SAME",
-      "EXTR_PREFIX_ALL", "EXTR_PREFIX_INVALID", "EXTR_PREFIX_IF_EXISTS",
-      "EXTR_IF_EXISTS", "EXTR_REFS", "SORT_ASC", "SORT_DESC", "SORT_REGULAR",
-      "SORT_NUMERIC", "SORT_STRING", "SORT_LOCALE_STRING", "CASE_LOWER",
-      "CASE_UPPER", "COUNT_NORMAL", "COUNT_RECURSIVE", "ASSERT_ACTIVE",
-      "ASSERT_CALLBACK", "ASSERT_BAIL", "ASSERT_WARNING", "ASSERT_QUIET_EVAL",
-      "STREAM_USE_PATH", "STREAM_IGNORE_URL", "STREAM_ENFORCE_SAFE_MODE",
-      "STREAM_REPORT_ERRORS", "STREAM_MUST_SEEK", "STREAM_URL_STAT_LINK",
-      "STREAM_URL_STAT_QUIET", "STREAM_MKDIR_RECURSIVE", "IMAGETYPE_GIF",
-      "IMAGETYPE_JPEG", "IMAGETYPE_PNG", "IMAGETYPE_SWF", "IMAGETYPE_PSD",
-      "IMAGETYPE_BMP", "IMAGETYPE_TIFF_II", "IMAGETYPE_TIFF_MM", "IMAGETYPE_JPC",
-      "IMAGETYPE_JP2", "IMAGETYPE_JPX", "IMAGETYPE_JB2", "IMAGETYPE_SWC",
-      "IMAGETYPE_IFF", "IMAGETYPE_WBMP", "IMAGETYPE_JPEG2000", "IMAGETYPE_XBM",
-      "T_INCLUDE", "T_INCLUDE_ONCE", "T_EVAL", "T_REQUIRE", "T_REQUIRE_ONCE",
-      "T_LOGICAL_OR", "T_LOGICAL_XOR", "T_LOGICAL_AND", "T_PRINT", "T_PLUS_EQUAL",
-      "T_MINUS_EQUAL", "T_MUL_EQUAL", "T_DIV_EQUAL", "T_CONCAT_EQUAL", "T_MOD_EQUAL",
-      "T_AND_EQUAL", "T_OR_EQUAL", "T_XOR_EQUAL", "T_SL_EQUAL", "T_SR_EQUAL",
-      "T_BOOLEAN_OR", "T_BOOLEAN_AND", "T_IS_EQUAL", "T_IS_NOT_EQUAL",
-      "T_IS_IDENTICAL", "T_IS_NOT_IDENTICAL", "T_IS_SMALLER_OR_EQUAL",
-      "T_IS_GREATER_OR_EQUAL", "T_SL", "T_SR", "T_INC", "T_DEC", "T_INT_CAST",
-      "T_DOUBLE_CAST", "T_STRING_CAST", "T_ARRAY_CAST", "T_OBJECT_CAST",
-      "T_BOOL_CAST", "T_UNSET_CAST", "T_NEW", "T_EXIT", "T_IF", "T_ELSEIF", "T_ELSE",
-      "T_ENDIF", "T_LNUMBER", "T_DNUMBER", "T_STRING", "T_STRING_VARNAME",
-      "T_VARIABLE", "T_NUM_STRING", "T_INLINE_HTML", "T_CHARACTER",
-      "T_BAD_CHARACTER", "T_ENCAPSED_AND_WHITESPACE", "T_CONSTANT_ENCAPSED_STRING",
-      "T_ECHO", "T_DO", "T_WHILE", "T_ENDWHILE", "T_FOR", "T_ENDFOR", "T_FOREACH",
-      "T_ENDFOREACH", "T_DECLARE", "T_ENDDECLARE", "T_AS", "T_SWITCH", "T_ENDSWITCH",
-      "T_CASE", "T_DEFAULT", "T_BREAK", "T_CONTINUE", "T_FUNCTION", "T_CONST",
-      "T_RETURN", "T_USE", "T_GLOBAL", "T_STATIC", "T_VAR", "T_UNSET", "T_ISSET",
-      "T_EMPTY", "T_CLASS", "T_EXTENDS", "T_INTERFACE", "T_IMPLEMENTS",
-      "T_OBJECT_OPERATOR", "T_DOUBLE_ARROW", "T_LIST", "T_ARRAY", "T_CLASS_C",
-      "T_FUNC_C", "T_METHOD_C", "T_LINE", "T_FILE", "T_COMMENT", "T_DOC_COMMENT",
-      "T_OPEN_TAG", "T_OPEN_TAG_WITH_ECHO", "T_CLOSE_TAG", "T_WHITESPACE",
-      "T_START_HEREDOC", "T_END_HEREDOC", "T_DOLLAR_OPEN_CURLY_BRACES",
-      "T_CURLY_OPEN", "T_PAAMAYIM_NEKUDOTAYIM", "T_DOUBLE_COLON", "T_ABSTRACT",
-      "T_CATCH", "T_FINAL", "T_INSTANCEOF", "T_PRIVATE", "T_PROTECTED", "T_PUBLIC",
-      "T_THROW", "T_TRY", "T_CLONE", "T_HALT_COMPILER", "FORCE_GZIP",
-      "FORCE_DEFLATE", "XML_ELEMENT_NODE", "XML_ATTRIBUTE_NODE", "XML_TEXT_NODE",
-      "XML_CDATA_SECTION_NODE", "XML_ENTITY_REF_NODE", "XML_ENTITY_NODE",
-      "XML_PI_NODE", "XML_COMMENT_NODE", "XML_DOCUMENT_NODE",
-      "XML_DOCUMENT_TYPE_NODE", "XML_DOCUMENT_FRAG_NODE", "XML_NOTATION_NODE",
-      "XML_HTML_DOCUMENT_NODE", "XML_DTD_NODE", "XML_ELEMENT_DECL_NODE",
-      "XML_ATTRIBUTE_DECL_NODE", "XML_ENTITY_DECL_NODE", "XML_NAMESPACE_DECL_NODE",
-      "XML_LOCAL_NAMESPACE", "XML_ATTRIBUTE_CDATA", "XML_ATTRIBUTE_ID",
-      "XML_ATTRIBUTE_IDREF", "XML_ATTRIBUTE_IDREFS", "XML_ATTRIBUTE_ENTITY",
-      "XML_ATTRIBUTE_NMTOKEN", "XML_ATTRIBUTE_NMTOKENS", "XML_ATTRIBUTE_ENUMERATION",
-      "XML_ATTRIBUTE_NOTATION", "DOM_PHP_ERR", "DOM_INDEX_SIZE_ERR",
-      "DOMSTRING_SIZE_ERR", "DOM_HIERARCHY_REQUEST_ERR", "DOM_WRONG_DOCUMENT_ERR",
-      "DOM_INVALID_CHARACTER_ERR", "DOM_NO_DATA_ALLOWED_ERR",
-      "DOM_NO_MODIFICATION_ALLOWED_ERR", "DOM_NOT_FOUND_ERR",
-      "DOM_NOT_SUPPORTED_ERR", "DOM_INUSE_ATTRIBUTE_ERR", "DOM_INVALID_STATE_ERR",
-      "DOM_SYNTAX_ERR", "DOM_INVALID_MODIFICATION_ERR", "DOM_NAMESPACE_ERR",
-      "DOM_INVALID_ACCESS_ERR", "DOM_VALIDATION_ERR", "XML_ERROR_NONE",
-      "XML_ERROR_NO_MEMORY", "XML_ERROR_SYNTAX", "XML_ERROR_NO_ELEMENTS",
-      "XML_ERROR_INVALID_TOKEN", "XML_ERROR_UNCLOSED_TOKEN",
-      "XML_ERROR_PARTIAL_CHAR", "XML_ERROR_TAG_MISMATCH",
-      "XML_ERROR_DUPLICATE_ATTRIBUTE", "XML_ERROR_JUNK_AFTER_DOC_ELEMENT",
-      "XML_ERROR_PARAM_ENTITY_REF", "XML_ERROR_UNDEFINED_ENTITY",
-      "XML_ERROR_RECURSIVE_ENTITY_REF", "XML_ERROR_ASYNC_ENTITY",
-      "XML_ERROR_BAD_CHAR_REF", "XML_ERROR_BINARY_ENTITY_REF",
-      "XML_ERROR_ATTRIBUTE_EXTERNAL_ENTITY_REF", "XML_ERROR_MISPLACED_XML_PI",
-      "XML_ERROR_UNKNOWN_ENCODING", "XML_ERROR_INCORRECT_ENCODING",
-      "XML_ERROR_UNCLOSED_CDATA_SECTION", "XML_ERROR_EXTERNAL_ENTITY_HANDLING",
-      "XML_OPTION_CASE_FOLDING", "XML_OPTION_TARGET_ENCODING",
-      "XML_OPTION_SKIP_TAGSTART", "XML_OPTION_SKIP_WHITE", "XML_SAX_IMPL", "IMG_GIF",
-      "IMG_JPG", "IMG_JPEG", "IMG_PNG", "IMG_WBMP", "IMG_XPM", "IMG_COLOR_TILED",
-      "IMG_COLOR_STYLED", "IMG_COLOR_BRUSHED", "IMG_COLOR_STYLEDBRUSHED",
-      "IMG_COLOR_TRANSPARENT", "IMG_ARC_ROUNDED", "IMG_ARC_PIE", "IMG_ARC_CHORD",
-      "IMG_ARC_NOFILL", "IMG_ARC_EDGED", "IMG_GD2_RAW", "IMG_GD2_COMPRESSED",
-      "IMG_EFFECT_REPLACE", "IMG_EFFECT_ALPHABLEND", "IMG_EFFECT_NORMAL",
-      "IMG_EFFECT_OVERLAY", "GD_BUNDLED", "IMG_FILTER_NEGATE",
-      "IMG_FILTER_GRAYSCALE", "IMG_FILTER_BRIGHTNESS", "IMG_FILTER_CONTRAST",
-      "IMG_FILTER_COLORIZE", "IMG_FILTER_EDGEDETECT", "IMG_FILTER_GAUSSIAN_BLUR",
-      "IMG_FILTER_SELECTIVE_BLUR", "IMG_FILTER_EMBOSS", "IMG_FILTER_MEAN_REMOVAL",
-      "IMG_FILTER_SMOOTH", "PNG_NO_FILTER", "PNG_FILTER_NONE", "PNG_FILTER_SUB",
-      "PNG_FILTER_UP", "PNG_FILTER_AVG", "PNG_FILTER_PAETH", "PNG_ALL_FILTERS",
-      "MB_OVERLOAD_MAIL", "MB_OVERLOAD_STRING", "MB_OVERLOAD_REGEX", "MB_CASE_UPPER",
-      "MB_CASE_LOWER", "MB_CASE_TITLE", "MYSQL_ASSOC", "MYSQL_NUM", "MYSQL_BOTH",
-      "MYSQL_CLIENT_COMPRESS", "MYSQL_CLIENT_SSL", "MYSQL_CLIENT_INTERACTIVE",
-      "MYSQL_CLIENT_IGNORE_SPACE", "MYSQLI_READ_DEFAULT_GROUP",
-      "MYSQLI_READ_DEFAULT_FILE", "MYSQLI_OPT_CONNECT_TIMEOUT",
-      "MYSQLI_OPT_LOCAL_INFILE", "MYSQLI_INIT_COMMAND", "MYSQLI_CLIENT_SSL",
-      "MYSQLI_CLIENT_COMPRESS", "MYSQLI_CLIENT_INTERACTIVE",
-      "MYSQLI_CLIENT_IGNORE_SPACE", "MYSQLI_CLIENT_NO_SCHEMA",
-      "MYSQLI_CLIENT_FOUND_ROWS", "MYSQLI_STORE_RESULT", "MYSQLI_USE_RESULT",
-      "MYSQLI_ASSOC", "MYSQLI_NUM", "MYSQLI_BOTH",
-      "MYSQLI_STMT_ATTR_UPDATE_MAX_LENGTH", "MYSQLI_STMT_ATTR_CURSOR_TYPE",
-      "MYSQLI_CURSOR_TYPE_NO_CURSOR", "MYSQLI_CURSOR_TYPE_READ_ONLY",
-      "MYSQLI_CURSOR_TYPE_FOR_UPDATE", "MYSQLI_CURSOR_TYPE_SCROLLABLE",
-      "MYSQLI_STMT_ATTR_PREFETCH_ROWS", "MYSQLI_NOT_NULL_FLAG",
-      "MYSQLI_PRI_KEY_FLAG", "MYSQLI_UNIQUE_KEY_FLAG", "MYSQLI_MULTIPLE_KEY_FLAG",
-      "MYSQLI_BLOB_FLAG", "MYSQLI_UNSIGNED_FLAG", "MYSQLI_ZEROFILL_FLAG",
-      "MYSQLI_AUTO_INCREMENT_FLAG", "MYSQLI_TIMESTAMP_FLAG", "MYSQLI_SET_FLAG",
-      "MYSQLI_NUM_FLAG", "MYSQLI_PART_KEY_FLAG", "MYSQLI_GROUP_FLAG",
-      "MYSQLI_TYPE_DECIMAL", "MYSQLI_TYPE_TINY", "MYSQLI_TYPE_SHORT",
-      "MYSQLI_TYPE_LONG", "MYSQLI_TYPE_FLOAT", "MYSQLI_TYPE_DOUBLE",
-      "MYSQLI_TYPE_NULL", "MYSQLI_TYPE_TIMESTAMP", "MYSQLI_TYPE_LONGLONG",
-      "MYSQLI_TYPE_INT24", "MYSQLI_TYPE_DATE", "MYSQLI_TYPE_TIME",
-      "MYSQLI_TYPE_DATETIME", "MYSQLI_TYPE_YEAR", "MYSQLI_TYPE_NEWDATE",
-      "MYSQLI_TYPE_ENUM", "MYSQLI_TYPE_SET", "MYSQLI_TYPE_TINY_BLOB",
-      "MYSQLI_TYPE_MEDIUM_BLOB", "MYSQLI_TYPE_LONG_BLOB", "MYSQLI_TYPE_BLOB",
-      "MYSQLI_TYPE_VAR_STRING", "MYSQLI_TYPE_STRING", "MYSQLI_TYPE_CHAR",
-      "MYSQLI_TYPE_INTERVAL", "MYSQLI_TYPE_GEOMETRY", "MYSQLI_TYPE_NEWDECIMAL",
-      "MYSQLI_TYPE_BIT", "MYSQLI_RPL_MASTER", "MYSQLI_RPL_SLAVE", "MYSQLI_RPL_ADMIN",
-      "MYSQLI_NO_DATA", "MYSQLI_DATA_TRUNCATED", "MYSQLI_REPORT_INDEX",
-      "MYSQLI_REPORT_ERROR", "MYSQLI_REPORT_STRICT", "MYSQLI_REPORT_ALL",
-      "MYSQLI_REPORT_OFF", "AF_UNIX", "AF_INET", "AF_INET6", "SOCK_STREAM",
-      "SOCK_DGRAM", "SOCK_RAW", "SOCK_SEQPACKET", "SOCK_RDM", "MSG_OOB",
-      "MSG_WAITALL", "MSG_PEEK", "MSG_DONTROUTE", "SO_DEBUG", "SO_REUSEADDR",
-      "SO_KEEPALIVE", "SO_DONTROUTE", "SO_LINGER", "SO_BROADCAST", "SO_OOBINLINE",
-      "SO_SNDBUF", "SO_RCVBUF", "SO_SNDLOWAT", "SO_RCVLOWAT", "SO_SNDTIMEO",
-      "SO_RCVTIMEO", "SO_TYPE", "SO_ERROR", "SOL_SOCKET", "SOMAXCONN",
-      "PHP_NORMAL_READ", "PHP_BINARY_READ", "SOCKET_EINTR", "SOCKET_EBADF",
-      "SOCKET_EACCES", "SOCKET_EFAULT", "SOCKET_EINVAL", "SOCKET_EMFILE",
-      "SOCKET_EWOULDBLOCK", "SOCKET_EINPROGRESS", "SOCKET_EALREADY",
-      "SOCKET_ENOTSOCK", "SOCKET_EDESTADDRREQ", "SOCKET_EMSGSIZE",
-      "SOCKET_EPROTOTYPE", "SOCKET_ENOPROTOOPT", "SOCKET_EPROTONOSUPPORT",
-      "SOCKET_ESOCKTNOSUPPORT", "SOCKET_EOPNOTSUPP", "SOCKET_EPFNOSUPPORT",
-      "SOCKET_EAFNOSUPPORT", "SOCKET_EADDRINUSE", "SOCKET_EADDRNOTAVAIL",
-      "SOCKET_ENETDOWN", "SOCKET_ENETUNREACH", "SOCKET_ENETRESET",
-      "SOCKET_ECONNABORTED", "SOCKET_ECONNRESET", "SOCKET_ENOBUFS", "SOCKET_EISCONN",
-      "SOCKET_ENOTCONN", "SOCKET_ESHUTDOWN", "SOCKET_ETOOMANYREFS",
-      "SOCKET_ETIMEDOUT", "SOCKET_ECONNREFUSED", "SOCKET_ELOOP",
-      "SOCKET_ENAMETOOLONG", "SOCKET_EHOSTDOWN", "SOCKET_EHOSTUNREACH",
-      "SOCKET_ENOTEMPTY", "SOCKET_EPROCLIM", "SOCKET_EUSERS", "SOCKET_EDQUOT",
-      "SOCKET_ESTALE", "SOCKET_EREMOTE", "SOCKET_EDISCON", "SOCKET_SYSNOTREADY",
-      "SOCKET_VERNOTSUPPORTED", "SOCKET_NOTINITIALISED", "SOCKET_HOST_NOT_FOUND",
-      "SOCKET_TRY_AGAIN", "SOCKET_NO_RECOVERY", "SOCKET_NO_DATA",
-      "SOCKET_NO_ADDRESS", "SOL_TCP", "SOL_UDP", "EACCELERATOR_VERSION",
-      "EACCELERATOR_SHM_AND_DISK", "EACCELERATOR_SHM", "EACCELERATOR_SHM_ONLY",
-      "EACCELERATOR_DISK_ONLY", "EACCELERATOR_NONE", "XDEBUG_TRACE_APPEND",
-      "XDEBUG_TRACE_COMPUTERIZED", "XDEBUG_TRACE_HTML", "XDEBUG_CC_UNUSED",
-      "XDEBUG_CC_DEAD_CODE", "STDIN", "STDOUT", "STDERR",
-    ].forEach(function(element, index, array) {
-      result[element] = token("atom", "php-predefined-constant");
-    });
-
-    // PHP declared classes - output of get_declared_classes(). Differs from http://php.net/manual/en/reserved.classes.php
-    [  "stdClass", "Exception", "ErrorException", "COMPersistHelper", "com_exception",
-      "com_safearray_proxy", "variant", "com", "dotnet", "ReflectionException",
-      "Reflection", "ReflectionFunctionAbstract", "ReflectionFunction",
-      "ReflectionParameter", "ReflectionMethod", "ReflectionClass",
-      "ReflectionObject", "ReflectionProperty", "ReflectionExtension", "DateTime",
-      "DateTimeZone", "LibXMLError", "__PHP_Incomplete_Class", "php_user_filter",
-      "Directory", "SimpleXMLElement", "DOMException", "DOMStringList",
-      "DOMNameList", "DOMImplementationList", "DOMImplementationSource",
-      "DOMImplementation", "DOMNode", "DOMNameSpaceNode", "DOMDocumentFragment",
-      "DOMDocument", "DOMNodeList", "DOMNamedNodeMap", "DOMCharacterData", "DOMAttr",
-      "DOMElement", "DOMText", "DOMComment", "DOMTypeinfo", "DOMUserDataHandler",
-      "DOMDomError", "DOMErrorHandler", "DOMLocator", "DOMConfiguration",
-      "DOMCdataSection", "DOMDocumentType", "DOMNotation", "DOMEntity",
-      "DOMEntityReference", "DOMProcessingInstruction", "DOMStringExtend",
-      "DOMXPath", "RecursiveIteratorIterator", "IteratorIterator", "FilterIterator",
-      "RecursiveFilterIterator", "ParentIterator", "LimitIterator",
-      "CachingIterator", "RecursiveCachingIterator", "NoRewindIterator",
-      "AppendIterator", "InfiniteIterator", "RegexIterator",
-      "RecursiveRegexIterator", "EmptyIterator", "ArrayObject", "ArrayIterator",
-      "RecursiveArrayIterator", "SplFileInfo", "DirectoryIterator",
-      "RecursiveDirectoryIterator", "SplFileObject", "SplTempFileObject",
-      "SimpleXMLIterator", "LogicException", "BadFunctionCallException",
-      "BadMethodCallException", "DomainException", "InvalidArgumentException",
-      "LengthException", "OutOfRangeException", "RuntimeException",
-      "OutOfBoundsException", "OverflowException", "RangeException",
-      "UnderflowException", "UnexpectedValueException", "SplObjectStorage",
-      "XMLReader", "XMLWriter", "mysqli_sql_exception", "mysqli_driver", "mysqli",
-      "mysqli_warning", "mysqli_result", "mysqli_stmt", "PDOException", "PDO",
-      "PDOStatement", "PDORow"
-    ].forEach(function(element, index, array) {
-      result[element] = token("t_string", "php-predefined-class");
-    });
-
-    return result;
-
-  }();
-
-  // Helper regexps
-  var isOperatorChar = /[+*&%\/=<>!?.|-]/;
-  var isHexDigit = /[0-9A-Fa-f]/;
-  var isWordChar = /[\w\$_]/;
-
-  // Wrapper around phpToken that helps maintain parser state (whether
-  // we are inside of a multi-line comment)
-  function phpTokenState(inside) {
-    return function(source, setState) {
-      var newInside = inside;
-      var type = phpToken(inside, source, function(c) {newInside = c;});
-      if (newInside != inside)
-        setState(phpTokenState(newInside));
-      return type;
-    };
-  }
-
-  // The token reader, inteded to be used by the tokenizer from
-  // tokenize.js (through phpTokenState). Advances the source stream
-  // over a token, and returns an object containing the type and style
-  // of that token.
-  function phpToken(inside, source, setInside) {
-    function readHexNumber(){
-      source.next();  // skip the 'x'
-      source.nextWhileMatches(isHexDigit);
-      return {type: "number", style: "php-atom"};
-    }
-
-    function readNumber() {
-      source.nextWhileMatches(/[0-9]/);
-      if (source.equals(".")){
-        source.next();
-        source.nextWhileMatches(/[0-9]/);
-      }
-      if (source.equals("e") || source.equals("E")){
-        source.next();
-        if (source.equals("-"))
-          source.next();
-        source.nextWhileMatches(/[0-9]/);
-      }
-      return {type: "number", style: "php-atom"};
-    }
-    // Read a word and look it up in the keywords array. If found, it's a
-    // keyword of that type; otherwise it's a PHP T_STRING.
-    function readWord() {
-      source.nextWhileMatches(isWordChar);
-      var word = source.get();
-      var known = keywords.hasOwnProperty(word) && keywords.propertyIsEnumerable(word) && keywords[word];
-      // since we called get(), tokenize::take won't get() anything. Thus, we must set token.content
-      return known ? {type: known.type, style: known.style, content: word} :
-      {type: "t_string", style: "php-t_string", content: word};
-    }
-    function readVariable() {
-      source.nextWhileMatches(isWordChar);
-      var word = source.get();
-      // in PHP, '$this' is a reserved word, but 'this' isn't. You can have function this() {...}
-      if (word == "$this")
-        return {type: "variable", style: "php-keyword", content: word};
-      else
-        return {type: "variable", style: "php-variable", content: word};
-    }
-
-    // Advance the stream until the given character (not preceded by a
-    // backslash) is encountered, or the end of the line is reached.
-    function nextUntilUnescaped(source, end) {
-      var escaped = false;
-      while(!source.endOfLine()){
-        var next = source.next();
-        if (next == end && !escaped)
-          return false;
-        escaped = next == "\\" && !escaped;
-      }
-      return escaped;
-    }
-
-    function readSingleLineComment() {
-      // read until the end of the line or until ?>, which terminates single-line comments
-      // `<?php echo 1; // comment ?> foo` will display "1 foo"
-      while(!source.lookAhead("?>") && !source.endOfLine())
-        source.next();
-      return {type: "comment", style: "php-comment"};
-    }
-    /* For multi-line comments, we want to return a comment token for
-       every line of the comment, but we also want to return the newlines
-       in them as regular newline tokens. We therefore need to save a
-       state variable ("inside") to indicate whether we are inside a
-       multi-line comment.
-    */
-
-    function readMultilineComment(start){
-      var newInside = "/*";
-      var maybeEnd = (start == "*");
-      while (true) {
-        if (source.endOfLine())
-          break;
-        var next = source.next();
-        if (next == "/" && maybeEnd){
-          newInside = null;
-          break;
-        }
-        maybeEnd = (next == "*");
-      }
-      setInside(newInside);
-      return {type: "comment", style: "php-comment"};
-    }
-
-    // similar to readMultilineComment and nextUntilUnescaped
-    // unlike comments, strings are not stopped by ?>
-    function readMultilineString(start){
-      var newInside = start;
-      var escaped = false;
-      while (true) {
-        if (source.endOfLine())
-          break;
-        var next = source.next();
-        if (next == start && !escaped){
-          newInside = null;  // we're outside of the string now
-          break;
-        }
-        escaped = (next == "\\" && !escaped);
-      }
-      setInside(newInside);
-      return {
-        type: newInside == null? "string" : "string_not_terminated",
-        style: (start == "'"? "php-string-single-quoted" : "php-string-double-quoted")
-      };
-    }
-
-    // http://php.net/manual/en/language.types.string.php#language.types.string.syntax.heredoc
-    // See also 'nowdoc' on the page. Heredocs are not interrupted by the '?>' token.
-    function readHeredoc(identifier){
-      var token = {};
-      if (identifier == "<<<") {
-        // on our first invocation after reading the <<<, we must determine the closing identifier
-        if (source.equals("'")) {
-          // nowdoc
-          source.nextWhileMatches(isWordChar);
-          identifier = "'" + source.get() + "'";
-          source.next();  // consume the closing "'"
-        } else if (source.matches(/[A-Za-z_]/)) {
-          // heredoc
-          source.nextWhileMatches(isWordChar);
-          identifier = source.get();
-        } else {
-          // syntax error
-          setInside(null);
-          return { type: "error", style: "syntax-error" };
-        }
-        setInside(identifier);
-        token.type = "string_not_terminated";
-        token.style = identifier.charAt(0) == "'"? "php-string-single-quoted" : "php-string-double-quoted";
-        token.content = identifier;
-      } else {
-        token.style = identifier.charAt(0) == "'"? "php-string-single-quoted" : "php-string-double-quoted";
-        // consume a line of heredoc and check if it equals the closing identifier plus an optional semicolon
-        if (source.lookAhead(identifier, true) && (source.lookAhead(";\n") || source.endOfLine())) {
-          // the closing identifier can only appear at the beginning of the line
-          // note that even whitespace after the ";" is forbidden by the PHP heredoc syntax
-          token.type = "string";
-          token.content = source.get();  // don't get the ";" if there is one
-          setInside(null);
-        } else {
-          token.type = "string_not_terminated";
-          source.nextWhileMatches(/[^\n]/);
-          token.content = source.get();
-        }
-      }
-      return token;
-    }
-
-    function readOperator() {
-      source.nextWhileMatches(isOperatorChar);
-      return {type: "operator", style: "php-operator"};
-    }
-    function readStringSingleQuoted() {
-      var endBackSlash = nextUntilUnescaped(source, "'", false);
-      setInside(endBackSlash ? "'" : null);
-      return {type: "string", style: "php-string-single-quoted"};
-    }
-    function readStringDoubleQuoted() {
-      var endBackSlash = nextUntilUnescaped(source, "\"", false);
-      setInside(endBackSlash ? "\"": null);
-      return {type: "string", style: "php-string-double-quoted"};
-    }
-
-    // Fetch the next token. Dispatches on first character in the
-    // stream, or first two characters when the first is a slash.
-    switch (inside) {
-      case null:
-      case false: break;
-      case "'":
-      case "\"": return readMultilineString(inside);
-      case "/*": return readMultilineComment(source.next());
-      default: return readHeredoc(inside);
-    }
-    var ch = source.next();
-    if (ch == "'" || ch == "\"")
-      return readMultilineString(ch)
-    else if (ch == "#")
-      return readSingleLineComment();
-    else if (ch == "$")
-      return readVariable();
-    else if (ch == ":" && source.equals(":")) {
-      source.next();
-      // the T_DOUBLE_COLON can only follow a T_STRING (class name)
-      return {type: "t_double_colon", style: "php-operator"}
-    }
-    // with punctuation, the type of the token is the symbol itself
-    else if (/[\[\]{}\(\),;:]/.test(ch)) {
-      return {type: ch, style: "php-punctuation"};
-    }
-    else if (ch == "0" && (source.equals("x") || source.equals("X")))
-      return readHexNumber();
-    else if (/[0-9]/.test(ch))
-      return readNumber();
-    else if (ch == "/") {
-      if (source.equals("*"))
-      { source.next(); return readMultilineComment(ch); }
-      else if (source.equals("/"))
-        return readSingleLineComment();
-      else
-        return readOperator();
-    }
-    else if (ch == "<") {
-      if (source.lookAhead("<<", true)) {
-        setInside("<<<");
-        return {type: "<<<", style: "php-punctuation"};
-      }
-      else
-        return readOperator();
-    }
-    else if (isOperatorChar.test(ch))
-      return readOperator();
-    else
-      return readWord();
-  }
-
-  // The external interface to the tokenizer.
-  return function(source, startState) {
-    return tokenizer(source, startState || phpTokenState(false, true));
-  };
-})();
-
-
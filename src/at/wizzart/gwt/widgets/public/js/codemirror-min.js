@@ -3,39 +3,86 @@ var CodeMirrorConfig=window.CodeMirrorConfig||{};var CodeMirror=(function(){func
 object[option]=defaults[option];}}
 function forEach(array,action){for(var i=0;i<array.length;i++)
 action(array[i]);}
-setDefaults(CodeMirrorConfig,{stylesheet:"",path:"",parserfile:[],basefiles:["util.js","stringstream.js","select.js","undo.js","editor.js","tokenize.js"],iframeClass:null,passDelay:200,passTime:50,lineNumberDelay:200,lineNumberTime:50,continuousScanning:false,saveFunction:null,onChange:null,undoDepth:50,undoDelay:800,disableSpellcheck:true,textWrapping:true,readOnly:false,width:"",height:"300px",autoMatchParens:false,parserConfig:null,tabMode:"indent",reindentOnLoad:false,activeTokens:null,cursorActivity:null,lineNumbers:false,indentUnit:2,domain:null});function addLineNumberDiv(container){var nums=document.createElement("DIV"),scroller=document.createElement("DIV");nums.style.position="absolute";nums.style.height="100%";if(nums.style.setExpression){try{nums.style.setExpression("height","this.previousSibling.offsetHeight + 'px'");}
+setDefaults(CodeMirrorConfig,{stylesheet:"",path:"",parserfile:[],parser:null,basefiles:["util.js","stringstream.js","select.js","undo.js","editor.js","tokenize.js"],iframeClass:null,passDelay:200,passTime:50,lineNumberDelay:200,lineNumberTime:50,continuousScanning:false,saveFunction:null,onChange:null,onBlur:null,undoDepth:50,undoDelay:800,undoMemoryLimit:0,collectMetrics:false,disableSpellcheck:true,textWrapping:true,readOnly:false,width:"",height:"300px",autoMatchParens:false,parserConfig:null,tabMode:"indent",reindentOnLoad:false,activeTokens:null,cursorActivity:null,lineNumbers:false,indentUnit:2,largeDocumentThreshold:0,viewportMargin:100,highlightWorker:false,adaptiveHighlight:false,sharedScheduler:false,checkpointInterval:1,highlightCache:0,highlightStorage:0,symbolIndex:false,onSymbolChange:null,completionAutoPrefix:0,onComplete:null,inlineFiles:null,domain:null});var parsers={CSSParser:{files:["parsecss-min.js"]},JSParser:{files:["tokenizejavascript-min.js","parsejavascript-min.js"]},PHPParser:{files:["tokenizephp-min.js","parsephp-min.js"]},XMLParser:{files:["parsexml-min.js"]},SqlParser:{files:["parsesql-min.js"]},HTMLMixedParser:{files:["parsehtmlmixed-min.js"],requires:["XMLParser","CSSParser","JSParser"]},PHPHTMLMixedParser:{files:["parsephphtmlmixed-min.js"],requires:["XMLParser","CSSParser","JSParser","PHPParser"]}};function addLineNumberDiv(container){var nums=document.createElement("DIV"),scroller=document.createElement("DIV");nums.style.position="absolute";nums.style.height="100%";if(nums.style.setExpression){try{nums.style.setExpression("height","this.previousSibling.offsetHeight + 'px'");}
 catch(e){}}
 nums.style.top="0px";nums.style.overflow="hidden";container.appendChild(nums);scroller.className="CodeMirror-line-numbers";nums.appendChild(scroller);return nums;}
 function frameHTML(options){if(typeof options.parserfile=="string")
 options.parserfile=[options.parserfile];if(typeof options.stylesheet=="string")
-options.stylesheet=[options.stylesheet];var html=["<!DOCTYPE HTML PUBLIC \"-//W3C//DTD HTML 4.0 Transitional//EN\" \"http://www.w3.org/TR/html4/loose.dtd\"><html><head>"];html.push("<meta http-equiv=\"X-UA-Compatible\" content=\"IE=EmulateIE7\"/>");forEach(options.stylesheet,function(file){html.push("<link rel=\"stylesheet\" type=\"text/css\" href=\""+file+"\"/>");});forEach(options.basefiles.concat(options.parserfile),function(file){html.push("<script type=\"text/javascript\" src=\""+options.path+file+"\"><"+"/script>");});html.push("</head><body style=\"border-width: 0;\" class=\"editbox\" spellcheck=\""+
+options.stylesheet=[options.stylesheet];var html=["<!DOCTYPE HTML PUBLIC \"-//W3C//DTD HTML 4.0 Transitional//EN\" \"http://www.w3.org/TR/html4/loose.dtd\"><html class=\"CodeMirror-frame\"><head>"];html.push("<meta http-equiv=\"X-UA-Compatible\" content=\"IE=EmulateIE7\"/>");var inline=options.inlineFiles||{};forEach(options.stylesheet,function(file){if(inline[file]!=null)
+html.push("<style type=\"text/css\" data-href=\""+file+"\">"+
+inline[file].replace(/<\/style/gi,"<\\/style")+"</style>");else
+html.push("<link rel=\"stylesheet\" type=\"text/css\" href=\""+file+"\"/>");});forEach(options.basefiles.concat(options.parserfile),function(file){if(inline[options.path+file]!=null)
+html.push("<script type=\"text/javascript\">"+
+inline[options.path+file].replace(/<\/script/gi,"<\\/script")+"<"+"/script>");else
+html.push("<script type=\"text/javascript\" src=\""+options.path+file+"\"><"+"/script>");});html.push("</head><body style=\"border-width: 0;\" class=\"editbox\" spellcheck=\""+
 (options.disableSpellcheck?"false":"true")+"\"></body></html>");return html.join("");}
-var internetExplorer=document.selection&&window.ActiveXObject&&/MSIE/.test(navigator.userAgent);function CodeMirror(place,options){if(options.dumbTabs)options.tabMode="spaces";else if(options.normalTab)options.tabMode="default";this.options=options=options||{};setDefaults(options,CodeMirrorConfig);var frame=this.frame=document.createElement("IFRAME");if(options.iframeClass)frame.className=options.iframeClass;frame.frameBorder=0;frame.style.border="0";frame.style.width='100%';frame.style.height='100%';frame.style.display="block";var div=this.wrapping=document.createElement("DIV");div.className="CodeMirror-wrapping";div.style.width=options.width;div.style.height=options.height;var teHack=this.textareaHack=document.createElement("TEXTAREA");div.appendChild(teHack);teHack.style.position="absolute";teHack.style.left="-10000px";teHack.style.width="10px";frame.CodeMirror=this;if(options.domain&&internetExplorer){this.html=frameHTML(options);frame.src="javascript:(function(){document.open();"+
+var internetExplorer=document.selection&&window.ActiveXObject&&/MSIE/.test(navigator.userAgent);function CodeMirror(place,options){if(options.dumbTabs)options.tabMode="spaces";else if(options.normalTab)options.tabMode="default";this.options=options=options||{};setDefaults(options,CodeMirrorConfig);if(options.parser)
+options.parserfile=CodeMirror.parserFiles(options.parser,options.parserfile);var frame=this.frame=document.createElement("IFRAME");if(options.iframeClass)frame.className=options.iframeClass;frame.frameBorder=0;frame.style.border="0";frame.style.width='100%';frame.style.height='100%';frame.style.display="block";var div=this.wrapping=document.createElement("DIV");div.className="CodeMirror-wrapping";div.style.width=options.width;div.style.height=options.height;var teHack=this.textareaHack=document.createElement("TEXTAREA");div.appendChild(teHack);teHack.style.position="absolute";teHack.style.left="-10000px";teHack.style.width="10px";frame.CodeMirror=this;if(options.domain&&internetExplorer){this.html=frameHTML(options);frame.src="javascript:(function(){document.open();"+
 (options.domain?"document.domain=\""+options.domain+"\";":"")+"document.write(window.frameElement.CodeMirror.html);document.close();})()";}
 else{frame.src="javascript:false";}
-if(place.appendChild)place.appendChild(div);else place(div);div.appendChild(frame);if(options.lineNumbers)this.lineNumbers=addLineNumberDiv(div);this.win=frame.contentWindow;if(!options.domain||!internetExplorer){this.win.document.open();this.win.document.write(frameHTML(options));this.win.document.close();}}
-CodeMirror.prototype={init:function(){if(this.options.initCallback)this.options.initCallback(this);if(this.options.lineNumbers)this.activateLineNumbers();if(this.options.reindentOnLoad)this.reindent();},getCode:function(){return this.editor.getCode();},setCode:function(code){this.editor.importCode(code);},selection:function(){this.focusIfIE();return this.editor.selectedText();},reindent:function(){this.editor.reindent();},reindentSelection:function(){this.focusIfIE();this.editor.reindentSelection(null);},focusIfIE:function(){if(this.win.select.ie_selection)this.focus();},focus:function(){this.win.focus();if(this.editor.selectionSnapshot)
-this.win.select.setBookmark(this.win.document.body,this.editor.selectionSnapshot);},replaceSelection:function(text){this.focus();this.editor.replaceSelection(text);return true;},replaceChars:function(text,start,end){this.editor.replaceChars(text,start,end);},getSearchCursor:function(string,fromCursor,caseFold){return this.editor.getSearchCursor(string,fromCursor,caseFold);},undo:function(){this.editor.history.undo();},redo:function(){this.editor.history.redo();},historySize:function(){return this.editor.history.historySize();},clearHistory:function(){this.editor.history.clear();},grabKeys:function(callback,filter){this.editor.grabKeys(callback,filter);},ungrabKeys:function(){this.editor.ungrabKeys();},setParser:function(name){this.editor.setParser(name);},setSpellcheck:function(on){this.win.document.body.spellcheck=on;},setStylesheet:function(names){if(typeof names==="string")names=[names];var activeStylesheets={};var matchedNames={};var links=this.win.document.getElementsByTagName("link");for(var x=0,link;link=links[x];x++){if(link.rel.indexOf("stylesheet")!==-1){for(var y=0;y<names.length;y++){var name=names[y];if(link.href.substring(link.href.length-name.length)===name){activeStylesheets[link.href]=true;matchedNames[name]=true;}}}}
-for(var x=0,link;link=links[x];x++){if(link.rel.indexOf("stylesheet")!==-1){link.disabled=!(link.href in activeStylesheets);}}
-for(var y=0;y<names.length;y++){var name=names[y];if(!(name in matchedNames)){var link=this.win.document.createElement("link");link.rel="stylesheet";link.type="text/css";link.href=name;this.win.document.getElementsByTagName('head')[0].appendChild(link);}}},setTextWrapping:function(on){if(on==this.options.textWrapping)return;this.win.document.body.style.whiteSpace=on?"":"nowrap";this.options.textWrapping=on;if(this.lineNumbers){this.setLineNumbers(false);this.setLineNumbers(true);}},setIndentUnit:function(unit){this.win.indentUnit=unit;},setUndoDepth:function(depth){this.editor.history.maxDepth=depth;},setTabMode:function(mode){this.options.tabMode=mode;},setLineNumbers:function(on){if(on&&!this.lineNumbers){this.lineNumbers=addLineNumberDiv(this.wrapping);console.log("setLineNumber on: "+this.lineNumbers);this.activateLineNumbers();}
-else if(!on&&this.lineNumbers){this.wrapping.removeChild(this.lineNumbers);this.wrapping.style.marginLeft="";this.lineNumbers=null;}},cursorPosition:function(start){this.focusIfIE();return this.editor.cursorPosition(start);},firstLine:function(){return this.editor.firstLine();},lastLine:function(){return this.editor.lastLine();},nextLine:function(line){return this.editor.nextLine(line);},prevLine:function(line){return this.editor.prevLine(line);},lineContent:function(line){return this.editor.lineContent(line);},setLineContent:function(line,content){this.editor.setLineContent(line,content);},removeLine:function(line){this.editor.removeLine(line);},insertIntoLine:function(line,position,content){this.editor.insertIntoLine(line,position,content);},selectLines:function(startLine,startOffset,endLine,endOffset){this.win.focus();this.editor.selectLines(startLine,startOffset,endLine,endOffset);},nthLine:function(n){var line=this.firstLine();for(;n>1&&line!==false;n--)
-line=this.nextLine(line);return line;},lineNumber:function(line){var num=0;while(line!==false){num++;line=this.prevLine(line);}
-return num;},jumpToLine:function(line){if(typeof line=="number")line=this.nthLine(line);this.selectLines(line,0);this.win.focus();},currentLine:function(){return this.lineNumber(this.cursorLine());},cursorLine:function(){return this.cursorPosition().line;},activateLineNumbers:function(){if(this.lineNumbers){var frame=this.frame,win=frame.contentWindow,doc=win.document,body=doc.body,nums=this.lineNumbers,scroller=nums.firstChild;var self=this;var barWidth=null;function sizeBar(){if(frame.offsetWidth==0)return;for(var root=frame;root.parentNode;root=root.parentNode);if(!nums.parentNode||root!=document||!win.Editor){try{clear();}catch(e){}
+if(place.appendChild)place.appendChild(div);else place(div);div.appendChild(frame);if(options.lineNumbers)this.lineNumbers=addLineNumberDiv(div);this.win=frame.contentWindow;if(!options.domain||!internetExplorer){this.win.document.open();this.win.document.write(frameHTML(options));this.win.document.close();}
+CodeMirror.liveCount++;}
+CodeMirror.prototype={init:function(){if(this.destroyed)return;this.trackFocus();if(this.options.initCallback)this.options.initCallback(this);if(this.options.lineNumbers)this.activateLineNumbers();if(this.options.reindentOnLoad)this.reindent();},getCode:function(){var start=new Date().getTime(),code=this.editor.getCode();this.reportMetric("getContent",start);return code;},setCode:function(code){var start=new Date().getTime();this.editor.importCode(code);this.reportMetric("setContent",start);},beginLoad:function(onProgress){this.unschedule("load");this.loading={queue:[],carry:"",loaded:0,ended:false,onProgress:onProgress};this.editor.beginLoad();},loadChunk:function(text){if(!this.loading)return;this.loading.queue.push(text);this.scheduleLoad();},endLoad:function(){if(!this.loading)return;this.loading.ended=true;this.scheduleLoad();},cancelLoad:function(){if(!this.loading)return;this.unschedule("load");this.loading=null;this.editor.endLoad();},scheduleLoad:function(){var self=this;this.schedule("load",function(budget){self.loadStep(budget);},0,this.options.passTime);},loadStep:function(budget){var loading=this.loading,start=new Date().getTime(),lines=0;if(!loading)return;var end=start+(budget||this.options.passTime);while(loading.queue.length&&new Date().getTime()<end){var text=loading.carry+loading.queue.shift();if(text.length>16384){loading.queue.unshift(text.slice(16384));text=text.slice(0,16384);}
+loading.carry="";if(text.charAt(text.length-1)=="\r"){loading.carry="\r";text=text.slice(0,-1);}
+this.editor.appendCode(text);loading.loaded+=text.length;lines+=text.split("\n").length-1;}
+var done=loading.ended&&!loading.queue.length;if(done){if(loading.carry)this.editor.appendCode(loading.carry);loading.loaded+=loading.carry.length;this.loading=null;this.editor.endLoad();}
+else if(loading.queue.length)this.scheduleLoad();this.reportMetric("load",start,lines,0,!done&&loading.queue.length>0);if(loading.onProgress)loading.onProgress(loading.loaded,done);},rangeText:function(from,to){var editor=this.editor,index=editor.lineIndex(),lines=[];from=Math.max(0,from);to=Math.min(to,index.size());for(var n=from;n<to;n++)lines.push(editor.textOfLine(index,n));return lines.join("\n");},lineTokens:function(n){return this.editor.lineTokens(n);},symbols:function(){return this.editor.symbols();},resetSymbols:function(){this.editor.resetSymbols();},takeWords:function(all){return this.editor.takeWords(all);},resetWords:function(){this.editor.resetWords(false);},showCompletions:function(id,words){this.editor.showCompletions(id,words);},closeCompletions:function(){this.editor.closeCompletion();},selection:function(){this.focusIfIE();return this.editor.selectedText();},reindent:function(){this.editor.reindent();},flushChanges:function(){this.editor.history.flush();},highlightComplete:function(){return this.editor.allClean();},highlightBudget:function(){return this.editor.highlightBudget();},reindentSelection:function(){this.focusIfIE();this.editor.reindentSelection(null);},focusIfIE:function(){if(this.win.select.ie_selection)this.focus();},focus:function(){this.win.focus();if(this.editor.selectionSnapshot)
+this.win.select.setBookmark(this.win.document.body,this.editor.selectionSnapshot);},replaceSelection:function(text){this.focus();this.editor.replaceSelection(text);return true;},replaceChars:function(text,start,end){this.editor.replaceChars(text,start,end);},getSearchCursor:function(string,fromCursor,caseFold,regexp){return this.editor.getSearchCursor(string,fromCursor,caseFold,regexp);},findAll:function(string,caseFold,regexp){return this.editor.getSearchCursor(string,false,caseFold,regexp).findAll();},undo:function(){this.editor.history.undo();},redo:function(){this.editor.history.redo();},historySize:function(){return this.editor.history.historySize();},clearHistory:function(){this.editor.history.clear();},getHistory:function(){return this.editor.history.serialize();},setHistory:function(json){return this.editor.history.restore(json);},grabKeys:function(callback,filter){this.editor.grabKeys(callback,filter);},ungrabKeys:function(){this.editor.ungrabKeys();},setParser:function(name){this.editor.setParser(name);},getParser:function(){return this.editor.parserName;},setSpellcheck:function(on){this.win.document.body.spellcheck=on;},setStylesheet:function(names){if(typeof names==="string")names=[names];var activeStylesheets={};var matchedNames={};var links=[],doc=this.win.document;forEach(doc.getElementsByTagName("link"),function(link){if(link.rel.indexOf("stylesheet")!==-1)links.push({node:link,href:link.href});});forEach(doc.getElementsByTagName("style"),function(style){var href=style.getAttribute("data-href");if(href)links.push({node:style,href:href});});for(var x=0,link;link=links[x];x++){for(var y=0;y<names.length;y++){var name=names[y];if(link.href.substring(link.href.length-name.length)===name){activeStylesheets[link.href]=true;matchedNames[name]=true;}}}
+for(var x=0,link;link=links[x];x++){link.node.disabled=!(link.href in activeStylesheets);}
+for(var y=0;y<names.length;y++){var name=names[y];if(!(name in matchedNames)){var link=this.win.document.createElement("link");link.rel="stylesheet";link.type="text/css";link.href=name;this.win.document.getElementsByTagName('head')[0].appendChild(link);}}},setTextWrapping:function(on){if(on==this.options.textWrapping)return;this.win.document.body.style.whiteSpace=on?"":"nowrap";this.options.textWrapping=on;if(this.lineNumbers){this.setLineNumbers(false);this.setLineNumbers(true);}},setIndentUnit:function(unit){this.win.indentUnit=unit;if(this.editor.worker)this.editor.worker.postMessage({type:"indentUnit",indentUnit:unit});},setUndoDepth:function(depth){this.editor.history.setMaxDepth(depth);},setUndoMemoryLimit:function(limit){this.editor.history.setMemoryLimit(limit);},setTabMode:function(mode){this.options.tabMode=mode;},setLineNumbers:function(on){if(on&&!this.lineNumbers){this.lineNumbers=addLineNumberDiv(this.wrapping);console.log("setLineNumber on: "+this.lineNumbers);this.activateLineNumbers();}
+else if(!on&&this.lineNumbers){if(this.stopLineNumbers)this.stopLineNumbers();this.wrapping.removeChild(this.lineNumbers);this.wrapping.style.marginLeft="";this.lineNumbers=null;}},cursorPosition:function(start){this.focusIfIE();return this.editor.cursorPosition(start);},firstLine:function(){return this.editor.firstLine();},lastLine:function(){return this.editor.lastLine();},nextLine:function(line){return this.editor.nextLine(line);},prevLine:function(line){return this.editor.prevLine(line);},lineContent:function(line){return this.editor.lineContent(line);},setLineContent:function(line,content){this.editor.setLineContent(line,content);},removeLine:function(line){this.editor.removeLine(line);},insertIntoLine:function(line,position,content){this.editor.insertIntoLine(line,position,content);},lineCount:function(){return this.editor.lineCount();},lineText:function(n){return this.editor.lineText(n);},lineTexts:function(from,to){var lines=[];for(var n=from;n<to;n++)lines.push(this.editor.lineText(n));return lines;},replaceLines:function(from,to,text){this.editor.replaceLines(from,to,text);},applyEdits:function(edits){this.editor.replaceRanges(edits);},offsetOfLine:function(n){return this.editor.offsetOfLine(n);},lineOfOffset:function(offset){return this.editor.lineOfOffset(offset);},selectLines:function(startLine,startOffset,endLine,endOffset){this.win.focus();this.editor.selectLines(startLine,startOffset,endLine,endOffset);},nthLine:function(n){return this.editor.lineHandle(n-1);},lineNumber:function(line){var num=0;while(line!==false){num++;line=this.prevLine(line);}
+return num;},jumpToLine:function(line){if(typeof line=="number")line=this.nthLine(line);this.selectLines(line,0);this.win.focus();},scrollToLine:function(n){var handle=this.nthLine(n);if(n<=1||handle)this.win.scrollTo(0,handle?handle.offsetTop:0);},currentLine:function(){return this.lineNumber(this.cursorLine());},cursorLine:function(){return this.cursorPosition().line;},reportMetric:function(kind,startTime,lines,tokens,overBudget){if(this.options.collectMetrics&&this.options.onMetric)
+this.options.onMetric(kind,new Date().getTime()-startTime,lines||0,tokens||0,!!overBudget);},schedule:function(kind,work,delay,budget){if(this.options.sharedScheduler){scheduler.schedule(this,kind,work,delay,budget);return;}
+var timeouts=this.timeouts||(this.timeouts={});clearTimeout(timeouts[kind]);timeouts[kind]=setTimeout(function(){work(budget);},delay);},unschedule:function(kind){if(this.options.sharedScheduler)scheduler.cancel(this,kind);else if(this.timeouts)clearTimeout(this.timeouts[kind]);},destroy:function(){if(this.destroyed)return;this.destroyed=true;CodeMirror.liveCount--;if(this.editor)this.editor.destroy();if(this.stopLineNumbers)this.stopLineNumbers();scheduler.cancel(this,null);scheduler.plan();for(var kind in this.timeouts)clearTimeout(this.timeouts[kind]);this.timeouts=null;if(this.wrapping.parentNode)this.wrapping.parentNode.removeChild(this.wrapping);this.frame.CodeMirror=null;this.editor=this.win=this.lineNumbers=this.updateNumbers=null;},trackFocus:function(){var self=this,win=this.win;win.addEventHandler(win,"focus",function(){self.focused=true;scheduler.plan();});win.addEventHandler(win,"blur",function(){self.focused=false;});},schedulingPriority:function(){var frame=this.frame,root=frame;while(root.parentNode)root=root.parentNode;if(root!=document||!this.win||!this.win.Editor)return-1;if(this.focused)return 2;if(!frame.offsetWidth&&!frame.offsetHeight)return 0;var box=frame.getBoundingClientRect(),html=document.documentElement;var width=window.innerWidth||html.clientWidth,height=window.innerHeight||html.clientHeight;return(box.bottom>0&&box.top<height&&box.right>0&&box.left<width)?1:0;},activateLineNumbers:function(){if(this.lineNumbers){var frame=this.frame,win=frame.contentWindow,doc=win.document,body=doc.body,nums=this.lineNumbers,scroller=nums.firstChild;var self=this;var barWidth=null;function sizeBar(){if(frame.offsetWidth==0)return;for(var root=frame;root.parentNode;root=root.parentNode);if(!nums.parentNode||root!=document||!win.Editor){try{clear();}catch(e){}
 clearInterval(sizeInterval);return;}
 if(nums.offsetWidth!=barWidth){barWidth=nums.offsetWidth;}}
-function doScroll(){nums.scrollTop=body.scrollTop||doc.documentElement.scrollTop||0;}
-var clear=function(){};sizeBar();var sizeInterval=setInterval(sizeBar,500);function nonWrapping(){var nextNum=1,pending;function update(){var target=50+Math.max(body.offsetHeight,Math.max(frame.offsetHeight,body.scrollHeight||0));var endTime=new Date().getTime()+self.options.lineNumberTime;while(scroller.offsetHeight<target&&(!scroller.firstChild||scroller.offsetHeight)){scroller.appendChild(document.createElement("DIV"));scroller.lastChild.innerHTML=nextNum++;if(new Date().getTime()>endTime){if(pending)clearTimeout(pending);pending=setTimeout(update,self.options.lineNumberDelay);break;}}
-doScroll();}
-var onScroll=win.addEventHandler(win,"scroll",update,true),onResize=win.addEventHandler(win,"resize",update,true);clear=function(){onScroll();onResize();if(pending)clearTimeout(pending);};update();}
-function wrapping(){var node,lineNum,next,pos;function addNum(n){if(!lineNum)lineNum=scroller.appendChild(document.createElement("DIV"));lineNum.innerHTML=n;pos=lineNum.offsetHeight+lineNum.offsetTop;lineNum=lineNum.nextSibling;}
-function work(){if(!scroller.parentNode||scroller.parentNode!=self.lineNumbers)return;var endTime=new Date().getTime()+self.options.lineNumberTime;while(node){addNum(next++);for(;node&&!win.isBR(node);node=node.nextSibling){var bott=node.offsetTop+node.offsetHeight;while(scroller.offsetHeight&&bott-3>pos)addNum("&nbsp;");}
-if(node)node=node.nextSibling;if(new Date().getTime()>endTime){pending=setTimeout(work,self.options.lineNumberDelay);return;}}
-var target=50+Math.max(body.offsetHeight,Math.max(frame.offsetHeight,body.scrollHeight||0));while(lineNum||(scroller.offsetHeight<target&&(!scroller.firstChild||scroller.offsetHeight)))
-addNum(next++);doScroll();}
-function start(){doScroll();node=body.firstChild;lineNum=scroller.firstChild;pos=0;next=1;work();}
-start();var pending=null;function update(){if(pending)clearTimeout(pending);if(self.editor.allClean())start();else pending=setTimeout(update,200);}
-self.updateNumbers=update;var onScroll=win.addEventHandler(win,"scroll",doScroll,true),onResize=win.addEventHandler(win,"resize",update,true);clear=function(){if(pending)clearTimeout(pending);if(self.updateNumbers==update)self.updateNumbers=null;onScroll();onResize();};}
-(this.options.textWrapping?wrapping:nonWrapping)();}}};CodeMirror.InvalidLineHandle={toString:function(){return"CodeMirror.InvalidLineHandle";}};CodeMirror.replace=function(element){if(typeof element=="string")
+function doScroll(){nums.scrollTop=scrollTop();}
+function scrollTop(){return body.scrollTop||doc.documentElement.scrollTop||0;}
+function contentHeight(){return 50+Math.max(body.offsetHeight,Math.max(frame.offsetHeight,body.scrollHeight||0));}
+var clear=function(){};sizeBar();var sizeInterval=setInterval(sizeBar,500);function stop(){try{clear();}catch(e){}
+clearInterval(sizeInterval);if(self.stopLineNumbers==stop)self.stopLineNumbers=null;}
+self.stopLineNumbers=stop;function later(work,delay){self.schedule("lineNumbers",function(){work();},delay,self.options.lineNumberTime);}
+var margin=20,rowHeight=0,shownFrom=0,shownTo=0,shownHeight=0;var above=scroller.appendChild(document.createElement("DIV")),below=scroller.appendChild(document.createElement("DIV"));below.style.visibility="hidden";below.style.overflow="hidden";function row(){if(!rowHeight){below.style.height="";below.innerHTML="0";rowHeight=below.offsetHeight;}
+return rowHeight;}
+function shown(from,to){return from>=shownFrom&&to<=shownTo&&contentHeight()==shownHeight;}
+function show(first,heights,top,lineCount,startTime){var div=above.nextSibling,written=0,bottom=top;above.style.height=top+"px";for(var i=0;i<heights.length;i++){if(div==below)div=scroller.insertBefore(document.createElement("DIV"),below);var number=first+i+1,height=heights[i]+"px";if(div.lineNumber!=number){div.innerHTML=div.lineNumber=number;written++;}
+if(div.style.height!=height)div.style.height=height;bottom+=heights[i];div=div.nextSibling;}
+while(div!=below){var next=div.nextSibling;scroller.removeChild(div);div=next;}
+shownHeight=contentHeight();below.innerHTML=lineCount;below.style.height=Math.max(0,shownHeight-bottom)+"px";shownFrom=first;shownTo=first+heights.length;doScroll();self.reportMetric("lineNumbers",startTime,written);}
+function nonWrapping(){function update(force){var startTime=new Date().getTime(),height=row();if(!height)return;var top=scrollTop(),from=Math.floor(top/height),to=Math.ceil((top+frame.offsetHeight)/height);if(force!==true&&shown(from,to)){doScroll();return;}
+var lineCount=Math.ceil(contentHeight()/height),heights=[];from=Math.max(0,from-margin);to=Math.min(lineCount,to+margin);for(var i=from;i<to;i++)heights.push(height);show(from,heights,from*height,lineCount,startTime);}
+function refresh(){rowHeight=0;update(true);}
+function changed(){later(update,self.options.lineNumberDelay);}
+self.updateNumbers=changed;var onScroll=win.addEventHandler(win,"scroll",update,true),onResize=win.addEventHandler(win,"resize",refresh,true);clear=function(){self.unschedule("lineNumbers");if(self.updateNumbers==changed)self.updateNumbers=null;onScroll();onResize();};update(true);}
+function wrapping(){var index=null;function lineTop(i){var start=index.node(i);if(start&&start.parentNode!=body)return null;var node=start?start.nextSibling:body.firstChild;while(node&&node.nodeType!=1)node=node.nextSibling;if(node)return node.offsetTop;return start?start.offsetTop+row():0;}
+function stale(){later(refresh,self.options.lineNumberDelay);}
+function update(force){var startTime=new Date().getTime(),height=row();if(!height)return;index=self.editor.lineIndex();var count=index.size(),base=lineTop(0),top=scrollTop(),y;var from=0,to=count-1;while(from<to){var mid=(from+to+1)>>1;if((y=lineTop(mid))==null)return stale();if(y<=top)from=mid;else to=mid-1;}
+var bottom=top+frame.offsetHeight;for(to=from+1;to<count;to++){if((y=lineTop(to))==null)return stale();if(y>=bottom)break;}
+if(force!==true&&shown(from,to)){doScroll();return;}
+from=Math.max(0,from-margin);to=Math.min(count,to+margin);var heights=[],first=lineTop(from),prev=first;for(var i=from+1;i<=to;i++){y=i<count?lineTop(i):prev+height;if(y==null)return stale();heights.push(Math.max(0,y-prev));prev=y;}
+show(from,heights,first-base,count,startTime);}
+function refresh(){if(self.editor.allClean())update(true);else later(refresh,self.options.lineNumberDelay);}
+function changed(){later(refresh,self.options.lineNumberDelay);}
+self.updateNumbers=changed;var onScroll=win.addEventHandler(win,"scroll",update,true),onResize=win.addEventHandler(win,"resize",function(){rowHeight=0;refresh();},true);clear=function(){self.unschedule("lineNumbers");if(self.updateNumbers==changed)self.updateNumbers=null;onScroll();onResize();};refresh();}
+(this.options.textWrapping?wrapping:nonWrapping)();}}};function now(){return new Date().getTime();}
+var scheduler=CodeMirror.scheduler={frameBudget:20,framePeriod:50,hiddenCheck:500,tasks:[],timeout:null,lastTick:0,schedule:function(mirror,kind,work,delay,budget){this.remove(mirror,kind);this.tasks.push({mirror:mirror,kind:kind,work:work,due:now()+(delay||0),budget:budget});this.plan();},cancel:function(mirror,kind){this.remove(mirror,kind);},remove:function(mirror,kind){for(var i=0;i<this.tasks.length;i++){var task=this.tasks[i];if(task.mirror==mirror&&(kind==null||task.kind==kind))this.tasks.splice(i--,1);}},plan:function(){clearTimeout(this.timeout);this.timeout=null;if(!this.tasks.length)return;var next=Infinity;for(var i=0;i<this.tasks.length;i++){var task=this.tasks[i];next=Math.min(next,Math.max(task.due,task.hiddenUntil||0));}
+var self=this,wait=Math.max(next-now(),this.lastTick+this.framePeriod-now(),0);this.timeout=setTimeout(function(){self.tick();},wait);},tick:function(){var start=now(),tasks=this.tasks,runnable=[];this.timeout=null;for(var i=0;i<tasks.length;i++){var task=tasks[i],priority=task.mirror.schedulingPriority();if(priority<0){tasks.splice(i--,1);continue;}
+task.priority=priority;task.hiddenUntil=priority?0:start+this.hiddenCheck;if(priority&&task.due<=start)runnable.push(task);}
+runnable.sort(function(a,b){return(b.priority-a.priority)||(a.due-b.due);});for(i=0;i<runnable.length;i++){var left=this.frameBudget-(now()-start);if(left<=0)break;var task=runnable[i],index=-1;for(var j=0;j<tasks.length;j++)
+if(tasks[j]==task)index=j;if(index<0)continue;tasks.splice(index,1);task.work(Math.max(1,Math.min(left,task.budget||left)));}
+if(runnable.length)this.lastTick=start;this.plan();}};CodeMirror.liveCount=0;CodeMirror.InvalidLineHandle={toString:function(){return"CodeMirror.InvalidLineHandle";}};CodeMirror.registerParser=function(name,files,requires){parsers[name]={files:files,requires:requires||[]};};CodeMirror.parserFiles=function(name,files){if(typeof files=="string")files=[files];files=files?files.slice(0):[];function add(name){var parser=parsers[name];if(!parser)return;forEach(parser.requires||[],add);forEach(parser.files,function(file){for(var i=0;i<files.length;i++)
+if(files[i]==file)return;files.push(file);});}
+add(name);return files;};var cachedHighlights=null,storageKey="CodeMirror.highlightCache";function highlightStorage(){try{return window.JSON&&window.localStorage;}
+catch(e){return null;}}
+function cachedHighlightList(options){if(!cachedHighlights){cachedHighlights=[];var storage=options.highlightStorage&&highlightStorage();if(storage){try{var stored=JSON.parse(storage.getItem(storageKey)||"[]");for(var i=0;i<stored.length;i++)
+cachedHighlights.push({key:stored[i][0],lines:stored[i][1]});}
+catch(e){storage.removeItem(storageKey);}}}
+return cachedHighlights;}
+CodeMirror.highlightCache={get:function(key,options){var list=cachedHighlightList(options);for(var i=0;i<list.length;i++){if(list[i].key==key){var entry=list.splice(i,1)[0];list.unshift(entry);return entry.lines;}}
+return null;},put:function(key,lines,options){var list=cachedHighlightList(options);for(var i=0;i<list.length;i++){if(list[i].key==key)list.splice(i--,1);}
+list.unshift({key:key,lines:lines});if(list.length>options.highlightCache)list.length=options.highlightCache;var storage=options.highlightStorage&&highlightStorage();if(!storage)return;var stored=[],size=2;for(i=0;i<list.length;i++){var entry=list[i];if(entry.json==null)entry.json=JSON.stringify([entry.key,entry.lines]);if(size+entry.json.length+1>options.highlightStorage)break;stored.push(entry.json);size+=entry.json.length+1;}
+try{storage.setItem(storageKey,"["+stored.join(",")+"]");}
+catch(e){}},clear:function(){cachedHighlights=[];var storage=highlightStorage();if(storage)storage.removeItem(storageKey);}};CodeMirror.replace=function(element){if(typeof element=="string")
 element=document.getElementById(element);return function(newElement){element.parentNode.replaceChild(newElement,element);};};CodeMirror.fromTextArea=function(area,options){if(typeof area=="string")
 area=document.getElementById(area);options=options||{};if(area.style.width&&options.width==null)
 options.width=area.style.width;if(area.style.height&&options.height==null)
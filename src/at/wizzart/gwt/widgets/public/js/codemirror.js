@@ -41,6 +41,7 @@ var CodeMirror = (function(){
     stylesheet: "",
     path: "",
     parserfile: [],
+    parser: null,
     basefiles: ["util.js", "stringstream.js", "select.js", "undo.js", "editor.js", "tokenize.js"],
     iframeClass: null,
     passDelay: 200,
@@ -50,8 +51,11 @@ var CodeMirror = (function(){
     continuousScanning: false,
     saveFunction: null,
     onChange: null,
+    onBlur: null,
     undoDepth: 50,
     undoDelay: 800,
+    undoMemoryLimit: 0,
+    collectMetrics: false,
     disableSpellcheck: true,
     textWrapping: true,
     readOnly: false,
@@ -65,9 +69,38 @@ var CodeMirror = (function(){
     cursorActivity: null,
     lineNumbers: false,
     indentUnit: 2,
+    largeDocumentThreshold: 0, // 0 disables large document mode
+    viewportMargin: 100,
+    highlightWorker: false,
+    adaptiveHighlight: false,
+    sharedScheduler: false,
+    checkpointInterval: 1,
+    highlightCache: 0, // 0 disables the highlight cache
+    highlightStorage: 0, // 0 keeps the highlight cache out of localStorage
+    symbolIndex: false,
+    onSymbolChange: null,
+    completionAutoPrefix: 0, // 0 opens the completion list with control-space only
+    onComplete: null,
+    inlineFiles: null,
     domain: null
   });
 
+  // The files that make up each parser, relative to options.path, and
+  // the parsers that have to be loaded before it. Only the files of
+  // options.parser are written into the editor frame, the others are
+  // fetched by the frame when setParser switches to them.
+  var parsers = {
+    CSSParser: {files: ["parsecss-min.js"]},
+    JSParser: {files: ["tokenizejavascript-min.js", "parsejavascript-min.js"]},
+    PHPParser: {files: ["tokenizephp-min.js", "parsephp-min.js"]},
+    XMLParser: {files: ["parsexml-min.js"]},
+    SqlParser: {files: ["parsesql-min.js"]},
+    HTMLMixedParser: {files: ["parsehtmlmixed-min.js"],
+                      requires: ["XMLParser", "CSSParser", "JSParser"]},
+    PHPHTMLMixedParser: {files: ["parsephphtmlmixed-min.js"],
+                         requires: ["XMLParser", "CSSParser", "JSParser", "PHPParser"]}
+  };
+
   function addLineNumberDiv(container) {
     var nums = document.createElement("DIV"),
         scroller = document.createElement("DIV");
@@ -91,14 +124,26 @@ var CodeMirror = (function(){
     if (typeof options.stylesheet == "string")
       options.stylesheet = [options.stylesheet];
 
-    var html = ["<!DOCTYPE HTML PUBLIC \"-//W3C//DTD HTML 4.0 Transitional//EN\" \"http://www.w3.org/TR/html4/loose.dtd\"><html><head>"];
+    var html = ["<!DOCTYPE HTML PUBLIC \"-//W3C//DTD HTML 4.0 Transitional//EN\" \"http://www.w3.org/TR/html4/loose.dtd\"><html class=\"CodeMirror-frame\"><head>"];
     // Hack to work around a bunch of IE8-specific problems.
     html.push("<meta http-equiv=\"X-UA-Compatible\" content=\"IE=EmulateIE7\"/>");
+    // Files in options.inlineFiles (by their address) are written
+    // into the frame instead of being fetched. A stylesheet keeps its
+    // address in data-href, for setStylesheet.
+    var inline = options.inlineFiles || {};
     forEach(options.stylesheet, function(file) {
-      html.push("<link rel=\"stylesheet\" type=\"text/css\" href=\"" + file + "\"/>");
+      if (inline[file] != null)
+        html.push("<style type=\"text/css\" data-href=\"" + file + "\">" +
+                  inline[file].replace(/<\/style/gi, "<\\/style") + "</style>");
+      else
+        html.push("<link rel=\"stylesheet\" type=\"text/css\" href=\"" + file + "\"/>");
     });
     forEach(options.basefiles.concat(options.parserfile), function(file) {
-      html.push("<script type=\"text/javascript\" src=\"" + options.path + file + "\"><" + "/script>");
+      if (inline[options.path + file] != null)
+        html.push("<script type=\"text/javascript\">" +
+                  inline[options.path + file].replace(/<\/script/gi, "<\\/script") + "<" + "/script>");
+      else
+        html.push("<script type=\"text/javascript\" src=\"" + options.path + file + "\"><" + "/script>");
     });
     html.push("</head><body style=\"border-width: 0;\" class=\"editbox\" spellcheck=\"" +
               (options.disableSpellcheck ? "false" : "true") + "\"></body></html>");
@@ -115,6 +160,8 @@ var CodeMirror = (function(){
     // Use passed options, if any, to override defaults.
     this.options = options = options || {};
     setDefaults(options, CodeMirrorConfig);
+    if (options.parser)
+      options.parserfile = CodeMirror.parserFiles(options.parser, options.parserfile);
 
     var frame = this.frame = document.createElement("IFRAME");
     if (options.iframeClass) frame.className = options.iframeClass;
@@ -162,19 +209,130 @@ var CodeMirror = (function(){
       this.win.document.write(frameHTML(options));
       this.win.document.close();
     }
+    CodeMirror.liveCount++;
   }
 
   CodeMirror.prototype = {
     init: function() {
+      if (this.destroyed) return;
+      this.trackFocus();
       if (this.options.initCallback) this.options.initCallback(this);
       if (this.options.lineNumbers) this.activateLineNumbers();
       if (this.options.reindentOnLoad) this.reindent();
     },
 
-    getCode: function() {return this.editor.getCode();},
-    setCode: function(code) {this.editor.importCode(code);},
+    getCode: function() {
+      var start = new Date().getTime(), code = this.editor.getCode();
+      this.reportMetric("getContent", start);
+      return code;
+    },
+    setCode: function(code) {
+      var start = new Date().getTime();
+      this.editor.importCode(code);
+      this.reportMetric("setContent", start);
+    },
+    // Streaming load: the chunks are queued and appended in steps of
+    // about passTime milliseconds, see appendCode in the frame, so
+    // that input and highlighting go on meanwhile. onProgress is
+    // called after every step with the characters appended so far
+    // and whether the load is done.
+    beginLoad: function(onProgress) {
+      this.unschedule("load");
+      this.loading = {queue: [], carry: "", loaded: 0, ended: false, onProgress: onProgress};
+      this.editor.beginLoad();
+    },
+    loadChunk: function(text) {
+      if (!this.loading) return;
+      this.loading.queue.push(text);
+      this.scheduleLoad();
+    },
+    endLoad: function() {
+      if (!this.loading) return;
+      this.loading.ended = true;
+      this.scheduleLoad();
+    },
+    // Stop loading, the text appended so far stays.
+    cancelLoad: function() {
+      if (!this.loading) return;
+      this.unschedule("load");
+      this.loading = null;
+      this.editor.endLoad();
+    },
+    scheduleLoad: function() {
+      var self = this;
+      this.schedule("load", function(budget) {self.loadStep(budget);}, 0, this.options.passTime);
+    },
+    loadStep: function(budget) {
+      var loading = this.loading, start = new Date().getTime(), lines = 0;
+      if (!loading) return;
+      var end = start + (budget || this.options.passTime);
+      while (loading.queue.length && new Date().getTime() < end) {
+        var text = loading.carry + loading.queue.shift();
+        // Big chunks are appended in parts, so that a step stays near
+        // its budget.
+        if (text.length > 16384) {
+          loading.queue.unshift(text.slice(16384));
+          text = text.slice(0, 16384);
+        }
+        // A \r\n pair split between two parts would count as two
+        // line breaks.
+        loading.carry = "";
+        if (text.charAt(text.length - 1) == "\r") {
+          loading.carry = "\r";
+          text = text.slice(0, -1);
+        }
+        this.editor.appendCode(text);
+        loading.loaded += text.length;
+        lines += text.split("\n").length - 1;
+      }
+      var done = loading.ended && !loading.queue.length;
+      if (done) {
+        if (loading.carry) this.editor.appendCode(loading.carry);
+        loading.loaded += loading.carry.length;
+        this.loading = null;
+        this.editor.endLoad();
+      }
+      else if (loading.queue.length) this.scheduleLoad();
+      this.reportMetric("load", start, lines, 0, !done && loading.queue.length > 0);
+      if (loading.onProgress) loading.onProgress(loading.loaded, done);
+    },
+    // The text of the lines from up to to (exclusive), joined by line
+    // breaks, read with one look at the line index.
+    rangeText: function(from, to) {
+      var editor = this.editor, index = editor.lineIndex(), lines = [];
+      from = Math.max(0, from);
+      to = Math.min(to, index.size());
+      for (var n = from; n < to; n++) lines.push(editor.textOfLine(index, n));
+      return lines.join("\n");
+    },
+    // The tokens of a line as [style, text, style, text, ...], null
+    // for lines that are not in the DOM (see largeDocumentThreshold).
+    lineTokens: function(n) {return this.editor.lineTokens(n);},
+    // All symbols of the index (options.symbolIndex) in document
+    // order, with up to date line numbers.
+    symbols: function() {return this.editor.symbols();},
+    // Drop the index without reporting the symbols as removed, it is
+    // built again for the current content.
+    resetSymbols: function() {this.editor.resetSymbols();},
+    // The changes of the word index for the completion list since the
+    // last call, see Editor.takeWords.
+    takeWords: function(all) {return this.editor.takeWords(all);},
+    // Stop the word index, the next takeWords starts it over.
+    resetWords: function() {this.editor.resetWords(false);},
+    // The answer to a completion request, see Editor.requestCompletion.
+    showCompletions: function(id, words) {this.editor.showCompletions(id, words);},
+    closeCompletions: function() {this.editor.closeCompletion();},
     selection: function() {this.focusIfIE(); return this.editor.selectedText();},
     reindent: function() {this.editor.reindent();},
+    // Report the edits that were not reported yet (see History.flush),
+    // so that the change listeners are up to date. This does not
+    // close the undo step or highlight the lines.
+    flushChanges: function() {
+      this.editor.history.flush();
+    },
+    highlightComplete: function() {return this.editor.allClean();},
+    // The milliseconds the next highlight pass may take.
+    highlightBudget: function() {return this.editor.highlightBudget();},
     reindentSelection: function() {this.focusIfIE(); this.editor.reindentSelection(null);},
 
     focusIfIE: function() {
@@ -194,43 +352,53 @@ var CodeMirror = (function(){
     replaceChars: function(text, start, end) {
       this.editor.replaceChars(text, start, end);
     },
-    getSearchCursor: function(string, fromCursor, caseFold) {
-      return this.editor.getSearchCursor(string, fromCursor, caseFold);
+    getSearchCursor: function(string, fromCursor, caseFold, regexp) {
+      return this.editor.getSearchCursor(string, fromCursor, caseFold, regexp);
+    },
+    findAll: function(string, caseFold, regexp) {
+      return this.editor.getSearchCursor(string, false, caseFold, regexp).findAll();
     },
 
     undo: function() {this.editor.history.undo();},
     redo: function() {this.editor.history.redo();},
     historySize: function() {return this.editor.history.historySize();},
     clearHistory: function() {this.editor.history.clear();},
+    getHistory: function() {return this.editor.history.serialize();},
+    setHistory: function(json) {return this.editor.history.restore(json);},
 
     grabKeys: function(callback, filter) {this.editor.grabKeys(callback, filter);},
     ungrabKeys: function() {this.editor.ungrabKeys();},
 
     setParser: function(name) {this.editor.setParser(name);},
+    getParser: function() {return this.editor.parserName;},
     setSpellcheck: function(on) {this.win.document.body.spellcheck = on;},
     setStylesheet: function(names) {
       if (typeof names === "string") names = [names];
       var activeStylesheets = {};
       var matchedNames = {};
-      var links = this.win.document.getElementsByTagName("link");
+      // The stylesheet links, and the inlined stylesheets (see frameHTML).
+      var links = [], doc = this.win.document;
+      forEach(doc.getElementsByTagName("link"), function(link) {
+        if (link.rel.indexOf("stylesheet") !== -1) links.push({node: link, href: link.href});
+      });
+      forEach(doc.getElementsByTagName("style"), function(style) {
+        var href = style.getAttribute("data-href");
+        if (href) links.push({node: style, href: href});
+      });
       // Create hashes of active stylesheets and matched names.
       // This is O(n^2) but n is expected to be very small.
       for (var x = 0, link; link = links[x]; x++) {
-        if (link.rel.indexOf("stylesheet") !== -1) {
-          for (var y = 0; y < names.length; y++) {
-            var name = names[y];
-            if (link.href.substring(link.href.length - name.length) === name) {
-              activeStylesheets[link.href] = true;
-              matchedNames[name] = true;
-            }
+        for (var y = 0; y < names.length; y++) {
+          var name = names[y];
+          if (link.href.substring(link.href.length - name.length) === name) {
+            activeStylesheets[link.href] = true;
+            matchedNames[name] = true;
           }
         }
       }
       // Activate the selected stylesheets and disable the rest.
       for (var x = 0, link; link = links[x]; x++) {
-        if (link.rel.indexOf("stylesheet") !== -1) {
-          link.disabled = !(link.href in activeStylesheets);
-        }
+        link.node.disabled = !(link.href in activeStylesheets);
       }
       // Create any new stylesheets.
       for (var y = 0; y < names.length; y++) {
@@ -253,8 +421,12 @@ var CodeMirror = (function(){
         this.setLineNumbers(true);
       }
     },
-    setIndentUnit: function(unit) {this.win.indentUnit = unit;},
-    setUndoDepth: function(depth) {this.editor.history.maxDepth = depth;},
+    setIndentUnit: function(unit) {
+      this.win.indentUnit = unit;
+      if (this.editor.worker) this.editor.worker.postMessage({type: "indentUnit", indentUnit: unit});
+    },
+    setUndoDepth: function(depth) {this.editor.history.setMaxDepth(depth);},
+    setUndoMemoryLimit: function(limit) {this.editor.history.setMemoryLimit(limit);},
     setTabMode: function(mode) {this.options.tabMode = mode;},
     setLineNumbers: function(on) {
       if (on && !this.lineNumbers) {
@@ -263,6 +435,7 @@ var CodeMirror = (function(){
         this.activateLineNumbers();
       }
       else if (!on && this.lineNumbers) {
+        if (this.stopLineNumbers) this.stopLineNumbers();
         this.wrapping.removeChild(this.lineNumbers);
         this.wrapping.style.marginLeft = "";
         this.lineNumbers = null;
@@ -278,16 +451,25 @@ var CodeMirror = (function(){
     setLineContent: function(line, content) {this.editor.setLineContent(line, content);},
     removeLine: function(line){this.editor.removeLine(line);},
     insertIntoLine: function(line, position, content) {this.editor.insertIntoLine(line, position, content);},
+    // Line access by zero-based number, served from the editor's line index.
+    lineCount: function() {return this.editor.lineCount();},
+    lineText: function(n) {return this.editor.lineText(n);},
+    lineTexts: function(from, to) {
+      var lines = [];
+      for (var n = from; n < to; n++) lines.push(this.editor.lineText(n));
+      return lines;
+    },
+    replaceLines: function(from, to, text) {this.editor.replaceLines(from, to, text);},
+    // Apply a list of {from: {line, ch}, to: {line, ch}, text} edits
+    // as one change, see replaceRanges in the frame.
+    applyEdits: function(edits) {this.editor.replaceRanges(edits);},
+    offsetOfLine: function(n) {return this.editor.offsetOfLine(n);},
+    lineOfOffset: function(offset) {return this.editor.lineOfOffset(offset);},
     selectLines: function(startLine, startOffset, endLine, endOffset) {
       this.win.focus();
       this.editor.selectLines(startLine, startOffset, endLine, endOffset);
     },
-    nthLine: function(n) {
-      var line = this.firstLine();
-      for (; n > 1 && line !== false; n--)
-        line = this.nextLine(line);
-      return line;
-    },
+    nthLine: function(n) {return this.editor.lineHandle(n - 1);},
     lineNumber: function(line) {
       var num = 0;
       while (line !== false) {
@@ -301,6 +483,13 @@ var CodeMirror = (function(){
       this.selectLines(line, 0);
       this.win.focus();
     },
+    // Scroll the frame so that line n (starting at 1) is at the top,
+    // without moving the cursor. Lines that are not in the DOM (large
+    // document mode) are left alone.
+    scrollToLine: function(n) {
+      var handle = this.nthLine(n);
+      if (n <= 1 || handle) this.win.scrollTo(0, handle ? handle.offsetTop : 0);
+    },
     currentLine: function() { // Deprecated, but still there for backward compatibility
       return this.lineNumber(this.cursorLine());
     },
@@ -308,6 +497,71 @@ var CodeMirror = (function(){
       return this.cursorPosition().line;
     },
 
+    // Report the time since startTime to options.onMetric when
+    // options.collectMetrics is set.
+    reportMetric: function(kind, startTime, lines, tokens, overBudget) {
+      if (this.options.collectMetrics && this.options.onMetric)
+        this.options.onMetric(kind, new Date().getTime() - startTime, lines || 0, tokens || 0, !!overBudget);
+    },
+
+    // Run work(budget) after delay milliseconds, through the page-wide
+    // scheduler with options.sharedScheduler, from a timeout otherwise
+    // (with the given budget). An editor has one pending task per kind,
+    // scheduling it again replaces it.
+    schedule: function(kind, work, delay, budget) {
+      if (this.options.sharedScheduler) {
+        scheduler.schedule(this, kind, work, delay, budget);
+        return;
+      }
+      var timeouts = this.timeouts || (this.timeouts = {});
+      clearTimeout(timeouts[kind]);
+      timeouts[kind] = setTimeout(function() {work(budget);}, delay);
+    },
+    unschedule: function(kind) {
+      if (this.options.sharedScheduler) scheduler.cancel(this, kind);
+      else if (this.timeouts) clearTimeout(this.timeouts[kind]);
+    },
+
+    // Stop all work of the editor and take it out of the page. The
+    // timers and the references between the page and the frame are
+    // dropped, so that the frame can be collected. The editor can not
+    // be used afterwards.
+    destroy: function() {
+      if (this.destroyed) return;
+      this.destroyed = true;
+      CodeMirror.liveCount--;
+      if (this.editor) this.editor.destroy();
+      if (this.stopLineNumbers) this.stopLineNumbers();
+      scheduler.cancel(this, null);
+      scheduler.plan();
+      for (var kind in this.timeouts) clearTimeout(this.timeouts[kind]);
+      this.timeouts = null;
+      if (this.wrapping.parentNode) this.wrapping.parentNode.removeChild(this.wrapping);
+      this.frame.CodeMirror = null;
+      this.editor = this.win = this.lineNumbers = this.updateNumbers = null;
+    },
+
+    trackFocus: function() {
+      var self = this, win = this.win;
+      win.addEventHandler(win, "focus", function() {self.focused = true; scheduler.plan();});
+      win.addEventHandler(win, "blur", function() {self.focused = false;});
+    },
+
+    // The priority of the work of this editor in the page-wide
+    // scheduler: 2 while it has the focus, 1 while it is in the visible
+    // part of the page, 0 while it is hidden or scrolled out of view,
+    // and -1 once it was removed from the page.
+    schedulingPriority: function() {
+      var frame = this.frame, root = frame;
+      while (root.parentNode) root = root.parentNode;
+      if (root != document || !this.win || !this.win.Editor) return -1;
+      if (this.focused) return 2;
+      if (!frame.offsetWidth && !frame.offsetHeight) return 0;
+      var box = frame.getBoundingClientRect(), html = document.documentElement;
+      var width = window.innerWidth || html.clientWidth, height = window.innerHeight || html.clientHeight;
+      return (box.bottom > 0 && box.top < height && box.right > 0 && box.left < width) ? 1 : 0;
+    },
+
     activateLineNumbers: function() {
       if(this.lineNumbers) {
 	      var frame = this.frame, win = frame.contentWindow, doc = win.document, body = doc.body,
@@ -332,98 +586,389 @@ var CodeMirror = (function(){
 	        }
 	      }
 	      function doScroll() {
-	        nums.scrollTop = body.scrollTop || doc.documentElement.scrollTop || 0;
+	        nums.scrollTop = scrollTop();
+	      }
+	      function scrollTop() {
+	        return body.scrollTop || doc.documentElement.scrollTop || 0;
+	      }
+	      function contentHeight() {
+	        return 50 + Math.max(body.offsetHeight, Math.max(frame.offsetHeight, body.scrollHeight || 0));
 	      }
 	      // Cleanup function, registered by nonWrapping and wrapping.
 	      var clear = function(){};
 	      sizeBar();
 	      var sizeInterval = setInterval(sizeBar, 500);
+	      // A frame that was taken out of the page has no width, so
+	      // sizeBar never stops the interval for it, destroy does.
+	      function stop() {
+	        try{clear();}catch(e){}
+	        clearInterval(sizeInterval);
+	        if (self.stopLineNumbers == stop) self.stopLineNumbers = null;
+	      }
+	      self.stopLineNumbers = stop;
 	
-	      function nonWrapping() {
-	        var nextNum = 1, pending;
-	        function update() {
-	          var target = 50 + Math.max(body.offsetHeight, Math.max(frame.offsetHeight, body.scrollHeight || 0));
-	          var endTime = new Date().getTime() + self.options.lineNumberTime;
-	          while (scroller.offsetHeight < target && (!scroller.firstChild || scroller.offsetHeight)) {
-	            scroller.appendChild(document.createElement("DIV"));
-	            scroller.lastChild.innerHTML = nextNum++;
-	            if (new Date().getTime() > endTime) {
-	              if (pending) clearTimeout(pending);
-	              pending = setTimeout(update, self.options.lineNumberDelay);
-	              break;
-	            }
+	      // Continue work after lineNumberDelay, see schedule.
+	      function later(work, delay) {
+	        self.schedule("lineNumbers", function() {work();}, delay, self.options.lineNumberTime);
+	      }
+
+	      // Only the lines in view, and margin lines above and below them,
+	      // get a number DIV. Two spacers stand in for the other lines, so
+	      // that the gutter still scrolls along with the frame. The lower
+	      // one also holds the highest number (hidden), which keeps the
+	      // width of the bar while scrolling.
+	      var margin = 20, rowHeight = 0, shownFrom = 0, shownTo = 0, shownHeight = 0;
+	      var above = scroller.appendChild(document.createElement("DIV")),
+	          below = scroller.appendChild(document.createElement("DIV"));
+	      below.style.visibility = "hidden";
+	      below.style.overflow = "hidden";
+
+	      // The height of one row of numbers, 0 while the frame is hidden.
+	      function row() {
+	        if (!rowHeight) {
+	          below.style.height = "";
+	          below.innerHTML = "0";
+	          rowHeight = below.offsetHeight;
+	        }
+	        return rowHeight;
+	      }
+	      // Whether the lines from - to (exclusive) are numbered, and the
+	      // spacers still fit the height of the document.
+	      function shown(from, to) {
+	        return from >= shownFrom && to <= shownTo && contentHeight() == shownHeight;
+	      }
+	      // Number the lines from first + 1 on, heights holds their
+	      // heights in pixels and top the space above them. DIVs that
+	      // already show the right number are left alone.
+	      function show(first, heights, top, lineCount, startTime) {
+	        var div = above.nextSibling, written = 0, bottom = top;
+	        above.style.height = top + "px";
+	        for (var i = 0; i < heights.length; i++) {
+	          if (div == below) div = scroller.insertBefore(document.createElement("DIV"), below);
+	          var number = first + i + 1, height = heights[i] + "px";
+	          if (div.lineNumber != number) {
+	            div.innerHTML = div.lineNumber = number;
+	            written++;
 	          }
-	          doScroll();
+	          if (div.style.height != height) div.style.height = height;
+	          bottom += heights[i];
+	          div = div.nextSibling;
+	        }
+	        while (div != below) {
+	          var next = div.nextSibling;
+	          scroller.removeChild(div);
+	          div = next;
+	        }
+	        shownHeight = contentHeight();
+	        below.innerHTML = lineCount;
+	        below.style.height = Math.max(0, shownHeight - bottom) + "px";
+	        shownFrom = first;
+	        shownTo = first + heights.length;
+	        doScroll();
+	        self.reportMetric("lineNumbers", startTime, written);
+	      }
+
+	      // Without wrapping all lines have the height of a row, the
+	      // numbers go on below the last line to the bottom of the frame.
+	      function nonWrapping() {
+	        function update(force) {
+	          var startTime = new Date().getTime(), height = row();
+	          if (!height) return;
+	          var top = scrollTop(), from = Math.floor(top / height),
+	              to = Math.ceil((top + frame.offsetHeight) / height);
+	          if (force !== true && shown(from, to)) {doScroll(); return;}
+
+	          var lineCount = Math.ceil(contentHeight() / height), heights = [];
+	          from = Math.max(0, from - margin);
+	          to = Math.min(lineCount, to + margin);
+	          for (var i = from; i < to; i++) heights.push(height);
+	          show(from, heights, from * height, lineCount, startTime);
+	        }
+	        function refresh() {
+	          rowHeight = 0;
+	          update(true);
+	        }
+	        // The geometry does not depend on the changed lines, only
+	        // the height of the document may have changed.
+	        function changed() {
+	          later(update, self.options.lineNumberDelay);
 	        }
+	        self.updateNumbers = changed;
 	        var onScroll = win.addEventHandler(win, "scroll", update, true),
-	            onResize = win.addEventHandler(win, "resize", update, true);
-	        clear = function(){onScroll(); onResize(); if (pending) clearTimeout(pending);};
-	        update();
+	            onResize = win.addEventHandler(win, "resize", refresh, true);
+	        clear = function(){
+	          self.unschedule("lineNumbers");
+	          if (self.updateNumbers == changed) self.updateNumbers = null;
+	          onScroll();
+	          onResize();
+	        };
+	        update(true);
 	      }
 	      function wrapping() {
-	        var node, lineNum, next, pos;
-	
-	        function addNum(n) {
-	          if (!lineNum) lineNum = scroller.appendChild(document.createElement("DIV"));
-	          lineNum.innerHTML = n;
-	          pos = lineNum.offsetHeight + lineNum.offsetTop;
-	          lineNum = lineNum.nextSibling;
+	        // The BRs in front of the lines come from the line index of
+	        // the editor (see Editor.lineIndex), which follows the
+	        // changes itself.
+	        var index = null;
+
+	        // The offset of the first element of a line, null if its BR
+	        // was removed from the document.
+	        function lineTop(i) {
+	          var start = index.node(i);
+	          if (start && start.parentNode != body) return null;
+	          var node = start ? start.nextSibling : body.firstChild;
+	          while (node && node.nodeType != 1) node = node.nextSibling;
+	          if (node) return node.offsetTop;
+	          return start ? start.offsetTop + row() : 0;
 	        }
-	        function work() {
-	          if (!scroller.parentNode || scroller.parentNode != self.lineNumbers) return;
-	
-	          var endTime = new Date().getTime() + self.options.lineNumberTime;
-	          while (node) {
-	            addNum(next++);
-	            for (; node && !win.isBR(node); node = node.nextSibling) {
-	              var bott = node.offsetTop + node.offsetHeight;
-	              while (scroller.offsetHeight && bott - 3 > pos) addNum("&nbsp;");
-	            }
-	            if (node) node = node.nextSibling;
-	            if (new Date().getTime() > endTime) {
-	              pending = setTimeout(work, self.options.lineNumberDelay);
-	              return;
-	            }
+	        function stale() {
+	          later(refresh, self.options.lineNumberDelay);
+	        }
+
+	        function update(force) {
+	          var startTime = new Date().getTime(), height = row();
+	          if (!height) return;
+	          index = self.editor.lineIndex();
+	          var count = index.size(), base = lineTop(0), top = scrollTop(), y;
+	          // Find the last line that starts in or above the view.
+	          var from = 0, to = count - 1;
+	          while (from < to) {
+	            var mid = (from + to + 1) >> 1;
+	            if ((y = lineTop(mid)) == null) return stale();
+	            if (y <= top) from = mid;
+	            else to = mid - 1;
 	          }
-	          // While there are un-processed number DIVs, or the scroller is smaller than the frame...
-	          var target = 50 + Math.max(body.offsetHeight, Math.max(frame.offsetHeight, body.scrollHeight || 0));
-	          while (lineNum || (scroller.offsetHeight < target && (!scroller.firstChild || scroller.offsetHeight)))
-	            addNum(next++);
-	          doScroll();
+	          var bottom = top + frame.offsetHeight;
+	          for (to = from + 1; to < count; to++) {
+	            if ((y = lineTop(to)) == null) return stale();
+	            if (y >= bottom) break;
+	          }
+	          if (force !== true && shown(from, to)) {doScroll(); return;}
+
+	          from = Math.max(0, from - margin);
+	          to = Math.min(count, to + margin);
+	          var heights = [], first = lineTop(from), prev = first;
+	          for (var i = from + 1; i <= to; i++) {
+	            y = i < count ? lineTop(i) : prev + height;
+	            if (y == null) return stale();
+	            heights.push(Math.max(0, y - prev));
+	            prev = y;
+	          }
+	          show(from, heights, first - base, count, startTime);
 	        }
-	        function start() {
-	          doScroll();
-	          node = body.firstChild;
-	          lineNum = scroller.firstChild;
-	          pos = 0;
-	          next = 1;
-	          work();
+	        function refresh() {
+	          if (self.editor.allClean()) update(true);
+	          else later(refresh, self.options.lineNumberDelay);
 	        }
-	
-	        start();
-	        var pending = null;
-	        function update() {
-	          if (pending) clearTimeout(pending);
-	          if (self.editor.allClean()) start();
-	          else pending = setTimeout(update, 200);
+	        function changed() {
+	          later(refresh, self.options.lineNumberDelay);
 	        }
-	        self.updateNumbers = update;
-	        var onScroll = win.addEventHandler(win, "scroll", doScroll, true),
-	            onResize = win.addEventHandler(win, "resize", update, true);
+	        self.updateNumbers = changed;
+	        var onScroll = win.addEventHandler(win, "scroll", update, true),
+	            onResize = win.addEventHandler(win, "resize", function() {rowHeight = 0; refresh();}, true);
 	        clear = function(){
-	          if (pending) clearTimeout(pending);
-	          if (self.updateNumbers == update) self.updateNumbers = null;
+	          self.unschedule("lineNumbers");
+	          if (self.updateNumbers == changed) self.updateNumbers = null;
 	          onScroll();
 	          onResize();
 	        };
+	        refresh();
 	      }
 	      (this.options.textWrapping ? wrapping : nonWrapping)();
       }
     }
   };
 
+  // The page-wide scheduler, used by the editors with
+  // options.sharedScheduler instead of their own timeouts. Their
+  // highlight, line number and scanning work comes in as tasks, which
+  // run in ticks: one tick runs due tasks until frameBudget
+  // milliseconds are used up, ticks with work are at least framePeriod
+  // milliseconds apart. Tasks of the focused editor go first, then
+  // those of editors in the visible part of the page, by due time.
+  // Tasks of hidden editors wait until they come into view (checked
+  // every hiddenCheck milliseconds), those of editors removed from
+  // the page are dropped.
+  function now() {return new Date().getTime();}
+
+  var scheduler = CodeMirror.scheduler = {
+    frameBudget: 20,
+    framePeriod: 50,
+    hiddenCheck: 500,
+    tasks: [],
+    timeout: null,
+    lastTick: 0,
+
+    schedule: function(mirror, kind, work, delay, budget) {
+      this.remove(mirror, kind);
+      this.tasks.push({mirror: mirror, kind: kind, work: work, due: now() + (delay || 0), budget: budget});
+      this.plan();
+    },
+
+    // Drop the pending task of the given kind, or all tasks of the
+    // editor when kind is null.
+    cancel: function(mirror, kind) {
+      this.remove(mirror, kind);
+    },
+
+    remove: function(mirror, kind) {
+      for (var i = 0; i < this.tasks.length; i++) {
+        var task = this.tasks[i];
+        if (task.mirror == mirror && (kind == null || task.kind == kind)) this.tasks.splice(i--, 1);
+      }
+    },
+
+    // Set the timeout for the next tick.
+    plan: function() {
+      clearTimeout(this.timeout);
+      this.timeout = null;
+      if (!this.tasks.length) return;
+      var next = Infinity;
+      for (var i = 0; i < this.tasks.length; i++) {
+        var task = this.tasks[i];
+        next = Math.min(next, Math.max(task.due, task.hiddenUntil || 0));
+      }
+      var self = this, wait = Math.max(next - now(), this.lastTick + this.framePeriod - now(), 0);
+      this.timeout = setTimeout(function() {self.tick();}, wait);
+    },
+
+    tick: function() {
+      var start = now(), tasks = this.tasks, runnable = [];
+      this.timeout = null;
+      for (var i = 0; i < tasks.length; i++) {
+        var task = tasks[i], priority = task.mirror.schedulingPriority();
+        if (priority < 0) {
+          tasks.splice(i--, 1);
+          continue;
+        }
+        task.priority = priority;
+        task.hiddenUntil = priority ? 0 : start + this.hiddenCheck;
+        if (priority && task.due <= start) runnable.push(task);
+      }
+      runnable.sort(function(a, b) {return (b.priority - a.priority) || (a.due - b.due);});
+
+      for (i = 0; i < runnable.length; i++) {
+        var left = this.frameBudget - (now() - start);
+        if (left <= 0) break;
+        // Taken out first, the work may schedule a new task of its
+        // kind. Tasks replaced by the work before them are skipped.
+        var task = runnable[i], index = -1;
+        for (var j = 0; j < tasks.length; j++)
+          if (tasks[j] == task) index = j;
+        if (index < 0) continue;
+        tasks.splice(index, 1);
+        task.work(Math.max(1, Math.min(left, task.budget || left)));
+      }
+      if (runnable.length) this.lastTick = start;
+      this.plan();
+    }
+  };
+
+  // The number of editors that were created and not destroyed yet.
+  CodeMirror.liveCount = 0;
+
   CodeMirror.InvalidLineHandle = {toString: function(){return "CodeMirror.InvalidLineHandle";}};
 
+  // Make a parser known to parserFiles. Requires lists the names of
+  // parsers that have to be loaded before this one.
+  CodeMirror.registerParser = function(name, files, requires) {
+    parsers[name] = {files: files, requires: requires || []};
+  };
+
+  // The files needed for the given parser, dependencies first, added
+  // to the given list of files unless they are already in there.
+  CodeMirror.parserFiles = function(name, files) {
+    if (typeof files == "string") files = [files];
+    files = files ? files.slice(0) : [];
+    function add(name) {
+      var parser = parsers[name];
+      if (!parser) return;
+      forEach(parser.requires || [], add);
+      forEach(parser.files, function(file) {
+        for (var i = 0; i < files.length; i++)
+          if (files[i] == file) return;
+        files.push(file);
+      });
+    }
+    add(name);
+    return files;
+  };
+
+  // The highlight cache holds the token runs of highlighted documents,
+  // as lists of alternating style names and lengths per line, keyed by
+  // parser name and content hash (see importCode in the frame). It is
+  // shared by all editors on the page and keeps the options.highlightCache
+  // most recently used documents. With options.highlightStorage set, they
+  // are also written to localStorage, as long as they fit into that many
+  // characters, and survive reloads of the page.
+  var cachedHighlights = null, storageKey = "CodeMirror.highlightCache";
+
+  function highlightStorage() {
+    // Accessing localStorage throws when it is disabled.
+    try {return window.JSON && window.localStorage;}
+    catch (e) {return null;}
+  }
+
+  function cachedHighlightList(options) {
+    if (!cachedHighlights) {
+      cachedHighlights = [];
+      var storage = options.highlightStorage && highlightStorage();
+      if (storage) {
+        try {
+          var stored = JSON.parse(storage.getItem(storageKey) || "[]");
+          for (var i = 0; i < stored.length; i++)
+            cachedHighlights.push({key: stored[i][0], lines: stored[i][1]});
+        }
+        catch (e) {storage.removeItem(storageKey);}
+      }
+    }
+    return cachedHighlights;
+  }
+
+  CodeMirror.highlightCache = {
+    get: function(key, options) {
+      var list = cachedHighlightList(options);
+      for (var i = 0; i < list.length; i++) {
+        if (list[i].key == key) {
+          var entry = list.splice(i, 1)[0];
+          list.unshift(entry);
+          return entry.lines;
+        }
+      }
+      return null;
+    },
+
+    put: function(key, lines, options) {
+      var list = cachedHighlightList(options);
+      for (var i = 0; i < list.length; i++) {
+        if (list[i].key == key) list.splice(i--, 1);
+      }
+      list.unshift({key: key, lines: lines});
+      if (list.length > options.highlightCache) list.length = options.highlightCache;
+
+      var storage = options.highlightStorage && highlightStorage();
+      if (!storage) return;
+      // The entries are written in order, until the next one would
+      // not fit into options.highlightStorage characters.
+      var stored = [], size = 2;
+      for (i = 0; i < list.length; i++) {
+        var entry = list[i];
+        if (entry.json == null) entry.json = JSON.stringify([entry.key, entry.lines]);
+        if (size + entry.json.length + 1 > options.highlightStorage) break;
+        stored.push(entry.json);
+        size += entry.json.length + 1;
+      }
+      // Running out of quota just leaves the previous state in place.
+      try {storage.setItem(storageKey, "[" + stored.join(",") + "]");}
+      catch (e) {}
+    },
+
+    clear: function() {
+      cachedHighlights = [];
+      var storage = highlightStorage();
+      if (storage) storage.removeItem(storageKey);
+    }
+  };
+
   CodeMirror.replace = function(element) {
     if (typeof element == "string")
       element = document.getElementById(element);
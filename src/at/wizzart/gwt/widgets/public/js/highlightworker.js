@@ -0,0 +1,215 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ *	Web Worker that runs the parsers for the worker highlight mode
+ *	(options.highlightWorker, see Editor.startWorker in basefiles.js).
+ */
+
+/* The worker keeps its own copy of the document lines, kept up to
+ * date by "update" messages with the changes the editor's history
+ * described, which are applied one after the other. It runs the
+ * parser over the lines from the first change on, storing the parser
+ * state at the start of every line so that later changes can resume
+ * there, and sends the tokens of every line whose highlighting
+ * changed back to the editor. As in the editor itself, it stops when
+ * it is past the changed lines and two lines in a row came out the
+ * same as before.
+ *
+ * The editor drops tokens posted for an older version, they may have
+ * crossed a newer update on their way. So when an update comes in,
+ * the lines posted since the last one are forgotten and posted again
+ * with the new version.
+ */
+
+// The base files and parsers expect a browser window.
+var window = self, document = {};
+
+var lines = [""];
+// tokens[i] holds the tokens of line i as [value, style, value,
+// style, ...], states[i] the parser state at the start of line i
+// (states[0] is null, the first line starts a new parser).
+var tokens = [null], states = [null];
+var next = -1, changedTo = 0, version = 0, running = false;
+// the lines posted since the last update, in the current numbering
+var posted = [];
+var path = "", loadedFiles = {};
+
+function load(files) {
+  for (var i = 0; i < files.length; i++) {
+    if (!loadedFiles[files[i]]) {
+      importScripts(path + files[i]);
+      loadedFiles[files[i]] = true;
+    }
+  }
+}
+
+function useParser(name, config) {
+  Editor.Parser = self[name];
+  if (config && Editor.Parser.configure)
+    Editor.Parser.configure(config);
+  tokens = []; states = [null]; posted = [];
+  for (var i = 0; i < lines.length; i++) tokens.push(null);
+  schedule(0, lines.length);
+}
+
+function fill(array, from, removed, count) {
+  var args = [from, removed];
+  for (var i = 0; i < count; i++) args.push(null);
+  array.splice.apply(array, args);
+}
+
+function update(from, removed, added) {
+  lines.splice.apply(lines, [from, removed].concat(added));
+  fill(tokens, from, removed, added.length);
+  // The state at the start of the first changed line stays valid.
+  fill(states, from + 1, removed, added.length);
+  if (next != -1 && changedTo > from + removed) changedTo += added.length - removed;
+  schedule(from, from + added.length);
+}
+
+// Clear the tokens of the lines posted since the last update, so that
+// they count as changed, before the update's changes are applied.
+function repost() {
+  if (!posted.length) return;
+  var from = posted[0], to = posted[0];
+  for (var i = 0; i < posted.length; i++) {
+    tokens[posted[i]] = null;
+    from = Math.min(from, posted[i]);
+    to = Math.max(to, posted[i]);
+  }
+  posted = [];
+  schedule(from, to + 1);
+}
+
+function schedule(from, to) {
+  if (next == -1 || from < next) next = from;
+  changedTo = Math.max(changedTo, to);
+  if (!running) {
+    running = true;
+    setTimeout(work, 0);
+  }
+}
+
+// The lines from the given one on, separated by newlines, as an
+// iterator for stringStream.
+function lineSource(from) {
+  var line = from, newline = false;
+  return {next: function() {
+    if (newline) {
+      newline = false;
+      return "\n";
+    }
+    if (line >= lines.length) throw StopIteration;
+    newline = line < lines.length - 1;
+    return lines[line++];
+  }};
+}
+
+function sameTokens(a, b) {
+  if (!a || !b || a.length != b.length) return false;
+  for (var i = 0; i < a.length; i++)
+    if (a[i] !== b[i]) return false;
+  return true;
+}
+
+function leadingSpace(text) {
+  return text.match(/^[ \u00a0]*/)[0].length;
+}
+
+// What the indentation function of a newline token says for an empty
+// line and for the line that actually follows.
+function indentInfo(indentation, line) {
+  if (typeof indentation != "function") return null;
+  var following = lines[line + 1] || "", current = leadingSpace(following);
+  var firstChars = following.slice(current);
+  return {empty: indentation("", 0, null), next: indentation(firstChars, current, null), nextText: firstChars};
+}
+
+// Tokenize lines for a few dozen milliseconds, post the lines that
+// changed, and go on in a new timeout so that updates coming in are
+// handled in between.
+function work() {
+  running = false;
+  if (next == -1) return;
+  var endTime = new Date().getTime() + 40, runs = [], run = null;
+  var line = next, stream = stringStream(lineSource(line));
+  var parsed = states[line] ? states[line](stream) : Editor.Parser.make(stream);
+  var current = [], same = 0, done = false;
+
+  function finish(indentation) {
+    var unchanged = sameTokens(current, tokens[line]);
+    if (!unchanged) {
+      tokens[line] = current;
+      posted.push(line);
+      if (!run || run.from + run.lines.length != line) {
+        run = {from: line, lines: []};
+        runs.push(run);
+      }
+      run.lines.push({text: lines[line], tokens: current, indent: indentInfo(indentation, line)});
+    }
+    same = unchanged ? same + 1 : 0;
+    current = [];
+    line++;
+  }
+
+  try {
+    while (true) {
+      var token = parsed.next();
+      if (token.value == "\n") {
+        finish(token.indentation);
+        states[line] = parsed.copy();
+        if (line >= changedTo && same >= 2) {
+          done = true;
+          break;
+        }
+        if (new Date().getTime() > endTime) break;
+      }
+      else {
+        current.push(token.value, token.style);
+      }
+    }
+  }
+  catch (e) {
+    if (e != StopIteration) throw e;
+    finish(null);
+    done = true;
+  }
+
+  if (done) {
+    next = -1;
+    changedTo = 0;
+  }
+  else {
+    next = line;
+    running = true;
+    setTimeout(work, 0);
+  }
+  if (runs.length) postMessage({type: "tokens", version: version, runs: runs});
+}
+
+onmessage = function(event) {
+  var message = event.data;
+  if (message.type == "init") {
+    path = message.path;
+    self.indentUnit = message.indentUnit;
+    load(message.files);
+    useParser(message.parser, message.parserConfig);
+  }
+  else if (message.type == "parser") {
+    load(message.files);
+    useParser(message.parser, message.parserConfig);
+  }
+  else if (message.type == "update") {
+    version = message.version;
+    repost();
+    for (var i = 0; i < message.changes.length; i++) {
+      var change = message.changes[i];
+      update(change.from, change.removed, change.lines);
+    }
+  }
+  else if (message.type == "indentUnit") {
+    self.indentUnit = message.indentUnit;
+  }
+};
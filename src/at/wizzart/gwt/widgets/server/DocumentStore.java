@@ -0,0 +1,35 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.server;
+
+/**
+ * 	DocumentStore
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Where the {@link PatchServiceImpl} keeps the server copies of the
+ *	documents. The service serializes the saves of a document, so an 
+ *	implementation only has to be safe for different documents being 
+ *	loaded and stored at once.
+ */
+
+public interface DocumentStore {
+	
+	/**
+	 * @param documentId
+	 * @return the latest revision of the document, null if there is none
+	 */
+	StoredDocument load(String documentId);
+	
+	/**
+	 * Stores a new revision of a document.
+	 * @param documentId
+	 * @param document
+	 */
+	void store(String documentId, StoredDocument document);
+}
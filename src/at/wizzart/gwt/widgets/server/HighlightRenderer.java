@@ -0,0 +1,160 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.server;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import at.wizzart.gwt.widgets.shared.SyntaxHighlighter;
+
+/**
+ * 	HighlightRenderer
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Renders highlighted markup on the server with the tokenizers of
+ *	{@link SyntaxHighlighter} and keeps the results in a cache keyed by
+ *	the parser and the SHA-1 hash of the content, so samples that are 
+ *	shown again and again are only tokenized once. The least recently
+ *	used entries are dropped when the cache holds more entries or 
+ *	characters than allowed. The markup can be handed to a read only
+ *	widget with CodeMirrorConfiguration.setRenderedContent(), or be 
+ *	written into a page inside of a pre element with the class code.
+ *	Instances can be used by several threads at once.
+ */
+
+public class HighlightRenderer {
+	
+	private static HighlightRenderer instance;
+	
+	private int maxEntries;
+	private long maxChars;
+	private long chars = 0; // the characters of the markup in the cache
+	private int hits;
+	private int misses;
+	
+	private Map<String, String> cache = new LinkedHashMap<String, String>(16, 0.75f, true);
+	
+	/**
+	 * Creates a renderer that caches up to 1000 results with
+	 * four million characters of markup.
+	 */
+	public HighlightRenderer() {
+		this(1000, 4 * 1024 * 1024);
+	}
+	
+	/**
+	 * Creates a renderer with the given cache limits.
+	 * @param maxEntries - the maximum number of cached results, 0 disables the cache
+	 * @param maxChars - the maximum number of cached markup characters
+	 */
+	public HighlightRenderer(int maxEntries, long maxChars) {
+		this.maxEntries = maxEntries;
+		this.maxChars = maxChars;
+	}
+	
+	/**
+	 * @return the renderer used by the {@link HighlightServlet}
+	 */
+	public static synchronized HighlightRenderer getInstance() {
+		if (instance == null) {
+			instance = new HighlightRenderer();
+		}
+		return instance;
+	}
+	
+	/**
+	 * Highlights a text, see {@link SyntaxHighlighter#highlight(String, String)}.
+	 * @param parser - the name of the parser, see CodeMirror.PARSER_*
+	 * @param content - the text
+	 * @return the markup
+	 */
+	public String render(String parser, String content) {
+		String key = keyOf(parser, content);
+		synchronized (this) {
+			String markup = cache.get(key);
+			if (markup != null) {
+				hits++;
+				return markup;
+			}
+			misses++;
+		}
+		// tokenize outside of the lock, two threads rendering the
+		// same content at once only do the work twice
+		String markup = SyntaxHighlighter.highlight(parser, content);
+		synchronized (this) {
+			if (maxEntries > 0 && markup.length() <= maxChars && !cache.containsKey(key)) {
+				cache.put(key, markup);
+				chars += markup.length();
+				trim();
+			}
+		}
+		return markup;
+	}
+	
+	/**
+	 * Get the key a result is cached with, also usable as ETag.
+	 * @param parser
+	 * @param content
+	 * @return the parser name and the hex encoded SHA-1 hash of the content
+	 */
+	public static String keyOf(String parser, String content) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			byte[] hash = digest.digest(content.getBytes("UTF-8"));
+			StringBuilder key = new StringBuilder(parser).append(':');
+			for (byte b : hash) {
+				key.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+			}
+			return key.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * Removes all cached results
+	 */
+	public synchronized void clear() {
+		cache.clear();
+		chars = 0;
+	}
+	
+	public synchronized int getSize() {
+		return cache.size();
+	}
+	
+	/**
+	 * @return the number of results taken from the cache
+	 */
+	public synchronized int getHits() {
+		return hits;
+	}
+	
+	/**
+	 * @return the number of results that had to be rendered
+	 */
+	public synchronized int getMisses() {
+		return misses;
+	}
+	
+	// drops the least recently used results until the limits are kept
+	private void trim() {
+		Iterator<String> values = cache.values().iterator();
+		while ((cache.size() > maxEntries || chars > maxChars) && values.hasNext()) {
+			chars -= values.next().length();
+			values.remove();
+		}
+	}
+}
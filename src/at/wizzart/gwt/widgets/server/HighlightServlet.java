@@ -0,0 +1,65 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.server;
+
+import java.io.IOException;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 	HighlightServlet
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Returns the highlighted markup of the content parameter, rendered 
+ *	with the parser named by the parser parameter (one of the values 
+ *	of CodeMirror.PARSER_*). Use GET for short texts and POST for 
+ *	longer ones. The results come from the cache of 
+ *	{@link HighlightRenderer#getInstance()}, GET responses carry the 
+ *	cache key as ETag.
+ */
+
+public class HighlightServlet extends HttpServlet {
+	
+	private static final long serialVersionUID = 1L;
+	
+	protected void doGet(HttpServletRequest request, HttpServletResponse response) 
+			throws ServletException, IOException {
+		render(request, response, true);
+	}
+	
+	protected void doPost(HttpServletRequest request, HttpServletResponse response) 
+			throws ServletException, IOException {
+		render(request, response, false);
+	}
+	
+	private void render(HttpServletRequest request, HttpServletResponse response, boolean tagged) 
+			throws IOException {
+		String parser = request.getParameter("parser");
+		String content = request.getParameter("content");
+		if (parser == null || content == null) {
+			response.sendError(HttpServletResponse.SC_BAD_REQUEST, "parser and content are required");
+			return;
+		}
+		if (tagged) {
+			String etag = "\"" + HighlightRenderer.keyOf(parser, content) + "\"";
+			if (etag.equals(request.getHeader("If-None-Match"))) {
+				response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+				return;
+			}
+			response.setHeader("ETag", etag);
+		}
+		String markup = HighlightRenderer.getInstance().render(parser, content);
+		response.setContentType("text/html");
+		response.setCharacterEncoding("UTF-8");
+		response.getWriter().write(markup);
+	}
+}
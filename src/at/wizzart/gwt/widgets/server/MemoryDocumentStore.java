@@ -0,0 +1,40 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.server;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 	MemoryDocumentStore
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Keeps the documents in memory, for tests and demos. The documents
+ *	are lost when the servlet container stops.
+ */
+
+public class MemoryDocumentStore implements DocumentStore {
+	
+	private Map<String, StoredDocument> documents = new ConcurrentHashMap<String, StoredDocument>();
+	
+	public StoredDocument load(String documentId) {
+		return documents.get(documentId);
+	}
+	
+	public void store(String documentId, StoredDocument document) {
+		documents.put(documentId, document);
+	}
+	
+	/**
+	 * Removes all documents
+	 */
+	public void clear() {
+		documents.clear();
+	}
+}
@@ -0,0 +1,112 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.server;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import at.wizzart.gwt.widgets.shared.ContentPatch;
+import at.wizzart.gwt.widgets.shared.PatchService;
+import at.wizzart.gwt.widgets.shared.SaveResult;
+
+import com.google.gwt.user.server.rpc.RemoteServiceServlet;
+
+/**
+ * 	PatchServiceImpl
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Reference implementation of the {@link PatchService}. Keeps the 
+ *	documents in a {@link MemoryDocumentStore} unless a subclass passes
+ *	another store. A document that was never saved is at revision 0
+ *	with empty content, every accepted save increments the revision.
+ *	Full uploads have to name the current revision as well, only the
+ *	first upload of a new document may be based on none (-1), so that
+ *	an editor does not overwrite saves it has not seen.
+ */
+
+public class PatchServiceImpl extends RemoteServiceServlet implements PatchService {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private DocumentStore store;
+	private Map<String, Lock> locks = new HashMap<String, Lock>(); // only of documents being saved
+	
+	private static class Lock {
+		int users;
+	}
+	
+	public PatchServiceImpl() {
+		this(new MemoryDocumentStore());
+	}
+	
+	protected PatchServiceImpl(DocumentStore store) {
+		this.store = store;
+	}
+	
+	public SaveResult save(String documentId, ContentPatch patch) {
+		Lock lock = acquire(documentId);
+		try {
+			synchronized (lock) {
+				return save(store.load(documentId), documentId, patch);
+			}
+		} finally {
+			release(documentId, lock);
+		}
+	}
+	
+	private SaveResult save(StoredDocument current, String documentId, ContentPatch patch) {
+		int revision = current == null ? 0 : current.getRevision();
+		String content;
+		if (patch.isFull()) {
+			if (patch.getBaseRevision() != revision 
+					&& !(current == null && patch.getBaseRevision() < 0)) {
+				// the copy was saved since the editor last heard of it
+				return new SaveResult(false, revision);
+			}
+			content = patch.getContent();
+		} else if (patch.getBaseRevision() != revision) {
+			return new SaveResult(false, revision);
+		} else {
+			try {
+				content = patch.apply(current == null ? "" : current.getContent());
+			} catch (IllegalArgumentException e) {
+				// the editor's idea of the revision does not match the copy
+				return new SaveResult(false, revision);
+			}
+		}
+		store.store(documentId, new StoredDocument(content, revision + 1));
+		return new SaveResult(true, revision + 1);
+	}
+	
+	public DocumentStore getStore() {
+		return store;
+	}
+	
+	private synchronized Lock acquire(String documentId) {
+		Lock lock = locks.get(documentId);
+		if (lock == null) {
+			lock = new Lock();
+			locks.put(documentId, lock);
+		}
+		lock.users++;
+		return lock;
+	}
+	
+	// the lock is dropped with the last save waiting for it
+	private synchronized void release(String documentId, Lock lock) {
+		if (--lock.users == 0) {
+			locks.remove(documentId);
+		}
+	}
+	
+	// for tests
+	synchronized int lockCount() {
+		return locks.size();
+	}
+}
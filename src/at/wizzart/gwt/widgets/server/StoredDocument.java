@@ -0,0 +1,35 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.server;
+
+/**
+ * 	StoredDocument
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	One revision of a document in a {@link DocumentStore}.
+ */
+
+public class StoredDocument {
+	
+	private final String content;
+	private final int revision;
+	
+	public StoredDocument(String content, int revision) {
+		this.content = content;
+		this.revision = revision;
+	}
+	
+	public String getContent() {
+		return content;
+	}
+	
+	public int getRevision() {
+		return revision;
+	}
+}
@@ -0,0 +1,139 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.shared;
+
+/**
+ * 	CSSTokenizer
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Port of the tokenizer in parsecss.js, together with the part of
+ *	the parser that tells selectors from values.
+ */
+
+class CSSTokenizer extends Tokenizer {
+	
+	private final static int NORMAL = 0;
+	private final static int C_COMMENT = 1;
+	private final static int SGML_COMMENT = 2;
+	private final static int STRING = 3;
+	
+	private int state = NORMAL;
+	private char quote; // the quote of the string we are in
+	private boolean inBraces = false;
+	private boolean inRule = false;
+	
+	String readToken(SourceStream source) {
+		String style;
+		switch (state) {
+		case C_COMMENT: style = readCComment(source); break;
+		case SGML_COMMENT: style = readSGMLComment(source); break;
+		case STRING: style = readString(source); break;
+		default: style = readNormal(source);
+		}
+		if (style == null) {
+			return null;
+		}
+		
+		String content = source.current();
+		String result = style;
+		if (style.equals("css-identifier") && inRule) result = "css-value";
+		if (style.equals("css-identifier") && !inBraces) result = "css-selector";
+		if (style.equals("css-hash")) result = inRule ? "css-colorcode" : "css-selector";
+		
+		if (content.equals("{")) {
+			inBraces = true;
+		} else if (content.equals("}")) {
+			inBraces = inRule = false;
+		} else if (inBraces && content.equals(";")) {
+			inRule = false;
+		} else if (inBraces && !style.equals("css-comment")) {
+			inRule = true;
+		}
+		return result;
+	}
+	
+	private String readNormal(SourceStream source) {
+		char ch = source.next();
+		if (ch == '@') {
+			source.nextWhileWord("");
+			return "css-at";
+		} else if (ch == '/' && source.equals('*')) {
+			state = C_COMMENT;
+			return null;
+		} else if (ch == '<' && source.equals('!')) {
+			state = SGML_COMMENT;
+			return null;
+		} else if (ch == '=') {
+			return "css-compare";
+		} else if (source.equals('=') && (ch == '~' || ch == '|')) {
+			source.next();
+			return "css-compare";
+		} else if (ch == '"' || ch == '\'') {
+			state = STRING;
+			quote = ch;
+			return null;
+		} else if (ch == '#') {
+			source.nextWhileWord("");
+			return "css-hash";
+		} else if (ch == '!') {
+			source.nextWhileIn(" \t");
+			source.nextWhileWord("");
+			return "css-important";
+		} else if (SourceStream.isDigit(ch)) {
+			source.nextWhileWord(".%");
+			return "css-unit";
+		} else if (",.+>*/".indexOf(ch) >= 0) {
+			return "css-select-op";
+		} else if (";{}:[]".indexOf(ch) >= 0) {
+			return "css-punctuation";
+		} else {
+			source.nextWhileWord("\\-");
+			return "css-identifier";
+		}
+	}
+	
+	private String readCComment(SourceStream source) {
+		boolean maybeEnd = false;
+		while (!source.endOfLine()) {
+			char ch = source.next();
+			if (maybeEnd && ch == '/') {
+				state = NORMAL;
+				break;
+			}
+			maybeEnd = ch == '*';
+		}
+		return "css-comment";
+	}
+	
+	private String readSGMLComment(SourceStream source) {
+		int dashes = 0;
+		while (!source.endOfLine()) {
+			char ch = source.next();
+			if (dashes >= 2 && ch == '>') {
+				state = NORMAL;
+				break;
+			}
+			dashes = ch == '-' ? dashes + 1 : 0;
+		}
+		return "css-comment";
+	}
+	
+	private String readString(SourceStream source) {
+		boolean escaped = false;
+		while (!source.endOfLine()) {
+			char ch = source.next();
+			if (ch == quote && !escaped) break;
+			escaped = !escaped && ch == '\\';
+		}
+		if (!escaped) {
+			state = NORMAL;
+		}
+		return "css-string";
+	}
+}
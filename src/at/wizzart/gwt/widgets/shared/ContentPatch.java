@@ -0,0 +1,153 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.shared;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.user.client.rpc.IsSerializable;
+
+/**
+ * 	ContentPatch
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	The changes of an editor since the revision the server acknowledged
+ *	last, as line edits that are applied one after the other. A patch
+ *	that holds the whole content instead is a full upload, the editor 
+ *	sends one as long as it does not know a revision its content 
+ *	builds on, and when the server does not accept a patch.
+ *
+ *	<p>The sequence number tells the editor which of its patches
+ *	the server acknowledged, see CodeMirror.acknowledgeSave().</p>
+ */
+
+public class ContentPatch implements IsSerializable {
+	
+	/**
+	 * Replaces the lines [from, from + removed) by the given lines, 
+	 * line numbers start at 0 and count after the edits before.
+	 */
+	public static class Edit implements IsSerializable {
+		
+		private int from;
+		private int removed;
+		private String[] lines;
+		
+		// for serialization
+		Edit() {
+		}
+		
+		public Edit(int from, int removed, String[] lines) {
+			this.from = from;
+			this.removed = removed;
+			this.lines = lines;
+		}
+		
+		public int getFrom() {
+			return from;
+		}
+		
+		public int getRemoved() {
+			return removed;
+		}
+		
+		public String[] getLines() {
+			return lines;
+		}
+	}
+	
+	private int baseRevision;
+	private int sequence;
+	private Edit[] edits;
+	private String content; // the whole content of a full upload
+	
+	// for serialization
+	ContentPatch() {
+	}
+	
+	/**
+	 * Creates a patch of line edits.
+	 * @param baseRevision - the revision the edits apply to
+	 * @param sequence - the number the editor gave the patch
+	 * @param edits
+	 */
+	public ContentPatch(int baseRevision, int sequence, Edit[] edits) {
+		this.baseRevision = baseRevision;
+		this.sequence = sequence;
+		this.edits = edits;
+	}
+	
+	/**
+	 * Creates a full upload.
+	 * @param baseRevision - the revision the upload replaces, -1 for a new document
+	 * @param sequence - the number the editor gave the patch
+	 * @param content - the whole content
+	 */
+	public ContentPatch(int baseRevision, int sequence, String content) {
+		this.baseRevision = baseRevision;
+		this.sequence = sequence;
+		this.content = content;
+		this.edits = new Edit[0];
+	}
+	
+	public boolean isFull() {
+		return content != null;
+	}
+	
+	public int getBaseRevision() {
+		return baseRevision;
+	}
+	
+	public int getSequence() {
+		return sequence;
+	}
+	
+	public Edit[] getEdits() {
+		return edits;
+	}
+	
+	/**
+	 * @return the content of a full upload, null for line edits
+	 */
+	public String getContent() {
+		return content;
+	}
+	
+	/**
+	 * Applies the patch to the content of its base revision.
+	 * @param base - the content of the base revision, ignored by full uploads
+	 * @return the new content
+	 * @throws IllegalArgumentException if an edit does not fit the content
+	 */
+	public String apply(String base) {
+		if (content != null) {
+			return content;
+		}
+		String[] split = base.split("\n", -1);
+		List<String> lines = new ArrayList<String>(split.length);
+		for (String line : split) lines.add(line);
+		for (Edit edit : edits) {
+			if (edit.from < 0 || edit.removed < 0 || edit.from + edit.removed > lines.size()) {
+				throw new IllegalArgumentException("edit of lines " + edit.from + " to " 
+					+ (edit.from + edit.removed) + " in " + lines.size() + " lines");
+			}
+			List<String> removed = lines.subList(edit.from, edit.from + edit.removed);
+			removed.clear();
+			for (int i = 0; i < edit.lines.length; i++) {
+				removed.add(edit.lines[i]);
+			}
+		}
+		StringBuilder result = new StringBuilder(base.length());
+		for (int i = 0; i < lines.size(); i++) {
+			if (i > 0) result.append('\n');
+			result.append(lines.get(i));
+		}
+		return result.toString();
+	}
+}
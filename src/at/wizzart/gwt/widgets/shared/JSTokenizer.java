@@ -0,0 +1,212 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.shared;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 	JSTokenizer
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Port of tokenizejavascript.js. The parser in parsejavascript.js
+ *	tracks scopes to style local variables, this port only knows the
+ *	names declared by var and function (and function parameters),
+ *	which get the js-variabledef style, and properties after a dot.
+ */
+
+class JSTokenizer extends Tokenizer {
+	
+	// the token types of the keywords, as in tokenizejavascript.js
+	private final static Map<String, String> KEYWORDS = new HashMap<String, String>();
+	static {
+		String[][] types = {
+			{"keyword a", "if", "while", "with"},
+			{"keyword b", "else", "do", "try", "finally"},
+			{"keyword c", "return", "break", "continue", "new", "delete", "throw"},
+			{"operator", "in", "typeof", "instanceof"},
+			{"atom", "true", "false", "null", "undefined", "NaN", "Infinity"}
+		};
+		for (String[] type : types) {
+			for (int i = 1; i < type.length; i++) KEYWORDS.put(type[i], type[0]);
+		}
+		String[] own = {"var", "function", "catch", "for", "switch", "case", "default"};
+		for (String keyword : own) KEYWORDS.put(keyword, keyword);
+	}
+	
+	private final static String OPERATOR_CHARS = "+-*&%=<>!?|";
+	
+	private char inside = 0; // the quote of a string or * of a comment that goes on in the next line
+	private boolean regexp = true; // true if a slash starts a regular expression
+	private boolean definition; // true if the next word is declared
+	private boolean property; // true if the next word follows a dot
+	private boolean functionHead; // between function and its parameter list
+	private boolean parameters; // inside the parameter list of a function
+	private int depth = 0; // the bracket depth
+	private int varDepth = -1; // the bracket depth of the current var statement, -1 outside
+	
+	String readToken(SourceStream source) {
+		boolean declared = definition;
+		boolean afterDot = property;
+		definition = property = false;
+		String type;
+		String style;
+		
+		if (inside == '"' || inside == '\'') {
+			readString(source, inside);
+			type = "string";
+			style = "js-string";
+		} else {
+			char ch = source.next();
+			if (inside == '*') {
+				readComment(source, ch);
+				type = "comment";
+				style = "js-comment";
+			} else if (ch == '"' || ch == '\'') {
+				readString(source, ch);
+				type = "string";
+				style = "js-string";
+			} else if ("[]{}(),;:.".indexOf(ch) >= 0) {
+				type = String.valueOf(ch);
+				style = "js-punctuation";
+				punctuation(ch);
+			} else if (ch == '0' && (source.equals('x') || source.equals('X'))) {
+				source.next();
+				source.nextWhileWord("");
+				type = "number";
+				style = "js-atom";
+			} else if (SourceStream.isDigit(ch)) {
+				readNumber(source);
+				type = "number";
+				style = "js-atom";
+			} else if (ch == '/' && source.equals('*')) {
+				source.next();
+				readComment(source, ch);
+				type = "comment";
+				style = "js-comment";
+			} else if (ch == '/' && source.equals('/')) {
+				source.skipToEndOfLine();
+				type = "comment";
+				style = "js-comment";
+			} else if (ch == '/' && regexp) {
+				readUntilUnescaped(source, '/');
+				source.nextWhileIn("gi");
+				type = "regexp";
+				style = "js-string";
+			} else if (OPERATOR_CHARS.indexOf(ch) >= 0 || ch == '/') {
+				source.nextWhileIn(OPERATOR_CHARS);
+				type = "operator";
+				style = "js-operator";
+			} else {
+				source.nextWhileWord("$");
+				String word = source.current();
+				String keyword = KEYWORDS.get(word);
+				if (keyword != null) {
+					type = keyword;
+					style = keyword.equals("atom") ? "js-atom" : "js-keyword";
+					if (keyword.equals("var")) {
+						definition = true;
+						varDepth = depth;
+					} else if (keyword.equals("function")) {
+						definition = true;
+						functionHead = true;
+					}
+				} else {
+					type = "variable";
+					if (declared || parameters) {
+						style = "js-variabledef";
+					} else if (afterDot) {
+						style = "js-property";
+					} else {
+						style = "js-variable";
+					}
+				}
+			}
+		}
+		
+		regexp = type.equals("operator") || type.equals("keyword c") 
+			|| (type.length() == 1 && "[{}(,;:".indexOf(type.charAt(0)) >= 0);
+		return style;
+	}
+	
+	private void punctuation(char ch) {
+		switch (ch) {
+		case '.':
+			property = true;
+			break;
+		case '(':
+			parameters = functionHead;
+			functionHead = false;
+			depth++;
+			break;
+		case '[':
+		case '{':
+			functionHead = false;
+			depth++;
+			break;
+		case ')':
+			parameters = false;
+			depth--;
+			break;
+		case ']':
+		case '}':
+			depth--;
+			if (depth < varDepth) varDepth = -1;
+			break;
+		case ',':
+			definition = depth == varDepth;
+			break;
+		case ';':
+			if (depth == varDepth) varDepth = -1;
+			break;
+		}
+	}
+	
+	private void readNumber(SourceStream source) {
+		source.nextWhileDigit();
+		if (source.equals('.')) {
+			source.next();
+			source.nextWhileDigit();
+		}
+		if (source.equals('e') || source.equals('E')) {
+			source.next();
+			if (source.equals('-')) source.next();
+			source.nextWhileDigit();
+		}
+	}
+	
+	private void readComment(SourceStream source, char start) {
+		boolean maybeEnd = start == '*';
+		inside = '*';
+		while (!source.endOfLine()) {
+			char ch = source.next();
+			if (ch == '/' && maybeEnd) {
+				inside = 0;
+				break;
+			}
+			maybeEnd = ch == '*';
+		}
+	}
+	
+	private void readString(SourceStream source, char quote) {
+		inside = readUntilUnescaped(source, quote) ? quote : 0;
+	}
+	
+	// reads until the end character or the end of the line, returns
+	// true if the line ends with a backslash
+	private boolean readUntilUnescaped(SourceStream source, char end) {
+		boolean escaped = false;
+		while (!source.endOfLine()) {
+			char ch = source.next();
+			if (ch == end && !escaped) return false;
+			escaped = !escaped && ch == '\\';
+		}
+		return escaped;
+	}
+}
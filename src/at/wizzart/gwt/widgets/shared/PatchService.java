@@ -0,0 +1,37 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.shared;
+
+import com.google.gwt.user.client.rpc.RemoteService;
+import com.google.gwt.user.client.rpc.RemoteServiceRelativePath;
+
+/**
+ * 	PatchService
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Saves editor content by patches against the copy on the server.
+ *	The reference implementation is 
+ *	at.wizzart.gwt.widgets.server.PatchServiceImpl, mapped to
+ *	codemirror/patch relative to the host page.
+ */
+
+@RemoteServiceRelativePath("patch")
+public interface PatchService extends RemoteService {
+	
+	/**
+	 * Applies a patch to the server copy of a document. Line edits and
+	 * full uploads are only accepted if they were made against the
+	 * current revision of the copy, a full upload without a revision
+	 * (-1) only if there is no copy yet.
+	 * @param documentId - the document the editor shows
+	 * @param patch
+	 * @return the new revision, or the rejection with the current one
+	 */
+	SaveResult save(String documentId, ContentPatch patch);
+}
@@ -0,0 +1,23 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.shared;
+
+import com.google.gwt.user.client.rpc.AsyncCallback;
+
+/**
+ * 	PatchServiceAsync
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	The asynchronous counterpart of {@link PatchService}.
+ */
+
+public interface PatchServiceAsync {
+	
+	void save(String documentId, ContentPatch patch, AsyncCallback<SaveResult> callback);
+}
@@ -0,0 +1,51 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.shared;
+
+import com.google.gwt.user.client.rpc.IsSerializable;
+
+/**
+ * 	SaveResult
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	The answer of the {@link PatchService} to a patch: either the
+ *	revision the patch created, or the current revision of the server 
+ *	copy if the patch did not build on it.
+ */
+
+public class SaveResult implements IsSerializable {
+	
+	private boolean accepted;
+	private int revision;
+	
+	// for serialization
+	SaveResult() {
+	}
+	
+	public SaveResult(boolean accepted, int revision) {
+		this.accepted = accepted;
+		this.revision = revision;
+	}
+	
+	/**
+	 * @return false if the patch was not applied: the content has 
+	 * 		to be uploaded as a whole, or, if that was a full upload,
+	 * 		the copy was saved by someone else meanwhile
+	 */
+	public boolean isAccepted() {
+		return accepted;
+	}
+	
+	/**
+	 * @return the new revision, or the current one of a rejected patch
+	 */
+	public int getRevision() {
+		return revision;
+	}
+}
@@ -0,0 +1,113 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.shared;
+
+/**
+ * 	SourceStream
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	The text a {@link Tokenizer} reads from, modelled after the string
+ *	stream of the editor frame. It remembers where the current token
+ *	started, get() returns everything read since then. The character
+ *	classes are plain ASCII like the \w and \d of the javascript 
+ *	tokenizers, java.util.regex is not available on the client.
+ */
+
+class SourceStream {
+	
+	private String text;
+	private int pos = 0;
+	private int start = 0;
+	
+	SourceStream(String text) {
+		this.text = text;
+	}
+	
+	boolean more() {
+		return pos < text.length();
+	}
+	
+	/**
+	 * @return the next character without reading it, 0 at the end
+	 */
+	char peek() {
+		return pos < text.length() ? text.charAt(pos) : 0;
+	}
+	
+	char next() {
+		return text.charAt(pos++);
+	}
+	
+	boolean equals(char ch) {
+		return more() && text.charAt(pos) == ch;
+	}
+	
+	boolean endOfLine() {
+		return !more() || text.charAt(pos) == '\n';
+	}
+	
+	/**
+	 * Checks whether the text continues with the given string.
+	 * @param string
+	 * @param consume - read the string if it is there
+	 */
+	boolean lookAhead(String string, boolean consume) {
+		if (!text.startsWith(string, pos)) {
+			return false;
+		}
+		if (consume) {
+			pos += string.length();
+		}
+		return true;
+	}
+	
+	void nextWhileWord(String extra) {
+		while (more() && (isWordChar(text.charAt(pos)) || extra.indexOf(text.charAt(pos)) >= 0)) pos++;
+	}
+	
+	void nextWhileDigit() {
+		while (more() && isDigit(text.charAt(pos))) pos++;
+	}
+	
+	void nextWhileIn(String chars) {
+		while (more() && chars.indexOf(text.charAt(pos)) >= 0) pos++;
+	}
+	
+	void nextWhileNotIn(String chars) {
+		while (more() && chars.indexOf(text.charAt(pos)) < 0) pos++;
+	}
+	
+	void skipToEndOfLine() {
+		while (!endOfLine()) pos++;
+	}
+	
+	/**
+	 * @return the text of the current token, without starting a new one
+	 */
+	String current() {
+		return text.substring(start, pos);
+	}
+	
+	/**
+	 * @return the text of the current token, the next token starts here
+	 */
+	String get() {
+		String token = text.substring(start, pos);
+		start = pos;
+		return token;
+	}
+	
+	static boolean isDigit(char ch) {
+		return ch >= '0' && ch <= '9';
+	}
+	
+	static boolean isWordChar(char ch) {
+		return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || isDigit(ch) || ch == '_';
+	}
+}
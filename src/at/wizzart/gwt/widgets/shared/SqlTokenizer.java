@@ -0,0 +1,147 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.shared;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 	SqlTokenizer
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Port of the tokenizer in parsesql.js, with the same word lists.
+ */
+
+class SqlTokenizer extends Tokenizer {
+	
+	private final static Set<String> FUNCTIONS = words(new String[] {
+		"abs", "acos", "adddate", "aes_encrypt", "aes_decrypt", "ascii",
+		"asin", "atan", "atan2", "avg", "benchmark", "bin", "bit_and",
+		"bit_count", "bit_length", "bit_or", "cast", "ceil", "ceiling",
+		"char_length", "character_length", "coalesce", "concat", "concat_ws",
+		"connection_id", "conv", "convert", "cos", "cot", "count", "curdate",
+		"current_date", "current_time", "current_timestamp", "current_user",
+		"curtime", "database", "date_add", "date_format", "date_sub",
+		"dayname", "dayofmonth", "dayofweek", "dayofyear", "decode", "degrees",
+		"des_encrypt", "des_decrypt", "elt", "encode", "encrypt", "exp",
+		"export_set", "extract", "field", "find_in_set", "floor", "format",
+		"found_rows", "from_days", "from_unixtime", "get_lock", "greatest",
+		"group_unique_users", "hex", "ifnull", "inet_aton", "inet_ntoa", "instr",
+		"interval", "is_free_lock", "isnull", "last_insert_id", "lcase", "least",
+		"left", "length", "ln", "load_file", "locate", "log", "log2", "log10",
+		"lower", "lpad", "ltrim", "make_set", "master_pos_wait", "max", "md5",
+		"mid", "min", "mod", "monthname", "now", "nullif", "oct", "octet_length",
+		"ord", "password", "period_add", "period_diff", "pi", "position",
+		"pow", "power", "quarter", "quote", "radians", "rand", "release_lock",
+		"repeat", "reverse", "right", "round", "rpad", "rtrim", "sec_to_time",
+		"session_user", "sha", "sha1", "sign", "sin", "soundex", "space", "sqrt",
+		"std", "stddev", "strcmp", "subdate", "substring", "substring_index",
+		"sum", "sysdate", "system_user", "tan", "time_format", "time_to_sec",
+		"to_days", "trim", "ucase", "unique_users", "unix_timestamp", "upper",
+		"user", "version", "week", "weekday", "yearweek"
+	});
+	
+	private final static Set<String> KEYWORDS = words(new String[] {
+		"alter", "grant", "revoke", "primary", "key", "table", "start",
+		"transaction", "select", "update", "insert", "delete", "create", "describe",
+		"from", "into", "values", "where", "join", "inner", "left", "natural", "and",
+		"or", "in", "not", "xor", "like", "using", "on", "order", "group", "by",
+		"asc", "desc", "limit", "offset", "union", "all", "as", "distinct", "set",
+		"commit", "rollback", "replace", "view", "database", "separator", "if",
+		"exists", "null", "truncate", "status", "show", "lock", "unique"
+	});
+	
+	private final static Set<String> TYPES = words(new String[] {
+		"bigint", "binary", "bit", "blob", "bool", "char", "character", "date",
+		"datetime", "dec", "decimal", "double", "enum", "float", "float4", "float8",
+		"int", "int1", "int2", "int3", "int4", "int8", "integer", "long", "longblob",
+		"longtext", "mediumblob", "mediumint", "mediumtext", "middleint", "nchar",
+		"numeric", "real", "set", "smallint", "text", "time", "timestamp", "tinyblob",
+		"tinyint", "tinytext", "varbinary", "varchar", "year"
+	});
+	
+	// only the words can be read as one token, the other operators
+	// are runs of operator characters
+	private final static Set<String> OPERATORS = words(new String[] {
+		"like", "rlike", "in", "xor", "between"
+	});
+	
+	private final static String OPERATOR_CHARS = "*+-<>=&|:/";
+	
+	private char quote = 0; // the quote of the literal we are in, 0 outside
+	
+	String readToken(SourceStream source) {
+		if (quote != 0) {
+			return readLiteral(source);
+		}
+		char ch = source.next();
+		if (ch == '@' || ch == '$') {
+			source.nextWhileWord("");
+			return "sql-var";
+		} else if (ch == '"' || ch == '\'' || ch == '`') {
+			quote = ch;
+			return null;
+		} else if (ch == ',' || ch == ';') {
+			return "sql-separator";
+		} else if (ch == '-') {
+			if (source.peek() == '-') {
+				source.skipToEndOfLine();
+				return "sql-comment";
+			} else if (SourceStream.isDigit(source.peek())) {
+				return readNumber(source);
+			} else {
+				return "sql-operator";
+			}
+		} else if (OPERATOR_CHARS.indexOf(ch) >= 0) {
+			source.nextWhileIn(OPERATOR_CHARS);
+			return "sql-operator";
+		} else if (SourceStream.isDigit(ch)) {
+			return readNumber(source);
+		} else if (ch == '(' || ch == ')') {
+			return "sql-punctuation";
+		} else {
+			source.nextWhileWord("");
+			String word = source.current().toLowerCase();
+			if (OPERATORS.contains(word)) return "sql-operator";
+			if (KEYWORDS.contains(word)) return "sql-keyword";
+			if (FUNCTIONS.contains(word)) return "sql-function";
+			if (TYPES.contains(word)) return "sql-type";
+			return "sql-word";
+		}
+	}
+	
+	private String readNumber(SourceStream source) {
+		source.nextWhileDigit();
+		if (source.peek() == '.') {
+			source.next();
+			source.nextWhileDigit();
+		}
+		return "sql-number";
+	}
+	
+	private String readLiteral(SourceStream source) {
+		char literalQuote = quote;
+		boolean escaped = false;
+		while (!source.endOfLine()) {
+			char ch = source.next();
+			if (ch == quote && !escaped) {
+				quote = 0;
+				break;
+			}
+			escaped = !escaped && ch == '\\';
+		}
+		return literalQuote == '`' ? "sql-word" : "sql-literal";
+	}
+	
+	private static Set<String> words(String[] words) {
+		Set<String> set = new HashSet<String>();
+		for (String word : words) set.add(word);
+		return set;
+	}
+}
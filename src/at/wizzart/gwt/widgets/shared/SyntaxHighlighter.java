@@ -0,0 +1,74 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.shared;
+
+/**
+ * 	SyntaxHighlighter
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Highlights text without an editor, on the server as well as in the
+ *	browser. The tokenizers of the CSS, JavaScript, XML and SQL parsers
+ *	are ported to Java and produce the same style names as the editor,
+ *	so the markup is styled by the editor's stylesheet (all.css) when
+ *	it is put into a pre element. Line breaks are kept as they are.
+ */
+
+public class SyntaxHighlighter {
+	
+	// the names of the parsers, the same as the PARSER_* constants 
+	// of the CodeMirror widget which is not available on the server
+	private final static String CSS = "CSSParser";
+	private final static String JAVASCRIPT = "JSParser";
+	private final static String XML = "XMLParser";
+	private final static String SQL = "SqlParser";
+	
+	private SyntaxHighlighter() {
+	}
+	
+	/**
+	 * @param parser - the name of the parser, see CodeMirror.PARSER_*
+	 * @return true if the parser has a Java tokenizer
+	 */
+	public static boolean isSupported(String parser) {
+		return createTokenizer(parser) != null;
+	}
+	
+	/**
+	 * Highlights a text like the editor does with the given parser.
+	 * @param parser - the name of the parser, see CodeMirror.PARSER_*
+	 * @param content - the text
+	 * @return the escaped text with spans for the styled tokens, only
+	 * 		the escaped text for parsers without a Java tokenizer
+	 */
+	public static String highlight(String parser, String content) {
+		Tokenizer tokenizer = createTokenizer(parser);
+		if (tokenizer == null) {
+			return escape(content);
+		}
+		return tokenizer.highlight(content);
+	}
+	
+	/**
+	 * @param text
+	 * @return the text with the html special characters escaped
+	 */
+	public static String escape(String text) {
+		StringBuilder html = new StringBuilder(text.length() + 16);
+		Tokenizer.escape(html, text);
+		return html.toString();
+	}
+	
+	private static Tokenizer createTokenizer(String parser) {
+		if (CSS.equals(parser)) return new CSSTokenizer();
+		if (JAVASCRIPT.equals(parser)) return new JSTokenizer();
+		if (XML.equals(parser)) return new XMLTokenizer();
+		if (SQL.equals(parser)) return new SqlTokenizer();
+		return null;
+	}
+}
@@ -0,0 +1,78 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.shared;
+
+/**
+ * 	Tokenizer
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Base of the tokenizers ported from the parser files, follows the 
+ *	tokenizer of the editor frame: line breaks and runs of white space
+ *	are tokens of their own, everything else is read by the state of 
+ *	the subclass. A tokenizer keeps its state from token to token, so
+ *	every text needs a new instance.
+ */
+
+abstract class Tokenizer {
+	
+	private final static String WHITESPACE = " \t\r\f\u000b\u00a0";
+	
+	/**
+	 * Reads one token.
+	 * @param source
+	 * @return the style of the token, null if only the state 
+	 * 		changed and the token goes on in the new state
+	 */
+	abstract String readToken(SourceStream source);
+	
+	/**
+	 * Highlights a text.
+	 * @param text
+	 * @return the escaped text with a span for every styled token
+	 */
+	String highlight(String text) {
+		StringBuilder html = new StringBuilder(text.length() * 2);
+		SourceStream source = new SourceStream(text);
+		while (source.more()) {
+			String style = null;
+			char ch = source.peek();
+			if (ch == '\n') {
+				source.next();
+			} else if (WHITESPACE.indexOf(ch) >= 0) {
+				source.nextWhileIn(WHITESPACE);
+			} else {
+				while (style == null) {
+					style = readToken(source);
+				}
+			}
+			String token = source.get();
+			if (style == null) {
+				escape(html, token);
+			} else {
+				html.append("<span class=\"").append(style).append("\">");
+				escape(html, token);
+				html.append("</span>");
+			}
+		}
+		return html.toString();
+	}
+	
+	static void escape(StringBuilder html, String text) {
+		for (int i = 0; i < text.length(); i++) {
+			char ch = text.charAt(i);
+			switch (ch) {
+			case '&': html.append("&amp;"); break;
+			case '<': html.append("&lt;"); break;
+			case '>': html.append("&gt;"); break;
+			case '"': html.append("&quot;"); break;
+			default: html.append(ch);
+			}
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.shared;
+
+/**
+ * 	XMLTokenizer
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Port of the tokenizer in parsexml.js. The names in a tag are told
+ *	apart like the parser does, the first one is the tag name and the
+ *	others are attribute names. Unbalanced tags are not marked.
+ */
+
+class XMLTokenizer extends Tokenizer {
+	
+	private final static int TEXT = 0;
+	private final static int TAG = 1;
+	private final static int ATTRIBUTE = 2;
+	private final static int BLOCK = 3;
+	
+	private int state = TEXT;
+	private char quote; // the quote of the attribute value we are in
+	private String blockStyle; // the style of the comment, cdata or processing instruction we are in
+	private String terminator; // the end of that block
+	private boolean tagName; // true if the next name in the tag is the tag name
+	
+	String readToken(SourceStream source) {
+		switch (state) {
+		case TAG: return readTag(source);
+		case ATTRIBUTE: return readAttribute(source);
+		case BLOCK: return readBlock(source);
+		default: return readText(source);
+		}
+	}
+	
+	private String readText(SourceStream source) {
+		char ch = source.next();
+		if (ch == '<') {
+			if (source.equals('!')) {
+				source.next();
+				if (source.equals('[')) {
+					if (source.lookAhead("[CDATA[", true)) {
+						block("xml-cdata", "]]>");
+						return null;
+					}
+					return "xml-text";
+				} else if (source.lookAhead("--", true)) {
+					block("xml-comment", "-->");
+					return null;
+				}
+				return "xml-text";
+			} else if (source.equals('?')) {
+				source.next();
+				source.nextWhileWord(".-");
+				block("xml-processing", "?>");
+				return "xml-processing";
+			}
+			if (source.equals('/')) source.next();
+			state = TAG;
+			tagName = true;
+			return "xml-punctuation";
+		} else if (ch == '&') {
+			while (!source.endOfLine()) {
+				if (source.next() == ';') break;
+			}
+			return "xml-entity";
+		}
+		source.nextWhileNotIn("&<\n");
+		return "xml-text";
+	}
+	
+	private String readTag(SourceStream source) {
+		char ch = source.next();
+		if (ch == '>') {
+			state = TEXT;
+			return "xml-punctuation";
+		} else if ((ch == '?' || ch == '/') && source.equals('>')) {
+			source.next();
+			state = TEXT;
+			return "xml-punctuation";
+		} else if (ch == '=') {
+			return "xml-punctuation";
+		} else if (ch == '"' || ch == '\'') {
+			state = ATTRIBUTE;
+			quote = ch;
+			return null;
+		}
+		source.nextWhileNotIn(" \t\r\n\f\u000b\u00a0=<>\"'/?");
+		String style = tagName ? "xml-tagname" : "xml-attname";
+		tagName = false;
+		return style;
+	}
+	
+	private String readAttribute(SourceStream source) {
+		while (!source.endOfLine()) {
+			if (source.next() == quote) {
+				state = TAG;
+				break;
+			}
+		}
+		return "xml-attribute";
+	}
+	
+	private String readBlock(SourceStream source) {
+		while (!source.endOfLine()) {
+			if (source.lookAhead(terminator, true)) {
+				state = TEXT;
+				break;
+			}
+			source.next();
+		}
+		return blockStyle;
+	}
+	
+	private void block(String style, String end) {
+		state = BLOCK;
+		blockStyle = style;
+		terminator = end;
+	}
+}
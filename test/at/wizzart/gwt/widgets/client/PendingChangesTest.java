@@ -0,0 +1,117 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.client;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import at.wizzart.gwt.widgets.shared.ContentPatch;
+
+/**
+ * 	PendingChangesTest
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Merges line deltas and checks that the merged entries, sent as 
+ *	a save patch, lead to the same content as the single deltas.
+ */
+
+public class PendingChangesTest {
+	
+	@Test
+	public void separateDeltas() {
+		PendingChanges changes = new PendingChanges();
+		changes.add(1, 1, lines("x"));
+		changes.add(5, 0, lines("y"));
+		assertEquals(2, changes.getEntries().size());
+		assertEquals("a\nx\nc\nd\ne\ny\nf", apply("a\nb\nc\nd\ne\nf", changes));
+	}
+	
+	@Test
+	public void touchingDeltasAreMerged() {
+		PendingChanges changes = new PendingChanges();
+		changes.add(1, 1, lines("x"));
+		changes.add(2, 1, lines("y", "z"));
+		assertEquals(1, changes.getEntries().size());
+		PendingChanges.Entry entry = changes.getEntries().get(0);
+		assertEquals(1, entry.from);
+		assertEquals(2, entry.removed);
+		assertEquals(lines("x", "y", "z"), entry.lines);
+	}
+	
+	@Test
+	public void deltaBeforeShiftsEntries() {
+		PendingChanges changes = new PendingChanges();
+		changes.add(3, 1, lines("x"));
+		changes.add(0, 1, lines());
+		assertEquals(2, changes.getEntries().get(1).from);
+		assertEquals("b\nc\nx\ne", apply("a\nb\nc\nd\ne", changes));
+	}
+	
+	@Test
+	public void addAllKeepsTheOrder() {
+		PendingChanges first = new PendingChanges(), second = new PendingChanges();
+		first.add(0, 1, lines("x", "y"));
+		second.add(1, 1, lines("z"));
+		first.addAll(second);
+		assertEquals("x\nz\nb", apply("a\nb", first));
+	}
+	
+	@Test
+	public void randomDeltas() {
+		Random random = new Random(14);
+		for (int run = 0; run < 200; run++) {
+			List<String> content = new ArrayList<String>();
+			for (int i = 0; i < 10; i++) content.add("l" + i);
+			String start = join(content);
+			PendingChanges changes = new PendingChanges();
+			for (int step = 0; step < 8; step++) {
+				int from = random.nextInt(content.size() + 1);
+				int removed = random.nextInt(Math.min(3, content.size() - from) + 1);
+				List<String> lines = new ArrayList<String>();
+				for (int i = random.nextInt(3); i > 0; i--) lines.add(run + "." + step + "." + i);
+				List<String> replaced = content.subList(from, from + removed);
+				replaced.clear();
+				replaced.addAll(lines);
+				changes.add(from, removed, lines);
+			}
+			assertEquals(join(content), apply(start, changes));
+		}
+	}
+	
+	private static List<String> lines(String... lines) {
+		return new ArrayList<String>(Arrays.asList(lines));
+	}
+	
+	private static String join(List<String> lines) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < lines.size(); i++) {
+			if (i > 0) text.append('\n');
+			text.append(lines.get(i));
+		}
+		return text.toString();
+	}
+	
+	// the way the editor turns the entries into a save patch
+	private static String apply(String base, PendingChanges changes) {
+		List<PendingChanges.Entry> entries = changes.getEntries();
+		ContentPatch.Edit[] edits = new ContentPatch.Edit[entries.size()];
+		for (int i = 0; i < edits.length; i++) {
+			PendingChanges.Entry entry = entries.get(i);
+			edits[i] = new ContentPatch.Edit(entry.from, entry.removed, 
+					entry.lines.toArray(new String[entry.lines.size()]));
+		}
+		return new ContentPatch(0, 1, edits).apply(base);
+	}
+}
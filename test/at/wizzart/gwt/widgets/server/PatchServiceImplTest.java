@@ -0,0 +1,117 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import at.wizzart.gwt.widgets.shared.ContentPatch;
+import at.wizzart.gwt.widgets.shared.SaveResult;
+
+/**
+ * 	PatchServiceImplTest
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Saves patches with the reference service into a memory store.
+ */
+
+public class PatchServiceImplTest {
+	
+	private MemoryDocumentStore store;
+	private PatchServiceImpl service;
+	
+	@Before
+	public void setUp() {
+		store = new MemoryDocumentStore();
+		service = new PatchServiceImpl(store);
+	}
+	
+	@Test
+	public void firstFullUpload() {
+		SaveResult result = service.save("doc", new ContentPatch(-1, 1, "a\nb"));
+		assertTrue(result.isAccepted());
+		assertEquals(1, result.getRevision());
+		assertEquals("a\nb", store.load("doc").getContent());
+	}
+	
+	@Test
+	public void fullUploadOfCurrentRevision() {
+		service.save("doc", new ContentPatch(-1, 1, "a"));
+		SaveResult result = service.save("doc", new ContentPatch(1, 2, "b"));
+		assertTrue(result.isAccepted());
+		assertEquals(2, result.getRevision());
+		assertEquals("b", store.load("doc").getContent());
+	}
+	
+	@Test
+	public void fullUploadWithStaleBase() {
+		service.save("doc", new ContentPatch(-1, 1, "a"));
+		service.save("doc", new ContentPatch(1, 1, "b"));
+		SaveResult result = service.save("doc", new ContentPatch(1, 2, "c"));
+		assertFalse(result.isAccepted());
+		assertEquals(2, result.getRevision());
+		assertEquals("b", store.load("doc").getContent());
+	}
+	
+	@Test
+	public void fullUploadWithoutBaseOverExistingCopy() {
+		service.save("doc", new ContentPatch(-1, 1, "a"));
+		SaveResult result = service.save("doc", new ContentPatch(-1, 1, "b"));
+		assertFalse(result.isAccepted());
+		assertEquals(1, result.getRevision());
+		assertEquals("a", store.load("doc").getContent());
+	}
+	
+	@Test
+	public void applyPatch() {
+		service.save("doc", new ContentPatch(-1, 1, "a\nb\nc"));
+		ContentPatch patch = new ContentPatch(1, 2, new ContentPatch.Edit[] {
+			new ContentPatch.Edit(1, 1, new String[] {"x", "y"})
+		});
+		SaveResult result = service.save("doc", patch);
+		assertTrue(result.isAccepted());
+		assertEquals(2, result.getRevision());
+		assertEquals("a\nx\ny\nc", store.load("doc").getContent());
+	}
+	
+	@Test
+	public void patchWithStaleBase() {
+		service.save("doc", new ContentPatch(-1, 1, "a\nb"));
+		service.save("doc", new ContentPatch(1, 1, "a\nc"));
+		ContentPatch patch = new ContentPatch(1, 2, new ContentPatch.Edit[] {
+			new ContentPatch.Edit(0, 1, new String[] {"x"})
+		});
+		SaveResult result = service.save("doc", patch);
+		assertFalse(result.isAccepted());
+		assertEquals(2, result.getRevision());
+		assertEquals("a\nc", store.load("doc").getContent());
+	}
+	
+	@Test
+	public void patchThatDoesNotFit() {
+		service.save("doc", new ContentPatch(-1, 1, "a"));
+		ContentPatch patch = new ContentPatch(1, 2, new ContentPatch.Edit[] {
+			new ContentPatch.Edit(3, 1, new String[] {"x"})
+		});
+		SaveResult result = service.save("doc", patch);
+		assertFalse(result.isAccepted());
+		assertEquals(1, result.getRevision());
+	}
+	
+	@Test
+	public void locksAreDropped() {
+		service.save("a", new ContentPatch(-1, 1, "a"));
+		service.save("b", new ContentPatch(-1, 1, "b"));
+		assertEquals(0, service.lockCount());
+	}
+}
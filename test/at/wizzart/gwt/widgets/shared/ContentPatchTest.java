@@ -0,0 +1,66 @@
+/**
+ * 	@author Dominik Guzei
+ *	Project: StyleKit - Qualifikationsprojekt 1
+ *	Fachhochschule Salzburg
+ *
+ */
+
+package at.wizzart.gwt.widgets.shared;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * 	ContentPatchTest
+ * 	@author Dominik Guzei
+ *	@version 1.0
+ *
+ *	Applies line edits to contents.
+ */
+
+public class ContentPatchTest {
+	
+	private static ContentPatch patch(ContentPatch.Edit... edits) {
+		return new ContentPatch(0, 1, edits);
+	}
+	
+	private static ContentPatch.Edit edit(int from, int removed, String... lines) {
+		return new ContentPatch.Edit(from, removed, lines);
+	}
+	
+	@Test
+	public void replaceLine() {
+		assertEquals("a\nx\nc", patch(edit(1, 1, "x")).apply("a\nb\nc"));
+	}
+	
+	@Test
+	public void insertAndRemove() {
+		assertEquals("x\na\nc", patch(edit(0, 0, "x"), edit(2, 1)).apply("a\nb\nc"));
+	}
+	
+	@Test
+	public void editsCountAfterTheEditsBefore() {
+		assertEquals("a\ny\nc", patch(edit(1, 1, "x", "x"), edit(1, 2, "y")).apply("a\nb\nc"));
+	}
+	
+	@Test
+	public void emptyContent() {
+		assertEquals("a\nb", patch(edit(0, 1, "a", "b")).apply(""));
+	}
+	
+	@Test
+	public void trailingNewline() {
+		assertEquals("a\nb\n", patch(edit(1, 0, "b")).apply("a\n"));
+	}
+	
+	@Test
+	public void fullUpload() {
+		assertEquals("new", new ContentPatch(3, 1, "new").apply("old"));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void editBehindTheContent() {
+		patch(edit(2, 1, "x")).apply("a\nb");
+	}
+}